@@ -0,0 +1,216 @@
+package com.minh.simple_typing_game.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.cache.TextSamplePool;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.response.CorpusAnalysisResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Classifies every text sample by what its content looks like, overwriting the difficulty it
+ * was imported with. The table is read in chunks of {@code chunk-size} rows in ID order with
+ * plain JDBC; each chunk is analyzed on a dedicated fork-join pool while the next one is read,
+ * then its difficulty, score and analyzed hash are written back in one JDBC batch.
+ *
+ * <p>Runs are incremental: a sample is analyzed again only when its content hash differs from
+ * the hash it was last analyzed with, so only new and changed passages are read. A full run
+ * re-scores everything, e.g. after the classifier changed.
+ */
+@Component
+@Slf4j
+public class CorpusAnalyzer {
+
+    private static final String SELECT_CHANGED_SQL = "SELECT id, content, content_hash, difficulty FROM text_samples "
+            + "WHERE id > ? AND (analyzed_hash IS NULL OR analyzed_hash <> content_hash) ORDER BY id LIMIT ?";
+    private static final String SELECT_ALL_SQL = "SELECT id, content, content_hash, difficulty FROM text_samples "
+            + "WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String UPDATE_SQL = "UPDATE text_samples SET difficulty = ?, difficulty_score = ?, "
+            + "analyzed_hash = ? WHERE id = ?";
+    // Below this many passages a task is analyzed on its worker rather than split further
+    private static final int SPLIT_THRESHOLD = 256;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TextSamplePool textSamplePool;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final Counter classified;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public CorpusAnalyzer(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          TextSamplePool textSamplePool,
+                          MeterRegistry meterRegistry,
+                          @Value("${corpus.analysis.parallelism:0}") int parallelism,
+                          @Value("${corpus.analysis.chunk-size:4096}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.textSamplePool = textSamplePool;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                fjPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjPool);
+                    thread.setName("corpus-analysis-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+        this.classified = Counter.builder("text.samples.classified")
+                .description("Text samples whose difficulty was computed by the corpus analyzer")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * One chunk of text samples, in ID order, and the results computed for it.
+     */
+    private static final class Chunk {
+
+        private final List<Long> ids = new ArrayList<>();
+        private final List<String> contents = new ArrayList<>();
+        private final List<String> contentHashes = new ArrayList<>();
+        private final List<String> previousDifficulties = new ArrayList<>();
+        private double[] scores;
+        private Difficulty[] difficulties;
+
+        private int size() {
+            return ids.size();
+        }
+
+        private long lastId() {
+            return ids.get(ids.size() - 1);
+        }
+    }
+
+    /**
+     * Analyzes a slice of a chunk, splitting it in halves until the slices are small.
+     */
+    private static final class AnalyzeTask extends RecursiveAction {
+
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+
+        private AnalyzeTask(Chunk chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    double score = DifficultyClassifier.score(TextFeatureExtractor.extract(chunk.contents.get(i)));
+                    chunk.scores[i] = score;
+                    chunk.difficulties[i] = DifficultyClassifier.classify(score);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AnalyzeTask(chunk, from, middle), new AnalyzeTask(chunk, middle, to));
+        }
+    }
+
+    /**
+     * Analyzes the samples that changed since they were last analyzed, or all of them.
+     *
+     * @param full whether to analyze every sample rather than only new and changed ones
+     * @return counters describing the run
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public CorpusAnalysisResponse analyze(boolean full) {
+        if (!runLock.tryLock()) {
+            throw new IllegalStateException("The corpus is already being analyzed");
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            CorpusAnalysisResponse response = new CorpusAnalysisResponse();
+            String selectSql = full ? SELECT_ALL_SQL : SELECT_CHANGED_SQL;
+
+            Chunk chunk = read(selectSql, 0);
+            while (chunk.size() > 0) {
+                chunk.scores = new double[chunk.size()];
+                chunk.difficulties = new Difficulty[chunk.size()];
+                ForkJoinTask<Void> analysis = pool.submit(new AnalyzeTask(chunk, 0, chunk.size()));
+
+                // The next chunk is read while this one is analyzed; rows past its last ID are not written yet
+                Chunk next = chunk.size() == chunkSize ? read(selectSql, chunk.lastId()) : new Chunk();
+                analysis.join();
+                response.setReclassified(response.getReclassified() + write(chunk));
+                response.setAnalyzed(response.getAnalyzed() + chunk.size());
+                response.setChunks(response.getChunks() + 1);
+                classified.increment(chunk.size());
+                if (response.getChunks() % 50 == 0) {
+                    log.info("Corpus analysis progress: {} samples analyzed", response.getAnalyzed());
+                }
+                chunk = next;
+            }
+
+            if (response.getReclassified() > 0) {
+                // Difficulties were changed behind the entity listener's back
+                textSamplePool.reload();
+            }
+            response.setElapsedMillis(System.currentTimeMillis() - start);
+            log.info("Corpus analysis finished: {} samples analyzed, {} changed difficulty in {} ms",
+                    response.getAnalyzed(), response.getReclassified(), response.getElapsedMillis());
+            return response;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private Chunk read(String selectSql, long afterId) {
+        Chunk chunk = new Chunk();
+        jdbcTemplate.query(selectSql, rs -> {
+            chunk.ids.add(rs.getLong(1));
+            chunk.contents.add(rs.getString(2));
+            chunk.contentHashes.add(rs.getString(3));
+            chunk.previousDifficulties.add(rs.getString(4));
+        }, afterId, chunkSize);
+        return chunk;
+    }
+
+    /**
+     * Writes a chunk's results back.
+     *
+     * @return how many samples changed difficulty
+     */
+    private int write(Chunk chunk) {
+        List<Integer> rows = new ArrayList<>(chunk.size());
+        int reclassified = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            rows.add(i);
+            if (!chunk.difficulties[i].name().equals(chunk.previousDifficulties.get(i))) {
+                reclassified++;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(UPDATE_SQL, rows, 1000, (ps, i) -> {
+                    ps.setString(1, chunk.difficulties[i].name());
+                    ps.setDouble(2, chunk.scores[i]);
+                    ps.setString(3, chunk.contentHashes.get(i));
+                    ps.setLong(4, chunk.ids.get(i));
+                }));
+        return reclassified;
+    }
+}
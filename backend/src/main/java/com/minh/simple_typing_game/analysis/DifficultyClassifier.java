@@ -0,0 +1,58 @@
+package com.minh.simple_typing_game.analysis;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+/**
+ * Turns {@link TextFeatures} into a difficulty score from 0 to 100 and a {@link Difficulty}.
+ * Each feature is scaled to 0..1, from the value typical of plain prose to the value past which
+ * it no longer makes a passage harder, and the scaled features are weighted and summed.
+ * Stateless and thread-safe.
+ */
+public final class DifficultyClassifier {
+
+    /**
+     * Scores below this are {@link Difficulty#EASY}.
+     */
+    public static final double MEDIUM_FROM = 20;
+
+    /**
+     * Scores from this up are {@link Difficulty#HARD}.
+     */
+    public static final double HARD_FROM = 40;
+
+    private DifficultyClassifier() {
+    }
+
+    /**
+     * Scores a passage.
+     *
+     * @param features the passage's features
+     * @return the difficulty score, from 0 to 100
+     */
+    public static double score(TextFeatures features) {
+        double score = 30 * scale(features.averageWordLength() - 3.5, 4.0)
+                + 25 * scale(features.rareBigramRatio() - 0.10, 0.25)
+                + 15 * scale(features.punctuationDensity(), 0.06)
+                + 15 * scale(features.symbolRatio() + features.digitRatio(), 0.08)
+                + 5 * scale(features.upperRatio(), 0.15)
+                + 10 * scale(features.symbolRunRatio(), 0.04);
+        return Math.round(score * 100) / 100.0;
+    }
+
+    /**
+     * Maps a score to its difficulty.
+     *
+     * @param score a score from {@link #score(TextFeatures)}
+     * @return the difficulty
+     */
+    public static Difficulty classify(double score) {
+        if (score < MEDIUM_FROM) {
+            return Difficulty.EASY;
+        }
+        return score < HARD_FROM ? Difficulty.MEDIUM : Difficulty.HARD;
+    }
+
+    private static double scale(double value, double saturation) {
+        return Math.max(0, Math.min(1, value / saturation));
+    }
+}
@@ -0,0 +1,152 @@
+package com.minh.simple_typing_game.analysis;
+
+/**
+ * Single-pass, allocation-free extraction of {@link TextFeatures}. Stateless and thread-safe.
+ */
+public final class TextFeatureExtractor {
+
+    // The 138 most frequent letter pairs in English text; any other pair counts as rare
+    private static final String COMMON_BIGRAMS = "th he in er an re on at en nd ti es or te of ed is it al ar "
+            + "st to nt ng se ha as ou io le ve co me de hi ri ro ic ne ea ra ce li ch ll be ma si om ur ca el "
+            + "ta la ns di fo ho pe ec pr no ct us ac ot il tr ly nc et ut ss so rs un lo wa ge ie wh ee wi em "
+            + "ad ol rt po we na ul ni ts mo ow pa im mi ai sh ir su id os iv ia am fi ci vi pl ig tu ev ld ry "
+            + "mp fe bl ab gh ty op wo sa ay ex ke fr oo av ag if ap gr od bo sp";
+    private static final String PROSE_PUNCTUATION = ".,;:!?'\"-()";
+    private static final int NO_LETTER = -1;
+    // Letters outside a-z never form a common bigram
+    private static final int OTHER_LETTER = 26;
+    private static final boolean[] COMMON = new boolean[27 * 27];
+
+    // Character classes, looked up from a table for ASCII
+    private static final byte WHITESPACE = 0;
+    private static final byte LOWER = 1;
+    private static final byte UPPER = 2;
+    private static final byte OTHER_CASE = 3;
+    private static final byte DIGIT = 4;
+    private static final byte PUNCTUATION = 5;
+    private static final byte SYMBOL = 6;
+    private static final byte[] ASCII_CLASSES = new byte[128];
+
+    static {
+        for (String bigram : COMMON_BIGRAMS.split(" ")) {
+            COMMON[(bigram.charAt(0) - 'a') * 27 + (bigram.charAt(1) - 'a')] = true;
+        }
+        for (char c = 0; c < 128; c++) {
+            ASCII_CLASSES[c] = classOf(c);
+        }
+    }
+
+    private TextFeatureExtractor() {
+    }
+
+    /**
+     * Measures a passage.
+     *
+     * @param text the passage
+     * @return its features; all zero for blank text
+     */
+    public static TextFeatures extract(CharSequence text) {
+        int typed = 0;
+        int words = 0;
+        int upper = 0;
+        int digits = 0;
+        int punctuation = 0;
+        int symbols = 0;
+        int bigrams = 0;
+        int rareBigrams = 0;
+        int runCharacters = 0;
+        int longestRun = 0;
+        int run = 0;
+        int previousLetter = NO_LETTER;
+        boolean inWord = false;
+
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            byte characterClass = c < 128 ? ASCII_CLASSES[c] : classOf(c);
+            if (characterClass == WHITESPACE) {
+                inWord = false;
+                previousLetter = NO_LETTER;
+                if (run >= 2) {
+                    runCharacters += run;
+                }
+                run = 0;
+                continue;
+            }
+            typed++;
+            if (!inWord) {
+                inWord = true;
+                words++;
+            }
+
+            if (characterClass == PUNCTUATION || characterClass == SYMBOL) {
+                previousLetter = NO_LETTER;
+                if (characterClass == PUNCTUATION) {
+                    punctuation++;
+                } else {
+                    symbols++;
+                }
+                run++;
+                longestRun = Math.max(longestRun, run);
+                continue;
+            }
+            if (run >= 2) {
+                runCharacters += run;
+            }
+            run = 0;
+            if (characterClass == DIGIT) {
+                digits++;
+                previousLetter = NO_LETTER;
+                continue;
+            }
+            if (characterClass == UPPER) {
+                upper++;
+            }
+            int letter = c < 128 ? (c | 0x20) - 'a' : OTHER_LETTER;
+            if (previousLetter != NO_LETTER) {
+                bigrams++;
+                if (!COMMON[previousLetter * 27 + letter]) {
+                    rareBigrams++;
+                }
+            }
+            previousLetter = letter;
+        }
+        if (run >= 2) {
+            runCharacters += run;
+        }
+        if (longestRun < 2) {
+            longestRun = 0;
+        }
+
+        if (typed == 0) {
+            return new TextFeatures(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        double perTyped = 1.0 / typed;
+        return new TextFeatures(
+                typed,
+                words,
+                (double) typed / words,
+                upper * perTyped,
+                digits * perTyped,
+                punctuation * perTyped,
+                symbols * perTyped,
+                bigrams > 0 ? (double) rareBigrams / bigrams : 0,
+                runCharacters * perTyped,
+                longestRun);
+    }
+
+    private static byte classOf(char c) {
+        if (Character.isWhitespace(c)) {
+            return WHITESPACE;
+        }
+        if (Character.isDigit(c)) {
+            return DIGIT;
+        }
+        if (Character.isLetter(c)) {
+            if (Character.isUpperCase(c)) {
+                return UPPER;
+            }
+            return Character.isLowerCase(c) ? LOWER : OTHER_CASE;
+        }
+        return PROSE_PUNCTUATION.indexOf(c) >= 0 ? PUNCTUATION : SYMBOL;
+    }
+}
@@ -0,0 +1,29 @@
+package com.minh.simple_typing_game.analysis;
+
+/**
+ * What makes a passage hard to type, measured in one pass by {@link TextFeatureExtractor}.
+ * Ratios are taken over the non-whitespace characters, i.e. the keys actually typed.
+ *
+ * @param typedCharacters non-whitespace characters
+ * @param words whitespace-separated words
+ * @param averageWordLength typed characters per word
+ * @param upperRatio share of upper-case letters
+ * @param digitRatio share of digits
+ * @param punctuationDensity share of prose punctuation such as {@code . , ; ' " ( )}
+ * @param symbolRatio share of other symbols such as {@code { } _ = # @}
+ * @param rareBigramRatio share of adjacent letter pairs outside the common English bigrams
+ * @param symbolRunRatio share of characters in runs of two or more punctuation marks or symbols
+ * @param longestSymbolRun the longest such run
+ */
+public record TextFeatures(
+        int typedCharacters,
+        int words,
+        double averageWordLength,
+        double upperRatio,
+        double digitRatio,
+        double punctuationDensity,
+        double symbolRatio,
+        double rareBigramRatio,
+        double symbolRunRatio,
+        int longestSymbolRun) {
+}
@@ -0,0 +1,467 @@
+package com.minh.simple_typing_game.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * One immutable, memory-mapped file of archived game sessions, stored column by column.
+ * Rows are sorted by {@code (user_id, completed_at, id)}, so the games of a user are one
+ * contiguous run that is found by binary search over the user column.
+ *
+ * <p>The file starts with a fixed header: a magic number, the row count, min/max zone maps of
+ * the session ID, user ID and completion time, and the offset, stored length and raw length of
+ * every column. Each column is Deflate-compressed on its own, so a scan inflates only the
+ * columns it reads, straight from the mapped file. IDs and timestamps are delta encoded and
+ * integers are zigzag varints before compression; missing integers are {@code Integer.MIN_VALUE},
+ * missing accuracies NaN and missing timestamps {@code Long.MIN_VALUE}. Timestamps are UTC epoch seconds.
+ *
+ * <p>Instances are safe to read from any number of threads.
+ */
+public final class ArchiveSegment {
+
+    /**
+     * How a column is encoded before compression.
+     */
+    private enum Kind {
+        DELTA, INT, BYTE, DOUBLE
+    }
+
+    /**
+     * The stored columns, in file order.
+     */
+    public enum Column {
+        SESSION_ID(Kind.DELTA),
+        USER_ID(Kind.DELTA),
+        STATUS(Kind.BYTE),
+        DIFFICULTY(Kind.BYTE),
+        CATEGORY(Kind.BYTE),
+        WPM(Kind.INT),
+        ACCURACY(Kind.DOUBLE),
+        DURATION(Kind.INT),
+        TOTAL_CHARACTERS(Kind.INT),
+        CORRECT_CHARACTERS(Kind.INT),
+        STARTED_AT(Kind.DELTA),
+        COMPLETED_AT(Kind.DELTA);
+
+        private final Kind kind;
+
+        Column(Kind kind) {
+            this.kind = kind;
+        }
+    }
+
+    public static final int NULL_INT = Integer.MIN_VALUE;
+    public static final long NULL_TIME = Long.MIN_VALUE;
+
+    private static final int MAGIC = 0x47534131; // "GSA1"
+    private static final Column[] COLUMNS = Column.values();
+    // Magic and row count, three zone maps, then offset, stored and raw length of each column
+    private static final int HEADER = 4 + 4 + 3 * 2 * 8 + COLUMNS.length * 3 * 4;
+    private static final int MAX_VARINT = 10;
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final TextCategory[] CATEGORIES = TextCategory.values();
+    private static final Comparator<ArchivedGame> ROW_ORDER = Comparator.comparingLong(ArchivedGame::userId)
+            .thenComparingLong(game -> epochSecond(game.completedAt()))
+            .thenComparingLong(ArchivedGame::sessionId);
+
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final long minSessionId;
+    private final long maxSessionId;
+    private final long minUserId;
+    private final long maxUserId;
+    private final long minCompletedAt;
+    private final long maxCompletedAt;
+    private final int[] offsets = new int[COLUMNS.length];
+    private final int[] storedLengths = new int[COLUMNS.length];
+    private final int[] rawLengths = new int[COLUMNS.length];
+
+    private ArchiveSegment(long id, Path path, MappedByteBuffer buffer) throws IOException {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an archive segment: " + path);
+        }
+        ByteBuffer header = buffer.slice(4, HEADER - 4);
+        rowCount = header.getInt();
+        minSessionId = header.getLong();
+        maxSessionId = header.getLong();
+        minUserId = header.getLong();
+        maxUserId = header.getLong();
+        minCompletedAt = header.getLong();
+        maxCompletedAt = header.getLong();
+        for (int i = 0; i < COLUMNS.length; i++) {
+            offsets[i] = header.getInt();
+            storedLengths[i] = header.getInt();
+            rawLengths[i] = header.getInt();
+            if (offsets[i] < HEADER || (long) offsets[i] + storedLengths[i] > buffer.capacity()) {
+                throw new IOException("Archive segment " + path + " is truncated");
+            }
+        }
+    }
+
+    /**
+     * Writes games to a new segment file and forces it to disk. The file is meant to be a
+     * temporary one that the caller then moves into place.
+     *
+     * @param games at least one game
+     */
+    public static void write(Path file, List<ArchivedGame> games) throws IOException {
+        List<ArchivedGame> rows = new ArrayList<>(games);
+        rows.sort(ROW_ORDER);
+
+        long minSessionId = Long.MAX_VALUE;
+        long maxSessionId = Long.MIN_VALUE;
+        long minCompletedAt = Long.MAX_VALUE;
+        long maxCompletedAt = Long.MIN_VALUE;
+        for (ArchivedGame game : rows) {
+            minSessionId = Math.min(minSessionId, game.sessionId());
+            maxSessionId = Math.max(maxSessionId, game.sessionId());
+            long completedAt = epochSecond(game.completedAt());
+            minCompletedAt = Math.min(minCompletedAt, completedAt);
+            maxCompletedAt = Math.max(maxCompletedAt, completedAt);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        header.putInt(MAGIC);
+        header.putInt(rows.size());
+        header.putLong(minSessionId).putLong(maxSessionId);
+        header.putLong(rows.get(0).userId()).putLong(rows.get(rows.size() - 1).userId());
+        header.putLong(minCompletedAt).putLong(maxCompletedAt);
+
+        ByteBuffer raw = ByteBuffer.allocate(rows.size() * MAX_VARINT);
+        List<byte[]> stored = new ArrayList<>(COLUMNS.length);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            int offset = HEADER;
+            for (Column column : COLUMNS) {
+                raw.clear();
+                encode(column, rows, raw);
+                raw.flip();
+                int rawLength = raw.remaining();
+                byte[] compressed = deflate(deflater, raw);
+                header.putInt(offset).putInt(compressed.length).putInt(rawLength);
+                stored.add(compressed);
+                offset += compressed.length;
+            }
+        } finally {
+            deflater.end();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(channel, header.flip());
+            for (byte[] column : stored) {
+                writeFully(channel, ByteBuffer.wrap(column));
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Maps an existing segment file.
+     *
+     * @throws IOException if the file cannot be read or is not a complete segment
+     */
+    public static ArchiveSegment open(long id, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ArchiveSegment(id, path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public long getMinSessionId() {
+        return minSessionId;
+    }
+
+    public long getMaxSessionId() {
+        return maxSessionId;
+    }
+
+    /**
+     * Returns whether the zone map allows rows of users in {@code [fromUserId, toUserId]}.
+     */
+    public boolean mayContainUsers(long fromUserId, long toUserId) {
+        return fromUserId <= maxUserId && toUserId >= minUserId;
+    }
+
+    /**
+     * Returns whether the zone map allows rows completed in {@code [from, to)}, in epoch seconds.
+     */
+    public boolean mayContainCompleted(long from, long to) {
+        return from <= maxCompletedAt && to > minCompletedAt;
+    }
+
+    /**
+     * Returns whether every row was completed in {@code [from, to)}, in epoch seconds.
+     */
+    public boolean completedWithin(long from, long to) {
+        return from <= minCompletedAt && to > maxCompletedAt;
+    }
+
+    /**
+     * Decodes a delta-encoded column: IDs and timestamps.
+     */
+    public long[] longs(Column column) {
+        ByteBuffer raw = inflate(column, Kind.DELTA);
+        long[] values = new long[rowCount];
+        long previous = 0;
+        for (int i = 0; i < rowCount; i++) {
+            previous += unzigzag(readVarLong(raw));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    /**
+     * Decodes an integer column.
+     */
+    public int[] ints(Column column) {
+        ByteBuffer raw = inflate(column, Kind.INT);
+        int[] values = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            values[i] = (int) unzigzag(readVarLong(raw));
+        }
+        return values;
+    }
+
+    /**
+     * Decodes an enum column into ordinals, -1 for null.
+     */
+    public byte[] bytes(Column column) {
+        ByteBuffer raw = inflate(column, Kind.BYTE);
+        byte[] values = new byte[rowCount];
+        raw.get(values);
+        return values;
+    }
+
+    /**
+     * Decodes a floating point column.
+     */
+    public double[] doubles(Column column) {
+        ByteBuffer raw = inflate(column, Kind.DOUBLE);
+        double[] values = new double[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            values[i] = raw.getDouble();
+        }
+        return values;
+    }
+
+    /**
+     * Decodes every column of the rows whose user is in {@code [fromUserId, toUserId]}.
+     */
+    public List<ArchivedGame> gamesOfUsers(long fromUserId, long toUserId) {
+        if (!mayContainUsers(fromUserId, toUserId)) {
+            return List.of();
+        }
+        long[] userIds = longs(Column.USER_ID);
+        int from = lowerBound(userIds, fromUserId);
+        int to = toUserId == Long.MAX_VALUE ? rowCount : lowerBound(userIds, toUserId + 1);
+        if (from == to) {
+            return List.of();
+        }
+
+        long[] sessionIds = longs(Column.SESSION_ID);
+        byte[] statuses = bytes(Column.STATUS);
+        byte[] difficulties = bytes(Column.DIFFICULTY);
+        byte[] categories = bytes(Column.CATEGORY);
+        int[] wpms = ints(Column.WPM);
+        double[] accuracies = doubles(Column.ACCURACY);
+        int[] durations = ints(Column.DURATION);
+        int[] totalCharacters = ints(Column.TOTAL_CHARACTERS);
+        int[] correctCharacters = ints(Column.CORRECT_CHARACTERS);
+        long[] startedAts = longs(Column.STARTED_AT);
+        long[] completedAts = longs(Column.COMPLETED_AT);
+
+        List<ArchivedGame> games = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            games.add(new ArchivedGame(sessionIds[i], userIds[i], STATUSES[statuses[i]],
+                    difficulties[i] >= 0 ? DIFFICULTIES[difficulties[i]] : null,
+                    categories[i] >= 0 ? CATEGORIES[categories[i]] : null,
+                    fromNull(wpms[i]), Double.isNaN(accuracies[i]) ? null : accuracies[i], fromNull(durations[i]),
+                    fromNull(totalCharacters[i]), fromNull(correctCharacters[i]),
+                    timeOf(startedAts[i]), timeOf(completedAts[i])));
+        }
+        return games;
+    }
+
+    /**
+     * Returns the index of the first value not below the key in a sorted array.
+     */
+    public static int lowerBound(long[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public static long epochSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : NULL_TIME;
+    }
+
+    public static LocalDateTime timeOf(long epochSecond) {
+        return epochSecond != NULL_TIME ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+
+    private ByteBuffer inflate(Column column, Kind kind) {
+        if (column.kind != kind) {
+            throw new IllegalArgumentException("Column " + column + " is not stored as " + kind);
+        }
+        int i = column.ordinal();
+        byte[] raw = new byte[rawLengths[i]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice(offsets[i], storedLengths[i]));
+            int length = 0;
+            while (length < raw.length) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Column " + column + " of archive segment " + path + " is truncated");
+                }
+                length += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Column " + column + " of archive segment " + path + " is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static void encode(Column column, List<ArchivedGame> rows, ByteBuffer raw) {
+        long previous = 0;
+        for (ArchivedGame game : rows) {
+            switch (column.kind) {
+                case DELTA -> {
+                    long value = longValue(column, game);
+                    writeVarLong(raw, zigzag(value - previous));
+                    previous = value;
+                }
+                case INT -> writeVarLong(raw, zigzag(intValue(column, game)));
+                case BYTE -> raw.put(byteValue(column, game));
+                case DOUBLE -> raw.putDouble(game.accuracy() != null ? game.accuracy() : Double.NaN);
+            }
+        }
+    }
+
+    private static long longValue(Column column, ArchivedGame game) {
+        return switch (column) {
+            case SESSION_ID -> game.sessionId();
+            case USER_ID -> game.userId();
+            case STARTED_AT -> epochSecond(game.startedAt());
+            case COMPLETED_AT -> epochSecond(game.completedAt());
+            default -> throw new IllegalArgumentException("Column " + column + " is not delta encoded");
+        };
+    }
+
+    private static int intValue(Column column, ArchivedGame game) {
+        Integer value = switch (column) {
+            case WPM -> game.wpm();
+            case DURATION -> game.duration();
+            case TOTAL_CHARACTERS -> game.totalCharacters();
+            case CORRECT_CHARACTERS -> game.correctCharacters();
+            default -> throw new IllegalArgumentException("Column " + column + " is not an integer column");
+        };
+        return value != null ? value : NULL_INT;
+    }
+
+    private static byte byteValue(Column column, ArchivedGame game) {
+        Enum<?> value = switch (column) {
+            case STATUS -> game.status();
+            case DIFFICULTY -> game.difficulty();
+            case CATEGORY -> game.category();
+            default -> throw new IllegalArgumentException("Column " + column + " is not an enum column");
+        };
+        return value != null ? (byte) value.ordinal() : -1;
+    }
+
+    private static byte[] deflate(Deflater deflater, ByteBuffer raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.remaining() / 4));
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            out.write(chunk, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+    }
+
+    private static void writeVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static Integer fromNull(int value) {
+        return value != NULL_INT ? value : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.minh.simple_typing_game.archive;
+
+import java.time.LocalDateTime;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * A finished game session as it is kept in the cold archive. Timestamps are stored with
+ * second precision; scores are null where they were null in game_sessions.
+ *
+ * @param sessionId the game session
+ * @param userId the player
+ * @param status COMPLETED or ABANDONED
+ * @param difficulty the game difficulty
+ * @param category the category of the typed text
+ * @param wpm words per minute
+ * @param accuracy accuracy percentage
+ * @param duration seconds taken
+ * @param totalCharacters characters in the text
+ * @param correctCharacters correctly typed characters
+ * @param startedAt when the game started
+ * @param completedAt when the game ended
+ */
+public record ArchivedGame(
+        long sessionId,
+        long userId,
+        GameStatus status,
+        Difficulty difficulty,
+        TextCategory category,
+        Integer wpm,
+        Double accuracy,
+        Integer duration,
+        Integer totalCharacters,
+        Integer correctCharacters,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt) {
+}
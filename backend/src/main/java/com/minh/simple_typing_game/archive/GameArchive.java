@@ -0,0 +1,198 @@
+package com.minh.simple_typing_game.archive;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The cold archive: append-only {@link ArchiveSegment} files named
+ * {@code game-sessions-<segment>.archive} in {@code game.archive.dir}. A segment is written to
+ * a temporary file, forced to disk and then atomically renamed into place, so a segment file
+ * is either complete or absent. The directory is forced too before the archived sessions are
+ * removed from game_sessions, so a crash cannot lose the rename after the rows are gone.
+ *
+ * <p>Archived sessions are removed from game_sessions right after their segment is published.
+ * Both happen under the write lock; readers that combine the archive with game_sessions do so
+ * under the read lock through {@link #read}, so they never see a session in both or in neither.
+ */
+@Component
+@Slf4j
+public class GameArchive {
+
+    private static final String PREFIX = "game-sessions-";
+    private static final String SUFFIX = ".archive";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final boolean WINDOWS = System.getProperty("os.name").startsWith("Windows");
+
+    private final GameSessionIdAllocator idAllocator;
+    private final Path dir;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile List<ArchiveSegment> segments = List.of();
+    private long nextSegmentId;
+
+    public GameArchive(GameSessionIdAllocator idAllocator,
+                       @Value("${game.archive.dir:./data/archive}") String dir) {
+        this.idAllocator = idAllocator;
+        this.dir = Path.of(dir);
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(dir)) {
+            paths = files.filter(path -> segmentIdOf(path) >= 0 || path.getFileName().toString().endsWith(TEMP_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+        List<ArchiveSegment> opened = new ArrayList<>();
+        long games = 0;
+        for (Path path : paths) {
+            long id = segmentIdOf(path);
+            if (id < 0) {
+                // A segment that was being written when the process stopped; its rows are still in game_sessions
+                Files.deleteIfExists(path);
+                continue;
+            }
+            ArchiveSegment segment = ArchiveSegment.open(id, path);
+            opened.add(segment);
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            // game_sessions may no longer hold the highest IDs, and they must not be handed out again
+            idAllocator.advancePast(segment.getMaxSessionId());
+            games += segment.getRowCount();
+        }
+        segments = List.copyOf(opened);
+        if (!opened.isEmpty()) {
+            log.info("Opened {} archive segments with {} game sessions in {}", opened.size(), games, dir);
+        }
+    }
+
+    /**
+     * Returns the published segments, oldest first.
+     */
+    public List<ArchiveSegment> segments() {
+        return segments;
+    }
+
+    /**
+     * Runs a reader that combines the archive with game_sessions while no session is being moved
+     * between them. The reader gets the published segments and must query game_sessions before it returns.
+     */
+    public <T> T read(Function<List<ArchiveSegment>, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(segments);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes games to a new segment, publishes it and then runs {@code removeFromHotTable}, all
+     * while readers are held off. If removal fails the segment stays published and the caller
+     * must repeat the removal, for example with {@link #last()}.
+     *
+     * @param games at least one game
+     * @return the published segment
+     */
+    public ArchiveSegment append(List<ArchivedGame> games, Runnable removeFromHotTable) throws IOException {
+        Files.createDirectories(dir);
+        long id;
+        lock.writeLock().lock();
+        try {
+            id = nextSegmentId++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Path path = dir.resolve(String.format("%s%016d%s", PREFIX, id, SUFFIX));
+        Path temp = dir.resolve(path.getFileName() + TEMP_SUFFIX);
+        // Compress and sync outside the lock; only the rename and the removal hold readers off
+        try {
+            ArchiveSegment.write(temp, games);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+            ArchiveSegment segment = ArchiveSegment.open(id, path);
+            List<ArchiveSegment> published = new ArrayList<>(segments);
+            published.add(segment);
+            segments = List.copyOf(published);
+            removeFromHotTable.run();
+            return segment;
+        } catch (IOException e) {
+            // Not published yet, so its sessions are all still in game_sessions
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(path);
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an action under the write lock, for repeating the removal of a published segment's sessions.
+     */
+    public void exclusively(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the newest segment, or null if nothing is archived.
+     */
+    public ArchiveSegment last() {
+        List<ArchiveSegment> current = segments;
+        return current.isEmpty() ? null : current.get(current.size() - 1);
+    }
+
+    private void syncDirectory() throws IOException {
+        if (WINDOWS) {
+            // Directories cannot be opened there, and NTFS journals the rename itself
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static long segmentIdOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name, PREFIX.length(), name.length() - SUFFIX.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.minh.simple_typing_game.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.archive.ArchiveSegment.Column;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.payload.response.GameArchiveResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves finished game sessions that ended more than {@code older-than-days} ago from
+ * game_sessions into the {@link GameArchive}, together with their keystroke logs, which are
+ * dropped. Each segment holds up to {@code segment-rows} sessions, read oldest first over the
+ * completed_at index with plain JDBC; a run writes at most {@code max-segments} segments,
+ * pausing {@code pause-millis} between them.
+ *
+ * <p>A segment is published before its sessions are deleted. If the process stops in between,
+ * the deletion is repeated for the newest segment on the next start, which is harmless when
+ * the rows are already gone.
+ *
+ * <p>Scheduled runs are disabled unless {@code game.archive.enabled} is set; a run can also be
+ * started through the admin API.
+ */
+@Component
+@Slf4j
+public class GameSessionArchiver {
+
+    private static final String SELECT_SQL = "SELECT g.id, g.user_id, g.status, g.difficulty, "
+            + "COALESCE(t.category, g.category), g.wpm, g.accuracy, g.duration, g.total_characters, "
+            + "g.correct_characters, g.started_at, g.completed_at "
+            + "FROM game_sessions g LEFT JOIN text_samples t ON t.id = g.text_sample_id "
+            + "WHERE g.completed_at < ? AND g.status <> 'IN_PROGRESS' ORDER BY g.completed_at, g.id LIMIT ?";
+    private static final String DELETE_KEYSTROKE_LOG_SQL = "DELETE FROM keystroke_logs WHERE game_session_id = ?";
+    private static final String DELETE_SESSION_SQL = "DELETE FROM game_sessions WHERE id = ?";
+
+    private final GameArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration olderThan;
+    private final int segmentRows;
+    private final int maxSegments;
+    private final long pauseMillis;
+    private final Counter archived;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    // Whether the newest segment's sessions may still be in game_sessions
+    private volatile boolean removalPending = true;
+
+    public GameSessionArchiver(GameArchive archive,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${game.archive.enabled:false}") boolean enabled,
+                               @Value("${game.archive.older-than-days:90}") long olderThanDays,
+                               @Value("${game.archive.segment-rows:20000}") int segmentRows,
+                               @Value("${game.archive.max-segments:5}") int maxSegments,
+                               @Value("${game.archive.pause-millis:100}") long pauseMillis) {
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.olderThan = Duration.ofDays(olderThanDays);
+        this.segmentRows = Math.max(1, segmentRows);
+        this.maxSegments = Math.max(1, maxSegments);
+        this.pauseMillis = pauseMillis;
+        this.archived = Counter.builder("game.sessions.archived")
+                .description("Game sessions moved from game_sessions to the cold archive")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        completePendingRemoval();
+    }
+
+    @Scheduled(fixedDelayString = "${game.archive.interval-millis:3600000}",
+            initialDelayString = "${game.archive.interval-millis:3600000}")
+    public void scheduledArchive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            archive();
+        } catch (IllegalStateException e) {
+            log.debug("Skipping scheduled archiving: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Archiving game sessions failed", e);
+        }
+    }
+
+    /**
+     * Archives sessions that ended before the cutoff, up to the per-run limit.
+     *
+     * @return counters describing the run
+     * @throws IllegalStateException if a run is already in progress
+     * @throws UncheckedIOException if a segment cannot be written
+     */
+    public GameArchiveResponse archive() {
+        if (!runLock.tryLock()) {
+            throw new IllegalStateException("Game sessions are already being archived");
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            completePendingRemoval();
+
+            GameArchiveResponse response = new GameArchiveResponse();
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(olderThan));
+            for (int i = 0; i < maxSegments; i++) {
+                List<ArchivedGame> games = jdbcTemplate.query(SELECT_SQL, GameSessionArchiver::toArchivedGame,
+                        cutoff, segmentRows);
+                if (games.isEmpty()) {
+                    break;
+                }
+
+                long[] ids = games.stream().mapToLong(ArchivedGame::sessionId).toArray();
+                try {
+                    archive.append(games, () -> {
+                        removalPending = true;
+                        removeFromHotTable(ids);
+                        removalPending = false;
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not write an archive segment", e);
+                }
+                response.setSegments(response.getSegments() + 1);
+                response.setGames(response.getGames() + games.size());
+                archived.increment(games.size());
+
+                if (games.size() < segmentRows) {
+                    break;
+                }
+                try {
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            response.setElapsedMillis(System.currentTimeMillis() - start);
+            if (response.getGames() > 0) {
+                log.info("Archived {} game sessions that ended before {} into {} segments in {} ms",
+                        response.getGames(), cutoff, response.getSegments(), response.getElapsedMillis());
+            }
+            return response;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void completePendingRemoval() {
+        if (!removalPending) {
+            return;
+        }
+        ArchiveSegment last = archive.last();
+        if (last != null) {
+            archive.exclusively(() -> removeFromHotTable(last.longs(Column.SESSION_ID)));
+        }
+        removalPending = false;
+    }
+
+    private void removeFromHotTable(long[] ids) {
+        List<Long> sessionIds = Arrays.stream(ids).boxed().toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_KEYSTROKE_LOG_SQL, sessionIds, 1000, (ps, id) -> ps.setLong(1, id));
+            jdbcTemplate.batchUpdate(DELETE_SESSION_SQL, sessionIds, 1000, (ps, id) -> ps.setLong(1, id));
+        });
+    }
+
+    private static ArchivedGame toArchivedGame(ResultSet rs, int rowNum) throws SQLException {
+        String difficulty = rs.getString(4);
+        String category = rs.getString(5);
+        return new ArchivedGame(
+                rs.getLong(1),
+                rs.getLong(2),
+                GameStatus.valueOf(rs.getString(3)),
+                difficulty != null ? Difficulty.valueOf(difficulty) : null,
+                category != null ? TextCategory.valueOf(category) : null,
+                rs.getObject(6, Integer.class),
+                rs.getObject(7, Double.class),
+                rs.getObject(8, Integer.class),
+                rs.getObject(9, Integer.class),
+                rs.getObject(10, Integer.class),
+                toLocalDateTime(rs.getTimestamp(11)),
+                toLocalDateTime(rs.getTimestamp(12)));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
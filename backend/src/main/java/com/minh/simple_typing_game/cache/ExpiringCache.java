@@ -0,0 +1,97 @@
+package com.minh.simple_typing_game.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded concurrent cache whose entries each carry their own expiry time.
+ * Reads are lock-free. When the cache is full, one writer sweeps out expired entries and,
+ * if that is not enough, drops arbitrary entries until it is three quarters full.
+ */
+public class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public ExpiringCache(int maxEntries) {
+        this(maxEntries, System::currentTimeMillis);
+    }
+
+    /**
+     * @param maxEntries the maximum number of entries
+     * @param clock the current time in milliseconds, in the same base as the expiry times
+     */
+    public ExpiringCache(int maxEntries, LongSupplier clock) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached value, or null if it is absent or has expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= clock.getAsLong()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    /**
+     * Caches a value until the given time.
+     *
+     * @param expiresAt expiry time in milliseconds, in the clock's base
+     */
+    public void put(K key, V value, long expiresAt) {
+        if (expiresAt <= clock.getAsLong()) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        // One thread sweeps; the others carry on and may briefly overshoot the bound
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = clock.getAsLong();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            int target = maxEntries - maxEntries / 4;
+            Iterator<K> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+}
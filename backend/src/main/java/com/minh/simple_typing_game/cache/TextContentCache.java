@@ -0,0 +1,64 @@
+package com.minh.simple_typing_game.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of text sample content as char arrays, keyed by sample ID.
+ * Lets thousands of concurrent typists on the same passage share one copy of it.
+ */
+@Component
+public class TextContentCache {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, char[]> contents;
+
+    public TextContentCache(@Value("${game.text-content-cache.max-entries:10000}") int maxEntries) {
+        this.contents = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, char[]> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached content, loading it with the supplier on a miss.
+     * The returned array is shared and must not be modified.
+     */
+    public char[] get(long textSampleId, Supplier<String> loader) {
+        lock.lock();
+        try {
+            char[] content = contents.get(textSampleId);
+            if (content != null) {
+                return content;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Load outside the lock; a concurrent miss simply loads the same content twice
+        char[] loaded = loader.get().toCharArray();
+        lock.lock();
+        try {
+            char[] existing = contents.putIfAbsent(textSampleId, loaded);
+            return existing != null ? existing : loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(long textSampleId) {
+        lock.lock();
+        try {
+            contents.remove(textSampleId);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
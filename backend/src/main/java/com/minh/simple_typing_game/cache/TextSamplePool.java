@@ -0,0 +1,310 @@
+package com.minh.simple_typing_game.cache;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.repository.projection.TextSampleSummary;
+import com.minh.simple_typing_game.util.LongIntHashMap;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory index of active text sample IDs and character counts, bucketed by
+ * difficulty, by difficulty/category and as one pool of every active sample. Picks a random sample in O(1) without
+ * touching the database. The index is loaded once on startup and then kept in
+ * sync incrementally by {@link TextSamplePoolListener}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TextSamplePool {
+
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final TextCategory[] CATEGORIES = TextCategory.values();
+    private static final int NO_TAG = -1;
+
+    private final TextSampleRepository textSampleRepository;
+
+    // Writers are rare (sample edits, reloads) and are serialized; readers never take this lock
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Index index = new Index();
+
+    /**
+     * A sample picked from the pool.
+     *
+     * @param id the text sample ID
+     * @param characterCount the number of characters in the sample content
+     */
+    public record PooledSample(long id, int characterCount) {
+    }
+
+    /**
+     * Rebuilds the whole index from the database in one streaming pass.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void reload() {
+        writeLock.lock();
+        try {
+            Index fresh = new Index();
+            try (Stream<TextSampleSummary> summaries = textSampleRepository.streamActiveSummaries()) {
+                summaries.forEach(summary -> fresh.upsert(summary.getId(), characterCount(summary.getCharacterCount()),
+                        tagOf(summary.getDifficulty(), summary.getCategory())));
+            }
+            index = fresh;
+            log.info("Text sample pool loaded with {} active samples", fresh.all.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Picks a random active sample regardless of difficulty or category.
+     *
+     * @return the picked sample, or empty if there is no active sample at all
+     */
+    public Optional<PooledSample> pickAny() {
+        return Optional.ofNullable(index.all.pick());
+    }
+
+    /**
+     * Picks a random active sample of the given difficulty.
+     *
+     * @param difficulty the difficulty to pick from
+     * @return the picked sample, or empty if there is no active sample with that difficulty
+     */
+    public Optional<PooledSample> pick(Difficulty difficulty) {
+        return Optional.ofNullable(index.byDifficulty[difficulty.ordinal()].pick());
+    }
+
+    /**
+     * Picks a random active sample of the given difficulty and category.
+     *
+     * @param difficulty the difficulty to pick from
+     * @param category the category to pick from
+     * @return the picked sample, or empty if there is no matching active sample
+     */
+    public Optional<PooledSample> pick(Difficulty difficulty, TextCategory category) {
+        return Optional.ofNullable(index.byDifficultyAndCategory[difficulty.ordinal()][category.ordinal()].pick());
+    }
+
+    /**
+     * Returns the number of active samples.
+     */
+    public int size() {
+        return index.all.size();
+    }
+
+    /**
+     * Returns the number of active samples of the given difficulty.
+     */
+    public int size(Difficulty difficulty) {
+        return index.byDifficulty[difficulty.ordinal()].size();
+    }
+
+    /**
+     * Adds, moves or removes a sample after it was inserted or updated.
+     * Inactive samples are removed from the pool.
+     */
+    public void onSaved(long id, boolean active, Difficulty difficulty, TextCategory category, Integer characterCount) {
+        writeLock.lock();
+        try {
+            if (active) {
+                index.upsert(id, characterCount(characterCount), tagOf(difficulty, category));
+            } else {
+                index.remove(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a sample after it was deleted.
+     */
+    public void onRemoved(long id) {
+        writeLock.lock();
+        try {
+            index.remove(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static int characterCount(Integer characterCount) {
+        return characterCount != null ? characterCount : 0;
+    }
+
+    private static int tagOf(Difficulty difficulty, TextCategory category) {
+        // Packs difficulty and category ordinals into one int; a missing category maps to CATEGORIES.length
+        if (difficulty == null) {
+            return NO_TAG;
+        }
+        int categoryOrdinal = category != null ? category.ordinal() : CATEGORIES.length;
+        return difficulty.ordinal() * (CATEGORIES.length + 1) + categoryOrdinal;
+    }
+
+    /**
+     * All buckets plus the id-to-tag map that remembers where each sample currently lives.
+     * Only mutated while holding the pool write lock.
+     */
+    private static final class Index {
+
+        private final Bucket all = new Bucket();
+        private final Bucket[] byDifficulty = new Bucket[DIFFICULTIES.length];
+        private final Bucket[][] byDifficultyAndCategory = new Bucket[DIFFICULTIES.length][CATEGORIES.length];
+        private final LongIntHashMap tags = new LongIntHashMap();
+
+        Index() {
+            for (int d = 0; d < DIFFICULTIES.length; d++) {
+                byDifficulty[d] = new Bucket();
+                for (int c = 0; c < CATEGORIES.length; c++) {
+                    byDifficultyAndCategory[d][c] = new Bucket();
+                }
+            }
+        }
+
+        void upsert(long id, int characterCount, int tag) {
+            int previousTag = tags.get(id, Integer.MIN_VALUE);
+            if (previousTag != Integer.MIN_VALUE && previousTag != tag) {
+                removeFromBuckets(id, previousTag);
+            }
+            tags.put(id, tag);
+            all.upsert(id, characterCount);
+            if (tag == NO_TAG) {
+                return;
+            }
+            int d = tag / (CATEGORIES.length + 1);
+            int c = tag % (CATEGORIES.length + 1);
+            byDifficulty[d].upsert(id, characterCount);
+            if (c < CATEGORIES.length) {
+                byDifficultyAndCategory[d][c].upsert(id, characterCount);
+            }
+        }
+
+        void remove(long id) {
+            int previousTag = tags.remove(id, Integer.MIN_VALUE);
+            if (previousTag != Integer.MIN_VALUE) {
+                all.remove(id);
+                removeFromBuckets(id, previousTag);
+            }
+        }
+
+        private void removeFromBuckets(long id, int tag) {
+            if (tag == NO_TAG) {
+                return;
+            }
+            int d = tag / (CATEGORIES.length + 1);
+            int c = tag % (CATEGORIES.length + 1);
+            byDifficulty[d].remove(id);
+            if (c < CATEGORIES.length) {
+                byDifficultyAndCategory[d][c].remove(id);
+            }
+        }
+    }
+
+    /**
+     * Dense arrays of sample IDs and character counts with an id-to-position map,
+     * so both random picks and swap-removals are O(1). Readers use an optimistic
+     * stamp and only fall back to a read lock if a writer raced them.
+     */
+    static final class Bucket {
+
+        private final StampedLock lock = new StampedLock();
+        private final LongIntHashMap positions = new LongIntHashMap();
+        private long[] ids = new long[16];
+        private int[] characterCounts = new int[16];
+        private int size;
+
+        PooledSample pick() {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                int n = size;
+                long[] currentIds = ids;
+                int[] currentCounts = characterCounts;
+                if (n == 0) {
+                    if (lock.validate(stamp)) {
+                        return null;
+                    }
+                } else {
+                    int i = ThreadLocalRandom.current().nextInt(n);
+                    if (i < currentIds.length && i < currentCounts.length) {
+                        long id = currentIds[i];
+                        int count = currentCounts[i];
+                        if (lock.validate(stamp)) {
+                            return new PooledSample(id, count);
+                        }
+                    }
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                if (size == 0) {
+                    return null;
+                }
+                int i = ThreadLocalRandom.current().nextInt(size);
+                return new PooledSample(ids[i], characterCounts[i]);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void upsert(long id, int characterCount) {
+            long stamp = lock.writeLock();
+            try {
+                int position = positions.get(id, -1);
+                if (position >= 0) {
+                    characterCounts[position] = characterCount;
+                    return;
+                }
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size << 1);
+                    characterCounts = Arrays.copyOf(characterCounts, size << 1);
+                }
+                ids[size] = id;
+                characterCounts[size] = characterCount;
+                positions.put(id, size);
+                size++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void remove(long id) {
+            long stamp = lock.writeLock();
+            try {
+                int position = positions.remove(id, -1);
+                if (position < 0) {
+                    return;
+                }
+                int last = --size;
+                if (position != last) {
+                    // Move the last entry into the hole to keep the arrays dense
+                    ids[position] = ids[last];
+                    characterCounts[position] = characterCounts[last];
+                    positions.put(ids[position], position);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+}
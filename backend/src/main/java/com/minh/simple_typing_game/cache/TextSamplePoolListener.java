@@ -0,0 +1,66 @@
+package com.minh.simple_typing_game.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.minh.simple_typing_game.entity.TextSample;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA entity listener that mirrors TextSample inserts, updates and deletes into the
+ * {@link TextSamplePool} and evicts stale content from the {@link TextContentCache}.
+ * Changes are applied after the surrounding transaction commits, so a rollback never
+ * leaves a phantom sample in the pool.
+ */
+@Component
+@RequiredArgsConstructor
+public class TextSamplePoolListener {
+
+    // Resolved lazily: the entity manager factory is created before the pool's repository exists
+    private final ObjectProvider<TextSamplePool> textSamplePool;
+    private final ObjectProvider<TextContentCache> textContentCache;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(TextSample sample) {
+        long id = sample.getId();
+        boolean active = Boolean.TRUE.equals(sample.getIsActive());
+        Difficulty difficulty = sample.getDifficulty();
+        TextCategory category = sample.getCategory();
+        Integer characterCount = sample.getCharacterCount();
+        afterCommit(() -> {
+            textSamplePool.getObject().onSaved(id, active, difficulty, category, characterCount);
+            textContentCache.getObject().evict(id);
+        });
+    }
+
+    @PostRemove
+    public void onRemoved(TextSample sample) {
+        long id = sample.getId();
+        afterCommit(() -> {
+            textSamplePool.getObject().onRemoved(id);
+            textContentCache.getObject().evict(id);
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
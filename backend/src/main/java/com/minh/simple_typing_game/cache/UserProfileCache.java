@@ -0,0 +1,75 @@
+package com.minh.simple_typing_game.cache;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.payload.dto.UserDTO;
+
+/**
+ * Short-lived cache of user profiles, so requests that need profile data do not read the
+ * database every time. Entries are dropped when the user is updated or completes a game;
+ * the TTL bounds staleness from changes made on other nodes.
+ *
+ * <p>The DTOs are mutable, so the cache keeps its own copy of each profile and hands every
+ * caller a fresh copy of it.
+ */
+@Component
+public class UserProfileCache {
+
+    private final ExpiringCache<Long, UserDTO> profiles;
+    private final long ttlMillis;
+
+    public UserProfileCache(@Value("${user-profile-cache.max-entries:10000}") int maxEntries,
+                            @Value("${user-profile-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.profiles = new ExpiringCache<>(maxEntries);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * Returns the cached profile, loading it on a miss. Missing users are not cached.
+     */
+    public UserDTO get(Long userId, Function<Long, UserDTO> loader) {
+        UserDTO cached = profiles.get(userId);
+        if (cached != null) {
+            return cached.toBuilder().build();
+        }
+        UserDTO profile = loader.apply(userId);
+        if (profile != null) {
+            profiles.put(userId, profile.toBuilder().build(), System.currentTimeMillis() + ttlMillis);
+        }
+        return profile;
+    }
+
+    public void invalidate(Long userId) {
+        profiles.invalidate(userId);
+    }
+
+    /**
+     * Drops the profile once the current transaction commits, or at once outside one. Dropped
+     * earlier, a read racing the transaction could cache the old row again for a whole TTL.
+     */
+    public void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameSessionCompleted(GameSessionCompletedEvent event) {
+        // The profile carries game statistics, which just changed
+        invalidate(event.userId());
+    }
+}
@@ -0,0 +1,16 @@
+package com.minh.simple_typing_game.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on {@code @Async} methods and {@code @Scheduled} jobs. Spring Boot backs them with
+ * its auto-configured task executor and scheduler, which run every task on a new virtual
+ * thread while {@code spring.threads.virtual.enabled} is true.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,71 @@
+package com.minh.simple_typing_game.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.analysis.CorpusAnalyzer;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.payload.request.CorpusImportRequest;
+import com.minh.simple_typing_game.service.CorpusImportService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports a text corpus on startup when {@code corpus.import.path} is set, e.g.
+ * {@code java -jar app.jar --corpus.import.path=/data/books --corpus.import.mode=PARAGRAPH}.
+ * With {@code corpus.import.classify=true} the new passages are then classified by content.
+ */
+@Component
+@ConditionalOnProperty(name = "corpus.import.path")
+@RequiredArgsConstructor
+@Slf4j
+public class CorpusImportRunner implements CommandLineRunner {
+
+    private final CorpusImportService corpusImportService;
+    private final CorpusAnalyzer corpusAnalyzer;
+
+    @Value("${corpus.import.path}")
+    private String path;
+
+    @Value("${corpus.import.mode:PARAGRAPH}")
+    private CorpusImportRequest.Mode mode;
+
+    @Value("${corpus.import.difficulty:MEDIUM}")
+    private Difficulty difficulty;
+
+    @Value("${corpus.import.category:LITERATURE}")
+    private TextCategory category;
+
+    @Value("${corpus.import.min-characters:20}")
+    private Integer minCharacters;
+
+    @Value("${corpus.import.max-characters:1000}")
+    private Integer maxCharacters;
+
+    @Value("${corpus.import.batch-size:500}")
+    private Integer batchSize;
+
+    @Value("${corpus.import.classify:false}")
+    private boolean classify;
+
+    @Override
+    public void run(String... args) throws Exception {
+        log.info("Corpus import requested on startup for path: {}", path);
+        corpusImportService.importCorpus(CorpusImportRequest.builder()
+                .path(path)
+                .mode(mode)
+                .difficulty(difficulty)
+                .category(category)
+                .minCharacters(minCharacters)
+                .maxCharacters(maxCharacters)
+                .batchSize(batchSize)
+                .build());
+        if (classify) {
+            corpusAnalyzer.analyze(false);
+        }
+    }
+}
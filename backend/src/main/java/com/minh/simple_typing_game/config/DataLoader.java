@@ -11,6 +11,7 @@ import com.minh.simple_typing_game.entity.TextSample;
 import com.minh.simple_typing_game.entity.enums.Difficulty;
 import com.minh.simple_typing_game.entity.enums.TextCategory;
 import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.util.TextUtils;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -96,8 +97,9 @@ public class DataLoader implements CommandLineRunner {
         sample.setContent(content);
         sample.setDifficulty(difficulty);
         sample.setCategory(category);
-        sample.setWordCount(content.split("\\s+").length);
+        sample.setWordCount(TextUtils.countWords(content));
         sample.setCharacterCount(content.length());
+        sample.setContentHash(TextUtils.sha256Hex(content));
         sample.setIsActive(true);
         sample.setCreatedAt(LocalDateTime.now());
         return sample;
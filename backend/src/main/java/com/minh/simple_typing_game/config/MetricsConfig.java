@@ -0,0 +1,23 @@
+package com.minh.simple_typing_game.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.minh.simple_typing_game.metrics.StatementCounter;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Lets the statement counter see every statement Hibernate prepares.
+     *
+     * @param statementCounter the counter behind the statements-per-request metric
+     * @return a customizer that installs it as Hibernate's statement inspector
+     */
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+}
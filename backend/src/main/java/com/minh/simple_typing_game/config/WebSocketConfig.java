@@ -0,0 +1,33 @@
+package com.minh.simple_typing_game.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import com.minh.simple_typing_game.websocket.KeystrokeWebSocketHandler;
+import com.minh.simple_typing_game.websocket.RaceWebSocketHandler;
+
+import lombok.RequiredArgsConstructor;
+
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final KeystrokeWebSocketHandler keystrokeWebSocketHandler;
+    private final RaceWebSocketHandler raceWebSocketHandler;
+
+    /**
+     * Registers the WebSocket endpoints of the game.
+     *
+     * @param registry the registry to add handlers to
+     */
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(keystrokeWebSocketHandler, "/ws/game-session/*")
+                .setAllowedOriginPatterns("*"); // Same as the CORS policy for development
+        registry.addHandler(raceWebSocketHandler, "/ws/race/*")
+                .setAllowedOriginPatterns("*");
+    }
+}
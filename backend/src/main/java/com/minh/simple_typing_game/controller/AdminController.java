@@ -0,0 +1,139 @@
+package com.minh.simple_typing_game.controller;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minh.simple_typing_game.analysis.CorpusAnalyzer;
+import com.minh.simple_typing_game.archive.GameSessionArchiver;
+import com.minh.simple_typing_game.payload.request.CorpusImportRequest;
+import com.minh.simple_typing_game.payload.response.CorpusAnalysisResponse;
+import com.minh.simple_typing_game.payload.response.CorpusImportResponse;
+import com.minh.simple_typing_game.payload.response.GameArchiveResponse;
+import com.minh.simple_typing_game.payload.response.UserStatsBackfillResponse;
+import com.minh.simple_typing_game.service.CorpusImportService;
+import com.minh.simple_typing_game.service.UserStatsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final CorpusImportService corpusImportService;
+    private final UserStatsService userStatsService;
+    private final GameSessionArchiver gameSessionArchiver;
+    private final CorpusAnalyzer corpusAnalyzer;
+
+    // Imports requested over HTTP may only read files under this directory
+    @Value("${corpus.import.dir:./data/corpus}")
+    private String importDir;
+
+    @PostMapping("/text-samples/import")
+    public ResponseEntity<CorpusImportResponse> importCorpus(@RequestBody CorpusImportRequest request) {
+        log.info("Importing text corpus from: {}", request.getPath());
+
+        try {
+            request.setPath(resolveImportPath(Path.of(importDir), request.getPath()).toString());
+            return ResponseEntity.ok(corpusImportService.importCorpus(request));
+        } catch (IllegalArgumentException e) {
+            log.error("Error importing corpus: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.warn("Corpus import rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error importing corpus", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/text-samples/classify")
+    public ResponseEntity<CorpusAnalysisResponse> classifyTextSamples(
+            @RequestParam(defaultValue = "false") boolean full) {
+        log.info("Classifying text samples, full: {}", full);
+
+        try {
+            return ResponseEntity.ok(corpusAnalyzer.analyze(full));
+        } catch (IllegalStateException e) {
+            log.warn("Text sample classification rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error classifying text samples", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/user-stats/backfill")
+    public ResponseEntity<UserStatsBackfillResponse> backfillUserStats() {
+        log.info("Backfilling user stats");
+
+        try {
+            return ResponseEntity.ok(userStatsService.backfill());
+        } catch (IllegalStateException e) {
+            log.warn("User stats backfill rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error backfilling user stats", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/game-sessions/archive")
+    public ResponseEntity<GameArchiveResponse> archiveGameSessions() {
+        log.info("Archiving old game sessions");
+
+        try {
+            return ResponseEntity.ok(gameSessionArchiver.archive());
+        } catch (IllegalStateException e) {
+            log.warn("Game session archiving rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error archiving game sessions", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Resolves a requested import path against the import directory. Symbolic links are
+     * resolved too, so neither {@code ..} nor a link can reach files outside it.
+     *
+     * @throws IllegalArgumentException if the path is missing, does not exist or lies outside the directory
+     */
+    static Path resolveImportPath(Path importDir, String path) throws IOException {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("Import path is required");
+        }
+        Path base;
+        try {
+            base = importDir.toRealPath();
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Import directory does not exist: " + importDir);
+        }
+        Path requested = base.resolve(path).normalize();
+        if (!requested.startsWith(base)) {
+            throw new IllegalArgumentException("Import path is outside the import directory: " + path);
+        }
+        try {
+            requested = requested.toRealPath();
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Import path does not exist: " + path);
+        }
+        if (!requested.startsWith(base)) {
+            throw new IllegalArgumentException("Import path is outside the import directory: " + path);
+        }
+        return requested;
+    }
+}
@@ -16,7 +16,11 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.view.RedirectView;
 
 import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.payload.dto.UserDTO;
+import com.minh.simple_typing_game.security.JwtAuthenticationFilter;
+import com.minh.simple_typing_game.security.VerifiedToken;
 import com.minh.simple_typing_game.service.AuthService;
+import com.minh.simple_typing_game.service.UserService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -30,7 +34,8 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class AuthController {
 
-    private final AuthService authService;    @GetMapping("/login/success")
+    private final AuthService authService;
+    private final UserService userService;    @GetMapping("/login/success")
     public RedirectView loginSuccess(Authentication authentication, HttpServletRequest request, HttpServletResponse response) {
         if (authentication != null && authentication.getPrincipal() instanceof OAuth2User) {
             OAuth2User oauth2User = (OAuth2User) authentication.getPrincipal();
@@ -60,19 +65,19 @@ public class AuthController {
         return new RedirectView("http://localhost:5173/login?error=auth_failed");
     }    @GetMapping("/user")
     @ResponseBody
-    public ResponseEntity<User> getCurrentUser(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        log.debug("Checking current user, session exists: {}", session != null);
-
-        if (session != null) {
-            User user = (User) session.getAttribute("user");
-            log.debug("User in session: {}", user != null ? user.getEmail() : "null");
+    public ResponseEntity<UserDTO> getCurrentUser(HttpServletRequest request) {
+        // Stateless: the user comes from the bearer token, not from the HTTP session
+        String token = JwtAuthenticationFilter.resolveToken(request);
+        VerifiedToken verified = token != null ? authService.verifyToken(token) : null;
+        if (verified != null) {
+            UserDTO user = userService.getUserById(verified.userId());
+            log.debug("User from token: {}", user != null ? user.getEmail() : "null");
             if (user != null) {
                 return ResponseEntity.ok(user);
             }
         }
 
-        log.debug("No authenticated user found in session");
+        log.debug("No authenticated user found for request");
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
 
@@ -80,20 +85,21 @@ public class AuthController {
     @ResponseBody
     public ResponseEntity<?> validateToken(@RequestParam String token) {
         try {
-            if (authService.validateToken(token)) {
-                String email = authService.getEmailFromToken(token);
-                User user = authService.findByEmail(email);
+            VerifiedToken verified = authService.verifyToken(token);
+            if (verified != null) {
+                // Identity comes from the claims; the profile names from the cached profile
+                UserDTO user = userService.getUserById(verified.userId());
                 
                 if (user != null) {
                     // Return user info without sensitive data
                     Map<String, Object> response = new HashMap<>();
                     response.put("valid", true);
-                    response.put("userId", user.getId());
-                    response.put("email", user.getEmail());
+                    response.put("userId", verified.userId());
+                    response.put("email", verified.email());
                     response.put("firstName", user.getFirstName());
                     response.put("lastName", user.getLastName());
-                    response.put("provider", user.getProvider());
-                    response.put("role", user.getRole());
+                    response.put("provider", verified.provider());
+                    response.put("role", verified.role());
                     
                     return ResponseEntity.ok(response);
                 }
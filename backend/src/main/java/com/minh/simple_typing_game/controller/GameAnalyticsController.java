@@ -0,0 +1,46 @@
+package com.minh.simple_typing_game.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.response.GameAnalyticsResponse;
+import com.minh.simple_typing_game.service.GameAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class GameAnalyticsController {
+
+    private final GameAnalyticsService gameAnalyticsService;
+
+    @GetMapping("/games")
+    public ResponseEntity<GameAnalyticsResponse> getGameAnalytics(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.debug("Getting game analytics for user: {}, difficulty: {}, from: {}, to: {}", userId, difficulty, from, to);
+
+        try {
+            return ResponseEntity.ok(gameAnalyticsService.getGameAnalytics(userId, difficulty, from, to));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid game analytics request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error getting game analytics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.minh.simple_typing_game.controller;
 
-import java.util.List;
-
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -14,13 +14,23 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
 import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
 import com.minh.simple_typing_game.payload.request.EndGameRequest;
+import com.minh.simple_typing_game.payload.response.GameHistoryPageResponse;
+import com.minh.simple_typing_game.payload.response.WordChunkResponse;
+import com.minh.simple_typing_game.security.VerifiedToken;
 import com.minh.simple_typing_game.service.GameSessionService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Single-player games. The acting user is always the one in the bearer token: a game can only
+ * be started, played, ended or replayed by its own player, and only their own history and
+ * active game can be read.
+ */
 @RestController
 @RequestMapping("/api/game-session")
 @RequiredArgsConstructor
@@ -31,13 +41,20 @@ public class GameSessionController {
 
     @PostMapping("/start")
     public ResponseEntity<GameSessionDTO> startGameSession(
-            @RequestParam Long userId,
-            @RequestParam(defaultValue = "MEDIUM") Difficulty difficulty) {
+            @AuthenticationPrincipal VerifiedToken token,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "MEDIUM") Difficulty difficulty,
+            @RequestParam(defaultValue = "TEXT") GameMode mode,
+            @RequestParam(required = false) TextCategory category) {
         
-        log.info("Starting game session for user: {} with difficulty: {}", userId, difficulty);
+        if (userId != null && !userId.equals(token.userId())) {
+            return forbidden(token, "start a game session for user " + userId);
+        }
+        log.info("Starting {} game session for user: {} with difficulty: {}", mode, token.userId(), difficulty);
         
         try {
-            GameSessionDTO gameSession = gameSessionService.startGameSession(userId, difficulty);
+            GameSessionDTO gameSession = gameSessionService.startGameSession(token.userId(), difficulty, mode,
+                    category);
             return ResponseEntity.ok(gameSession);
         } catch (IllegalArgumentException e) {
             log.error("Error starting game session: {}", e.getMessage());
@@ -50,8 +67,12 @@ public class GameSessionController {
 
     @PutMapping("/end/{sessionId}")
     public ResponseEntity<GameSessionDTO> endGameSession(
+            @AuthenticationPrincipal VerifiedToken token,
             @PathVariable Long sessionId,
             @RequestBody EndGameRequest request) {
+        if (!ownsSession(token, sessionId)) {
+            return forbidden(token, "end game session " + sessionId);
+        }
         
         log.info("Ending game session: {} with results: WPM={}, Accuracy={}%", 
                 sessionId, request.getWpm(), request.getAccuracy());
@@ -64,7 +85,8 @@ public class GameSessionController {
                 request.getDuration(),
                 request.getTotalCharacters(),
                 request.getCorrectCharacters(),
-                request.getIncorrectCharacters()
+                request.getIncorrectCharacters(),
+                request.getKeystrokeData()
             );
             return ResponseEntity.ok(gameSession);
         } catch (IllegalArgumentException | IllegalStateException e) {
@@ -77,7 +99,11 @@ public class GameSessionController {
     }
 
     @PutMapping("/abandon/{sessionId}")
-    public ResponseEntity<GameSessionDTO> abandonGameSession(@PathVariable Long sessionId) {
+    public ResponseEntity<GameSessionDTO> abandonGameSession(@AuthenticationPrincipal VerifiedToken token,
+            @PathVariable Long sessionId) {
+        if (!ownsSession(token, sessionId)) {
+            return forbidden(token, "abandon game session " + sessionId);
+        }
         log.info("Abandoning game session: {}", sessionId);
         
         try {
@@ -92,13 +118,65 @@ public class GameSessionController {
         }
     }
 
+    @GetMapping("/{sessionId}/words")
+    public ResponseEntity<WordChunkResponse> getWordChunk(
+            @AuthenticationPrincipal VerifiedToken token,
+            @PathVariable Long sessionId,
+            @RequestParam(defaultValue = "0") int chunk) {
+        if (!ownsSession(token, sessionId)) {
+            return forbidden(token, "read the words of game session " + sessionId);
+        }
+        log.debug("Getting word chunk {} of game session: {}", chunk, sessionId);
+        
+        try {
+            return ResponseEntity.ok(gameSessionService.getWordChunk(sessionId, chunk));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.error("Error getting word chunk: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Unexpected error getting word chunk of game session: {}", sessionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping(value = "/{sessionId}/keystrokes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getKeystrokeLog(@AuthenticationPrincipal VerifiedToken token,
+            @PathVariable Long sessionId) {
+        if (!ownsSession(token, sessionId)) {
+            return forbidden(token, "read the keystroke log of game session " + sessionId);
+        }
+        log.info("Getting keystroke log for game session: {}", sessionId);
+        
+        try {
+            String keystrokeLog = gameSessionService.getKeystrokeLog(sessionId);
+            if (keystrokeLog == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(keystrokeLog);
+        } catch (Exception e) {
+            log.error("Error getting keystroke log for game session: {}", sessionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/history/{userId}")
-    public ResponseEntity<List<GameSessionDTO>> getUserGameHistory(@PathVariable Long userId) {
+    public ResponseEntity<GameHistoryPageResponse> getUserGameHistory(
+            @AuthenticationPrincipal VerifiedToken token,
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "false") boolean includeContent) {
+        if (!userId.equals(token.userId())) {
+            return forbidden(token, "read the game history of user " + userId);
+        }
         log.info("Getting game history for user: {}", userId);
         
         try {
-            List<GameSessionDTO> history = gameSessionService.getUserGameHistory(userId);
+            GameHistoryPageResponse history = gameSessionService.getUserGameHistory(userId, cursor, limit, includeContent);
             return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            log.error("Error getting game history: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("Error getting game history for user: {}", userId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -106,7 +184,11 @@ public class GameSessionController {
     }
 
     @GetMapping("/active/{userId}")
-    public ResponseEntity<GameSessionDTO> getActiveGameSession(@PathVariable Long userId) {
+    public ResponseEntity<GameSessionDTO> getActiveGameSession(@AuthenticationPrincipal VerifiedToken token,
+            @PathVariable Long userId) {
+        if (!userId.equals(token.userId())) {
+            return forbidden(token, "read the active game session of user " + userId);
+        }
         log.info("Getting active game session for user: {}", userId);
         
         try {
@@ -121,4 +203,18 @@ public class GameSessionController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * A game that is neither in progress nor stored has no owner yet; the service then reports
+     * it as not found or not in progress, as it would to its player.
+     */
+    private boolean ownsSession(VerifiedToken token, Long sessionId) {
+        Long owner = gameSessionService.getSessionOwner(sessionId);
+        return owner == null || owner.equals(token.userId());
+    }
+
+    private static <T> ResponseEntity<T> forbidden(VerifiedToken token, String action) {
+        log.warn("Rejecting request of user {} to {}", token.userId(), action);
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
 }
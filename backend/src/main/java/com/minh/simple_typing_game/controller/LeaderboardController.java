@@ -0,0 +1,65 @@
+package com.minh.simple_typing_game.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.leaderboard.LeaderboardWindow;
+import com.minh.simple_typing_game.payload.dto.LeaderboardEntryDTO;
+import com.minh.simple_typing_game.payload.response.LeaderboardResponse;
+import com.minh.simple_typing_game.service.LeaderboardService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    public ResponseEntity<LeaderboardResponse> getLeaderboard(
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window,
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(required = false) TextCategory category,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Getting {} leaderboard for difficulty: {}, category: {}", window, difficulty, category);
+
+        try {
+            return ResponseEntity.ok(leaderboardService.getLeaderboard(window, difficulty, category, offset, limit));
+        } catch (Exception e) {
+            log.error("Error getting leaderboard", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/users/{userId}")
+    public ResponseEntity<LeaderboardEntryDTO> getUserRank(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "ALL_TIME") LeaderboardWindow window,
+            @RequestParam(required = false) Difficulty difficulty,
+            @RequestParam(required = false) TextCategory category) {
+        log.debug("Getting {} leaderboard rank for user: {}", window, userId);
+
+        try {
+            LeaderboardEntryDTO entry = leaderboardService.getUserRank(userId, window, difficulty, category);
+            if (entry == null) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(entry);
+        } catch (Exception e) {
+            log.error("Error getting leaderboard rank for user: {}", userId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
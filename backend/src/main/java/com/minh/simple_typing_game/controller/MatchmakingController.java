@@ -0,0 +1,68 @@
+package com.minh.simple_typing_game.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.MatchTicketDTO;
+import com.minh.simple_typing_game.payload.response.MatchmakingStatsResponse;
+import com.minh.simple_typing_game.security.VerifiedToken;
+import com.minh.simple_typing_game.service.MatchmakingService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Head-to-head matchmaking. Clients queue, then poll their ticket until it carries a race
+ * room ID and connect to {@code /ws/race/{roomId}}.
+ */
+@RestController
+@RequestMapping("/api/matchmaking")
+@RequiredArgsConstructor
+@Slf4j
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+
+    @PostMapping("/queue")
+    public ResponseEntity<MatchTicketDTO> enqueue(
+            @AuthenticationPrincipal VerifiedToken token,
+            @RequestParam(defaultValue = "MEDIUM") Difficulty difficulty) {
+        try {
+            return ResponseEntity.ok(matchmakingService.enqueue(token.userId(), difficulty));
+        } catch (Exception e) {
+            log.error("Unexpected error queueing user {} for matchmaking", token.userId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/queue")
+    public ResponseEntity<MatchTicketDTO> getTicket(@AuthenticationPrincipal VerifiedToken token) {
+        MatchTicketDTO ticket = matchmakingService.getTicket(token.userId());
+        if (ticket == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ticket);
+    }
+
+    @DeleteMapping("/queue")
+    public ResponseEntity<Void> cancel(@AuthenticationPrincipal VerifiedToken token) {
+        if (!matchmakingService.cancel(token.userId())) {
+            // Already matched or never queued
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<MatchmakingStatsResponse> getStats() {
+        return ResponseEntity.ok(matchmakingService.getStats());
+    }
+}
@@ -0,0 +1,109 @@
+package com.minh.simple_typing_game.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.RaceRoomDTO;
+import com.minh.simple_typing_game.security.VerifiedToken;
+import com.minh.simple_typing_game.service.RaceService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Race room lobby. Players create or join a room here, then connect to
+ * {@code /ws/race/{roomId}} to receive the countdown and progress snapshots and to send
+ * their keystrokes. The acting user is always the one in the bearer token.
+ */
+@RestController
+@RequestMapping("/api/race/rooms")
+@RequiredArgsConstructor
+@Slf4j
+public class RaceController {
+
+    private final RaceService raceService;
+
+    @PostMapping
+    public ResponseEntity<RaceRoomDTO> createRoom(
+            @AuthenticationPrincipal VerifiedToken token,
+            @RequestParam(defaultValue = "MEDIUM") Difficulty difficulty,
+            @RequestParam(defaultValue = "10") int maxPlayers) {
+        try {
+            return ResponseEntity.ok(raceService.createRoom(token.userId(), difficulty, maxPlayers));
+        } catch (IllegalArgumentException e) {
+            log.error("Error creating race room: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.error("Error creating race room: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error creating race room", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/{roomId}")
+    public ResponseEntity<RaceRoomDTO> getRoom(@PathVariable Long roomId) {
+        try {
+            return ResponseEntity.ok(raceService.getRoom(roomId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Unexpected error getting race room: {}", roomId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/{roomId}/join")
+    public ResponseEntity<RaceRoomDTO> joinRoom(@AuthenticationPrincipal VerifiedToken token, @PathVariable Long roomId) {
+        try {
+            return ResponseEntity.ok(raceService.joinRoom(roomId, token.userId()));
+        } catch (IllegalArgumentException e) {
+            log.error("Error joining race room: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.error("Error joining race room: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error joining race room: {}", roomId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/{roomId}/start")
+    public ResponseEntity<RaceRoomDTO> startRoom(@AuthenticationPrincipal VerifiedToken token, @PathVariable Long roomId) {
+        try {
+            return ResponseEntity.ok(raceService.startRoom(roomId, token.userId()));
+        } catch (IllegalArgumentException e) {
+            log.error("Error starting race room: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.error("Error starting race room: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Unexpected error starting race room: {}", roomId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/{roomId}/leave")
+    public ResponseEntity<RaceRoomDTO> leaveRoom(@AuthenticationPrincipal VerifiedToken token, @PathVariable Long roomId) {
+        try {
+            return ResponseEntity.ok(raceService.leaveRoom(roomId, token.userId()));
+        } catch (IllegalArgumentException e) {
+            log.error("Error leaving race room: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Unexpected error leaving race room: {}", roomId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.minh.simple_typing_game.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.service.AuthService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OAuth-free login for load tests: hands out a JWT for any username, creating the user on
+ * first use. Only registered when auth.test-login.enabled is true; never enable it in production.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/auth")
+@ConditionalOnProperty(name = "auth.test-login.enabled", havingValue = "true")
+@Slf4j
+public class TestLoginController {
+
+    private final AuthService authService;
+
+    @PostMapping("/test-login")
+    public ResponseEntity<Map<String, Object>> testLogin(@RequestParam String username) {
+        if (username.isBlank() || username.length() > 50) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            User user = authService.findOrCreateTestUser(username);
+            Map<String, Object> response = new HashMap<>();
+            response.put("token", authService.generateTokenForOAuth2User(user));
+            response.put("userId", user.getId());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Test login failed for {}", username, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
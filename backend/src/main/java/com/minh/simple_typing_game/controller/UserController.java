@@ -9,7 +9,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.minh.simple_typing_game.payload.dto.UserDTO;
+import com.minh.simple_typing_game.payload.dto.UserStatsDTO;
 import com.minh.simple_typing_game.service.UserService;
+import com.minh.simple_typing_game.service.UserStatsService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +23,7 @@ import lombok.extern.slf4j.Slf4j;
 public class UserController {
 
     private final UserService userService;
+    private final UserStatsService userStatsService;
 
     @GetMapping("/{id}")
     public ResponseEntity<UserDTO> getUserById(@PathVariable Long id) {
@@ -63,23 +66,21 @@ public class UserController {
     }
 
     @GetMapping("/{id}/stats")
-    public ResponseEntity<?> getUserStats(@PathVariable Long id) {
+    public ResponseEntity<UserStatsDTO> getUserStats(@PathVariable Long id) {
         log.info("Fetching stats for user with ID: {}", id);
         if (id == null || id <= 0) {
             log.error("Invalid user ID for stats: {}", id);
             return ResponseEntity.badRequest().build();
         }
         
-        // For now, return basic user stats - you can expand this later
         try {
-            UserDTO user = userService.getUserById(id);
-            if (user == null) {
+            UserStatsDTO stats = userStatsService.getUserStats(id);
+            if (stats == null) {
                 log.warn("User with ID {} not found for stats", id);
                 return ResponseEntity.notFound().build();
             }
             
-            // Return basic stats (you can create a separate UserStatsDTO later)
-            return ResponseEntity.ok(user);
+            return ResponseEntity.ok(stats);
         } catch (Exception e) {
             log.error("Error fetching stats for user {}: {}", id, e.getMessage());
             return ResponseEntity.internalServerError().build();
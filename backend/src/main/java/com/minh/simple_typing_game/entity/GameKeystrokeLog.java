@@ -0,0 +1,37 @@
+package com.minh.simple_typing_game.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compressed keystroke log of one game session, kept out of game_sessions so that
+ * history and list queries never read it. Encoded with KeystrokeLogCodec.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "keystroke_logs")
+public class GameKeystrokeLog {
+
+    @Id
+    private Long gameSessionId; // Same ID as the game session it belongs to
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    private Integer keystrokeCount;
+
+    private LocalDateTime createdAt;
+}
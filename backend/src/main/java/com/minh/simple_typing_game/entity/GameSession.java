@@ -3,19 +3,21 @@ package com.minh.simple_typing_game.entity;
 import java.time.LocalDateTime;
 
 import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
 import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -26,12 +28,18 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "game_sessions")
+@Table(name = "game_sessions", indexes = {
+        // Serves per-user history listings
+        @Index(name = "idx_game_sessions_user_status_started", columnList = "user_id, status, started_at"),
+        // Serves the stale session reaper's keyset scan
+        @Index(name = "idx_game_sessions_status_started", columnList = "status, started_at"),
+        // Serves the archiver and analytics over completion time ranges
+        @Index(name = "idx_game_sessions_completed", columnList = "completed_at")
+})
 public class GameSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    private Long id; // Assigned by GameSessionIdAllocator
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
@@ -49,6 +57,10 @@ public class GameSession {
     private Integer correctCharacters;
     private Integer incorrectCharacters;
 
+    // Race results; null for single-player games
+    private Long raceRoomId;
+    private Integer placement; // 1 for the winner, null if the player did not finish
+
     // Game state
     @Enumerated(EnumType.STRING)
     private GameStatus status; // COMPLETED, ABANDONED, IN_PROGRESS
@@ -56,10 +68,25 @@ public class GameSession {
     @Enumerated(EnumType.STRING)
     private Difficulty difficulty; // EASY, MEDIUM, HARD
 
+    @Enumerated(EnumType.STRING)
+    private GameMode mode; // TEXT, or TIMED_15/30/60 for a word stream
+
+    private Long seed; // Regenerates a timed game's words or a generated passage; null for text games
+
+    // Generated passages only: the model they came from, as there is no text sample
+    @Enumerated(EnumType.STRING)
+    private TextCategory category;
+
+    private Long generatorVersion; // The passage model's version, or the word stream vocabulary's fingerprint
+
+    // Hex SHA-256 of a generated passage; a passage generated again must match it
+    @Column(length = 64)
+    private String passageHash;
+
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
 
-    // Detailed keystroke data (optional)
-    @Column(columnDefinition = "TEXT")
-    private String keystrokeData; // JSON string of detailed typing data
+    // Optimistic lock for entity updates; also tells Spring Data that a session with an assigned ID is new
+    @Version
+    private Long version;
 }
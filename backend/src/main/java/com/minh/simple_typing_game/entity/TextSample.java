@@ -4,17 +4,21 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.minh.simple_typing_game.cache.TextSamplePoolListener;
 import com.minh.simple_typing_game.entity.enums.Difficulty;
 import com.minh.simple_typing_game.entity.enums.TextCategory;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -26,10 +30,15 @@ import lombok.Setter;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "text_samples")
+@EntityListeners(TextSamplePoolListener.class)
+@Table(name = "text_samples", indexes = {
+        // Serves the by-difficulty finders
+        @Index(name = "idx_text_samples_difficulty_active", columnList = "difficulty, is_active")
+})
 public class TextSample {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "text_samples_seq")
+    @SequenceGenerator(name = "text_samples_seq", sequenceName = "text_samples_seq", allocationSize = 50)
     private Long id;
     
     private String title;
@@ -47,6 +56,17 @@ public class TextSample {
     private Integer characterCount;
     private Boolean isActive = true;
     
+    // Hex SHA-256 of the content, used to skip duplicate passages on import
+    @Column(length = 64, unique = true)
+    private String contentHash;
+    
+    // Set by the corpus analyzer, 0 (easiest) to 100
+    private Double difficultyScore;
+    
+    // The content hash the difficulty was computed from; rows where it differs are analyzed again
+    @Column(length = 64)
+    private String analyzedHash;
+    
     private LocalDateTime createdAt;
     
     // One-to-many relationship
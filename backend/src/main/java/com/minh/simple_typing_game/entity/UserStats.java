@@ -0,0 +1,53 @@
+package com.minh.simple_typing_game.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Running totals of a user's completed games, updated incrementally as each game ends
+ * so that profile reads never aggregate over game_sessions.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    /**
+     * Lower bounds of the accuracy histogram buckets, in percent. Narrower near the top
+     * because most games land above 90%. The last bucket holds exactly 100%.
+     */
+    public static final int[] ACCURACY_BUCKETS = {0, 50, 70, 80, 85, 90, 93, 96, 98, 100};
+
+    @Id
+    private Long userId;
+
+    private int totalGames;
+    private int easyGames;
+    private int mediumGames;
+    private int hardGames;
+
+    private long totalWords; // Correct characters / 5, the standard typing word
+    private long totalTime; // Seconds
+
+    private int bestWpm;
+    private long wpmSum; // For the average
+    private double accuracySum; // For the average
+
+    @Column(nullable = false)
+    private int[] accuracyHistogram = new int[ACCURACY_BUCKETS.length];
+
+    private LocalDateTime updatedAt;
+
+    public UserStats(Long userId) {
+        this.userId = userId;
+    }
+}
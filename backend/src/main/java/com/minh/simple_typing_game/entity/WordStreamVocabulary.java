@@ -0,0 +1,37 @@
+package com.minh.simple_typing_game.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A vocabulary that timed games drew their words from, kept so that a stored game's seed
+ * regenerates its words after the corpus changed. Encoded with WordFrequencyList.encode().
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "word_stream_vocabularies")
+public class WordStreamVocabulary {
+
+    @Id
+    private Long id; // The vocabulary's fingerprint, stored as the generator version of its games
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    private Integer wordCount;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.minh.simple_typing_game.entity.enums;
+
+// Journaled by ordinal, so new modes go at the end
+public enum GameMode {
+    TEXT(0), // Type one text sample to the end
+    TIMED_15(15), // Type an endless stream of words for a fixed number of seconds
+    TIMED_30(30),
+    TIMED_60(60),
+    GENERATED(0); // Type a passage generated from the corpus to the end
+
+    private final int seconds;
+
+    GameMode(int seconds) {
+        this.seconds = seconds;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    public boolean isTimed() {
+        return seconds > 0;
+    }
+
+    // The text comes from the session's seed, as a timed word stream or a generated passage, not a text sample
+    public boolean isSeeded() {
+        return this != TEXT;
+    }
+}
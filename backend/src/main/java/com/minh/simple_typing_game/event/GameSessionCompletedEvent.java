@@ -0,0 +1,38 @@
+package com.minh.simple_typing_game.event;
+
+import java.time.LocalDateTime;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * Published when a game session is completed. Listeners that maintain derived data
+ * should use {@code @TransactionalEventListener} so they only see committed games.
+ *
+ * @param sessionId the completed game session
+ * @param userId the player
+ * @param username the player's username
+ * @param difficulty the game difficulty
+ * @param category the category of the typed text, or null if unknown
+ * @param wpm words per minute
+ * @param accuracy accuracy percentage
+ * @param duration seconds taken
+ * @param totalCharacters characters in the text
+ * @param correctCharacters correctly typed characters
+ * @param incorrectCharacters incorrectly typed characters
+ * @param completedAt when the game was completed
+ */
+public record GameSessionCompletedEvent(
+        long sessionId,
+        long userId,
+        String username,
+        Difficulty difficulty,
+        TextCategory category,
+        Integer wpm,
+        Double accuracy,
+        Integer duration,
+        Integer totalCharacters,
+        Integer correctCharacters,
+        Integer incorrectCharacters,
+        LocalDateTime completedAt) {
+}
@@ -0,0 +1,57 @@
+package com.minh.simple_typing_game.journal;
+
+import java.time.LocalDateTime;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * The outcome of one single-player game as it is journaled and later inserted into game_sessions.
+ * Scores are null for abandoned games and for any value the client left out.
+ *
+ * @param sessionId the finished game session
+ * @param userId the player
+ * @param textSampleId the typed text, or null if the text was generated
+ * @param difficulty the game difficulty
+ * @param mode the game mode
+ * @param seed the seed the text was generated from, or null for a text game
+ * @param category the category of a generated passage, or null
+ * @param generatorVersion the version of the model a passage or the vocabulary a word stream was
+ *        generated with, or null for a text game
+ * @param passageHash the hex SHA-256 of a generated passage, or null for other modes
+ * @param status COMPLETED or ABANDONED
+ * @param wpm words per minute
+ * @param accuracy accuracy percentage
+ * @param duration seconds taken
+ * @param totalCharacters characters in the text, or characters reached in a timed game
+ * @param correctCharacters correctly typed characters
+ * @param incorrectCharacters incorrectly typed characters
+ * @param startedAt when the game started
+ * @param completedAt when the game ended
+ * @param keystrokeLog the keystroke log encoded with KeystrokeLogCodec, or null if there is none
+ * @param keystrokeCount keystrokes in the log
+ */
+public record GameResult(
+        long sessionId,
+        long userId,
+        Long textSampleId,
+        Difficulty difficulty,
+        GameMode mode,
+        Long seed,
+        TextCategory category,
+        Long generatorVersion,
+        String passageHash,
+        GameStatus status,
+        Integer wpm,
+        Double accuracy,
+        Integer duration,
+        Integer totalCharacters,
+        Integer correctCharacters,
+        Integer incorrectCharacters,
+        LocalDateTime startedAt,
+        LocalDateTime completedAt,
+        byte[] keystrokeLog,
+        int keystrokeCount) {
+}
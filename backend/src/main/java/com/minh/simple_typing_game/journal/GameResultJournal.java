@@ -0,0 +1,346 @@
+package com.minh.simple_typing_game.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only journal of game results, kept in memory-mapped segment files named
+ * {@code results-<segment>.journal}. An append is a copy into the mapped page cache, so a
+ * journaled result survives a crash of the process; it does not survive a crash of the
+ * machine before the kernel writes the page back.
+ *
+ * <p>Each record is framed as {@code int payload length, int CRC32C of the payload, payload},
+ * and the length is written last. Segments are created zero-filled, so replay stops at the
+ * first zero length or at the first frame whose checksum does not match, which is where a
+ * crash cut an append short. A segment is deleted once it is full and every record in it has
+ * been released by the consumer.
+ *
+ * <p>Appends are serialized by the caller; {@link #release} may be called from any thread.
+ */
+@Slf4j
+public class GameResultJournal implements Closeable {
+
+    private static final String PREFIX = "results-";
+    private static final String SUFFIX = ".journal";
+    private static final int FRAME_HEADER = 8;
+    // Session, user and text IDs, difficulty, status, six scores, two timestamps, keystroke count and length
+    private static final int FIXED_PAYLOAD = 3 * 8 + 1 + 1 + 4 + 8 + 4 * 4 + 2 * 12 + 4 + 4;
+    // Mode and seed, after the keystroke log; records journaled before game modes existed end without them
+    private static final int MODE_TRAILER = 1 + 8;
+    // Category and model version of a generated passage, after the mode; also absent from older records
+    private static final int GENERATOR_TRAILER = 1 + 8;
+    // SHA-256 of a generated passage, all zeros for other modes, after the generator; absent from older records
+    private static final int PASSAGE_TRAILER = 32;
+    private static final byte[] NO_PASSAGE_HASH = new byte[PASSAGE_TRAILER];
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final GameMode[] MODES = GameMode.values();
+    private static final TextCategory[] CATEGORIES = TextCategory.values();
+    private static final GameStatus[] STATUSES = GameStatus.values();
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final CRC32C crc = new CRC32C();
+    private long nextSegmentId;
+    private Segment current;
+
+    /**
+     * A segment file and how many of its records are still waiting to be released.
+     */
+    public static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger unreleased = new AtomicInteger();
+        private final AtomicBoolean deleted = new AtomicBoolean();
+        private volatile boolean sealed;
+        private int position;
+
+        private Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    /**
+     * The records found in a segment left behind by an earlier run.
+     */
+    public record Recovered(Segment segment, List<GameResult> results) {
+    }
+
+    public GameResultJournal(Path dir, int segmentBytes) throws IOException {
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(dir);
+    }
+
+    /**
+     * Reads every segment left by an earlier run and seals it, so that it is deleted once
+     * its records are released. Must be called once, before the first append.
+     */
+    public List<Recovered> recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(dir)) {
+            paths = files.filter(path -> segmentIdOf(path) >= 0)
+                    .sorted((a, b) -> Long.compare(segmentIdOf(a), segmentIdOf(b)))
+                    .toList();
+        }
+
+        List<Recovered> recovered = new ArrayList<>();
+        for (Path path : paths) {
+            long id = segmentIdOf(path);
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            Segment segment;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                segment = new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            }
+            List<GameResult> results = readAll(segment);
+            segment.unreleased.set(results.size());
+            segment.sealed = true;
+            if (results.isEmpty()) {
+                Files.deleteIfExists(path);
+            } else {
+                recovered.add(new Recovered(segment, results));
+            }
+        }
+        return recovered;
+    }
+
+    /**
+     * Appends a result, starting a new segment when the current one is full.
+     *
+     * @return the segment holding the record, to be passed to {@link #release} once it is stored
+     */
+    public Segment append(GameResult result) throws IOException {
+        int payloadLength = FIXED_PAYLOAD + (result.keystrokeLog() != null ? result.keystrokeLog().length : 0)
+                + MODE_TRAILER + GENERATOR_TRAILER + PASSAGE_TRAILER;
+        int frameLength = FRAME_HEADER + payloadLength;
+        // Keep a zero length after the last frame so replay knows where the segment ends
+        if (current == null || current.position + frameLength + 4 > current.buffer.capacity()) {
+            roll(frameLength + 4);
+        }
+
+        MappedByteBuffer buffer = current.buffer;
+        int start = current.position;
+        int at = start + FRAME_HEADER;
+        ByteBuffer payload = buffer.slice(at, payloadLength);
+        payload.putLong(result.sessionId());
+        payload.putLong(result.userId());
+        payload.putLong(result.textSampleId() != null ? result.textSampleId() : 0L);
+        payload.put(result.difficulty() != null ? (byte) result.difficulty().ordinal() : -1);
+        payload.put((byte) result.status().ordinal());
+        payload.putInt(orNull(result.wpm()));
+        payload.putDouble(result.accuracy() != null ? result.accuracy() : Double.NaN);
+        payload.putInt(orNull(result.duration()));
+        payload.putInt(orNull(result.totalCharacters()));
+        payload.putInt(orNull(result.correctCharacters()));
+        payload.putInt(orNull(result.incorrectCharacters()));
+        putTime(payload, result.startedAt());
+        putTime(payload, result.completedAt());
+        payload.putInt(result.keystrokeCount());
+        if (result.keystrokeLog() != null) {
+            payload.putInt(result.keystrokeLog().length);
+            payload.put(result.keystrokeLog());
+        } else {
+            payload.putInt(-1);
+        }
+        payload.put(result.mode() != null ? (byte) result.mode().ordinal() : -1);
+        payload.putLong(result.seed() != null ? result.seed() : 0L);
+        payload.put(result.category() != null ? (byte) result.category().ordinal() : -1);
+        payload.putLong(result.generatorVersion() != null ? result.generatorVersion() : -1L);
+        payload.put(result.passageHash() != null ? HexFormat.of().parseHex(result.passageHash()) : NO_PASSAGE_HASH);
+
+        crc.reset();
+        crc.update(payload.flip());
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, payloadLength);
+
+        current.position = start + frameLength;
+        current.unreleased.incrementAndGet();
+        return current;
+    }
+
+    /**
+     * Marks records of a segment as stored, deleting the segment once it is full and empty.
+     */
+    public void release(Segment segment, int records) {
+        if (segment.unreleased.addAndGet(-records) == 0 && segment.sealed) {
+            delete(segment);
+        }
+    }
+
+    /**
+     * Seals the current segment; it is deleted if nothing in it is waiting.
+     */
+    @Override
+    public void close() {
+        if (current != null) {
+            seal(current);
+            current = null;
+        }
+    }
+
+    private void roll(int minBytes) throws IOException {
+        if (current != null) {
+            seal(current);
+        }
+        long id = nextSegmentId++;
+        Path path = dir.resolve(String.format("%s%016d%s", PREFIX, id, SUFFIX));
+        // Oversized records get a segment of their own
+        int size = Math.max(segmentBytes, minBytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            current = new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    private void seal(Segment segment) {
+        segment.sealed = true;
+        if (segment.unreleased.get() == 0) {
+            delete(segment);
+        }
+    }
+
+    private void delete(Segment segment) {
+        // Sealing and the last release can both see the segment empty; only one deletes it
+        if (!segment.deleted.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete journal segment " + segment.path, e);
+        }
+    }
+
+    private List<GameResult> readAll(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        List<GameResult> results = new ArrayList<>();
+        int position = 0;
+        while (position + FRAME_HEADER <= buffer.capacity()) {
+            int payloadLength = buffer.getInt(position);
+            if (payloadLength < FIXED_PAYLOAD || position + FRAME_HEADER + payloadLength > buffer.capacity()) {
+                break;
+            }
+            int at = position + FRAME_HEADER;
+            crc.reset();
+            crc.update(buffer.slice(at, payloadLength));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                log.warn("Journal segment {} has a torn record at offset {}; ignoring the rest", segment.path, position);
+                break;
+            }
+
+            results.add(read(buffer.slice(at, payloadLength)));
+            position = at + payloadLength;
+        }
+        return results;
+    }
+
+    private static GameResult read(ByteBuffer payload) {
+        long sessionId = payload.getLong();
+        long userId = payload.getLong();
+        long textSampleId = payload.getLong();
+        byte difficulty = payload.get();
+        GameStatus status = STATUSES[payload.get()];
+        Integer wpm = fromNull(payload.getInt());
+        double accuracy = payload.getDouble();
+        Integer duration = fromNull(payload.getInt());
+        Integer totalCharacters = fromNull(payload.getInt());
+        Integer correctCharacters = fromNull(payload.getInt());
+        Integer incorrectCharacters = fromNull(payload.getInt());
+        LocalDateTime startedAt = getTime(payload);
+        LocalDateTime completedAt = getTime(payload);
+        int keystrokeCount = payload.getInt();
+        int keystrokeLength = payload.getInt();
+        byte[] keystrokeLog = null;
+        if (keystrokeLength >= 0) {
+            keystrokeLog = new byte[keystrokeLength];
+            payload.get(keystrokeLog);
+        }
+        GameMode mode = GameMode.TEXT;
+        Long seed = null;
+        if (payload.remaining() >= MODE_TRAILER) {
+            byte modeOrdinal = payload.get();
+            mode = modeOrdinal >= 0 ? MODES[modeOrdinal] : null;
+            long seedValue = payload.getLong();
+            seed = mode != null && mode.isSeeded() ? seedValue : null;
+        }
+        TextCategory category = null;
+        Long generatorVersion = null;
+        if (payload.remaining() >= GENERATOR_TRAILER) {
+            byte categoryOrdinal = payload.get();
+            category = categoryOrdinal >= 0 ? CATEGORIES[categoryOrdinal] : null;
+            long version = payload.getLong();
+            generatorVersion = version >= 0 ? version : null;
+        }
+        String passageHash = null;
+        if (payload.remaining() >= PASSAGE_TRAILER) {
+            byte[] hash = new byte[PASSAGE_TRAILER];
+            payload.get(hash);
+            passageHash = Arrays.equals(hash, NO_PASSAGE_HASH) ? null : HexFormat.of().formatHex(hash);
+        }
+        return new GameResult(sessionId, userId, textSampleId != 0L ? textSampleId : null,
+                difficulty >= 0 ? DIFFICULTIES[difficulty] : null, mode, seed, category, generatorVersion,
+                passageHash, status, wpm, Double.isNaN(accuracy) ? null : accuracy, duration, totalCharacters,
+                correctCharacters, incorrectCharacters, startedAt, completedAt, keystrokeLog, keystrokeCount);
+    }
+
+    private static void putTime(ByteBuffer payload, LocalDateTime time) {
+        payload.putLong(time.toEpochSecond(ZoneOffset.UTC));
+        payload.putInt(time.getNano());
+    }
+
+    private static LocalDateTime getTime(ByteBuffer payload) {
+        return LocalDateTime.ofEpochSecond(payload.getLong(), payload.getInt(), ZoneOffset.UTC);
+    }
+
+    private static long segmentIdOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name, PREFIX.length(), name.length() - SUFFIX.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int orNull(Integer value) {
+        return value != null ? value : NULL_INT;
+    }
+
+    private static Integer fromNull(int value) {
+        return value != NULL_INT ? value : null;
+    }
+}
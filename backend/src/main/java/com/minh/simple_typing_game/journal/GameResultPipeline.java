@@ -0,0 +1,323 @@
+package com.minh.simple_typing_game.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import com.minh.simple_typing_game.journal.GameResultJournal.Segment;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind pipeline for single-player game results. A result is acknowledged once it is
+ * appended to the {@link GameResultJournal}; a flusher thread then stores queued results with
+ * {@link GameResultWriter} in batches. While a batch is being written, new results pile up
+ * behind it and go out together in the next one, so a burst of finished games costs a few
+ * transactions instead of one each.
+ *
+ * <p>Results left in the journal by an earlier run are replayed on startup. Replay is
+ * idempotent because the writer skips replayed sessions that already have a row; results of
+ * this run are written strictly, so a collision with a stored row fails instead of being lost.
+ *
+ * <p>A batch that keeps failing is retried {@code game.results.write-behind.max-attempts}
+ * times, then stored one result at a time. A result that fails for a reason of its own, such
+ * as a constraint violation, is moved to the dead-letter journal in the {@code dead-letter}
+ * subdirectory and counted in {@code game.results.dead.lettered}, so it cannot hold up the
+ * results behind it. Lost connections and other failures of the database itself are retried
+ * until they pass.
+ *
+ * <p>Disabled unless {@code game.results.write-behind.enabled} is set; game sessions are then
+ * stored synchronously as before.
+ */
+@Component
+@Slf4j
+public class GameResultPipeline {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5000;
+    private static final String DEAD_LETTER_DIR = "dead-letter";
+    private static final int DEAD_LETTER_SEGMENT_BYTES = 1024 * 1024;
+
+    private final boolean enabled;
+    private final GameResultWriter writer;
+    private final GameSessionIdAllocator idAllocator;
+    private final Path journalDir;
+    private final int segmentBytes;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final long shutdownTimeoutMillis;
+    private final Counter deadLettered;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+    // Results that are journaled but not yet stored
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private GameResultJournal journal;
+    // Only written by the flusher thread
+    private GameResultJournal deadLetters;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private record Entry(GameResult result, Segment segment, boolean replayed) {
+    }
+
+    public GameResultPipeline(GameResultWriter writer,
+                              GameSessionIdAllocator idAllocator,
+                              MeterRegistry meterRegistry,
+                              @Value("${game.results.write-behind.enabled:false}") boolean enabled,
+                              @Value("${game.results.journal.dir:./data/journal}") String journalDir,
+                              @Value("${game.results.journal.segment-bytes:16777216}") int segmentBytes,
+                              @Value("${game.results.write-behind.max-batch:500}") int maxBatch,
+                              @Value("${game.results.write-behind.max-attempts:5}") int maxAttempts,
+                              @Value("${game.results.write-behind.shutdown-timeout-millis:30000}") long shutdownTimeoutMillis) {
+        this.writer = writer;
+        this.idAllocator = idAllocator;
+        this.enabled = enabled;
+        this.journalDir = Path.of(journalDir);
+        this.segmentBytes = segmentBytes;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        Gauge.builder("game.results.pending", pending, AtomicInteger::get)
+                .description("Game results acknowledged but not yet stored")
+                .register(meterRegistry);
+        this.deadLettered = Counter.builder("game.results.dead.lettered")
+                .description("Game results that could not be stored and were moved to the dead-letter journal")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new GameResultJournal(journalDir, segmentBytes);
+        int replayed = 0;
+        for (GameResultJournal.Recovered recovered : journal.recover()) {
+            for (GameResult result : recovered.results()) {
+                // The session may never have reached game_sessions, so its ID must not be handed out again
+                idAllocator.advancePast(result.sessionId());
+                pending.incrementAndGet();
+                queue.add(new Entry(result, recovered.segment(), true));
+                replayed++;
+            }
+        }
+        if (replayed > 0) {
+            log.info("Replaying {} game results from the journal in {}", replayed, journalDir);
+        }
+        deadLetters = new GameResultJournal(journalDir.resolve(DEAD_LETTER_DIR), DEAD_LETTER_SEGMENT_BYTES);
+        // Dead letters are kept for an operator to inspect, never replayed
+        int deadLetterCount = deadLetters.recover().stream().mapToInt(recovered -> recovered.results().size()).sum();
+        if (deadLetterCount > 0) {
+            log.warn("{} game results are in the dead-letter journal in {}", deadLetterCount,
+                    journalDir.resolve(DEAD_LETTER_DIR));
+        }
+
+        running = true;
+        flusher = Thread.ofPlatform().name("game-result-flusher").daemon().unstarted(this::flushLoop);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(shutdownTimeoutMillis);
+        if (flusher.isAlive()) {
+            log.warn("Game results are still being stored after {} ms; the rest will be replayed from the journal",
+                    shutdownTimeoutMillis);
+            flusher.interrupt();
+            flusher.join(1000);
+        }
+        appendLock.lock();
+        try {
+            journal.close();
+            deadLetters.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores results: through the journal when write-behind is enabled, otherwise right away
+     * in the caller's transaction.
+     */
+    public void store(List<GameResult> results) {
+        if (!enabled) {
+            writer.write(results);
+            return;
+        }
+        for (GameResult result : results) {
+            submit(result);
+        }
+    }
+
+    /**
+     * Journals a result and queues it to be stored. Returns once the result is in the journal.
+     *
+     * @throws IllegalStateException if write-behind is disabled
+     * @throws UncheckedIOException if the journal cannot be written
+     */
+    private void submit(GameResult result) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind of game results is disabled");
+        }
+
+        Segment segment;
+        appendLock.lock();
+        try {
+            segment = journal.append(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal the result of game session " + result.sessionId(), e);
+        } finally {
+            appendLock.unlock();
+        }
+        pending.incrementAndGet();
+        queue.add(new Entry(result, segment, false));
+        LockSupport.unpark(flusher);
+    }
+
+    private void flushLoop() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            Entry entry;
+            while (batch.size() < maxBatch && (entry = queue.poll()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            if (!flush(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stores a batch, retrying with backoff until every result is stored or dead-lettered, or
+     * the thread is interrupted.
+     */
+    private boolean flush(List<Entry> batch) {
+        List<Entry> unstored = new ArrayList<>(batch);
+        long backoffMillis = 100;
+        int attempts = 0;
+        while (!unstored.isEmpty()) {
+            try {
+                if (++attempts <= maxAttempts) {
+                    writeEntries(unstored);
+                    unstored.clear();
+                } else {
+                    storeOneByOne(unstored);
+                }
+            } catch (RuntimeException e) {
+                log.error("Could not store {} game results, retrying in {} ms", unstored.size(), backoffMillis, e);
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    // Shutting down; the batch is still in the journal and is replayed on the next start
+                    return false;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+
+        Map<Segment, Integer> released = new IdentityHashMap<>();
+        for (Entry entry : batch) {
+            released.merge(entry.segment(), 1, Integer::sum);
+        }
+        try {
+            released.forEach(journal::release);
+        } catch (UncheckedIOException e) {
+            // The results are stored; a leftover segment is only replayed as no-ops
+            log.warn("Could not delete a journal segment: {}", e.getMessage());
+        }
+        pending.addAndGet(-batch.size());
+        return true;
+    }
+
+    private void writeEntries(List<Entry> entries) {
+        List<GameResult> results = new ArrayList<>(entries.size());
+        List<GameResult> replayed = new ArrayList<>();
+        for (Entry entry : entries) {
+            (entry.replayed() ? replayed : results).add(entry.result());
+        }
+        if (!replayed.isEmpty()) {
+            writer.replay(replayed);
+        }
+        if (!results.isEmpty()) {
+            writer.write(results);
+        }
+    }
+
+    /**
+     * Stores entries one at a time, removing each one that is stored or dead-lettered. Throws
+     * on the first failure that is not the entry's own, leaving it and the rest to be retried.
+     */
+    private void storeOneByOne(List<Entry> entries) {
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            try {
+                writeEntries(List.of(entry));
+            } catch (RuntimeException e) {
+                if (!isPoison(e)) {
+                    throw e;
+                }
+                deadLetter(entry.result(), e);
+            }
+            iterator.remove();
+        }
+    }
+
+    private void deadLetter(GameResult result, RuntimeException cause) {
+        try {
+            deadLetters.append(result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dead-letter the result of game session " + result.sessionId(), e);
+        }
+        deadLettered.increment();
+        log.error("Moved the result of game session {} to the dead-letter journal after {} attempts",
+                result.sessionId(), maxAttempts, cause);
+    }
+
+    /**
+     * Returns whether a failure comes from the result itself and so fails on every retry, as
+     * opposed to a failure of the database or its connection that may pass.
+     */
+    private static boolean isPoison(RuntimeException e) {
+        return e instanceof DataIntegrityViolationException
+                || !(e instanceof DataAccessException || e instanceof TransactionException);
+    }
+}
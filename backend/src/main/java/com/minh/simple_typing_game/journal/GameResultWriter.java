@@ -0,0 +1,200 @@
+package com.minh.simple_typing_game.journal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.projection.GameSessionPlayerRef;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Inserts finished single-player games into game_sessions with one batched INSERT, together
+ * with their keystroke logs and completion events. Runs in the caller's transaction, or in a
+ * transaction of its own for each batch from the write-behind pipeline.
+ *
+ * <p>A result whose session already has a row fails its batch, because a live game should
+ * never collide with a stored one and dropping it would lose a finished game. Only journal
+ * replay skips such results, since a replayed result may have been stored before a crash;
+ * keystroke logs and completion events are then only produced for the rows the batch actually
+ * inserted, which keeps stats and the leaderboard from counting a replayed game twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameResultWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO game_sessions (id, user_id, text_sample_id, difficulty, "
+            + "mode, seed, category, generator_version, status, wpm, accuracy, duration, total_characters, "
+            + "correct_characters, incorrect_characters, started_at, completed_at, passage_hash, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_KEYSTROKE_LOG_SQL = "INSERT INTO keystroke_logs (game_session_id, data, "
+            + "keystroke_count, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final GameSessionRepository gameSessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Stores a batch of results in one transaction.
+     *
+     * @return how many sessions were inserted
+     * @throws org.springframework.dao.DuplicateKeyException if a session already has a row; nothing is stored
+     */
+    public int write(List<GameResult> results) {
+        Integer written = transactionTemplate.execute(status -> writeInTransaction(results));
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Stores a batch of results replayed from the journal in one transaction, skipping the
+     * sessions that already have a row.
+     *
+     * @return how many sessions were inserted; results that were already stored are not counted
+     */
+    public int replay(List<GameResult> results) {
+        Integer written = transactionTemplate.execute(status -> writeInTransaction(skipStored(results)));
+        return written != null ? written : 0;
+    }
+
+    private List<GameResult> skipStored(List<GameResult> results) {
+        Set<Long> existing = new HashSet<>(gameSessionRepository.findExistingIds(
+                results.stream().map(GameResult::sessionId).toList()));
+        List<GameResult> fresh = new ArrayList<>(results.size());
+        for (GameResult result : results) {
+            // add() also drops a session that appears twice in one batch
+            if (existing.add(result.sessionId())) {
+                fresh.add(result);
+            }
+        }
+        if (fresh.size() < results.size()) {
+            log.info("Skipped {} replayed game results that were already stored", results.size() - fresh.size());
+        }
+        return fresh;
+    }
+
+    private int writeInTransaction(List<GameResult> fresh) {
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, fresh, fresh.size(), (ps, result) -> {
+            ps.setLong(1, result.sessionId());
+            ps.setLong(2, result.userId());
+            if (result.textSampleId() != null) {
+                ps.setLong(3, result.textSampleId());
+            } else {
+                ps.setNull(3, Types.BIGINT);
+            }
+            ps.setString(4, result.difficulty() != null ? result.difficulty().name() : null);
+            ps.setString(5, result.mode() != null ? result.mode().name() : null);
+            if (result.seed() != null) {
+                ps.setLong(6, result.seed());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            ps.setString(7, result.category() != null ? result.category().name() : null);
+            if (result.generatorVersion() != null) {
+                ps.setLong(8, result.generatorVersion());
+            } else {
+                ps.setNull(8, Types.BIGINT);
+            }
+            ps.setString(9, result.status().name());
+            setInteger(ps, 10, result.wpm());
+            if (result.accuracy() != null) {
+                ps.setDouble(11, result.accuracy());
+            } else {
+                ps.setNull(11, Types.DOUBLE);
+            }
+            setInteger(ps, 12, result.duration());
+            setInteger(ps, 13, result.totalCharacters());
+            setInteger(ps, 14, result.correctCharacters());
+            setInteger(ps, 15, result.incorrectCharacters());
+            ps.setTimestamp(16, Timestamp.valueOf(result.startedAt()));
+            ps.setTimestamp(17, Timestamp.valueOf(result.completedAt()));
+            ps.setString(18, result.passageHash());
+        });
+
+        List<GameResult> withKeystrokeLog = new ArrayList<>();
+        List<Long> completedIds = new ArrayList<>();
+        for (GameResult result : fresh) {
+            if (result.keystrokeLog() != null) {
+                withKeystrokeLog.add(result);
+            }
+            if (result.status() == GameStatus.COMPLETED) {
+                completedIds.add(result.sessionId());
+            }
+        }
+        if (!withKeystrokeLog.isEmpty()) {
+            // Plain JDBC like the sessions: saveAll() would merge, selecting each log by its assigned ID first
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_KEYSTROKE_LOG_SQL, withKeystrokeLog, withKeystrokeLog.size(), (ps, result) -> {
+                ps.setLong(1, result.sessionId());
+                ps.setBytes(2, result.keystrokeLog());
+                ps.setInt(3, result.keystrokeCount());
+                ps.setTimestamp(4, now);
+            });
+        }
+        if (!completedIds.isEmpty()) {
+            publishCompleted(fresh, completedIds);
+        }
+        return fresh.size();
+    }
+
+    private void publishCompleted(List<GameResult> inserted, List<Long> completedIds) {
+        Map<Long, GameSessionPlayerRef> players = new HashMap<>();
+        for (GameSessionPlayerRef player : gameSessionRepository.findPlayerRefsByIdIn(completedIds)) {
+            players.put(player.getId(), player);
+        }
+        // Listeners lock each player's stats row, so the events go out in user ID order, the
+        // order the stats backfill locks its ranges in
+        List<GameResult> byUser = new ArrayList<>(inserted);
+        byUser.sort(Comparator.comparing(GameResult::userId));
+        for (GameResult result : byUser) {
+            GameSessionPlayerRef player = players.get(result.sessionId());
+            if (result.status() != GameStatus.COMPLETED || player == null) {
+                continue;
+            }
+            eventPublisher.publishEvent(new GameSessionCompletedEvent(
+                    result.sessionId(),
+                    player.getUserId(),
+                    player.getUsername(),
+                    player.getDifficulty(),
+                    result.category() != null ? result.category() : player.getCategory(),
+                    result.wpm(),
+                    result.accuracy(),
+                    result.duration(),
+                    result.totalCharacters(),
+                    result.correctCharacters(),
+                    result.incorrectCharacters(),
+                    result.completedAt()));
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
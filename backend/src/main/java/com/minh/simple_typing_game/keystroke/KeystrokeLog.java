@@ -0,0 +1,85 @@
+package com.minh.simple_typing_game.keystroke;
+
+import java.util.Arrays;
+
+/**
+ * Growable, column-oriented list of keystrokes: timestamps, typed characters and
+ * correction flags held in parallel primitive arrays.
+ */
+public class KeystrokeLog {
+
+    private long[] timestamps;
+    private char[] keys;
+    private boolean[] corrections;
+    private int size;
+
+    public KeystrokeLog() {
+        this(64);
+    }
+
+    public KeystrokeLog(int expectedSize) {
+        int capacity = Math.max(4, expectedSize);
+        this.timestamps = new long[capacity];
+        this.keys = new char[capacity];
+        this.corrections = new boolean[capacity];
+    }
+
+    /**
+     * Appends one keystroke.
+     *
+     * @param timestamp milliseconds, either epoch or relative to the start of the game
+     * @param key the typed character, or {@link KeystrokeScorer#BACKSPACE}
+     * @param correction whether the keystroke corrected an earlier mistake
+     */
+    public void add(long timestamp, char key, boolean correction) {
+        if (size == timestamps.length) {
+            int capacity = size << 1;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            corrections = Arrays.copyOf(corrections, capacity);
+        }
+        timestamps[size] = timestamp;
+        keys[size] = key;
+        corrections[size] = correction;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    public char key(int index) {
+        return keys[index];
+    }
+
+    public boolean correction(int index) {
+        return corrections[index];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof KeystrokeLog log) || log.size != size) {
+            return false;
+        }
+        return Arrays.equals(timestamps, 0, size, log.timestamps, 0, size)
+                && Arrays.equals(keys, 0, size, log.keys, 0, size)
+                && Arrays.equals(corrections, 0, size, log.corrections, 0, size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Long.hashCode(timestamps[i]);
+            result = 31 * result + keys[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,296 @@
+package com.minh.simple_typing_game.keystroke;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Binary codec for keystroke logs.
+ *
+ * <p>Layout: the magic bytes {@code 'K' 'L'}, a format version byte, then a Deflate stream of
+ * a varint keystroke count, the zigzag varint first timestamp and, per keystroke, the zigzag
+ * varint delta from the previous timestamp followed by the varint {@code (charCode << 1) | correction}.
+ * Typing deltas and ASCII keys fit in one byte each before compression.
+ *
+ * <p>Also converts to and from the JSON form accepted by the end-game API:
+ * {@code [{"timestamp":1718000000000,"key":"a","correction":false}, ...]}, with
+ * {@code "Backspace"} as the key for a backspace.
+ */
+public final class KeystrokeLogCodec {
+
+    public static final String BACKSPACE_KEY = "Backspace";
+
+    private static final byte MAGIC_0 = 'K';
+    private static final byte MAGIC_1 = 'L';
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 3;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private KeystrokeLogCodec() {
+    }
+
+    /**
+     * Encodes and compresses a keystroke log.
+     */
+    public static byte[] encode(KeystrokeLog log) {
+        Encoder encoder = new Encoder(log.size());
+        for (int i = 0; i < log.size(); i++) {
+            encoder.add(log.timestamp(i), log.key(i), log.correction(i));
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Decompresses and decodes a keystroke log.
+     *
+     * @throws IllegalArgumentException if the data is not a valid keystroke log
+     */
+    public static KeystrokeLog decode(byte[] data) {
+        if (data.length < HEADER_SIZE || data[0] != MAGIC_0 || data[1] != MAGIC_1) {
+            throw new IllegalArgumentException("Not a keystroke log");
+        }
+        if (data[2] != VERSION) {
+            throw new IllegalArgumentException("Unsupported keystroke log version: " + data[2]);
+        }
+
+        Inflater inflater = new Inflater();
+        ByteSink raw = new ByteSink(data.length * 4);
+        try {
+            inflater.setInput(data, HEADER_SIZE, data.length - HEADER_SIZE);
+            while (!inflater.finished()) {
+                raw.ensureCapacity(raw.size + 256);
+                int inflated = inflater.inflate(raw.buffer, raw.size, raw.buffer.length - raw.size);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated keystroke log");
+                }
+                raw.size += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt keystroke log", e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteSource in = new ByteSource(raw.buffer, raw.size);
+        int count = (int) in.readVarlong();
+        KeystrokeLog log = new KeystrokeLog(count);
+        long timestamp = unzigzag(in.readVarlong());
+        for (int i = 0; i < count; i++) {
+            timestamp += unzigzag(in.readVarlong());
+            int keyAndFlag = (int) in.readVarlong();
+            log.add(timestamp, (char) (keyAndFlag >>> 1), (keyAndFlag & 1) != 0);
+        }
+        return log;
+    }
+
+    /**
+     * Parses the JSON keystroke form. Unknown fields are ignored.
+     *
+     * @throws IllegalArgumentException if the JSON is not an array of keystroke objects
+     */
+    public static KeystrokeLog fromJson(String json) {
+        KeystrokeLog log = new KeystrokeLog();
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Keystroke data must be a JSON array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                long timestamp = 0L;
+                char key = 0;
+                boolean correction = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "timestamp" -> timestamp = parser.getLongValue();
+                        case "key" -> key = toKey(parser.getText());
+                        case "correction" -> correction = parser.getBooleanValue();
+                        default -> parser.skipChildren();
+                    }
+                }
+                log.add(timestamp, key, correction);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid keystroke JSON: " + e.getMessage(), e);
+        }
+        return log;
+    }
+
+    /**
+     * Writes a keystroke log in the JSON form.
+     */
+    public static String toJson(KeystrokeLog log) {
+        StringWriter writer = new StringWriter(log.size() * 48 + 2);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.writeStartArray();
+            for (int i = 0; i < log.size(); i++) {
+                generator.writeStartObject();
+                generator.writeNumberField("timestamp", log.timestamp(i));
+                char key = log.key(i);
+                generator.writeStringField("key", key == KeystrokeScorer.BACKSPACE ? BACKSPACE_KEY : String.valueOf(key));
+                generator.writeBooleanField("correction", log.correction(i));
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write keystroke JSON", e);
+        }
+        return writer.toString();
+    }
+
+    private static char toKey(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return BACKSPACE_KEY.equals(text) ? KeystrokeScorer.BACKSPACE : text.charAt(0);
+    }
+
+    /**
+     * Encodes keystrokes as they are typed, holding only the uncompressed varint form of those
+     * added so far, a couple of bytes per key, instead of a {@link KeystrokeLog}. Not thread-safe.
+     */
+    public static final class Encoder {
+
+        private final ByteSink body;
+        private int count;
+        private long first;
+        private long previous;
+
+        public Encoder(int expectedSize) {
+            this.body = new ByteSink(expectedSize * 3);
+        }
+
+        /**
+         * Appends one keystroke, as {@link KeystrokeLog#add} does.
+         */
+        public void add(long timestamp, char key, boolean correction) {
+            if (count == 0) {
+                first = timestamp;
+                previous = timestamp;
+            }
+            body.writeVarlong(zigzag(timestamp - previous));
+            body.writeVarint((key << 1) | (correction ? 1 : 0));
+            previous = timestamp;
+            count++;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Compresses the keystrokes added so far into the binary form {@link #decode} reads.
+         */
+        public byte[] toByteArray() {
+            ByteSink raw = new ByteSink(16 + body.size);
+            raw.writeVarint(count);
+            raw.writeVarlong(zigzag(first));
+            raw.write(body);
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setInput(raw.buffer, 0, raw.size);
+                deflater.finish();
+                ByteSink compressed = new ByteSink(HEADER_SIZE + raw.size / 2 + 16);
+                compressed.write(MAGIC_0);
+                compressed.write(MAGIC_1);
+                compressed.write(VERSION);
+                while (!deflater.finished()) {
+                    compressed.ensureCapacity(compressed.size + 256);
+                    compressed.size += deflater.deflate(compressed.buffer, compressed.size, compressed.buffer.length - compressed.size);
+                }
+                return compressed.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class ByteSink {
+
+        private byte[] buffer;
+        private int size;
+
+        ByteSink(int capacity) {
+            this.buffer = new byte[Math.max(16, capacity)];
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length << 1));
+            }
+        }
+
+        void write(int b) {
+            ensureCapacity(size + 1);
+            buffer[size++] = (byte) b;
+        }
+
+        void write(ByteSink other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.buffer, 0, buffer, size, other.size);
+            size += other.size;
+        }
+
+        void writeVarint(int value) {
+            writeVarlong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarlong(long value) {
+            ensureCapacity(size + 10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class ByteSource {
+
+        private final byte[] buffer;
+        private final int limit;
+        private int position;
+
+        ByteSource(byte[] buffer, int limit) {
+            this.buffer = buffer;
+            this.limit = limit;
+        }
+
+        long readVarlong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= limit) {
+                    throw new IllegalArgumentException("Truncated keystroke log");
+                }
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in keystroke log");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.minh.simple_typing_game.keystroke;
+
+/**
+ * Server-computed result of a game typed over the keystroke stream.
+ */
+public record KeystrokeScore(
+        int wpm,
+        double accuracy,
+        int duration,
+        int totalCharacters,
+        int correctCharacters,
+        int incorrectCharacters) {
+}
@@ -0,0 +1,212 @@
+package com.minh.simple_typing_game.keystroke;
+
+/**
+ * Incremental, allocation-free scorer for one typist against one text.
+ * Keeps a cursor into the expected text, running keystroke counts, a bitset of
+ * positions currently typed correctly and a ten second rolling window of
+ * correct characters for live WPM. Not thread-safe.
+ *
+ * <p>With a time limit the game is timed: keystrokes past the limit are ignored, the game is
+ * complete once the limit is reached and it is scored over the whole limit, however much of
+ * the text was typed.
+ */
+public class KeystrokeScorer {
+
+    public static final char BACKSPACE = '\b';
+
+    private static final int WINDOW_SLOTS = 10;
+    private static final int SLOT_MILLIS = 1000;
+
+    private final char[] expected;
+    private final long timeLimitMillis;
+    private final long[] correctAt;
+    private final int[] window = new int[WINDOW_SLOTS];
+
+    private int cursor;
+    private int correctPositions;
+    private int correctKeystrokes;
+    private int incorrectKeystrokes;
+    private int corrections;
+    private long elapsedMillis;
+    private long windowSlot;
+
+    /**
+     * @param expected the text to type; shared between scorers and never modified
+     */
+    public KeystrokeScorer(char[] expected) {
+        this(expected, 0);
+    }
+
+    /**
+     * @param expected the text to type; shared between scorers and never modified
+     * @param timeLimitMillis how long a timed game lasts, or 0 to type the text to the end
+     */
+    public KeystrokeScorer(char[] expected, long timeLimitMillis) {
+        this.expected = expected;
+        this.timeLimitMillis = Math.max(0, timeLimitMillis);
+        this.correctAt = new long[(expected.length + 63) >>> 6];
+    }
+
+    /**
+     * Applies one keystroke.
+     *
+     * @param key the typed character, or {@link #BACKSPACE}
+     * @param deltaMillis milliseconds since the previous keystroke
+     * @return whether the keystroke corrected an earlier mistake: a backspace over a mistyped character
+     */
+    public boolean accept(char key, int deltaMillis) {
+        if (timeLimitMillis > 0 && elapsedMillis + Math.max(0, deltaMillis) > timeLimitMillis) {
+            // Typed after the time ran out; the clock stops at the limit
+            advanceClock((int) (timeLimitMillis - elapsedMillis));
+            return false;
+        }
+        advanceClock(Math.max(0, deltaMillis));
+
+        if (key == BACKSPACE) {
+            if (cursor == 0) {
+                return false;
+            }
+            cursor--;
+            corrections++;
+            if (isCorrectAt(cursor)) {
+                clearCorrectAt(cursor);
+                correctPositions--;
+                window[(int) (windowSlot % WINDOW_SLOTS)]--;
+                return false;
+            }
+            return true;
+        }
+
+        if (cursor >= expected.length) {
+            incorrectKeystrokes++;
+            return false;
+        }
+        if (expected[cursor] == key) {
+            setCorrectAt(cursor);
+            correctPositions++;
+            correctKeystrokes++;
+            window[(int) (windowSlot % WINDOW_SLOTS)]++;
+        } else {
+            incorrectKeystrokes++;
+        }
+        cursor++;
+        return false;
+    }
+
+    /**
+     * Returns true once every character of the text has been typed correctly or, in a timed
+     * game, once the time limit has been reached.
+     */
+    public boolean isComplete() {
+        if (timeLimitMillis > 0 && elapsedMillis >= timeLimitMillis) {
+            return true;
+        }
+        return correctPositions == expected.length;
+    }
+
+    public int cursor() {
+        return cursor;
+    }
+
+    public int totalCharacters() {
+        return expected.length;
+    }
+
+    public int correctCharacters() {
+        return correctPositions;
+    }
+
+    public int correctKeystrokes() {
+        return correctKeystrokes;
+    }
+
+    public int incorrectKeystrokes() {
+        return incorrectKeystrokes;
+    }
+
+    public int corrections() {
+        return corrections;
+    }
+
+    public long elapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Net WPM over the whole game: correctly typed characters, five per word.
+     */
+    public int wpm() {
+        return wpm(correctPositions, elapsedMillis);
+    }
+
+    /**
+     * WPM over the last ten seconds of typing.
+     */
+    public int rollingWpm() {
+        int correctInWindow = 0;
+        for (int count : window) {
+            correctInWindow += count;
+        }
+        long windowMillis = Math.min(elapsedMillis, (long) WINDOW_SLOTS * SLOT_MILLIS);
+        return wpm(Math.max(0, correctInWindow), windowMillis);
+    }
+
+    /**
+     * Percentage of keystrokes (excluding backspaces) that were correct.
+     */
+    public double accuracy() {
+        int total = correctKeystrokes + incorrectKeystrokes;
+        return total == 0 ? 100.0 : Math.round(correctKeystrokes * 1000.0 / total) / 10.0;
+    }
+
+    /**
+     * Returns the final score, using the given duration instead of the typed time when it is longer.
+     * A timed game is scored over its time limit, with the characters reached as its total.
+     *
+     * @param minimumElapsedMillis a server-measured lower bound for the typing time
+     */
+    public KeystrokeScore score(long minimumElapsedMillis) {
+        boolean timed = timeLimitMillis > 0;
+        long elapsed = timed ? timeLimitMillis : Math.max(elapsedMillis, minimumElapsedMillis);
+        return new KeystrokeScore(
+                wpm(correctPositions, elapsed),
+                accuracy(),
+                (int) Math.max(1, Math.round(elapsed / 1000.0)),
+                timed ? cursor : expected.length,
+                correctPositions,
+                incorrectKeystrokes);
+    }
+
+    private static int wpm(int correctCharacters, long millis) {
+        if (millis <= 0) {
+            return 0;
+        }
+        return (int) Math.round(correctCharacters * 60_000.0 / (5.0 * millis));
+    }
+
+    private void advanceClock(int deltaMillis) {
+        elapsedMillis += deltaMillis;
+        long slot = elapsedMillis / SLOT_MILLIS;
+        if (slot == windowSlot) {
+            return;
+        }
+        // Clear every slot the clock skipped over, at most one full turn of the ring
+        long clearUntil = Math.min(slot, windowSlot + WINDOW_SLOTS);
+        for (long s = windowSlot + 1; s <= clearUntil; s++) {
+            window[(int) (s % WINDOW_SLOTS)] = 0;
+        }
+        windowSlot = slot;
+    }
+
+    private boolean isCorrectAt(int position) {
+        return (correctAt[position >>> 6] & (1L << position)) != 0;
+    }
+
+    private void setCorrectAt(int position) {
+        correctAt[position >>> 6] |= 1L << position;
+    }
+
+    private void clearCorrectAt(int position) {
+        correctAt[position >>> 6] &= ~(1L << position);
+    }
+}
@@ -0,0 +1,166 @@
+package com.minh.simple_typing_game.keystroke;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of in-progress games that are being typed over the keystroke WebSocket.
+ * A stream outlives its connection, so a client can reconnect and keep typing; it is
+ * removed when the game ends or is abandoned.
+ */
+@Component
+public class LiveKeystrokeStreams {
+
+    private final ConcurrentHashMap<Long, LiveStream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the stream for the session, creating it with the given text and time limit if needed.
+     *
+     * @param timeLimitMillis how long a timed game lasts, or 0 to type the text to the end
+     * @param startedAtMillis when the session started, in epoch milliseconds
+     */
+    public LiveStream open(long sessionId, char[] expected, long timeLimitMillis, long startedAtMillis) {
+        return streams.computeIfAbsent(sessionId,
+                id -> new LiveStream(expected, timeLimitMillis, startedAtMillis, System::currentTimeMillis));
+    }
+
+    /**
+     * Removes the session's stream and returns its final score and keystroke log, or null if
+     * the game was not typed over the stream.
+     */
+    public LiveStreamResult finish(long sessionId) {
+        LiveStream stream = streams.remove(sessionId);
+        return stream != null ? stream.result() : null;
+    }
+
+    /**
+     * Returns whether the session's game is being typed over the keystroke stream.
+     */
+    public boolean isOpen(long sessionId) {
+        return streams.containsKey(sessionId);
+    }
+
+    /**
+     * Drops the session's stream without scoring it.
+     */
+    public void discard(long sessionId) {
+        streams.remove(sessionId);
+    }
+
+    public int size() {
+        return streams.size();
+    }
+
+    /**
+     * One game's scorer plus the server-side clock used to bound the client's timings. The
+     * server's time since the session started is the shortest time a game can be scored over,
+     * and a timed game takes no keystrokes that reach the server well after its limit, so
+     * client deltas cannot shrink a game by sending it all at once. The accepted keys are
+     * logged with the client's timings so the game can be stored and replayed like one ended
+     * with a keystroke log; they are encoded as they arrive, so a stream holds a couple of bytes
+     * per key rather than a {@link KeystrokeLog}.
+     */
+    public static final class LiveStream {
+
+        // Batches of a timed game that reach the server this long after the limit are dropped
+        private static final long TIME_LIMIT_GRACE_MILLIS = 2_000;
+        // A client that keeps typing past the end of the text cannot grow the log without bound
+        private static final int LOGGED_KEYSTROKES_PER_CHARACTER = 4;
+        private static final int MIN_LOGGED_KEYSTROKES = 256;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final KeystrokeScorer scorer;
+        private final KeystrokeLogCodec.Encoder keystrokes;
+        private final int maxLoggedKeystrokes;
+        private final long timeLimitMillis;
+        private final long startedAtMillis;
+        private final LongSupplier clockMillis;
+        private long lastBatchMillis;
+        private long clientMillis;
+
+        LiveStream(char[] expected, long timeLimitMillis, long startedAtMillis, LongSupplier clockMillis) {
+            this.scorer = new KeystrokeScorer(expected, timeLimitMillis);
+            this.keystrokes = new KeystrokeLogCodec.Encoder(expected.length + 16);
+            this.maxLoggedKeystrokes = Math.max(MIN_LOGGED_KEYSTROKES,
+                    expected.length * LOGGED_KEYSTROKES_PER_CHARACTER);
+            this.timeLimitMillis = timeLimitMillis;
+            this.startedAtMillis = startedAtMillis;
+            this.clockMillis = clockMillis;
+            this.lastBatchMillis = startedAtMillis;
+        }
+
+        /**
+         * Applies a batch of 4-byte keystrokes: an unsigned 16-bit character code followed by
+         * an unsigned 16-bit delta in milliseconds since the previous keystroke.
+         *
+         * @return true if the text is now complete, or a timed game's time is up
+         */
+        public boolean apply(ByteBuffer batch) {
+            lock.lock();
+            try {
+                long now = clockMillis.getAsLong();
+                // Client deltas could squeeze more typing into a timed game than its limit allows,
+                // so the server's clock ends the game too
+                if (timeLimitMillis > 0 && now - startedAtMillis > timeLimitMillis + TIME_LIMIT_GRACE_MILLIS) {
+                    return true;
+                }
+                lastBatchMillis = Math.max(lastBatchMillis, now);
+                while (batch.remaining() >= 4) {
+                    char key = batch.getChar();
+                    int deltaMillis = Short.toUnsignedInt(batch.getShort());
+                    boolean correction = scorer.accept(key, deltaMillis);
+                    clientMillis += deltaMillis;
+                    if (keystrokes.size() < maxLoggedKeystrokes) {
+                        keystrokes.add(clientMillis, key, correction);
+                    }
+                }
+                return scorer.isComplete();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Writes the live stats as a compact JSON object into the given builder.
+         */
+        public void writeStats(StringBuilder json) {
+            lock.lock();
+            try {
+                json.setLength(0);
+                json.append("{\"position\":").append(scorer.cursor())
+                        .append(",\"correct\":").append(scorer.correctKeystrokes())
+                        .append(",\"incorrect\":").append(scorer.incorrectKeystrokes())
+                        .append(",\"wpm\":").append(scorer.wpm())
+                        .append(",\"rollingWpm\":").append(scorer.rollingWpm())
+                        .append(",\"accuracy\":").append(scorer.accuracy())
+                        .append(",\"completed\":").append(scorer.isComplete())
+                        .append('}');
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        KeystrokeScore finalScore() {
+            lock.lock();
+            try {
+                // Client deltas cannot claim less time than the server saw from the start to the last batch
+                return scorer.score(lastBatchMillis - startedAtMillis);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        LiveStreamResult result() {
+            lock.lock();
+            try {
+                return new LiveStreamResult(finalScore(), keystrokes.toByteArray(), keystrokes.size());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.minh.simple_typing_game.keystroke;
+
+/**
+ * Final state of a game typed over the keystroke stream.
+ *
+ * @param score the server-computed score
+ * @param keystrokeLog the keys the server received, timed in milliseconds since the start of the
+ *        game and encoded by {@link KeystrokeLogCodec}
+ * @param keystrokeCount how many keys the log holds
+ */
+public record LiveStreamResult(KeystrokeScore score, byte[] keystrokeLog, int keystrokeCount) {
+}
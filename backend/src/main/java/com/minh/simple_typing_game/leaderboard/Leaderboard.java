@@ -0,0 +1,126 @@
+package com.minh.simple_typing_game.leaderboard;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One leaderboard: each user's best entry, ranked in a {@link RankedSkipList}.
+ * Offers, rank lookups and page reads are O(log n). Reads share a read lock.
+ *
+ * <p>Daily and weekly boards drop their entries when a new period begins.
+ */
+public class Leaderboard {
+
+    private final LeaderboardWindow window;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LeaderboardEntry> bestByUser = new HashMap<>();
+    private final RankedSkipList<LeaderboardEntry> ranking = new RankedSkipList<>(LeaderboardEntry.RANKING);
+    private volatile LocalDateTime periodStart;
+
+    /**
+     * An entry and its 1-based rank.
+     */
+    public record RankedEntry(int rank, LeaderboardEntry entry) {
+    }
+
+    public Leaderboard(LeaderboardWindow window, LocalDateTime now) {
+        this.window = window;
+        this.periodStart = window.periodStart(now);
+    }
+
+    /**
+     * Records a completed game. Keeps it only if it beats the user's current best
+     * and falls within the board's current period.
+     *
+     * @return whether the board changed
+     */
+    public boolean offer(LeaderboardEntry entry) {
+        LocalDateTime entryPeriod = window.periodStart(entry.completedAt());
+        lock.writeLock().lock();
+        try {
+            if (entryPeriod.isAfter(periodStart)) {
+                reset(entryPeriod);
+            } else if (entryPeriod.isBefore(periodStart)) {
+                return false;
+            }
+
+            LeaderboardEntry current = bestByUser.get(entry.userId());
+            if (current != null) {
+                if (LeaderboardEntry.RANKING.compare(current, entry) <= 0) {
+                    return false;
+                }
+                ranking.remove(current);
+            }
+            ranking.insert(entry);
+            bestByUser.put(entry.userId(), entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the user's best entry and rank, or null if the user is not on the board.
+     */
+    public RankedEntry rankOf(long userId, LocalDateTime now) {
+        rollOver(now);
+        lock.readLock().lock();
+        try {
+            LeaderboardEntry entry = bestByUser.get(userId);
+            return entry != null ? new RankedEntry(ranking.rankOf(entry), entry) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} ranked entries starting at the 0-based {@code offset}.
+     */
+    public List<RankedEntry> page(int offset, int limit, LocalDateTime now) {
+        rollOver(now);
+        lock.readLock().lock();
+        try {
+            List<RankedEntry> page = new ArrayList<>(Math.max(0, Math.min(limit, ranking.size() - offset)));
+            int[] rank = {offset};
+            ranking.forEach(offset, limit, entry -> page.add(new RankedEntry(++rank[0], entry)));
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size(LocalDateTime now) {
+        rollOver(now);
+        lock.readLock().lock();
+        try {
+            return ranking.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rollOver(LocalDateTime now) {
+        LocalDateTime currentPeriod = window.periodStart(now);
+        if (!currentPeriod.isAfter(periodStart)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (currentPeriod.isAfter(periodStart)) {
+                reset(currentPeriod);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void reset(LocalDateTime newPeriodStart) {
+        bestByUser.clear();
+        ranking.clear();
+        periodStart = newPeriodStart;
+    }
+}
@@ -0,0 +1,35 @@
+package com.minh.simple_typing_game.leaderboard;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A user's best completed game on one leaderboard.
+ *
+ * @param sessionId the game session that set the score
+ * @param userId the player
+ * @param username the player's username when the score was set
+ * @param wpm words per minute
+ * @param accuracy accuracy percentage
+ * @param completedAt when the game was completed
+ */
+public record LeaderboardEntry(long sessionId, long userId, String username, int wpm, double accuracy,
+        LocalDateTime completedAt) {
+
+    /**
+     * Best first: higher WPM, then higher accuracy, then whoever got there first.
+     * The session ID makes the order total, so no two entries compare equal.
+     */
+    public static final Comparator<LeaderboardEntry> RANKING = (a, b) -> {
+        // Hand-written rather than a Comparator chain: this runs on every skip list step
+        if (a.wpm != b.wpm) {
+            return a.wpm > b.wpm ? -1 : 1;
+        }
+        int byAccuracy = Double.compare(b.accuracy, a.accuracy);
+        if (byAccuracy != 0) {
+            return byAccuracy;
+        }
+        int byTime = a.completedAt.compareTo(b.completedAt);
+        return byTime != 0 ? byTime : Long.compare(a.sessionId, b.sessionId);
+    };
+}
@@ -0,0 +1,24 @@
+package com.minh.simple_typing_game.leaderboard;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Time window a leaderboard covers. Daily and weekly boards follow the calendar in the
+ * server's time zone and start empty at the beginning of each period.
+ */
+public enum LeaderboardWindow {
+    DAILY, WEEKLY, ALL_TIME;
+
+    /**
+     * Returns the start of the period containing the given time.
+     */
+    public LocalDateTime periodStart(LocalDateTime time) {
+        return switch (this) {
+            case DAILY -> time.toLocalDate().atStartOfDay();
+            case WEEKLY -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+            case ALL_TIME -> LocalDateTime.MIN;
+        };
+    }
+}
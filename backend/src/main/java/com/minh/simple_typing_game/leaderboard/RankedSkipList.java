@@ -0,0 +1,173 @@
+package com.minh.simple_typing_game.leaderboard;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Skip list that also records, for every forward link, how many level-0 nodes it skips.
+ * That makes insert, remove, rank lookup and seeking to a rank all O(log n) expected.
+ *
+ * <p>Elements must be distinct under the comparator. Not thread-safe; callers lock.
+ */
+final class RankedSkipList<E> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private final Comparator<? super E> comparator;
+    private final Node<E> head = new Node<>(null, MAX_LEVEL);
+
+    // Reused between inserts and removes; safe because callers hold the write lock
+    @SuppressWarnings("unchecked")
+    private final Node<E>[] update = new Node[MAX_LEVEL];
+    private final int[] rank = new int[MAX_LEVEL];
+
+    private int level = 1;
+    private int size;
+
+    RankedSkipList(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        level = 1;
+        size = 0;
+    }
+
+    void insert(E value) {
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node<E> node = new Node<>(value, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = rank[0] - rank[i] + 1;
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    boolean remove(E value) {
+        Node<E> x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node<E> target = x.next[0];
+        if (target == null || comparator.compare(target.value, value) != 0) {
+            return false;
+        }
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns the 1-based rank of the value, or 0 if it is not in the list.
+     */
+    int rankOf(E value) {
+        Node<E> x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && comparator.compare(x.next[i].value, value) <= 0) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (x != head && comparator.compare(x.value, value) == 0) {
+                return traversed;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Visits up to {@code limit} values in order, starting at the 0-based {@code offset}.
+     */
+    void forEach(int offset, int limit, Consumer<? super E> action) {
+        if (offset >= size || limit <= 0) {
+            return;
+        }
+        // Seek to the node just before the offset using the spans, then walk level 0
+        Node<E> x = head;
+        int traversed = 0;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= offset) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+        for (x = x.next[0]; x != null && limit > 0; x = x.next[0], limit--) {
+            action.accept(x.value);
+        }
+    }
+
+    private static int randomLevel() {
+        // p = 1/4, as in Redis sorted sets: fewer pointers per node for the same search cost
+        int bits = ThreadLocalRandom.current().nextInt();
+        int nodeLevel = 1;
+        while (nodeLevel < MAX_LEVEL && (bits & 3) == 0) {
+            nodeLevel++;
+            bits >>>= 2;
+            if (bits == 0) {
+                break;
+            }
+        }
+        return nodeLevel;
+    }
+
+    private static final class Node<E> {
+
+        final E value;
+        final Node<E>[] next;
+        final int[] span;
+
+        @SuppressWarnings("unchecked")
+        Node(E value, int level) {
+            this.value = value;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -2,8 +2,13 @@ package com.minh.simple_typing_game.mapper;
 
 import org.springframework.stereotype.Component;
 
+import com.minh.simple_typing_game.archive.ArchivedGame;
 import com.minh.simple_typing_game.entity.GameSession;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.journal.GameResult;
 import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.repository.projection.GameSessionSummary;
+import com.minh.simple_typing_game.session.ActiveSession;
 
 @Component
 public class GameSessionMapper {
@@ -25,11 +30,108 @@ public class GameSessionMapper {
                 .totalCharacters(gameSession.getTotalCharacters())
                 .correctCharacters(gameSession.getCorrectCharacters())
                 .incorrectCharacters(gameSession.getIncorrectCharacters())
+                .raceRoomId(gameSession.getRaceRoomId())
+                .placement(gameSession.getPlacement())
                 .status(gameSession.getStatus())
                 .difficulty(gameSession.getDifficulty())
+                .mode(gameSession.getMode())
                 .startedAt(gameSession.getStartedAt())
                 .completedAt(gameSession.getCompletedAt())
-                .keystrokeData(gameSession.getKeystrokeData())
+                .build();
+    }
+
+    public GameSessionDTO toDTO(GameSessionSummary summary, Long userId) {
+        if (summary == null) {
+            return null;
+        }
+
+        return GameSessionDTO.builder()
+                .id(summary.getId())
+                .userId(userId)
+                .textSampleId(summary.getTextSampleId())
+                .textSampleTitle(summary.getTextSampleTitle())
+                .textSampleContent(summary instanceof GameSessionSummary.WithContent withContent
+                        ? withContent.getTextSampleContent() : null)
+                .wpm(summary.getWpm())
+                .accuracy(summary.getAccuracy())
+                .duration(summary.getDuration())
+                .totalCharacters(summary.getTotalCharacters())
+                .correctCharacters(summary.getCorrectCharacters())
+                .incorrectCharacters(summary.getIncorrectCharacters())
+                .raceRoomId(summary.getRaceRoomId())
+                .placement(summary.getPlacement())
+                .status(summary.getStatus())
+                .difficulty(summary.getDifficulty())
+                .mode(summary.getMode())
+                .startedAt(summary.getStartedAt())
+                .completedAt(summary.getCompletedAt())
+                .build();
+    }
+
+    /**
+     * Maps a game from the cold archive, which keeps only the scores: the text, the race, the
+     * mode and the incorrect character count are left null.
+     */
+    public GameSessionDTO toDTO(ArchivedGame game) {
+        if (game == null) {
+            return null;
+        }
+
+        return GameSessionDTO.builder()
+                .id(game.sessionId())
+                .userId(game.userId())
+                .wpm(game.wpm())
+                .accuracy(game.accuracy())
+                .duration(game.duration())
+                .totalCharacters(game.totalCharacters())
+                .correctCharacters(game.correctCharacters())
+                .status(game.status())
+                .difficulty(game.difficulty())
+                .startedAt(game.startedAt())
+                .completedAt(game.completedAt())
+                .build();
+    }
+
+    public GameSessionDTO toDTO(ActiveSession session, String textSampleContent) {
+        if (session == null) {
+            return null;
+        }
+
+        return GameSessionDTO.builder()
+                .id(session.id())
+                .userId(session.userId())
+                .textSampleId(session.textSampleId())
+                .textSampleTitle(session.textSampleTitle())
+                .textSampleContent(textSampleContent)
+                .totalCharacters(session.totalCharacters())
+                .status(GameStatus.IN_PROGRESS)
+                .difficulty(session.difficulty())
+                .mode(session.mode())
+                .startedAt(session.startedAt())
+                .build();
+    }
+
+    public GameSessionDTO toDTO(ActiveSession session, GameResult result) {
+        if (session == null || result == null) {
+            return null;
+        }
+
+        return GameSessionDTO.builder()
+                .id(session.id())
+                .userId(session.userId())
+                .textSampleId(session.textSampleId())
+                .textSampleTitle(session.textSampleTitle())
+                .wpm(result.wpm())
+                .accuracy(result.accuracy())
+                .duration(result.duration())
+                .totalCharacters(result.totalCharacters())
+                .correctCharacters(result.correctCharacters())
+                .incorrectCharacters(result.incorrectCharacters())
+                .status(result.status())
+                .difficulty(session.difficulty())
+                .mode(session.mode())
+                .startedAt(session.startedAt())
+                .completedAt(result.completedAt())
                 .build();
     }
 
@@ -48,9 +150,9 @@ public class GameSessionMapper {
         gameSession.setIncorrectCharacters(gameSessionDTO.getIncorrectCharacters());
         gameSession.setStatus(gameSessionDTO.getStatus());
         gameSession.setDifficulty(gameSessionDTO.getDifficulty());
+        gameSession.setMode(gameSessionDTO.getMode());
         gameSession.setStartedAt(gameSessionDTO.getStartedAt());
         gameSession.setCompletedAt(gameSessionDTO.getCompletedAt());
-        gameSession.setKeystrokeData(gameSessionDTO.getKeystrokeData());
         
         return gameSession;
     }
@@ -3,6 +3,7 @@ package com.minh.simple_typing_game.mapper;
 import org.springframework.stereotype.Component;
 
 import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.UserStats;
 import com.minh.simple_typing_game.payload.dto.UserDTO;
 
 @Component
@@ -26,7 +27,7 @@ public class UserMapper {
         userDTO.setCreatedAt(user.getCreatedAt());
         userDTO.setUpdatedAt(user.getUpdatedAt());
 
-        // Set default values for game statistics (these fields don't exist in User entity yet)
+        // Game statistics come from user_stats; see toDTO(User, UserStats)
         userDTO.setBestWpm(0);
         userDTO.setTotalGames(0);
         userDTO.setTotalWords(0);
@@ -34,6 +35,16 @@ public class UserMapper {
         return userDTO;
     }
 
+    public UserDTO toDTO(User user, UserStats stats) {
+        UserDTO userDTO = toDTO(user);
+        if (userDTO != null && stats != null) {
+            userDTO.setBestWpm(stats.getBestWpm());
+            userDTO.setTotalGames(stats.getTotalGames());
+            userDTO.setTotalWords((int) Math.min(Integer.MAX_VALUE, stats.getTotalWords()));
+        }
+        return userDTO;
+    }
+
     public User toEntity(UserDTO userDTO) {
         if (userDTO == null) {
             return null;
@@ -0,0 +1,208 @@
+package com.minh.simple_typing_game.markov;
+
+import java.util.Arrays;
+
+import com.minh.simple_typing_game.util.SplitMix64;
+
+/**
+ * A compiled, immutable second-order word-level Markov chain. Every pair of consecutive words
+ * seen in training is a state; the words that followed it and how often are one row of a
+ * compressed sparse row table ({@code rowOffsets}, {@code targets}, {@code cumulative}), and
+ * states are found by binary search over their sorted keys. The whole model is a handful of
+ * primitive arrays, so it holds no per-word objects and is safe to share between threads.
+ *
+ * <p>Generation is a pure function of the model and a seed: the n-th random draw of a passage
+ * is value n of the seed's SplitMix64 sequence.
+ */
+public final class MarkovModel {
+
+    private final long version;
+    private final long passages;
+    private final char[] characters;
+    private final int[] wordOffsets;
+    // (first word << 32 | second word) of each state, sorted, so a state's index is its rank
+    private final long[] stateKeys;
+    private final int[] rowOffsets;
+    private final int[] targets;
+    // Running count of each row's transitions up to and including this one
+    private final int[] cumulative;
+    private final int[] startStates;
+    private final int[] startCumulative;
+
+    MarkovModel(long version, long passages, String[] words, long[] stateKeys, int[] rowOffsets,
+                int[] targets, int[] counts, int[] startStates, int[] startCounts) {
+        this.version = version;
+        this.passages = passages;
+        int totalLength = 0;
+        for (String word : words) {
+            totalLength += word.length();
+        }
+        this.characters = new char[totalLength];
+        this.wordOffsets = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            words[i].getChars(0, words[i].length(), characters, wordOffsets[i]);
+            wordOffsets[i + 1] = wordOffsets[i] + words[i].length();
+        }
+        this.stateKeys = stateKeys;
+        this.rowOffsets = rowOffsets;
+        this.targets = targets;
+        this.cumulative = counts;
+        for (int state = 0; state < stateKeys.length; state++) {
+            for (int i = rowOffsets[state] + 1; i < rowOffsets[state + 1]; i++) {
+                cumulative[i] += cumulative[i - 1];
+            }
+        }
+        this.startStates = startStates;
+        this.startCumulative = startCounts;
+        for (int i = 1; i < startCumulative.length; i++) {
+            startCumulative[i] += startCumulative[i - 1];
+        }
+    }
+
+    /**
+     * Appends a generated passage: sentences of at least {@code minWords} words in total,
+     * ending at the first sentence end after that, or after twice as many words if none comes.
+     * Words are separated by single spaces, and from text already in the builder by one too.
+     *
+     * @param out where to append
+     * @param seed the passage's seed
+     * @param minWords the fewest words to generate
+     */
+    public void generate(StringBuilder out, long seed, int minWords) {
+        int maxWords = Math.max(2, minWords * 2);
+        long draw = 0;
+        int words = 0;
+        int state = -1;
+        int last = -1;
+        while (words < maxWords) {
+            if (state < 0) {
+                // Start a sentence, also after a pair that was only ever seen at the end of a passage
+                state = startStates[pick(startCumulative, 0, startStates.length, SplitMix64.at(seed, draw++))];
+                appendWord(out, (int) (stateKeys[state] >>> 32));
+                last = (int) stateKeys[state];
+                appendWord(out, last);
+                words += 2;
+            } else {
+                int from = rowOffsets[state];
+                int to = rowOffsets[state + 1];
+                if (from == to) {
+                    state = -1;
+                    continue;
+                }
+                int next = targets[pick(cumulative, from, to, SplitMix64.at(seed, draw++))];
+                appendWord(out, next);
+                words++;
+                state = Arrays.binarySearch(stateKeys, MarkovTrainer.key(last, next));
+                last = next;
+            }
+            if (words >= minWords && endsSentence(last)) {
+                return;
+            }
+            if (state < 0 || rowOffsets[state] == rowOffsets[state + 1]) {
+                state = -1;
+            }
+        }
+    }
+
+    /**
+     * Generates a passage as a string.
+     *
+     * @see #generate(StringBuilder, long, int)
+     */
+    public String generate(long seed, int minWords) {
+        StringBuilder out = new StringBuilder(minWords * 8);
+        generate(out, seed, minWords);
+        return out.toString();
+    }
+
+    /**
+     * Returns the version this model was stamped with when it was compiled.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns how many passages the model was trained on.
+     */
+    public long passages() {
+        return passages;
+    }
+
+    public int words() {
+        return wordOffsets.length - 1;
+    }
+
+    public int states() {
+        return stateKeys.length;
+    }
+
+    public int transitions() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the approximate size of the model's arrays in bytes.
+     */
+    public long sizeInBytes() {
+        return 2L * characters.length + 4L * wordOffsets.length + 8L * stateKeys.length
+                + 4L * (rowOffsets.length + targets.length + cumulative.length)
+                + 4L * (startStates.length + startCumulative.length);
+    }
+
+    /**
+     * Returns whether a word ends a sentence, possibly inside a closing quote or parenthesis.
+     */
+    static boolean endsSentence(String word) {
+        int end = word.length() - 1;
+        char c = word.charAt(end);
+        if (isCloser(c) && end > 0) {
+            c = word.charAt(end - 1);
+        }
+        return isSentenceEnd(c);
+    }
+
+    private boolean endsSentence(int word) {
+        int end = wordOffsets[word + 1] - 1;
+        char c = characters[end];
+        if (isCloser(c) && end > wordOffsets[word]) {
+            c = characters[end - 1];
+        }
+        return isSentenceEnd(c);
+    }
+
+    private static boolean isCloser(char c) {
+        return c == '"' || c == '\'' || c == ')';
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '!' || c == '?';
+    }
+
+    private void appendWord(StringBuilder out, int word) {
+        if (!out.isEmpty()) {
+            out.append(' ');
+        }
+        out.append(characters, wordOffsets[word], wordOffsets[word + 1] - wordOffsets[word]);
+    }
+
+    /**
+     * Picks an index of {@code [from, to)} with probability proportional to its count.
+     */
+    private static int pick(int[] cumulative, int from, int to, long random) {
+        long total = cumulative[to - 1];
+        int target = (int) (((random >>> 32) * total) >>> 32);
+        // First index whose running count exceeds the target
+        int low = from;
+        int high = to - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,192 @@
+package com.minh.simple_typing_game.markov;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.minh.simple_typing_game.util.LongIntHashMap;
+
+/**
+ * Counts the word transitions of passages for a second-order word-level {@link MarkovModel}:
+ * how often each word follows each pair of words, and which pairs start a sentence. Words are
+ * whitespace-separated tokens kept as they are, with their capitals and punctuation, so the
+ * generated passages read like the corpus.
+ *
+ * <p>Training is incremental: passages can be added at any time and {@link #compile} turns the
+ * counts so far into a model. Words and pairs are numbered as they are first seen, and the
+ * counts live in primitive hash maps keyed by those numbers. Not thread-safe.
+ */
+public class MarkovTrainer {
+
+    private static final int NONE = -1;
+
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<String> words = new ArrayList<>();
+    // (first word, second word) -> pair ID
+    private final LongIntHashMap pairIds = new LongIntHashMap();
+    private long[] pairs = new long[1024];
+    // (pair ID, next word) -> count
+    private final LongIntHashMap transitions = new LongIntHashMap();
+    // pair ID -> how often it starts a sentence
+    private final LongIntHashMap starts = new LongIntHashMap();
+    private int[] tokens = new int[256];
+    private long passages;
+
+    /**
+     * Adds the transitions of a passage. Passages of fewer than three words have none and are
+     * skipped.
+     *
+     * @return whether the passage was added
+     */
+    public boolean add(CharSequence passage) {
+        int n = tokenize(passage);
+        if (n < 3) {
+            return false;
+        }
+        for (int i = 0; i + 2 < n; i++) {
+            int pair = pairId(tokens[i], tokens[i + 1]);
+            if (i == 0 || MarkovModel.endsSentence(words.get(tokens[i - 1]))) {
+                starts.addTo(pair, 1);
+            }
+            transitions.addTo(((long) pair << 32) | tokens[i + 2], 1);
+        }
+        passages++;
+        return true;
+    }
+
+    /**
+     * Returns how many passages were added.
+     */
+    public long passages() {
+        return passages;
+    }
+
+    /**
+     * Compiles the counts so far into a model. The model depends only on which passages were
+     * added, not on their order: words, pairs and transitions are renumbered in sorted order.
+     *
+     * @param version the version to stamp on the model
+     * @return the model
+     * @throws IllegalStateException if no passage was added yet
+     */
+    public MarkovModel compile(long version) {
+        if (transitions.isEmpty()) {
+            throw new IllegalStateException("No passages to compile a model from");
+        }
+
+        // Sorted word order, and each first-seen ID's rank in it
+        String[] sorted = words.toArray(String[]::new);
+        Arrays.sort(sorted);
+        int[] rank = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            rank[wordIds.get(sorted[i])] = i;
+        }
+
+        // Pair keys in the sorted word numbering; sorting them gives each pair's state index
+        int pairCount = pairIds.size();
+        long[] stateKeys = new long[pairCount];
+        for (int pair = 0; pair < pairCount; pair++) {
+            stateKeys[pair] = key(rank[first(pair)], rank[second(pair)]);
+        }
+        long[] sortedKeys = stateKeys.clone();
+        Arrays.sort(sortedKeys);
+        int[] stateOf = new int[pairCount];
+        for (int pair = 0; pair < pairCount; pair++) {
+            stateOf[pair] = Arrays.binarySearch(sortedKeys, stateKeys[pair]);
+        }
+
+        // Transitions as (state, next word) keys, which sort into CSR row order
+        long[] edges = new long[transitions.size()];
+        int[] edgeCounts = new int[transitions.size()];
+        LongIntHashMap edgeIndex = new LongIntHashMap(transitions.size());
+        int[] e = {0};
+        transitions.forEach((key, count) -> {
+            long edge = ((long) stateOf[(int) (key >>> 32)] << 32) | rank[(int) key];
+            edges[e[0]] = edge;
+            edgeIndex.put(edge, count);
+            e[0]++;
+        });
+        Arrays.sort(edges);
+        int[] rowOffsets = new int[pairCount + 1];
+        int[] targets = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            rowOffsets[(int) (edges[i] >>> 32) + 1]++;
+            targets[i] = (int) edges[i];
+            edgeCounts[i] = edgeIndex.get(edges[i], 0);
+        }
+        for (int state = 0; state < pairCount; state++) {
+            rowOffsets[state + 1] += rowOffsets[state];
+        }
+
+        int[] startStates = new int[starts.size()];
+        int[] s = {0};
+        starts.forEach((pair, count) -> startStates[s[0]++] = stateOf[(int) pair]);
+        Arrays.sort(startStates);
+        int[] startCounts = new int[startStates.length];
+        starts.forEach((pair, count) -> startCounts[Arrays.binarySearch(startStates, stateOf[(int) pair])] = count);
+
+        return new MarkovModel(version, passages, sorted, sortedKeys, rowOffsets, targets, edgeCounts,
+                startStates, startCounts);
+    }
+
+    private int tokenize(CharSequence passage) {
+        int n = 0;
+        int length = passage.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(passage.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(passage.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (n == tokens.length) {
+                    tokens = Arrays.copyOf(tokens, n << 1);
+                }
+                tokens[n++] = wordId(passage.subSequence(start, i).toString());
+            }
+        }
+        return n;
+    }
+
+    private int wordId(String word) {
+        Integer id = wordIds.get(word);
+        if (id != null) {
+            return id;
+        }
+        wordIds.put(word, words.size());
+        words.add(word);
+        return words.size() - 1;
+    }
+
+    private int pairId(int first, int second) {
+        long key = key(first, second);
+        int id = pairIds.get(key, NONE);
+        if (id != NONE) {
+            return id;
+        }
+        id = pairIds.size();
+        pairIds.put(key, id);
+        if (id == pairs.length) {
+            pairs = Arrays.copyOf(pairs, id << 1);
+        }
+        pairs[id] = key;
+        return id;
+    }
+
+    private int first(int pair) {
+        return (int) (pairs[pair] >>> 32);
+    }
+
+    private int second(int pair) {
+        return (int) pairs[pair];
+    }
+
+    static long key(int first, int second) {
+        return ((long) first << 32) | second;
+    }
+}
@@ -0,0 +1,282 @@
+package com.minh.simple_typing_game.markov;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.cache.ExpiringCache;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.util.TextUtils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates fresh passages from one {@link MarkovModel} per text category, trained on the
+ * active text samples. Training is incremental: each run reads only the samples added since
+ * the last one, in ID order, adds them to the category's {@link MarkovTrainer} and compiles a
+ * new model for each category that changed.
+ *
+ * <p>A model's version is the highest sample ID it was trained on, and it is built from every
+ * active sample of its category up to that ID. A passage is therefore fully determined by its
+ * category, model version and seed; when an older version is asked for, it is trained again
+ * from the samples up to its ID. That holds as long as samples are added with increasing IDs,
+ * commit in ID order and are not edited or deactivated once trained on, none of which the
+ * database enforces; a game therefore keeps the hash of its passage and {@link #regenerate}
+ * refuses a passage that no longer matches it. A replaced model is kept for a while so
+ * games started on it need no training, and concurrent requests for one older version share a
+ * single training run.
+ */
+@Component
+@Slf4j
+public class PassageGenerator {
+
+    private static final String SELECT_NEW_SQL = "SELECT id, category, content FROM text_samples "
+            + "WHERE id > ? AND is_active = TRUE ORDER BY id LIMIT ?";
+    private static final String SELECT_VERSION_SQL = "SELECT content FROM text_samples "
+            + "WHERE category = ? AND id <= ? AND is_active = TRUE ORDER BY id";
+    private static final TextCategory[] CATEGORIES = TextCategory.values();
+    // Older model versions, kept while games started on them may still end
+    private static final long HISTORICAL_TTL_MILLIS = 2 * 60 * 60 * 1000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final ReentrantLock trainLock = new ReentrantLock();
+    private final MarkovTrainer[] trainers = new MarkovTrainer[CATEGORIES.length];
+    private final long[] versions = new long[CATEGORIES.length];
+    private final ExpiringCache<ModelKey, MarkovModel> historical = new ExpiringCache<>(32);
+    // Older versions being trained again, so concurrent games on one version share a run
+    private final ConcurrentHashMap<ModelKey, CompletableFuture<MarkovModel>> retraining = new ConcurrentHashMap<>();
+
+    private volatile MarkovModel[] models = new MarkovModel[CATEGORIES.length];
+    private long trainedThroughId;
+
+    private record ModelKey(TextCategory category, long version) {
+    }
+
+    public PassageGenerator(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${markov.training.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            trainers[i] = new MarkovTrainer();
+        }
+        Gauge.builder("markov.model.bytes", this, PassageGenerator::sizeInBytes)
+                .description("Memory held by the compiled passage generator models")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void trainOnStartup() {
+        train();
+    }
+
+    @Scheduled(fixedDelayString = "${markov.training.interval-millis:300000}",
+            initialDelayString = "${markov.training.interval-millis:300000}")
+    public void trainScheduled() {
+        try {
+            train();
+        } catch (IllegalStateException e) {
+            log.debug("Skipping scheduled passage generator training: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Passage generator training failed", e);
+        }
+    }
+
+    /**
+     * Trains on the samples added since the last run and publishes new models for the
+     * categories that changed.
+     *
+     * @return how many samples were trained on
+     * @throws IllegalStateException if a run is already in progress
+     */
+    public int train() {
+        if (!trainLock.tryLock()) {
+            throw new IllegalStateException("The passage generator is already training");
+        }
+
+        try {
+            boolean[] changed = new boolean[CATEGORIES.length];
+            int[] counts = new int[2]; // rows read in this batch, samples trained on in total
+            do {
+                counts[0] = 0;
+                jdbcTemplate.query(SELECT_NEW_SQL, rs -> {
+                    long id = rs.getLong(1);
+                    String category = rs.getString(2);
+                    trainedThroughId = id;
+                    counts[0]++;
+                    if (category == null) {
+                        return;
+                    }
+                    int index = TextCategory.valueOf(category).ordinal();
+                    if (trainers[index].add(rs.getString(3))) {
+                        versions[index] = id;
+                        changed[index] = true;
+                        counts[1]++;
+                    }
+                }, trainedThroughId, batchSize);
+            } while (counts[0] == batchSize);
+            int trained = counts[1];
+
+            if (trained > 0) {
+                MarkovModel[] next = models.clone();
+                long expiresAt = System.currentTimeMillis() + HISTORICAL_TTL_MILLIS;
+                for (int i = 0; i < CATEGORIES.length; i++) {
+                    if (changed[i]) {
+                        // Games started on the replaced model end against it without training it again
+                        if (next[i] != null) {
+                            historical.put(new ModelKey(CATEGORIES[i], next[i].version()), next[i], expiresAt);
+                        }
+                        next[i] = trainers[i].compile(versions[i]);
+                        log.info("Passage generator for {} trained on {} samples: {} words, {} states, {} transitions",
+                                CATEGORIES[i], next[i].passages(), next[i].words(), next[i].states(),
+                                next[i].transitions());
+                    }
+                }
+                models = next;
+            }
+            return trained;
+        } finally {
+            trainLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current model of a category.
+     *
+     * @return the model, or null if the category has no samples to generate from
+     */
+    public MarkovModel current(TextCategory category) {
+        return models[category.ordinal()];
+    }
+
+    /**
+     * Picks a random category that passages can be generated for.
+     *
+     * @return the category, or null if there is none
+     */
+    public TextCategory randomCategory() {
+        MarkovModel[] snapshot = models;
+        List<TextCategory> available = new ArrayList<>(CATEGORIES.length);
+        for (TextCategory category : CATEGORIES) {
+            if (snapshot[category.ordinal()] != null) {
+                available.add(category);
+            }
+        }
+        return available.isEmpty() ? null : available.get(ThreadLocalRandom.current().nextInt(available.size()));
+    }
+
+    /**
+     * Generates the passage of a seed. The same arguments always give the same passage.
+     *
+     * @param category the category whose model to use
+     * @param version the model version, from {@link MarkovModel#version()}
+     * @param seed the passage's seed
+     * @param difficulty how long the passage is
+     * @return the passage
+     * @throws IllegalArgumentException if the category has no samples up to that version
+     */
+    public String generate(TextCategory category, long version, long seed, Difficulty difficulty) {
+        return model(category, version).generate(seed, minWords(difficulty));
+    }
+
+    /**
+     * Generates the passage of a game again and checks it against the hash the game was started with.
+     *
+     * @param passageHash the hex SHA-256 of the passage the game was given
+     * @return the passage
+     * @throws IllegalStateException if the samples of that version changed since, so the passage differs
+     */
+    public String regenerate(TextCategory category, long version, long seed, Difficulty difficulty,
+                             String passageHash) {
+        String passage = generate(category, version, seed, difficulty);
+        if (!TextUtils.sha256Hex(passage).equals(passageHash)) {
+            log.warn("The {} samples up to {} changed since a passage was generated from them", category, version);
+            throw new IllegalStateException("The passage of this game can no longer be generated");
+        }
+        return passage;
+    }
+
+    private MarkovModel model(TextCategory category, long version) {
+        MarkovModel model = models[category.ordinal()];
+        if (model != null && model.version() == version) {
+            return model;
+        }
+
+        ModelKey key = new ModelKey(category, version);
+        model = historical.get(key);
+        if (model != null) {
+            return model;
+        }
+
+        CompletableFuture<MarkovModel> created = new CompletableFuture<>();
+        CompletableFuture<MarkovModel> running = retraining.putIfAbsent(key, created);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            // The run that just finished may have cached it between the lookup and here
+            model = historical.get(key);
+            if (model == null) {
+                model = retrain(category, version);
+                historical.put(key, model, System.currentTimeMillis() + HISTORICAL_TTL_MILLIS);
+            }
+            created.complete(model);
+            return model;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            retraining.remove(key, created);
+        }
+    }
+
+    private MarkovModel retrain(TextCategory category, long version) {
+        log.info("Training passage generator for {} up to sample {} again", category, version);
+        MarkovTrainer trainer = new MarkovTrainer();
+        jdbcTemplate.query(SELECT_VERSION_SQL, rs -> {
+            trainer.add(rs.getString(1));
+        }, category.name(), version);
+        if (trainer.passages() == 0) {
+            throw new IllegalArgumentException("No " + category + " samples to generate passages from");
+        }
+        return trainer.compile(version);
+    }
+
+    private double sizeInBytes() {
+        long bytes = 0;
+        for (MarkovModel model : models) {
+            if (model != null) {
+                bytes += model.sizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static int minWords(Difficulty difficulty) {
+        return switch (difficulty) {
+            case EASY -> 25;
+            case MEDIUM -> 45;
+            case HARD -> 70;
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.minh.simple_typing_game.matchmaking;
+
+/**
+ * State of a matchmaking ticket.
+ */
+public enum MatchStatus {
+    QUEUED,
+    MATCHED, // Paired; the race room ID is set once the room is open
+    CANCELLED
+}
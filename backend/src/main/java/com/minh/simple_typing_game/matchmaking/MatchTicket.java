@@ -0,0 +1,105 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+/**
+ * One player waiting for an opponent. The status moves from QUEUED to either MATCHED, claimed
+ * by the matcher, or CANCELLED, claimed by the player; whichever compare-and-set wins decides.
+ */
+public final class MatchTicket {
+
+    // A field updated through a VarHandle rather than an AtomicReference saves a pointer chase per ticket per tick
+    private static final VarHandle STATUS;
+
+    static {
+        try {
+            STATUS = MethodHandles.lookup().findVarHandle(MatchTicket.class, "status", MatchStatus.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long userId;
+    private final Difficulty difficulty;
+    private final int wpm;
+    private final long enqueuedAtNanos;
+    private volatile MatchStatus status = MatchStatus.QUEUED;
+
+    private volatile Long opponentUserId;
+    private volatile Long raceRoomId;
+    long matchedAtNanos; // Written and read by the matcher thread only
+
+    public MatchTicket(long userId, Difficulty difficulty, int wpm, long enqueuedAtNanos) {
+        this.userId = userId;
+        this.difficulty = difficulty;
+        this.wpm = wpm;
+        this.enqueuedAtNanos = enqueuedAtNanos;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public int getWpm() {
+        return wpm;
+    }
+
+    public long getEnqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    public MatchStatus getStatus() {
+        return status;
+    }
+
+    public Long getOpponentUserId() {
+        return opponentUserId;
+    }
+
+    public Long getRaceRoomId() {
+        return raceRoomId;
+    }
+
+    /**
+     * Cancels the ticket unless it has already been matched.
+     *
+     * @return true if the ticket was still queued
+     */
+    public boolean cancel() {
+        while (!STATUS.compareAndSet(this, MatchStatus.QUEUED, MatchStatus.CANCELLED)) {
+            // MATCHED without an opponent is the matcher's brief claim on a pair it may still release
+            if (status == MatchStatus.CANCELLED || opponentUserId != null) {
+                return false;
+            }
+            Thread.onSpinWait();
+        }
+        return true;
+    }
+
+    boolean isQueued() {
+        return status == MatchStatus.QUEUED;
+    }
+
+    boolean claim() {
+        return STATUS.compareAndSet(this, MatchStatus.QUEUED, MatchStatus.MATCHED);
+    }
+
+    void release() {
+        STATUS.compareAndSet(this, MatchStatus.MATCHED, MatchStatus.QUEUED);
+    }
+
+    void matched(long opponentUserId) {
+        this.opponentUserId = opponentUserId;
+    }
+
+    void roomOpened(long raceRoomId) {
+        this.raceRoomId = raceRoomId;
+    }
+}
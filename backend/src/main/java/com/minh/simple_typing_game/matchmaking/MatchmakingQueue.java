@@ -0,0 +1,188 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.RaceRoomDTO;
+import com.minh.simple_typing_game.service.RaceService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory matchmaking queue for head-to-head races. Players are matched by a
+ * {@link SkillMatcher} on a fixed scheduler tick, and every pair gets a two-player race room.
+ * Room creation touches the database, so it runs on virtual threads rather than on the tick.
+ */
+@Component
+@Slf4j
+public class MatchmakingQueue {
+
+    private final RaceService raceService;
+    private final SkillMatcher matcher;
+    private final long tickMillis;
+    private final long matchedRetentionNanos;
+
+    private final ConcurrentHashMap<Long, MatchTicket> tickets = new ConcurrentHashMap<>();
+    private final Map<Difficulty, AtomicInteger> queued = new EnumMap<>(Difficulty.class);
+    private final WaitTimeHistogram waitTimes = new WaitTimeHistogram();
+    private final AtomicLong matchesMade = new AtomicLong();
+    private volatile long lastTickNanos;
+
+    // Matched tickets in match order, so they can be forgotten once clients had time to read them
+    private final ArrayDeque<MatchTicket> matched = new ArrayDeque<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> Thread.ofPlatform().name("matchmaking-tick").daemon().unstarted(runnable));
+    private final ExecutorService roomExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public MatchmakingQueue(RaceService raceService,
+                            @Value("${matchmaking.tick-millis:250}") long tickMillis,
+                            @Value("${matchmaking.bucket-width:5}") int bucketWidth,
+                            @Value("${matchmaking.max-wpm:250}") int maxWpm,
+                            @Value("${matchmaking.widen-after-millis:2000}") long widenAfterMillis,
+                            @Value("${matchmaking.max-widen-buckets:10}") int maxWidenBuckets,
+                            @Value("${matchmaking.matched-retention-seconds:60}") long matchedRetentionSeconds) {
+        this.raceService = raceService;
+        this.matcher = new SkillMatcher(bucketWidth, maxWpm, widenAfterMillis, maxWidenBuckets);
+        this.tickMillis = tickMillis;
+        this.matchedRetentionNanos = TimeUnit.SECONDS.toNanos(matchedRetentionSeconds);
+        for (Difficulty difficulty : Difficulty.values()) {
+            queued.put(difficulty, new AtomicInteger());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        roomExecutor.close();
+    }
+
+    /**
+     * Queues the user, replacing a ticket for another difficulty. Queueing again for the same
+     * difficulty returns the existing ticket.
+     */
+    public MatchTicket enqueue(long userId, Difficulty difficulty, int wpm) {
+        // Atomic per user: concurrent requests of one player must not queue two tickets
+        return tickets.compute(userId, (id, existing) -> {
+            if (existing != null && existing.getStatus() == MatchStatus.QUEUED
+                    && existing.getDifficulty() == difficulty) {
+                return existing;
+            }
+            if (existing != null && existing.cancel()) {
+                queued.get(existing.getDifficulty()).decrementAndGet();
+            }
+            MatchTicket ticket = new MatchTicket(userId, difficulty, wpm, System.nanoTime());
+            queued.get(difficulty).incrementAndGet();
+            matcher.submit(ticket);
+            return ticket;
+        });
+    }
+
+    /**
+     * Returns the user's current or most recent ticket, or null if there is none.
+     */
+    public MatchTicket get(long userId) {
+        return tickets.get(userId);
+    }
+
+    /**
+     * Takes the user out of the queue.
+     *
+     * @return false if the user was not queued, for instance because they were just matched
+     */
+    public boolean cancel(long userId) {
+        MatchTicket ticket = tickets.get(userId);
+        return ticket != null && cancel(ticket);
+    }
+
+    public int queuedPlayers(Difficulty difficulty) {
+        return queued.get(difficulty).get();
+    }
+
+    public long matchesMade() {
+        return matchesMade.get();
+    }
+
+    public WaitTimeHistogram waitTimes() {
+        return waitTimes;
+    }
+
+    public long lastTickNanos() {
+        return lastTickNanos;
+    }
+
+    private boolean cancel(MatchTicket ticket) {
+        boolean cancelled = ticket.cancel();
+        if (cancelled) {
+            queued.get(ticket.getDifficulty()).decrementAndGet();
+        }
+        // The matcher drops the cancelled ticket lazily when it reaches it
+        tickets.remove(ticket.getUserId(), ticket);
+        return cancelled;
+    }
+
+    void tick() {
+        try {
+            long start = System.nanoTime();
+            int matches = matcher.tick(start, (first, second) -> onMatch(first, second, start));
+            forgetOldMatches(start);
+            lastTickNanos = System.nanoTime() - start;
+            if (matches > 0) {
+                log.debug("Matchmaking tick made {} matches in {} us", matches, lastTickNanos / 1000);
+            }
+        } catch (RuntimeException e) {
+            // An exception would cancel the scheduled task for good
+            log.error("Matchmaking tick failed", e);
+        }
+    }
+
+    private void onMatch(MatchTicket first, MatchTicket second, long now) {
+        queued.get(first.getDifficulty()).addAndGet(-2);
+        matchesMade.incrementAndGet();
+        waitTimes.record(TimeUnit.NANOSECONDS.toMillis(now - first.getEnqueuedAtNanos()));
+        waitTimes.record(TimeUnit.NANOSECONDS.toMillis(now - second.getEnqueuedAtNanos()));
+        first.matchedAtNanos = now;
+        second.matchedAtNanos = now;
+        matched.addLast(first);
+        matched.addLast(second);
+
+        roomExecutor.execute(() -> {
+            try {
+                RaceRoomDTO room = raceService.createMatchRoom(first.getUserId(), second.getUserId(), first.getDifficulty());
+                first.roomOpened(room.getId());
+                second.roomOpened(room.getId());
+            } catch (RuntimeException e) {
+                log.error("Could not open a race room for users {} and {}", first.getUserId(), second.getUserId(), e);
+                tickets.remove(first.getUserId(), first);
+                tickets.remove(second.getUserId(), second);
+            }
+        });
+    }
+
+    private void forgetOldMatches(long now) {
+        MatchTicket ticket;
+        while ((ticket = matched.peekFirst()) != null && now - ticket.matchedAtNanos > matchedRetentionNanos) {
+            matched.pollFirst();
+            tickets.remove(ticket.getUserId(), ticket);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+/**
+ * Batch matcher for head-to-head games, sharded by difficulty and by WPM bucket.
+ *
+ * <p>Arrivals only land in a lock-free inbox; all matching happens in {@link #tick}, which
+ * must always be called from the same thread. A tick drains the inbox in arrival order and
+ * pairs each arrival with the ticket waiting in its bucket, or leaves it there to wait, so
+ * between ticks every bucket holds at most one ticket. It then walks the waiting tickets in
+ * WPM order and pairs neighbours whose bucket distance fits the wider of the two search
+ * windows. A window grows by one bucket on each side for every {@code widenAfterMillis}
+ * the ticket has waited.
+ */
+public class SkillMatcher {
+
+    private static final int DIFFICULTIES = Difficulty.values().length;
+
+    private final int bucketWidth;
+    private final int bucketCount;
+    private final long widenAfterNanos;
+    private final int maxWidenBuckets;
+
+    private final MatchTicket[][] waiting;
+    private final ConcurrentLinkedQueue<MatchTicket> inbox = new ConcurrentLinkedQueue<>();
+
+    public SkillMatcher(int bucketWidth, int maxWpm, long widenAfterMillis, int maxWidenBuckets) {
+        this.bucketWidth = bucketWidth;
+        this.bucketCount = maxWpm / bucketWidth + 1;
+        this.widenAfterNanos = TimeUnit.MILLISECONDS.toNanos(widenAfterMillis);
+        this.maxWidenBuckets = maxWidenBuckets;
+        this.waiting = new MatchTicket[DIFFICULTIES][bucketCount];
+    }
+
+    /**
+     * Queues a ticket for the next tick. Safe to call from any thread.
+     */
+    public void submit(MatchTicket ticket) {
+        inbox.add(ticket);
+    }
+
+    /**
+     * Matches new arrivals and waiting tickets.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @param onMatch receives each pair, the longer-waiting ticket first; both are already MATCHED
+     * @return the number of pairs made
+     */
+    public int tick(long now, BiConsumer<MatchTicket, MatchTicket> onMatch) {
+        int matches = 0;
+        MatchTicket arrival;
+        while ((arrival = inbox.poll()) != null) {
+            if (!arrival.isQueued()) {
+                continue;
+            }
+            MatchTicket[] shard = waiting[arrival.getDifficulty().ordinal()];
+            int bucket = bucketOf(arrival.getWpm());
+            MatchTicket waiter = shard[bucket];
+            if (waiter == null || !waiter.isQueued()) {
+                shard[bucket] = arrival;
+            } else if (pair(waiter, arrival, onMatch)) {
+                shard[bucket] = null;
+                matches++;
+            } else if (!waiter.isQueued()) {
+                shard[bucket] = arrival;
+            }
+        }
+
+        for (MatchTicket[] shard : waiting) {
+            matches += matchAcrossBuckets(shard, now, onMatch);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the number of tickets waiting in buckets after the last tick.
+     */
+    public int size() {
+        int size = 0;
+        for (MatchTicket[] shard : waiting) {
+            for (MatchTicket ticket : shard) {
+                if (ticket != null && ticket.isQueued()) {
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+    int bucketOf(int wpm) {
+        return Math.max(0, Math.min(bucketCount - 1, wpm / bucketWidth));
+    }
+
+    private int matchAcrossBuckets(MatchTicket[] shard, long now, BiConsumer<MatchTicket, MatchTicket> onMatch) {
+        int matches = 0;
+        int pending = -1;
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            MatchTicket ticket = shard[bucket];
+            if (ticket == null) {
+                continue;
+            }
+            if (!ticket.isQueued()) {
+                shard[bucket] = null;
+                continue;
+            }
+            if (pending >= 0) {
+                int window = Math.max(windowOf(shard[pending], now), windowOf(ticket, now));
+                if (bucket - pending <= window && pair(shard[pending], ticket, onMatch)) {
+                    shard[pending] = null;
+                    shard[bucket] = null;
+                    matches++;
+                    pending = -1;
+                    continue;
+                }
+            }
+            pending = bucket;
+        }
+        return matches;
+    }
+
+    private int windowOf(MatchTicket ticket, long now) {
+        long waited = now - ticket.getEnqueuedAtNanos();
+        return (int) Math.min(maxWidenBuckets, waited / widenAfterNanos);
+    }
+
+    private static boolean pair(MatchTicket first, MatchTicket second, BiConsumer<MatchTicket, MatchTicket> onMatch) {
+        if (!first.claim()) {
+            return false;
+        }
+        if (!second.claim()) {
+            first.release();
+            return false;
+        }
+        first.matched(second.getUserId());
+        second.matched(first.getUserId());
+        if (first.getEnqueuedAtNanos() <= second.getEnqueuedAtNanos()) {
+            onMatch.accept(first, second);
+        } else {
+            onMatch.accept(second, first);
+        }
+        return true;
+    }
+}
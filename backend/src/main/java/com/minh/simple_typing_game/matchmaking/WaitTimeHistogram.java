@@ -0,0 +1,78 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram of wait times in milliseconds, accurate to about 3%.
+ * Values below 64 get their own bucket; above that each power of two is split into 32
+ * buckets. One thread records, any thread may read percentiles.
+ */
+public class WaitTimeHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKETS = 32;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int MAX_SHIFT = 40;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + MAX_SHIFT * SUB_BUCKETS);
+    private volatile long total;
+    private volatile long max;
+
+    public void record(long millis) {
+        long value = Math.max(0, millis);
+        counts.incrementAndGet(indexOf(value));
+        total++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the smallest bucket upper bound that covers the given fraction of recorded values,
+     * or 0 if nothing was recorded.
+     *
+     * @param percentile between 0 and 100
+     */
+    public long percentile(double percentile) {
+        long recorded = total;
+        if (recorded == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(recorded * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        // value >>> shift lands in [32, 64), so the top five bits below the leading one pick the sub-bucket
+        int shift = Math.min(MAX_SHIFT, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        long subBucket = Math.min(2 * SUB_BUCKETS - 1, value >>> shift);
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (subBucket - SUB_BUCKETS);
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.minh.simple_typing_game.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.projection.StatusCount;
+import com.minh.simple_typing_game.session.ActiveSessionRegistry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes the number of game sessions per {@link GameStatus} as the {@code game.sessions}
+ * gauge. Games in progress are counted live from the {@link ActiveSessionRegistry}; the other
+ * counts come from one grouped query on a fixed delay, so a scrape never touches the database.
+ */
+@Component
+@Slf4j
+public class GameSessionMetrics {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final Map<GameStatus, AtomicLong> counts = new EnumMap<>(GameStatus.class);
+
+    public GameSessionMetrics(GameSessionRepository gameSessionRepository, ActiveSessionRegistry activeSessions,
+                              MeterRegistry meterRegistry) {
+        this.gameSessionRepository = gameSessionRepository;
+        Gauge.builder("game.sessions", activeSessions, ActiveSessionRegistry::size)
+                .description("Game sessions by status")
+                .tag("status", GameStatus.IN_PROGRESS.name())
+                .register(meterRegistry);
+        for (GameStatus status : GameStatus.values()) {
+            if (status == GameStatus.IN_PROGRESS) {
+                continue;
+            }
+            AtomicLong count = new AtomicLong();
+            counts.put(status, count);
+            Gauge.builder("game.sessions", count, AtomicLong::get)
+                    .description("Game sessions by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.game-sessions.refresh-millis:15000}")
+    public void refresh() {
+        try {
+            Map<GameStatus, Long> latest = new EnumMap<>(GameStatus.class);
+            for (StatusCount row : gameSessionRepository.countByStatus()) {
+                latest.put(row.getStatus(), row.getCount());
+            }
+            counts.forEach((status, count) -> count.set(latest.getOrDefault(status, 0L)));
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh game session counts: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.minh.simple_typing_game.metrics;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the JDBC statements each request ran as {@code http.server.requests.jdbc.statements},
+ * tagged with the matched URI pattern like Spring's own {@code http.server.requests}. A jump in
+ * statements per request for one endpoint is the signature of an N+1 query. Requests that no
+ * controller handled are not recorded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 3, 5, 10, 20, 50, 100};
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    // Keyed by the mapping's own pattern string, so each endpoint's summary is registered once
+    private final ConcurrentHashMap<String, DistributionSummary> statementsByUri = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.stop();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String uri) {
+                statementsByUri.computeIfAbsent(uri, this::statementsSummary).record(statements);
+            }
+        }
+    }
+
+    private DistributionSummary statementsSummary(String uri) {
+        return DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements prepared while handling a request")
+                .tag("uri", uri)
+                .serviceLevelObjectives(STATEMENT_BUCKETS)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.minh.simple_typing_game.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the JDBC statements Hibernate prepares on the current thread while a request is being
+ * counted, so that {@link RequestMetricsFilter} can report statements per request. Registered
+ * with Hibernate as its statement inspector; it never changes the SQL.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    // Bound only while a request is counted, so threads outside requests hold no counter and
+    // a request's virtual thread drops its counter with it
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting from zero on the current thread.
+     */
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return the statements prepared since {@link #start()}, or 0 if counting was not started
+     */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.minh.simple_typing_game.payload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GameAggregateDTO {
+
+    private long games; // Completed and abandoned
+    private long completedGames;
+    private long abandonedGames;
+    private Double averageWpm; // Of completed games, null if none has a score
+    private Integer bestWpm;
+    private Double averageAccuracy; // Percentage, of completed games
+    private long totalTime; // Seconds
+}
@@ -3,6 +3,7 @@ package com.minh.simple_typing_game.payload.dto;
 import java.time.LocalDateTime;
 
 import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
 import com.minh.simple_typing_game.entity.enums.GameStatus;
 
 import lombok.AllArgsConstructor;
@@ -30,13 +31,15 @@ public class GameSessionDTO {
     private Integer correctCharacters;
     private Integer incorrectCharacters;
     
+    // Race results
+    private Long raceRoomId;
+    private Integer placement;
+    
     // Game state
     private GameStatus status; // COMPLETED, ABANDONED, IN_PROGRESS
     private Difficulty difficulty; // EASY, MEDIUM, HARD
+    private GameMode mode; // TEXT, TIMED_15, TIMED_30, TIMED_60
     
     private LocalDateTime startedAt;
     private LocalDateTime completedAt;
-    
-    // Additional data
-    private String keystrokeData; // JSON string of detailed typing data
 }
@@ -0,0 +1,23 @@
+package com.minh.simple_typing_game.payload.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaderboardEntryDTO {
+
+    private Integer rank; // 1-based
+    private Long userId;
+    private String username;
+    private Long sessionId; // The game that set this score
+    private Integer wpm;
+    private Double accuracy;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,24 @@
+package com.minh.simple_typing_game.payload.dto;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.matchmaking.MatchStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MatchTicketDTO {
+
+    private Long userId;
+    private Difficulty difficulty;
+    private MatchStatus status; // QUEUED, MATCHED, CANCELLED
+    private Integer wpm; // Skill the player was matched on
+    private Long waitMillis;
+    private Long opponentUserId;
+    private Long raceRoomId; // Set once the matched race room is open
+}
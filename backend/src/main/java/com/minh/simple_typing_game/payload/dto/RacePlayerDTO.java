@@ -0,0 +1,22 @@
+package com.minh.simple_typing_game.payload.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RacePlayerDTO {
+
+    private Long userId;
+    private String username;
+    private Integer position; // Characters typed so far
+    private Integer wpm;
+    private Double accuracy;
+    private Integer placement; // Null until the player finishes
+    private Boolean connected;
+    private Boolean left;
+}
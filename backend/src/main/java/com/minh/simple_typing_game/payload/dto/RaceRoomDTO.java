@@ -0,0 +1,29 @@
+package com.minh.simple_typing_game.payload.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.race.RacePhase;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class RaceRoomDTO {
+
+    private Long id;
+    private Long hostUserId;
+    private RacePhase phase; // WAITING, COUNTDOWN, RACING, FINISHED
+    private Difficulty difficulty;
+    private Integer maxPlayers;
+    private Long textSampleId;
+    private String textSampleContent; // Revealed when the countdown starts
+    private LocalDateTime startedAt;
+    private List<RacePlayerDTO> players;
+}
@@ -0,0 +1,27 @@
+package com.minh.simple_typing_game.payload.dto;
+
+import java.util.Map;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserStatsDTO {
+
+    private Long userId;
+    private int totalGames;
+    private int bestWpm;
+    private double averageWpm;
+    private double averageAccuracy; // Percentage
+    private long totalWords;
+    private long totalTime; // Seconds
+    private Map<Difficulty, Integer> gamesByDifficulty;
+    private Map<String, Integer> accuracyHistogram; // Bucket label such as "90-93" to game count
+}
@@ -0,0 +1,38 @@
+package com.minh.simple_typing_game.payload.request;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CorpusImportRequest {
+
+    /**
+     * How a file is cut into passages.
+     */
+    public enum Mode {
+        LINE, // Every non-blank line is a passage
+        PARAGRAPH // Blank-line separated blocks are passages
+    }
+
+    private String path; // Local file or directory to import; over HTTP, relative to corpus.import.dir
+    @Builder.Default
+    private Mode mode = Mode.PARAGRAPH;
+    @Builder.Default
+    private Difficulty difficulty = Difficulty.MEDIUM;
+    @Builder.Default
+    private TextCategory category = TextCategory.LITERATURE;
+    @Builder.Default
+    private Integer minCharacters = 20; // Shorter passages are skipped
+    @Builder.Default
+    private Integer maxCharacters = 1000; // Longer passages are cut at a word boundary
+    @Builder.Default
+    private Integer batchSize = 500;
+}
@@ -0,0 +1,18 @@
+package com.minh.simple_typing_game.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CorpusAnalysisResponse {
+
+    private long analyzed; // Samples scored in this run
+    private long reclassified; // Samples whose difficulty changed
+    private long chunks;
+    private long elapsedMillis;
+}
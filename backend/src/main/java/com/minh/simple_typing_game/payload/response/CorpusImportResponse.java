@@ -0,0 +1,20 @@
+package com.minh.simple_typing_game.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CorpusImportResponse {
+
+    private long filesRead;
+    private long passagesRead;
+    private long imported;
+    private long duplicates; // Already stored or repeated within the import
+    private long skipped; // Shorter than the minimum length
+    private long elapsedMillis;
+}
@@ -0,0 +1,31 @@
+package com.minh.simple_typing_game.payload.response;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.GameAggregateDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GameAnalyticsResponse {
+
+    private Long userId; // Null for every player
+    private Difficulty difficulty; // Null for every difficulty
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private GameAggregateDTO totals;
+    private Map<Difficulty, GameAggregateDTO> byDifficulty;
+
+    // How much of the answer came from the cold archive
+    private long archivedGames;
+    private int segmentsScanned;
+    private int segmentsSkipped; // Ruled out by their zone maps
+}
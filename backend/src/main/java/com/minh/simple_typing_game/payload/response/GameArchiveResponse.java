@@ -0,0 +1,17 @@
+package com.minh.simple_typing_game.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GameArchiveResponse {
+
+    private long segments; // Segment files written
+    private long games; // Game sessions moved out of game_sessions
+    private long elapsedMillis;
+}
@@ -0,0 +1,21 @@
+package com.minh.simple_typing_game.payload.response;
+
+import java.util.List;
+
+import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GameHistoryPageResponse {
+
+    private List<GameSessionDTO> items; // Newest first
+    private String nextCursor; // Pass back as ?cursor= for the next page, null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.minh.simple_typing_game.payload.response;
+
+import java.util.List;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.leaderboard.LeaderboardWindow;
+import com.minh.simple_typing_game.payload.dto.LeaderboardEntryDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class LeaderboardResponse {
+
+    private LeaderboardWindow window;
+    private Difficulty difficulty; // Null for all difficulties
+    private TextCategory category; // Null for all categories
+    private int totalPlayers;
+    private List<LeaderboardEntryDTO> entries;
+}
@@ -0,0 +1,28 @@
+package com.minh.simple_typing_game.payload.response;
+
+import java.util.Map;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MatchmakingStatsResponse {
+
+    private Map<Difficulty, Integer> queuedPlayers;
+    private Long matchesMade;
+
+    // Wait until matched, over every matched player since startup
+    private Long waitP50Millis;
+    private Long waitP90Millis;
+    private Long waitP99Millis;
+    private Long waitMaxMillis;
+
+    private Long lastTickMicros;
+}
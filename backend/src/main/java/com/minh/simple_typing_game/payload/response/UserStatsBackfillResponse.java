@@ -0,0 +1,18 @@
+package com.minh.simple_typing_game.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserStatsBackfillResponse {
+
+    private long chunks; // User ID ranges processed
+    private long users; // Users with at least one completed game
+    private long games;
+    private long elapsedMillis;
+}
@@ -0,0 +1,17 @@
+package com.minh.simple_typing_game.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class WordChunkResponse {
+
+    private Long sessionId;
+    private int chunk; // Index of the chunk in the session's word stream, from 0
+    private String words; // Space-separated; appended to the previous chunk after one space
+}
@@ -0,0 +1,539 @@
+package com.minh.simple_typing_game.race;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.RacePlayerDTO;
+import com.minh.simple_typing_game.payload.dto.RaceRoomDTO;
+import com.minh.simple_typing_game.service.GameSessionService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tick-based engine for multiplayer race rooms.
+ *
+ * <p>Rooms are partitioned over a fixed number of shards by room ID. Each shard is a single
+ * thread that owns its rooms outright: callers never touch room state, they enqueue a command
+ * on the shard's mailbox and the shard runs it between ticks. No room is ever locked.
+ *
+ * <p>Keystrokes only mark a room dirty. On each tick the shard advances countdowns and time
+ * limits, and sends each dirty room at most one progress snapshot per broadcast interval, the
+ * same frame to every player. A room's traffic is therefore bounded by its player count and
+ * the interval rather than by how fast its players type.
+ *
+ * <p>Finished races are written to the database on a virtual thread so that slow I/O never
+ * stalls a shard.
+ */
+@Component
+@Slf4j
+public class RaceEngine {
+
+    public static final int MIN_PLAYERS = 2;
+    public static final int MAX_PLAYERS = 50;
+
+    private static final long COMMAND_TIMEOUT_MILLIS = 5000;
+
+    private final GameSessionService gameSessionService;
+    private final Shard[] shards;
+    private final long tickNanos;
+    private final long broadcastMillis;
+    private final long countdownMillis;
+    private final long maxRaceMillis;
+    private final long waitingMillis;
+    private final long lingerMillis;
+
+    private final AtomicLong nextRoomId = new AtomicLong();
+    private final AtomicInteger roomCount = new AtomicInteger();
+    private final ExecutorService persistenceExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public RaceEngine(GameSessionService gameSessionService,
+                      @Value("${race.shards:0}") int shardCount,
+                      @Value("${race.tick-millis:50}") long tickMillis,
+                      @Value("${race.broadcast-millis:200}") long broadcastMillis,
+                      @Value("${race.countdown-seconds:5}") long countdownSeconds,
+                      @Value("${race.max-duration-seconds:300}") long maxDurationSeconds,
+                      @Value("${race.waiting-timeout-seconds:600}") long waitingTimeoutSeconds,
+                      @Value("${race.results-linger-seconds:30}") long lingerSeconds) {
+        this.gameSessionService = gameSessionService;
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i);
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.broadcastMillis = broadcastMillis;
+        this.countdownMillis = countdownSeconds * 1000;
+        this.maxRaceMillis = maxDurationSeconds * 1000;
+        this.waitingMillis = waitingTimeoutSeconds * 1000;
+        this.lingerMillis = lingerSeconds * 1000;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+        log.info("Race engine started with {} shards", shards.length);
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(COMMAND_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        persistenceExecutor.close();
+    }
+
+    /**
+     * Opens a room with the host as its first player.
+     *
+     * @param text the text to race on; shared by every player and never modified
+     */
+    public CompletableFuture<RaceRoomDTO> createRoom(long hostUserId, String hostUsername, long textSampleId,
+                                                     Difficulty difficulty, char[] text, int maxPlayers) {
+        if (maxPlayers < MIN_PLAYERS || maxPlayers > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A race needs between " + MIN_PLAYERS + " and " + MAX_PLAYERS + " players");
+        }
+        long roomId = nextRoomId.incrementAndGet();
+        Shard shard = shardOf(roomId);
+        return shard.ask(() -> {
+            RaceRoom room = new RaceRoom(roomId, textSampleId, difficulty, text, maxPlayers,
+                    hostUserId, clock() + waitingMillis);
+            room.join(hostUserId, hostUsername);
+            shard.rooms.put(roomId, room);
+            roomCount.incrementAndGet();
+            return toDTO(room);
+        });
+    }
+
+    /**
+     * Adds a player to a waiting room. A full room starts its countdown immediately.
+     */
+    public CompletableFuture<RaceRoomDTO> joinRoom(long roomId, long userId, String username) {
+        return onRoom(roomId, room -> {
+            room.join(userId, username);
+            if (room.players.size() == room.maxPlayers) {
+                startCountdown(room, clock());
+            }
+            return toDTO(room);
+        });
+    }
+
+    /**
+     * Starts the countdown of a waiting room on behalf of its host.
+     */
+    public CompletableFuture<RaceRoomDTO> startRoom(long roomId, long userId) {
+        return onRoom(roomId, room -> {
+            if (room.hostUserId != userId) {
+                throw new IllegalStateException("Only the host can start the race");
+            }
+            if (room.phase != RacePhase.WAITING) {
+                throw new IllegalStateException("Race has already started");
+            }
+            if (room.players.size() < MIN_PLAYERS) {
+                throw new IllegalStateException("A race needs at least " + MIN_PLAYERS + " players");
+            }
+            startCountdown(room, clock());
+            return toDTO(room);
+        });
+    }
+
+    /**
+     * Removes a player from a waiting room, or forfeits their race once it has started.
+     */
+    public CompletableFuture<RaceRoomDTO> leaveRoom(long roomId, long userId) {
+        return onRoom(roomId, room -> {
+            RacePlayer player = room.leave(userId);
+            if (player == null) {
+                throw new IllegalArgumentException("User " + userId + " is not in race room " + roomId);
+            }
+            if (room.phase == RacePhase.WAITING) {
+                close(player.connection, CloseStatus.NORMAL);
+                if (room.players.isEmpty()) {
+                    removeRoom(room);
+                }
+            }
+            return toDTO(room);
+        });
+    }
+
+    public CompletableFuture<RaceRoomDTO> getRoom(long roomId) {
+        return onRoom(roomId, this::toDTO);
+    }
+
+    /**
+     * Attaches a player's WebSocket to the room, replacing any earlier connection. The
+     * connection must tolerate sends from the shard thread and must not block for long.
+     *
+     * @return false if the user is not a player of the room
+     */
+    public CompletableFuture<Boolean> connect(long roomId, long userId, WebSocketSession connection) {
+        return onRoom(roomId, room -> {
+            RacePlayer player = room.player(userId);
+            if (player == null || player.left) {
+                return false;
+            }
+            if (player.connection != null && player.connection != connection) {
+                close(player.connection, CloseStatus.NORMAL.withReason("Replaced by a new connection"));
+            }
+            player.connection = connection;
+            if (room.phase == RacePhase.COUNTDOWN || room.phase == RacePhase.RACING) {
+                send(player, countdownMessage(room, clock()));
+            }
+            room.dirty = true;
+            return true;
+        });
+    }
+
+    /**
+     * Detaches a player's WebSocket. The player stays in the room and may reconnect.
+     */
+    public void disconnect(long roomId, long userId, WebSocketSession connection) {
+        shardOf(roomId).tell(shard -> {
+            RaceRoom room = shard.rooms.get(roomId);
+            RacePlayer player = room != null ? room.player(userId) : null;
+            if (player != null && player.connection == connection) {
+                player.connection = null;
+                room.dirty = true;
+            }
+        }, false);
+    }
+
+    /**
+     * Queues a batch of 4-byte keystrokes for a player. The shard applies it on its next
+     * pass; it is not woken early, since the progress only goes out with the next snapshot.
+     */
+    public void keystrokes(long roomId, long userId, byte[] batch) {
+        shardOf(roomId).tell(shard -> {
+            RaceRoom room = shard.rooms.get(roomId);
+            RacePlayer player = room != null ? room.player(userId) : null;
+            if (player == null) {
+                return;
+            }
+            long now = clock();
+            if (room.applyKeystrokes(player, ByteBuffer.wrap(batch), now) && room.isDecided()) {
+                finish(room, now);
+            }
+        }, false);
+    }
+
+    public int roomCount() {
+        return roomCount.get();
+    }
+
+    private <T> CompletableFuture<T> onRoom(long roomId, Function<RaceRoom, T> command) {
+        Shard shard = shardOf(roomId);
+        return shard.ask(() -> {
+            RaceRoom room = shard.rooms.get(roomId);
+            if (room == null) {
+                throw new IllegalArgumentException("Race room not found with id: " + roomId);
+            }
+            return command.apply(room);
+        });
+    }
+
+    private Shard shardOf(long roomId) {
+        return shards[shardIndex(roomId, shards.length)];
+    }
+
+    /**
+     * Returns the shard that owns a room. Room IDs are handed out in order, so consecutive
+     * rooms go to consecutive shards.
+     */
+    static int shardIndex(long roomId, int shardCount) {
+        return (int) Math.floorMod(roomId, (long) shardCount);
+    }
+
+    private static long clock() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    private void startCountdown(RaceRoom room, long now) {
+        room.startCountdown(now, countdownMillis);
+        TextMessage countdown = countdownMessage(room, now);
+        for (RacePlayer player : room.players) {
+            send(player, countdown);
+        }
+    }
+
+    private void finish(RaceRoom room, long now) {
+        List<RaceResult> results = room.finish(now, lingerMillis);
+        broadcast(room, now);
+
+        long roomId = room.id;
+        long textSampleId = room.textSampleId;
+        Difficulty difficulty = room.difficulty;
+        LocalDateTime startedAt = room.startedAt;
+        persistenceExecutor.execute(() -> {
+            try {
+                gameSessionService.recordRaceResults(roomId, textSampleId, difficulty, startedAt, results);
+            } catch (RuntimeException e) {
+                log.error("Could not record results of race room: {}", roomId, e);
+            }
+        });
+        log.info("Race room {} finished with {} players", roomId, results.size());
+    }
+
+    private void removeRoom(RaceRoom room) {
+        shardOf(room.id).rooms.remove(room.id);
+        roomCount.decrementAndGet();
+        for (RacePlayer player : room.players) {
+            close(player.connection, CloseStatus.NORMAL);
+        }
+    }
+
+    /**
+     * Advances one room's phase and sends its snapshot if one is due.
+     *
+     * @return false if the room should be removed
+     */
+    private boolean tick(RaceRoom room, long now) {
+        switch (room.phase) {
+            case WAITING -> {
+                if (now >= room.phaseDeadline) {
+                    log.info("Race room {} expired before it started", room.id);
+                    return false;
+                }
+            }
+            case COUNTDOWN -> {
+                if (now >= room.phaseDeadline) {
+                    room.startRace(now, maxRaceMillis);
+                }
+            }
+            case RACING -> {
+                if (now >= room.phaseDeadline || room.isDecided()) {
+                    finish(room, now);
+                }
+            }
+            case FINISHED -> {
+                if (now >= room.phaseDeadline) {
+                    return false;
+                }
+            }
+        }
+        if (room.dirty && now - room.lastBroadcastMillis >= broadcastMillis) {
+            broadcast(room, now);
+        }
+        return true;
+    }
+
+    private void broadcast(RaceRoom room, long now) {
+        room.dirty = false;
+        room.lastBroadcastMillis = now;
+        room.snapshotSequence++;
+        TextMessage snapshot = snapshotMessage(room, now);
+        for (RacePlayer player : room.players) {
+            send(player, snapshot);
+        }
+    }
+
+    private void send(RacePlayer player, TextMessage message) {
+        WebSocketSession connection = player.connection;
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Dropping race connection of user {}: {}", player.userId, e.getMessage());
+            player.connection = null;
+            close(connection, CloseStatus.SESSION_NOT_RELIABLE);
+        }
+    }
+
+    private static void close(WebSocketSession connection, CloseStatus status) {
+        if (connection == null || !connection.isOpen()) {
+            return;
+        }
+        try {
+            connection.close(status);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not close race connection: {}", e.getMessage());
+        }
+    }
+
+    private static TextMessage countdownMessage(RaceRoom room, long now) {
+        StringBuilder json = new StringBuilder(room.text.length + 96);
+        json.append("{\"type\":\"countdown\",\"roomId\":").append(room.id)
+                .append(",\"startsInMillis\":").append(room.phase == RacePhase.COUNTDOWN
+                        ? Math.max(0, room.phaseDeadline - now) : 0)
+                .append(",\"text\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(new String(room.text), json);
+        json.append("\"}");
+        return new TextMessage(json);
+    }
+
+    private static TextMessage snapshotMessage(RaceRoom room, long now) {
+        StringBuilder json = new StringBuilder(64 + room.players.size() * 112);
+        json.append("{\"type\":\"snapshot\",\"roomId\":").append(room.id)
+                .append(",\"seq\":").append(room.snapshotSequence)
+                .append(",\"phase\":\"").append(room.phase.name())
+                .append("\",\"elapsedMillis\":").append(room.phase == RacePhase.RACING ? now - room.raceStartMillis : 0)
+                .append(",\"players\":[");
+        JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+        for (int i = 0; i < room.players.size(); i++) {
+            RacePlayer player = room.players.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"userId\":").append(player.userId).append(",\"username\":\"");
+            encoder.quoteAsString(player.username != null ? player.username : "", json);
+            json.append("\",\"position\":").append(player.scorer.cursor())
+                    .append(",\"wpm\":").append(player.finalScore != null ? player.finalScore.wpm() : player.scorer.wpm())
+                    .append(",\"accuracy\":").append(player.scorer.accuracy())
+                    .append(",\"placement\":").append(player.placement)
+                    .append(",\"connected\":").append(player.connection != null)
+                    .append(",\"left\":").append(player.left)
+                    .append('}');
+        }
+        json.append("]}");
+        return new TextMessage(json);
+    }
+
+    private RaceRoomDTO toDTO(RaceRoom room) {
+        List<RacePlayerDTO> players = new ArrayList<>(room.players.size());
+        for (RacePlayer player : room.players) {
+            players.add(RacePlayerDTO.builder()
+                    .userId(player.userId)
+                    .username(player.username)
+                    .position(player.scorer.cursor())
+                    .wpm(player.finalScore != null ? player.finalScore.wpm() : player.scorer.wpm())
+                    .accuracy(player.scorer.accuracy())
+                    .placement(player.placement > 0 ? player.placement : null)
+                    .connected(player.connection != null)
+                    .left(player.left)
+                    .build());
+        }
+        return RaceRoomDTO.builder()
+                .id(room.id)
+                .hostUserId(room.hostUserId)
+                .phase(room.phase)
+                .difficulty(room.difficulty)
+                .maxPlayers(room.maxPlayers)
+                .textSampleId(room.textSampleId)
+                .textSampleContent(room.phase != RacePhase.WAITING ? new String(room.text) : null)
+                .startedAt(room.startedAt)
+                .players(players)
+                .build();
+    }
+
+    /**
+     * One engine thread, its rooms and its mailbox. The rooms map is only touched by the thread.
+     */
+    private final class Shard implements Runnable {
+
+        private final Map<Long, RaceRoom> rooms = new HashMap<>();
+        private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        Shard(int index) {
+            this.thread = Thread.ofPlatform().name("race-shard-" + index).daemon().unstarted(this);
+        }
+
+        <T> CompletableFuture<T> ask(Supplier<T> command) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            mailbox.add(() -> {
+                try {
+                    result.complete(command.get());
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            LockSupport.unpark(thread);
+            return result.orTimeout(COMMAND_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        void tell(Consumer<Shard> command, boolean wake) {
+            mailbox.add(() -> command.accept(this));
+            if (wake) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            long nextTick = System.nanoTime() + tickNanos;
+            while (running) {
+                Runnable command;
+                while ((command = mailbox.poll()) != null) {
+                    try {
+                        command.run();
+                    } catch (RuntimeException e) {
+                        log.error("Race command failed on {}", thread.getName(), e);
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (now - nextTick >= 0) {
+                    tickRooms();
+                    nextTick += tickNanos;
+                    if (nextTick - now < 0) {
+                        // Fell behind; skip the missed ticks instead of running them back to back
+                        nextTick = now + tickNanos;
+                    }
+                    continue;
+                }
+                if (mailbox.isEmpty()) {
+                    LockSupport.parkNanos(this, nextTick - now);
+                }
+            }
+        }
+
+        private void tickRooms() {
+            long now = clock();
+            for (Iterator<RaceRoom> it = rooms.values().iterator(); it.hasNext();) {
+                RaceRoom room = it.next();
+                boolean keep;
+                try {
+                    keep = tick(room, now);
+                } catch (RuntimeException e) {
+                    log.error("Race room {} failed and was closed", room.id, e);
+                    keep = false;
+                }
+                if (!keep) {
+                    it.remove();
+                    roomCount.decrementAndGet();
+                    for (RacePlayer player : room.players) {
+                        close(player.connection, CloseStatus.NORMAL);
+                    }
+                }
+            }
+        }
+    }
+}
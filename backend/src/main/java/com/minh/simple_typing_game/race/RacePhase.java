@@ -0,0 +1,11 @@
+package com.minh.simple_typing_game.race;
+
+/**
+ * Lifecycle of a race room.
+ */
+public enum RacePhase {
+    WAITING, // Open for players to join
+    COUNTDOWN, // Text revealed, typing not yet allowed
+    RACING,
+    FINISHED // Results recorded; the room lingers briefly so clients can read them
+}
@@ -0,0 +1,31 @@
+package com.minh.simple_typing_game.race;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import com.minh.simple_typing_game.keystroke.KeystrokeScore;
+import com.minh.simple_typing_game.keystroke.KeystrokeScorer;
+
+/**
+ * One player of a race room. Owned by the room's shard thread; not thread-safe.
+ */
+final class RacePlayer {
+
+    final long userId;
+    final String username;
+    final KeystrokeScorer scorer;
+
+    WebSocketSession connection;
+    boolean left;
+    int placement; // 0 until the player finishes
+    KeystrokeScore finalScore;
+
+    RacePlayer(long userId, String username, char[] text) {
+        this.userId = userId;
+        this.username = username;
+        this.scorer = new KeystrokeScorer(text);
+    }
+
+    boolean isRacing() {
+        return !left && placement == 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.minh.simple_typing_game.race;
+
+import com.minh.simple_typing_game.keystroke.KeystrokeScore;
+
+/**
+ * Final result of one player in a race.
+ *
+ * @param userId the player
+ * @param placement 1 for the winner, or null if the player did not finish the text
+ * @param score the server-computed score at the time the player finished or the race ended
+ */
+public record RaceResult(long userId, Integer placement, KeystrokeScore score) {
+}
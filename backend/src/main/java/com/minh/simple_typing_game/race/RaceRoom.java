@@ -0,0 +1,180 @@
+package com.minh.simple_typing_game.race;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.keystroke.KeystrokeScore;
+
+/**
+ * State of one race room. Every room belongs to exactly one shard of the {@link RaceEngine}
+ * and is only read or written by that shard's thread, so nothing here is synchronized.
+ * Times are milliseconds on the engine's monotonic clock.
+ */
+final class RaceRoom {
+
+    final long id;
+    final long textSampleId;
+    final Difficulty difficulty;
+    final char[] text;
+    final int maxPlayers;
+    final List<RacePlayer> players;
+
+    long hostUserId;
+    RacePhase phase = RacePhase.WAITING;
+    long phaseDeadline; // When the current phase times out
+    long raceStartMillis;
+    LocalDateTime startedAt;
+    int finishers;
+
+    // Broadcast coalescing: progress marks the room dirty, the tick sends at most one snapshot per interval
+    boolean dirty = true;
+    long lastBroadcastMillis;
+    long snapshotSequence;
+
+    RaceRoom(long id, long textSampleId, Difficulty difficulty, char[] text, int maxPlayers,
+             long hostUserId, long waitingDeadline) {
+        this.id = id;
+        this.textSampleId = textSampleId;
+        this.difficulty = difficulty;
+        this.text = text;
+        this.maxPlayers = maxPlayers;
+        this.players = new ArrayList<>(Math.min(maxPlayers, 8));
+        this.hostUserId = hostUserId;
+        this.phaseDeadline = waitingDeadline;
+    }
+
+    RacePlayer player(long userId) {
+        for (RacePlayer player : players) {
+            if (player.userId == userId) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds a player; joining a room twice is a no-op.
+     *
+     * @throws IllegalStateException if the race has started or the room is full
+     */
+    RacePlayer join(long userId, String username) {
+        RacePlayer existing = player(userId);
+        if (existing != null) {
+            return existing;
+        }
+        if (phase != RacePhase.WAITING) {
+            throw new IllegalStateException("Race has already started");
+        }
+        if (players.size() >= maxPlayers) {
+            throw new IllegalStateException("Race room is full");
+        }
+        RacePlayer player = new RacePlayer(userId, username, text);
+        players.add(player);
+        dirty = true;
+        return player;
+    }
+
+    /**
+     * Removes a player before the race, or marks them as having left once it started.
+     *
+     * @return the player, or null if they were not in the room
+     */
+    RacePlayer leave(long userId) {
+        if (phase == RacePhase.WAITING) {
+            for (Iterator<RacePlayer> it = players.iterator(); it.hasNext();) {
+                RacePlayer player = it.next();
+                if (player.userId == userId) {
+                    it.remove();
+                    if (hostUserId == userId && !players.isEmpty()) {
+                        hostUserId = players.get(0).userId;
+                    }
+                    dirty = true;
+                    return player;
+                }
+            }
+            return null;
+        }
+        RacePlayer player = player(userId);
+        if (player != null && !player.left) {
+            player.left = true;
+            dirty = true;
+        }
+        return player;
+    }
+
+    void startCountdown(long now, long countdownMillis) {
+        phase = RacePhase.COUNTDOWN;
+        phaseDeadline = now + countdownMillis;
+        dirty = true;
+    }
+
+    void startRace(long now, long maxDurationMillis) {
+        phase = RacePhase.RACING;
+        raceStartMillis = now;
+        startedAt = LocalDateTime.now();
+        phaseDeadline = now + maxDurationMillis;
+        dirty = true;
+    }
+
+    /**
+     * Applies a batch of 4-byte keystrokes (character code, then milliseconds since the
+     * previous keystroke). Ignored unless the race is running and the player is still typing.
+     *
+     * @return true if the player finished the text with this batch
+     */
+    boolean applyKeystrokes(RacePlayer player, ByteBuffer batch, long now) {
+        if (phase != RacePhase.RACING || !player.isRacing()) {
+            return false;
+        }
+        while (batch.remaining() >= 4) {
+            char key = batch.getChar();
+            int deltaMillis = Short.toUnsignedInt(batch.getShort());
+            player.scorer.accept(key, deltaMillis);
+        }
+        dirty = true;
+        if (!player.scorer.isComplete()) {
+            return false;
+        }
+        player.placement = ++finishers;
+        // The client's keystroke deltas cannot claim less time than the server has seen
+        player.finalScore = player.scorer.score(now - raceStartMillis);
+        return true;
+    }
+
+    /**
+     * Returns true once no player is still typing.
+     */
+    boolean isDecided() {
+        for (RacePlayer player : players) {
+            if (player.isRacing()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Ends the race and returns every player's result. Players who did not finish are
+     * scored on what they typed so far and get no placement.
+     */
+    List<RaceResult> finish(long now, long lingerMillis) {
+        phase = RacePhase.FINISHED;
+        phaseDeadline = now + lingerMillis;
+        dirty = true;
+
+        List<RaceResult> results = new ArrayList<>(players.size());
+        for (RacePlayer player : players) {
+            if (player.placement > 0) {
+                results.add(new RaceResult(player.userId, player.placement, player.finalScore));
+            } else {
+                KeystrokeScore partial = player.scorer.score(now - raceStartMillis);
+                results.add(new RaceResult(player.userId, null, partial));
+            }
+        }
+        return results;
+    }
+}
@@ -1,15 +1,30 @@
 package com.minh.simple_typing_game.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.minh.simple_typing_game.entity.GameSession;
 import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.repository.projection.CompletedGameRow;
+import com.minh.simple_typing_game.repository.projection.GameAggregateRow;
+import com.minh.simple_typing_game.repository.projection.GameSessionKey;
+import com.minh.simple_typing_game.repository.projection.GameSessionPlayerRef;
+import com.minh.simple_typing_game.repository.projection.GameSessionSummary;
+import com.minh.simple_typing_game.repository.projection.StatusCount;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface GameSessionRepository extends JpaRepository<GameSession, Long> {
@@ -21,12 +36,150 @@ public interface GameSessionRepository extends JpaRepository<GameSession, Long>
 
     List<GameSession> findTop10ByStatusOrderByWpmDesc(GameStatus status);
     
-    // Find active game session for a user
-    Optional<GameSession> findByUserIdAndStatus(Long userId, GameStatus status);
-    
     // Find all sessions for a user with specific status
     List<GameSession> findByUserIdAndStatusOrderByStartedAtDesc(Long userId, GameStatus status);
     
     // Count total games for a user
     long countByUserIdAndStatus(Long userId, GameStatus status);
+
+    /**
+     * Finds the highest game session ID, or null if there are no sessions.
+     */
+    @Query("SELECT MAX(g.id) FROM GameSession g")
+    Long findMaxId();
+
+    /**
+     * Finds the ID of the user who played a stored game session.
+     */
+    @Query("SELECT g.user.id FROM GameSession g WHERE g.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * Finds which of the given game session IDs already have a row.
+     */
+    @Query("SELECT g.id FROM GameSession g WHERE g.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of sessions with the given status that started before a cutoff, oldest first,
+     * ordered by {@code (startedAt, id)} and starting strictly after the given position.
+     * Served by the {@code (status, started_at)} index without loading any entity.
+     */
+    @Query("SELECT g.id AS id, g.startedAt AS startedAt FROM GameSession g "
+            + "WHERE g.status = :status AND g.startedAt < :startedBefore "
+            + "AND (g.startedAt > :afterStartedAt OR (g.startedAt = :afterStartedAt AND g.id > :afterId)) "
+            + "ORDER BY g.startedAt ASC, g.id ASC")
+    List<GameSessionKey> findKeysByStatusStartedBefore(@Param("status") GameStatus status,
+                                                       @Param("startedBefore") LocalDateTime startedBefore,
+                                                       @Param("afterStartedAt") LocalDateTime afterStartedAt,
+                                                       @Param("afterId") long afterId,
+                                                       Limit limit);
+
+    /**
+     * Moves the given sessions from one status to another in one statement, bumping their
+     * version. Sessions that are no longer in the expected status are left alone.
+     *
+     * @return the number of sessions updated
+     */
+    @Modifying
+    @Query("UPDATE GameSession g SET g.status = :to, g.completedAt = :completedAt, "
+            + "g.version = COALESCE(g.version, 0) + 1 WHERE g.id IN :ids AND g.status = :from")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("from") GameStatus from,
+                           @Param("to") GameStatus to,
+                           @Param("completedAt") LocalDateTime completedAt);
+
+    /**
+     * Finds the player, difficulty and text category of several sessions in one query.
+     */
+    @Query("SELECT g.id AS id, u.id AS userId, u.username AS username, g.difficulty AS difficulty, "
+            + "COALESCE(t.category, g.category) AS category "
+            + "FROM GameSession g JOIN g.user u LEFT JOIN g.textSample t WHERE g.id IN :ids")
+    List<GameSessionPlayerRef> findPlayerRefsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset page of a user's sessions with the given status, newest first, ordered by
+     * {@code (startedAt, id)} descending and starting strictly after the given cursor.
+     * Served by the {@code (user_id, status, started_at)} index; the text sample is joined
+     * once for its title instead of being loaded per row. Sessions moved to the cold archive
+     * are not here; the history merges them in from the archive segments.
+     */
+    @Query("SELECT g.id AS id, t.id AS textSampleId, t.title AS textSampleTitle, g.wpm AS wpm, "
+            + "g.accuracy AS accuracy, g.duration AS duration, g.totalCharacters AS totalCharacters, "
+            + "g.correctCharacters AS correctCharacters, g.incorrectCharacters AS incorrectCharacters, "
+            + "g.raceRoomId AS raceRoomId, g.placement AS placement, "
+            + "g.status AS status, g.difficulty AS difficulty, g.mode AS mode, "
+            + "g.startedAt AS startedAt, g.completedAt AS completedAt "
+            + "FROM GameSession g LEFT JOIN g.textSample t "
+            + "WHERE g.user.id = :userId AND g.status = :status "
+            + "AND (g.startedAt < :startedAt OR (g.startedAt = :startedAt AND g.id < :id)) "
+            + "ORDER BY g.startedAt DESC, g.id DESC")
+    List<GameSessionSummary> findHistoryPage(@Param("userId") Long userId, @Param("status") GameStatus status,
+            @Param("startedAt") LocalDateTime startedAt, @Param("id") Long id, Limit limit);
+
+    /**
+     * Same as {@link #findHistoryPage} but also selects the text content.
+     */
+    @Query("SELECT g.id AS id, t.id AS textSampleId, t.title AS textSampleTitle, t.content AS textSampleContent, "
+            + "g.wpm AS wpm, g.accuracy AS accuracy, g.duration AS duration, g.totalCharacters AS totalCharacters, "
+            + "g.correctCharacters AS correctCharacters, g.incorrectCharacters AS incorrectCharacters, "
+            + "g.raceRoomId AS raceRoomId, g.placement AS placement, "
+            + "g.status AS status, g.difficulty AS difficulty, g.mode AS mode, "
+            + "g.startedAt AS startedAt, g.completedAt AS completedAt "
+            + "FROM GameSession g LEFT JOIN g.textSample t "
+            + "WHERE g.user.id = :userId AND g.status = :status "
+            + "AND (g.startedAt < :startedAt OR (g.startedAt = :startedAt AND g.id < :id)) "
+            + "ORDER BY g.startedAt DESC, g.id DESC")
+    List<GameSessionSummary.WithContent> findHistoryPageWithContent(@Param("userId") Long userId,
+            @Param("status") GameStatus status, @Param("startedAt") LocalDateTime startedAt, @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Streams every completed session with its player's username and text category in one pass.
+     * Must be consumed inside a transaction.
+     */
+    @Query("SELECT g.id AS sessionId, u.id AS userId, u.username AS username, g.difficulty AS difficulty, "
+            + "COALESCE(t.category, g.category) AS category, g.wpm AS wpm, g.accuracy AS accuracy, "
+            + "g.duration AS duration, g.totalCharacters AS totalCharacters, g.correctCharacters AS correctCharacters, "
+            + "g.completedAt AS completedAt "
+            + "FROM GameSession g JOIN g.user u LEFT JOIN g.textSample t WHERE g.status = 'COMPLETED'")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<CompletedGameRow> streamCompletedGames();
+
+    /**
+     * Streams the completed sessions of every user in an ID range. Must be consumed inside a transaction.
+     */
+    @Query("SELECT g.id AS sessionId, g.user.id AS userId, g.difficulty AS difficulty, g.wpm AS wpm, "
+            + "g.accuracy AS accuracy, g.duration AS duration, g.totalCharacters AS totalCharacters, "
+            + "g.correctCharacters AS correctCharacters, g.completedAt AS completedAt "
+            + "FROM GameSession g WHERE g.user.id BETWEEN :fromUserId AND :toUserId AND g.status = 'COMPLETED'")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<CompletedGameRow> streamCompletedGamesOfUsers(@Param("fromUserId") Long fromUserId,
+            @Param("toUserId") Long toUserId);
+
+    boolean existsByStatus(GameStatus status);
+
+    /**
+     * Aggregates the finished sessions that ended in {@code [from, to)} per difficulty and status,
+     * for one user or for everyone when the user ID is null. Only completed sessions count towards
+     * the WPM and accuracy sums, as an abandoned game's score covers a partial run.
+     */
+    @Query("SELECT g.difficulty AS difficulty, g.status AS status, COUNT(g) AS games, "
+            + "COUNT(CASE WHEN g.status = 'COMPLETED' THEN g.wpm END) AS wpmCount, "
+            + "SUM(CASE WHEN g.status = 'COMPLETED' THEN g.wpm END) AS wpmSum, "
+            + "MAX(CASE WHEN g.status = 'COMPLETED' THEN g.wpm END) AS bestWpm, "
+            + "COUNT(CASE WHEN g.status = 'COMPLETED' THEN g.accuracy END) AS accuracyCount, "
+            + "SUM(CASE WHEN g.status = 'COMPLETED' THEN g.accuracy END) AS accuracySum, "
+            + "SUM(g.duration) AS durationSum "
+            + "FROM GameSession g WHERE (:userId IS NULL OR g.user.id = :userId) AND g.status <> 'IN_PROGRESS' "
+            + "AND g.completedAt >= :from AND g.completedAt < :to GROUP BY g.difficulty, g.status")
+    List<GameAggregateRow> aggregateFinished(@Param("userId") Long userId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Counts sessions per status; statuses without sessions are left out.
+     */
+    @Query("SELECT g.status AS status, COUNT(g) AS count FROM GameSession g GROUP BY g.status")
+    List<StatusCount> countByStatus();
 }
@@ -1,14 +1,23 @@
 package com.minh.simple_typing_game.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.minh.simple_typing_game.entity.TextSample;
 import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.repository.projection.TextSampleSummary;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface TextSampleRepository extends JpaRepository<TextSample, Long> {
@@ -20,8 +29,69 @@ public interface TextSampleRepository extends JpaRepository<TextSample, Long> {
     List<TextSample> findByDifficulty(Difficulty difficulty);
 
     /**
-     * Finds a random active text sample.
+     * Streams the id, difficulty, category and length of every active sample,
+     * leaving the content column untouched. Must be consumed inside a transaction.
+     */
+    @Query("SELECT ts.id AS id, ts.difficulty AS difficulty, ts.category AS category, "
+            + "ts.characterCount AS characterCount FROM TextSample ts WHERE ts.isActive = true")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<TextSampleSummary> streamActiveSummaries();
+
+    /**
+     * Streams the content of every active sample. Must be consumed inside a transaction.
+     */
+    @Query("SELECT ts.content FROM TextSample ts WHERE ts.isActive = true")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<String> streamActiveContents();
+
+    /**
+     * Loads only the content column of a sample.
+     */
+    @Query("SELECT ts.content FROM TextSample ts WHERE ts.id = :id")
+    String findContentById(@Param("id") Long id);
+
+    /**
+     * Loads only the title of a sample.
+     */
+    @Query("SELECT ts.title FROM TextSample ts WHERE ts.id = :id")
+    String findTitleById(@Param("id") Long id);
+
+    /**
+     * Loads only the category of a sample.
+     */
+    @Query("SELECT ts.category FROM TextSample ts WHERE ts.id = :id")
+    TextCategory findCategoryById(@Param("id") Long id);
+
+    /**
+     * Returns which of the given content hashes are already stored.
+     *
+     * @param contentHashes the hashes to check
+     * @return the subset of hashes that already exist
+     */
+    @Query("SELECT ts.contentHash FROM TextSample ts WHERE ts.contentHash IN :contentHashes")
+    Set<String> findExistingContentHashes(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * Finds the lowest active text sample ID, used with {@link #findMaxActiveId()} as the range
+     * for ID-range sampling, or null if no sample is active. Walks the primary key from its low
+     * end, where a filtered MIN would read every row.
+     */
+    @Query("SELECT ts.id FROM TextSample ts WHERE ts.isActive = true ORDER BY ts.id ASC LIMIT 1")
+    Long findMinActiveId();
+
+    /**
+     * Finds the highest active text sample ID, or null if no sample is active.
+     */
+    @Query("SELECT ts.id FROM TextSample ts WHERE ts.isActive = true ORDER BY ts.id DESC LIMIT 1")
+    Long findMaxActiveId();
+
+    /**
+     * Finds a sample by ID if it is active. Resolves with a single primary-key lookup.
+     */
+    Optional<TextSample> findByIdAndIsActiveTrue(Long id);
+
+    /**
+     * Finds the first active sample at or after the given ID, walking the primary key from it.
      */
-    @Query("SELECT ts FROM TextSample ts WHERE ts.isActive = true ORDER BY RANDOM()")
-    Optional<TextSample> findRandomActiveSample();
+    Optional<TextSample> findFirstByIsActiveTrueAndIdGreaterThanEqualOrderByIdAsc(Long id);
 }
@@ -1,5 +1,7 @@
 package com.minh.simple_typing_game.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import com.minh.simple_typing_game.entity.User;
 import com.minh.simple_typing_game.entity.enums.AuthProvider;
+import com.minh.simple_typing_game.repository.projection.UserRef;
 
 /**
  * Repository interface for User entity.
@@ -75,4 +78,36 @@ public interface UserRepository extends JpaRepository<User, Long> {    /**
      */
     boolean existsByProviderIdAndProvider(String providerId, AuthProvider provider);
 
+    /**
+     * Finds the lowest user ID, used with {@link #findMaxId()} to split users into ID ranges.
+     */
+    @Query("SELECT MIN(u.id) FROM User u")
+    Long findMinId();
+
+    /**
+     * Finds the highest user ID.
+     */
+    @Query("SELECT MAX(u.id) FROM User u")
+    Long findMaxId();
+
+    /**
+     * Finds the usernames of users by ID; unknown IDs are left out.
+     */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+    List<UserRef> findUsernamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks a user's row until the transaction ends. Unlike the user's stats row, it always
+     * exists, so stats updates take it first to serialize with a backfill of the user's range.
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :userId FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("userId") Long userId);
+
+    /**
+     * Locks the rows of every user in an ID range, in ID order.
+     */
+    @Query(value = "SELECT id FROM users WHERE id BETWEEN :fromUserId AND :toUserId ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockRange(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.minh.simple_typing_game.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.minh.simple_typing_game.entity.UserStats;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    /**
+     * Loads a user's stats row and locks it until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId = :userId")
+    Optional<UserStats> findByIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Loads and locks every stats row in a user ID range, so a backfill chunk and
+     * games completing in that range take turns instead of overwriting each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UserStats s WHERE s.userId BETWEEN :fromUserId AND :toUserId")
+    List<UserStats> findRangeForUpdate(@Param("fromUserId") Long fromUserId, @Param("toUserId") Long toUserId);
+}
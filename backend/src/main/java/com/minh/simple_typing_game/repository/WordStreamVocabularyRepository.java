@@ -0,0 +1,10 @@
+package com.minh.simple_typing_game.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.minh.simple_typing_game.entity.WordStreamVocabulary;
+
+@Repository
+public interface WordStreamVocabularyRepository extends JpaRepository<WordStreamVocabulary, Long> {
+}
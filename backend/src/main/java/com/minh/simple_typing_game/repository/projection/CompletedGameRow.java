@@ -0,0 +1,35 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * Flat view of a completed game session with its player's username and text category,
+ * used to rebuild leaderboards and user statistics.
+ */
+public interface CompletedGameRow {
+
+    Long getSessionId();
+
+    Long getUserId();
+
+    String getUsername();
+
+    Difficulty getDifficulty();
+
+    TextCategory getCategory();
+
+    Integer getWpm();
+
+    Double getAccuracy();
+
+    Integer getDuration();
+
+    Integer getTotalCharacters();
+
+    Integer getCorrectCharacters();
+
+    LocalDateTime getCompletedAt();
+}
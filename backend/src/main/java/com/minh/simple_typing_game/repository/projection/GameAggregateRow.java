@@ -0,0 +1,30 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+
+/**
+ * Sums over the finished game sessions of one difficulty and status, used to merge game_sessions
+ * with the cold archive in analytics. Only completed sessions count towards the WPM and accuracy
+ * sums. Sums are null when no session has the value.
+ */
+public interface GameAggregateRow {
+
+    Difficulty getDifficulty();
+
+    GameStatus getStatus();
+
+    long getGames();
+
+    long getWpmCount();
+
+    Long getWpmSum();
+
+    Integer getBestWpm();
+
+    long getAccuracyCount();
+
+    Double getAccuracySum();
+
+    Long getDurationSum();
+}
@@ -0,0 +1,13 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The {@code (startedAt, id)} keyset position of a game session.
+ */
+public interface GameSessionKey {
+
+    Long getId();
+
+    LocalDateTime getStartedAt();
+}
@@ -0,0 +1,21 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * The player, difficulty and text category of a game session: what a completion event needs
+ * beyond the scores.
+ */
+public interface GameSessionPlayerRef {
+
+    Long getId();
+
+    Long getUserId();
+
+    String getUsername();
+
+    Difficulty getDifficulty();
+
+    TextCategory getCategory();
+}
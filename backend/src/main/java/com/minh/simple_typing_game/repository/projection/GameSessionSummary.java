@@ -0,0 +1,54 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import java.time.LocalDateTime;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+
+/**
+ * Summary columns of a finished game session for history listings, with the title of the
+ * text that was typed. The text content is only selected when explicitly requested.
+ */
+public interface GameSessionSummary {
+
+    Long getId();
+
+    Long getTextSampleId();
+
+    String getTextSampleTitle();
+
+    Integer getWpm();
+
+    Double getAccuracy();
+
+    Integer getDuration();
+
+    Integer getTotalCharacters();
+
+    Integer getCorrectCharacters();
+
+    Integer getIncorrectCharacters();
+
+    Long getRaceRoomId();
+
+    Integer getPlacement();
+
+    GameStatus getStatus();
+
+    Difficulty getDifficulty();
+
+    GameMode getMode();
+
+    LocalDateTime getStartedAt();
+
+    LocalDateTime getCompletedAt();
+
+    /**
+     * Summary together with the full text content.
+     */
+    interface WithContent extends GameSessionSummary {
+
+        String getTextSampleContent();
+    }
+}
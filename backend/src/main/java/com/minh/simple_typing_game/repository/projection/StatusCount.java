@@ -0,0 +1,13 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+
+/**
+ * Number of game sessions in one status.
+ */
+public interface StatusCount {
+
+    GameStatus getStatus();
+
+    long getCount();
+}
@@ -0,0 +1,18 @@
+package com.minh.simple_typing_game.repository.projection;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * Lightweight view of a TextSample without its content column.
+ */
+public interface TextSampleSummary {
+
+    Long getId();
+
+    Difficulty getDifficulty();
+
+    TextCategory getCategory();
+
+    Integer getCharacterCount();
+}
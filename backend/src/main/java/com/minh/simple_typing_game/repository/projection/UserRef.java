@@ -0,0 +1,11 @@
+package com.minh.simple_typing_game.repository.projection;
+
+/**
+ * The ID and username of a user.
+ */
+public interface UserRef {
+
+    Long getId();
+
+    String getUsername();
+}
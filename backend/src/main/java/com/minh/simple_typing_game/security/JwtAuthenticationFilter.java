@@ -0,0 +1,104 @@
+package com.minh.simple_typing_game.security;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.service.JwtService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates API requests from the {@code Authorization: Bearer} JWT alone, with no
+ * session and no database lookup. The principal is the {@link VerifiedToken} and the only
+ * authority is the token's role claim.
+ *
+ * <p>Browsers cannot set headers on WebSocket handshakes, so {@code /ws/**} also accepts
+ * the token as an {@code access_token} query parameter.
+ *
+ * <p>Verification time is recorded as the {@code jwt.validation} timer, tagged with whether
+ * the token was valid.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACCESS_TOKEN_PARAMETER = "access_token";
+    private static final String WEBSOCKET_PATH_PREFIX = "/ws/";
+
+    // Built once; authorities are immutable and identical for every user of a role
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority(role.name())));
+        }
+    }
+
+    private final JwtService jwtService;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+
+    public JwtAuthenticationFilter(JwtService jwtService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.validTimer = validationTimer(meterRegistry, "valid");
+        this.invalidTimer = validationTimer(meterRegistry, "invalid");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null) {
+            long start = System.nanoTime();
+            VerifiedToken verified = jwtService.verifyToken(token);
+            (verified != null ? validTimer : invalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (verified != null && verified.role() != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        verified, null, AUTHORITIES.get(verified.role())));
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("jwt.validation")
+                .description("Time to verify a bearer token, including the verified-token cache lookup")
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the bearer token of the request, or null if it has none.
+     */
+    public static String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            String token = header.substring(BEARER_PREFIX.length()).trim();
+            return token.isEmpty() ? null : token;
+        }
+        if (request.getRequestURI().startsWith(request.getContextPath() + WEBSOCKET_PATH_PREFIX)) {
+            String token = request.getParameter(ACCESS_TOKEN_PARAMETER);
+            return token == null || token.isBlank() ? null : token;
+        }
+        return null;
+    }
+}
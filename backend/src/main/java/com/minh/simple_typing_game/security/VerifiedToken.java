@@ -0,0 +1,15 @@
+package com.minh.simple_typing_game.security;
+
+import com.minh.simple_typing_game.entity.enums.Role;
+
+/**
+ * Claims of a JWT whose signature and expiry have been checked.
+ *
+ * @param userId the user ID claim
+ * @param email the subject
+ * @param role the role claim
+ * @param provider the auth provider claim
+ * @param expiresAt expiry time in epoch milliseconds
+ */
+public record VerifiedToken(Long userId, String email, Role role, String provider, long expiresAt) {
+}
@@ -4,17 +4,61 @@ import java.util.Arrays;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.minh.simple_typing_game.service.JwtService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
 @Configuration
 @EnableWebSecurity
+@RequiredArgsConstructor
 public class WebSecurityConfig {
 
+    private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Stateless security for the REST API and WebSocket endpoints. Requests authenticate with
+     * a JWT on every call, so any backend node can serve any request without sticky sessions.
+     *
+     * @param http HttpSecurity object to configure security settings
+     * @return SecurityFilterChain for /api/**, /ws/** and the metrics scrape
+     * @throws Exception if an error occurs during configuration
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain apiFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher("/api/**", "/ws/**", "/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/admin/**").hasAuthority("ROLE_ADMIN") // Corpus import and other admin jobs
+                        .requestMatchers("/actuator/prometheus").hasAuthority("ROLE_ADMIN") // Scraped with an admin's JWT
+                        .requestMatchers("/api/leaderboard/**").permitAll() // Leaderboards are public
+                        .anyRequest().authenticated()
+                )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService, meterRegistry), UsernamePasswordAuthenticationFilter.class)
+                .formLogin(form -> form.disable())
+                .httpBasic(basic -> basic.disable());
+
+        return http.build();
+    }
+
     /**
      * Configuration for http security of my project.
      *
@@ -23,6 +67,7 @@ public class WebSecurityConfig {
      * @throws Exception if an error occurs during configuration
      */
     @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -34,10 +79,10 @@ public class WebSecurityConfig {
                         .requestMatchers("/logout").permitAll() // Allow logout endpoint
                         .requestMatchers("/h2-console/**").permitAll() // Allow H2 console for development purposes
                         .requestMatchers("/error").permitAll() // Allow error endpoint for handling errors
+                        .requestMatchers("/actuator/health").permitAll() // Health checks
 
                         // .requestMatchers("/api/auth/**").permitAll()
                         // .requestMatchers("/api/words/**").permitAll()
-                        // .requestMatchers("/api/leaderboard/**").permitAll()
                         // .anyRequest().authenticated()
 
                         .anyRequest().authenticated() // Only use it for the development phase while there's no api
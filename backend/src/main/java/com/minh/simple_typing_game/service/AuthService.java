@@ -3,6 +3,7 @@ package com.minh.simple_typing_game.service;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 
 import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.security.VerifiedToken;
 
 public interface AuthService {
 
@@ -48,6 +49,14 @@ public interface AuthService {
      */
     boolean validateToken(String token);
 
+    /**
+     * Validates the provided JWT token and returns its claims in one step.
+     *
+     * @param token the JWT token to verify
+     * @return the verified claims, or null if the token is invalid or expired
+     */
+    VerifiedToken verifyToken(String token);
+
     /**
      * Extracts the username from the provided JWT token.
      *
@@ -88,4 +97,13 @@ public interface AuthService {
      * @return JWT token string
      */
     String generateTokenForOAuth2User(User user);
+
+    /**
+     * Finds or creates a local user for load tests, identified only by username. Only used by
+     * the test login endpoint, which is off unless auth.test-login.enabled is true.
+     *
+     * @param username the username of the test user
+     * @return the existing or newly created User entity
+     */
+    User findOrCreateTestUser(String username);
 }
@@ -0,0 +1,22 @@
+package com.minh.simple_typing_game.service;
+
+import java.io.IOException;
+
+import com.minh.simple_typing_game.payload.request.CorpusImportRequest;
+import com.minh.simple_typing_game.payload.response.CorpusImportResponse;
+
+public interface CorpusImportService {
+
+    /**
+     * Streams a local file or directory into text samples. Passages are read chunk by chunk,
+     * deduplicated by content hash and written in JDBC batches, so memory use does not depend
+     * on the size of the input.
+     *
+     * @param request the import source and options
+     * @return counters describing the import
+     * @throws IllegalArgumentException if the path does not exist
+     * @throws IllegalStateException if another import is already running
+     * @throws IOException if the input cannot be read
+     */
+    CorpusImportResponse importCorpus(CorpusImportRequest request) throws IOException;
+}
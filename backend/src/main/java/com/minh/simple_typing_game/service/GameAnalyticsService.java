@@ -0,0 +1,22 @@
+package com.minh.simple_typing_game.service;
+
+import java.time.LocalDateTime;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.response.GameAnalyticsResponse;
+
+public interface GameAnalyticsService {
+
+    /**
+     * Aggregates finished games from game_sessions and the cold archive: game counts, average
+     * and best WPM, average accuracy and time played, in total and per difficulty.
+     *
+     * @param userId the player, or null for every player
+     * @param difficulty the difficulty, or null for every difficulty
+     * @param from the earliest completion time, inclusive, or null for no lower bound
+     * @param to the latest completion time, exclusive, or null for no upper bound
+     * @return the aggregates
+     * @throws IllegalArgumentException if from is not before to
+     */
+    GameAnalyticsResponse getGameAnalytics(Long userId, Difficulty difficulty, LocalDateTime from, LocalDateTime to);
+}
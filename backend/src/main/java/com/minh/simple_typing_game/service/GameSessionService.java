@@ -1,10 +1,16 @@
 package com.minh.simple_typing_game.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import com.minh.simple_typing_game.entity.GameSession;
 import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
 import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.payload.response.GameHistoryPageResponse;
+import com.minh.simple_typing_game.payload.response.WordChunkResponse;
+import com.minh.simple_typing_game.race.RaceResult;
 
 public interface GameSessionService {
 
@@ -18,7 +24,35 @@ public interface GameSessionService {
     GameSessionDTO startGameSession(Long userId, Difficulty difficulty);
 
     /**
-     * Ends the current game session for the user with results.
+     * Starts a new game session for the user in the given mode. A timed game types a seeded
+     * word stream instead of a text sample; its DTO holds the first chunk of the stream and
+     * the rest is fetched with {@link #getWordChunk}. A generated game types a passage that a
+     * Markov model of the category's samples generates from a seed.
+     *
+     * @param userId the ID of the user starting the game session
+     * @param difficulty the difficulty level for the game
+     * @param mode whether to type a text sample, a generated passage or words for a fixed time
+     * @param category the category of a generated passage, or null for any
+     * @return GameSessionDTO containing session details and the text or first chunk of words
+     * @throws IllegalArgumentException if the user does not exist or no passage can be generated
+     */
+    GameSessionDTO startGameSession(Long userId, Difficulty difficulty, GameMode mode, TextCategory category);
+
+    /**
+     * Gets a chunk of the word stream of a timed game in progress.
+     *
+     * @param sessionId the ID of the game session
+     * @param chunk the index of the chunk, from 0
+     * @return the words of the chunk
+     * @throws IllegalArgumentException if the session is not a timed game or the chunk index is negative
+     * @throws IllegalStateException if the game is no longer in progress
+     */
+    WordChunkResponse getWordChunk(Long sessionId, int chunk);
+
+    /**
+     * Ends the current game session for the user with results. The result is scored by the server
+     * from the keystroke stream or, failing that, by replaying the keystroke log against the text,
+     * and the figures the client sends are not stored.
      *
      * @param sessionId the ID of the game session to end
      * @param wpm words per minute achieved
@@ -27,19 +61,26 @@ public interface GameSessionService {
      * @param totalCharacters total characters in the text
      * @param correctCharacters correctly typed characters
      * @param incorrectCharacters incorrectly typed characters
+     * @param keystrokeData JSON keystroke log, required unless the game was typed over the keystroke stream
      * @return GameSessionDTO with updated session data
      */
     GameSessionDTO endGameSession(Long sessionId, Integer wpm, Double accuracy, 
                                  Integer duration, Integer totalCharacters, 
-                                 Integer correctCharacters, Integer incorrectCharacters);
+                                 Integer correctCharacters, Integer incorrectCharacters,
+                                 String keystrokeData);
 
     /**
-     * Gets game session history for a user.
+     * Gets one page of completed game sessions for a user, newest first. Games moved to the
+     * cold archive are included with their scores only; their text, race and mode are null.
      *
      * @param userId the ID of the user
-     * @return list of game sessions ordered by completion date
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param limit maximum number of sessions to return, capped at 100
+     * @param includeContent whether to include the full text content of each session
+     * @return the page and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    List<GameSessionDTO> getUserGameHistory(Long userId);
+    GameHistoryPageResponse getUserGameHistory(Long userId, String cursor, int limit, boolean includeContent);
 
     /**
      * Gets the current active game session for a user.
@@ -49,6 +90,22 @@ public interface GameSessionService {
      */
     GameSessionDTO getActiveGameSession(Long userId);
 
+    /**
+     * Gets the user who plays a game session, or played it once its result is stored.
+     *
+     * @param sessionId the ID of the game session
+     * @return the ID of the user, or null if the game is neither in progress nor stored
+     */
+    Long getSessionOwner(Long sessionId);
+
+    /**
+     * Gets the recorded keystroke log of a game session for replay or analysis.
+     *
+     * @param sessionId the ID of the game session
+     * @return the keystroke log as JSON, or null if none was recorded
+     */
+    String getKeystrokeLog(Long sessionId);
+
     /**
      * Abandons the current game session.
      *
@@ -56,4 +113,18 @@ public interface GameSessionService {
      * @return updated GameSessionDTO
      */
     GameSessionDTO abandonGameSession(Long sessionId);
+
+    /**
+     * Records the outcome of a finished race as one game session per player. Players with a
+     * placement get a completed session; players who did not finish get an abandoned one.
+     *
+     * @param raceRoomId the ID of the race room
+     * @param textSampleId the text that was raced on
+     * @param difficulty the difficulty of the text
+     * @param startedAt when the race started
+     * @param results the server-computed result of each player
+     * @return the recorded game sessions
+     */
+    List<GameSessionDTO> recordRaceResults(Long raceRoomId, Long textSampleId, Difficulty difficulty,
+                                           LocalDateTime startedAt, List<RaceResult> results);
 }
@@ -1,6 +1,7 @@
 package com.minh.simple_typing_game.service;
 
 import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.security.VerifiedToken;
 
 /**
  * Service interface for JWT token operations.
@@ -14,12 +15,21 @@ public interface JwtService {
      * @return the generated JWT token
      */
     String generateToken(User user);
+
+    /**
+     * Checks the token's signature and expiry and returns its claims. Prefer this over
+     * calling several of the single-claim methods, which would each look the token up again.
+     *
+     * @param token the JWT token
+     * @return the verified claims, or null if the token is invalid or expired
+     */
+    VerifiedToken verifyToken(String token);
     
     /**
      * Extracts the user ID from the JWT token.
      *
      * @param token the JWT token
-     * @return the user ID
+     * @return the user ID, or null if the token is invalid
      */
     Long getUserIdFromToken(String token);
     
@@ -27,7 +37,7 @@ public interface JwtService {
      * Extracts the email from the JWT token.
      *
      * @param token the JWT token
-     * @return the email
+     * @return the email, or null if the token is invalid
      */
     String getEmailFromToken(String token);
     
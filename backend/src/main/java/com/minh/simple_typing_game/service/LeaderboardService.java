@@ -0,0 +1,48 @@
+package com.minh.simple_typing_game.service;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.leaderboard.LeaderboardWindow;
+import com.minh.simple_typing_game.payload.dto.LeaderboardEntryDTO;
+import com.minh.simple_typing_game.payload.response.LeaderboardResponse;
+
+public interface LeaderboardService {
+
+    /**
+     * Gets a page of a leaderboard, ranking each player by their best game.
+     *
+     * @param window the time window
+     * @param difficulty the difficulty, or null for all difficulties
+     * @param category the text category, or null for all categories
+     * @param offset the 0-based rank to start at
+     * @param limit the maximum number of entries, capped at 100
+     * @return the leaderboard page
+     */
+    LeaderboardResponse getLeaderboard(LeaderboardWindow window, Difficulty difficulty, TextCategory category,
+                                       int offset, int limit);
+
+    /**
+     * Gets a user's rank and best game on a leaderboard.
+     *
+     * @param userId the ID of the user
+     * @param window the time window
+     * @param difficulty the difficulty, or null for all difficulties
+     * @param category the text category, or null for all categories
+     * @return the user's entry, or null if the user has no completed game on this leaderboard
+     */
+    LeaderboardEntryDTO getUserRank(Long userId, LeaderboardWindow window, Difficulty difficulty,
+                                    TextCategory category);
+
+    /**
+     * Adds a completed game to every leaderboard it belongs to.
+     *
+     * @param event the completed game
+     */
+    void recordCompletedGame(GameSessionCompletedEvent event);
+
+    /**
+     * Rebuilds all leaderboards from the database in one streaming pass.
+     */
+    void rebuild();
+}
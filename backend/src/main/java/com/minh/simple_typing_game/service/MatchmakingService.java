@@ -0,0 +1,40 @@
+package com.minh.simple_typing_game.service;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.MatchTicketDTO;
+import com.minh.simple_typing_game.payload.response.MatchmakingStatsResponse;
+
+public interface MatchmakingService {
+
+    /**
+     * Queues the user for a head-to-head race against a player of similar average WPM.
+     *
+     * @param userId the ID of the user
+     * @param difficulty the difficulty to race at
+     * @return the user's ticket
+     */
+    MatchTicketDTO enqueue(Long userId, Difficulty difficulty);
+
+    /**
+     * Gets the user's current ticket; once matched it carries the race room to connect to.
+     *
+     * @param userId the ID of the user
+     * @return the ticket, or null if the user is not queued and was not matched recently
+     */
+    MatchTicketDTO getTicket(Long userId);
+
+    /**
+     * Takes the user out of the queue.
+     *
+     * @param userId the ID of the user
+     * @return false if the user was not queued
+     */
+    boolean cancel(Long userId);
+
+    /**
+     * Gets queue sizes, wait-time percentiles and the duration of the last matching tick.
+     *
+     * @return the matchmaking statistics
+     */
+    MatchmakingStatsResponse getStats();
+}
@@ -0,0 +1,67 @@
+package com.minh.simple_typing_game.service;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.RaceRoomDTO;
+
+public interface RaceService {
+
+    /**
+     * Opens a race room with the user as host and first player.
+     *
+     * @param userId the ID of the host
+     * @param difficulty the difficulty of the text to race on
+     * @param maxPlayers the room capacity, between 2 and 50; a full room starts automatically
+     * @return the new room
+     * @throws IllegalArgumentException if the user does not exist or the capacity is out of range
+     */
+    RaceRoomDTO createRoom(Long userId, Difficulty difficulty, int maxPlayers);
+
+    /**
+     * Opens a two-player room for a matchmaking pair and starts its countdown.
+     *
+     * @param firstUserId the ID of the host
+     * @param secondUserId the ID of the opponent
+     * @param difficulty the difficulty of the text to race on
+     * @return the room in its countdown phase
+     */
+    RaceRoomDTO createMatchRoom(Long firstUserId, Long secondUserId, Difficulty difficulty);
+
+    /**
+     * Adds the user to a waiting room.
+     *
+     * @param roomId the ID of the room
+     * @param userId the ID of the user joining
+     * @return the room after joining
+     * @throws IllegalArgumentException if the room or user does not exist
+     * @throws IllegalStateException if the race has started or the room is full
+     */
+    RaceRoomDTO joinRoom(Long roomId, Long userId);
+
+    /**
+     * Starts the countdown of a waiting room. Only the host may start a race.
+     *
+     * @param roomId the ID of the room
+     * @param userId the ID of the user starting the race
+     * @return the room in its countdown phase
+     * @throws IllegalStateException if the user is not the host, the race has started or too few players joined
+     */
+    RaceRoomDTO startRoom(Long roomId, Long userId);
+
+    /**
+     * Leaves a room; once the race has started this forfeits it.
+     *
+     * @param roomId the ID of the room
+     * @param userId the ID of the user leaving
+     * @return the room after leaving
+     */
+    RaceRoomDTO leaveRoom(Long roomId, Long userId);
+
+    /**
+     * Gets the current state of a room.
+     *
+     * @param roomId the ID of the room
+     * @return the room
+     * @throws IllegalArgumentException if the room does not exist
+     */
+    RaceRoomDTO getRoom(Long roomId);
+}
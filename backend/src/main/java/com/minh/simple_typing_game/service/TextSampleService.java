@@ -1,7 +1,18 @@
 package com.minh.simple_typing_game.service;
 
+import com.minh.simple_typing_game.entity.TextSample;
+
 public interface TextSampleService {
 
+    /**
+     * Retrieves a random active text sample without scanning the text_samples table.
+     * Picks from the in-memory sample pool and falls back to an ID-range probe.
+     *
+     * @return a random active text sample
+     * @throws IllegalStateException if no active text samples are found
+     */
+    TextSample getRandomActiveSample() throws IllegalStateException;
+
     /**
      * Retreives a random text sample from the database.
      * 
@@ -0,0 +1,34 @@
+package com.minh.simple_typing_game.service;
+
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.payload.dto.UserStatsDTO;
+import com.minh.simple_typing_game.payload.response.UserStatsBackfillResponse;
+
+public interface UserStatsService {
+
+    /**
+     * Gets the aggregated game statistics of a user with a single primary key read.
+     *
+     * @param userId the ID of the user
+     * @return the user's statistics, all zero if the user has not completed a game,
+     *         or null if the user does not exist
+     */
+    UserStatsDTO getUserStats(Long userId);
+
+    /**
+     * Adds a completed game to its player's statistics, inside the transaction that
+     * completed the game.
+     *
+     * @param event the completed game
+     */
+    void recordCompletedGame(GameSessionCompletedEvent event);
+
+    /**
+     * Recomputes every user's statistics from game_sessions and the cold archive. Users are
+     * split into ID ranges that are processed in parallel, each in its own transaction.
+     *
+     * @return counters describing the backfill
+     * @throws IllegalStateException if a backfill is already running
+     */
+    UserStatsBackfillResponse backfill();
+}
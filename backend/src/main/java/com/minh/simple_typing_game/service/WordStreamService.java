@@ -0,0 +1,56 @@
+package com.minh.simple_typing_game.service;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+
+public interface WordStreamService {
+
+    /**
+     * Number of words in every chunk of a word stream.
+     */
+    int CHUNK_WORDS = 50;
+
+    /**
+     * Creates a seed for a new word stream.
+     *
+     * @return a random seed
+     */
+    long newSeed();
+
+    /**
+     * Returns the version of the vocabulary new games draw from, to be stored with a game
+     * along with its seed.
+     *
+     * @return the vocabulary's fingerprint
+     * @throws IllegalStateException if there are no words to stream
+     */
+    long currentVersion();
+
+    /**
+     * Generates one chunk of a seeded word stream. The same difficulty, seed, vocabulary version
+     * and chunk index always give the same words, so a chunk can be fetched again or
+     * regenerated to verify a game, also after a restart or a change of the corpus.
+     *
+     * @param difficulty which words to draw from
+     * @param seed the stream's seed
+     * @param version the vocabulary version, from {@link #currentVersion()}
+     * @param chunkIndex the index of the chunk, from 0
+     * @return {@link #CHUNK_WORDS} words separated by single spaces
+     * @throws IllegalArgumentException if the chunk index is negative or the version is unknown
+     */
+    String chunk(Difficulty difficulty, long seed, long version, int chunkIndex);
+
+    /**
+     * Generates the part of a seeded word stream a timed game can reach: whole chunks joined by
+     * single spaces, the same text a client gets by concatenating them, long enough that no one
+     * types past its end within the mode's time.
+     *
+     * @param difficulty which words to draw from
+     * @param seed the stream's seed
+     * @param version the vocabulary version, from {@link #currentVersion()}
+     * @param mode a timed mode
+     * @return the text
+     * @throws IllegalArgumentException if the version is unknown
+     */
+    char[] text(Difficulty difficulty, long seed, long version, GameMode mode);
+}
@@ -9,6 +9,7 @@ import com.minh.simple_typing_game.entity.enums.AuthProvider;
 import com.minh.simple_typing_game.entity.enums.Role;
 import com.minh.simple_typing_game.repository.UserRepository;
 import com.minh.simple_typing_game.service.AuthService;
+import com.minh.simple_typing_game.security.VerifiedToken;
 import com.minh.simple_typing_game.service.JwtService;
 
 import jakarta.transaction.Transactional;
@@ -159,6 +160,17 @@ public class AuthServiceImpl implements AuthService {    private final UserRepos
         return jwtService.generateToken(user);
     }
 
+    @Override
+    public User findOrCreateTestUser(String username) {
+        String email = username + "@loadtest.local";
+        return userRepository.findByEmail(email).orElseGet(() -> userRepository.save(User.builder()
+                .username(username)
+                .email(email)
+                .provider(AuthProvider.LOCAL)
+                .role(Role.ROLE_USER)
+                .build()));
+    }
+
     @Override
     public String register(String username, String password, String email) {
         // Check if the username or email already exists
@@ -198,6 +210,11 @@ public class AuthServiceImpl implements AuthService {    private final UserRepos
         return jwtService.validateToken(token);
     }
 
+    @Override
+    public VerifiedToken verifyToken(String token) {
+        return jwtService.verifyToken(token);
+    }
+
     @Override
     public String getUsernameFromToken(String token) {
         return jwtService.getEmailFromToken(token);
@@ -0,0 +1,280 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.entity.TextSample;
+import com.minh.simple_typing_game.payload.request.CorpusImportRequest;
+import com.minh.simple_typing_game.payload.response.CorpusImportResponse;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.service.CorpusImportService;
+import com.minh.simple_typing_game.util.TextUtils;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CorpusImportServiceImpl implements CorpusImportService {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int CHUNK_SIZE = 8192;
+
+    private final TextSampleRepository textSampleRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Imports are serialized so two runs never race on the content hash unique key
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    @Override
+    public CorpusImportResponse importCorpus(CorpusImportRequest request) throws IOException {
+        if (request.getPath() == null || request.getPath().isBlank()) {
+            throw new IllegalArgumentException("Import path is required");
+        }
+        Path root = Path.of(request.getPath());
+        if (!Files.exists(root)) {
+            throw new IllegalArgumentException("Import path does not exist: " + root);
+        }
+        if (!importLock.tryLock()) {
+            throw new IllegalStateException("A corpus import is already running");
+        }
+
+        try {
+            log.info("Importing corpus from {} in {} mode", root, request.getMode());
+            long start = System.currentTimeMillis();
+            ImportRun run = new ImportRun(request);
+
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(Files::isRegularFile).forEach(file -> {
+                    try {
+                        run.importFile(file);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            run.flushBatch();
+
+            CorpusImportResponse response = run.response;
+            response.setElapsedMillis(System.currentTimeMillis() - start);
+            log.info("Corpus import finished: {} imported, {} duplicates, {} skipped from {} files in {} ms",
+                    response.getImported(), response.getDuplicates(), response.getSkipped(),
+                    response.getFilesRead(), response.getElapsedMillis());
+            return response;
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    /**
+     * State of one import: the reusable read and passage buffers, the position within the current
+     * line, the pending batch and the counters.
+     */
+    private final class ImportRun {
+
+        private final CorpusImportRequest request;
+        private final int minCharacters;
+        private final int maxCharacters;
+        private final int batchSize;
+        private final MessageDigest digest = TextUtils.newSha256();
+        private final StringBuilder passage;
+        private final char[] chunk = new char[CHUNK_SIZE];
+        private final List<TextSample> batch;
+        private final CorpusImportResponse response = new CorpusImportResponse();
+
+        private int passageWords;
+        private boolean pendingSpace;
+        private String titlePrefix;
+        private int passageIndex;
+        private boolean lineOpen;
+        private boolean lineBlank;
+        private boolean afterCarriageReturn;
+
+        ImportRun(CorpusImportRequest request) {
+            this.request = request;
+            this.minCharacters = request.getMinCharacters() != null ? request.getMinCharacters() : 20;
+            this.maxCharacters = request.getMaxCharacters() != null ? request.getMaxCharacters() : 1000;
+            this.batchSize = request.getBatchSize() != null ? Math.max(1, request.getBatchSize()) : 500;
+            this.passage = new StringBuilder(maxCharacters + 64);
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        void importFile(Path file) throws IOException {
+            response.setFilesRead(response.getFilesRead() + 1);
+            String fileName = file.getFileName().toString();
+            int dot = fileName.lastIndexOf('.');
+            titlePrefix = dot > 0 ? fileName.substring(0, dot) : fileName;
+            passageIndex = 0;
+            lineOpen = false;
+            lineBlank = true;
+            afterCarriageReturn = false;
+
+            var decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            try (Reader reader = new InputStreamReader(Files.newInputStream(file), decoder)) {
+                int read;
+                while ((read = reader.read(chunk)) != -1) {
+                    feed(chunk, read);
+                }
+            }
+            if (lineOpen) {
+                endLine();
+            }
+            endPassage();
+        }
+
+        /**
+         * Feeds one chunk of a file to the passage cutter. Lines end at {@code \n}, {@code \r}
+         * or {@code \r\n}, as {@link java.io.BufferedReader#readLine} splits them, but no line
+         * is ever held whole, however long it runs.
+         */
+        private void feed(char[] chars, int length) {
+            for (int i = 0; i < length; i++) {
+                char c = chars[i];
+                boolean lineFeedAfterReturn = c == '\n' && afterCarriageReturn;
+                afterCarriageReturn = c == '\r';
+                if (lineFeedAfterReturn) {
+                    continue;
+                }
+                if (c == '\n' || c == '\r') {
+                    endLine();
+                    continue;
+                }
+                lineOpen = true;
+                if (!Character.isWhitespace(c)) {
+                    lineBlank = false;
+                }
+                append(c);
+            }
+        }
+
+        private void endLine() {
+            if (request.getMode() == CorpusImportRequest.Mode.LINE || lineBlank) {
+                endPassage();
+            } else {
+                append(' ');
+            }
+            lineOpen = false;
+            lineBlank = true;
+        }
+
+        /**
+         * Appends one character, collapsing whitespace runs and counting words as it goes.
+         * Cuts the passage at the first word boundary past the maximum length.
+         */
+        private void append(char c) {
+            if (Character.isWhitespace(c)) {
+                if (passage.length() >= maxCharacters) {
+                    endPassage();
+                } else if (passage.length() > 0) {
+                    pendingSpace = true;
+                }
+                return;
+            }
+            if (pendingSpace) {
+                passage.append(' ');
+                pendingSpace = false;
+                passageWords++;
+            } else if (passage.length() == 0) {
+                passageWords++;
+            }
+            passage.append(c);
+            if (passage.length() >= maxCharacters * 2) {
+                // A single token this long is not typeable text; cut it hard
+                endPassage();
+            }
+        }
+
+        private void endPassage() {
+            pendingSpace = false;
+            if (passage.length() == 0) {
+                return;
+            }
+            response.setPassagesRead(response.getPassagesRead() + 1);
+            if (passage.length() < minCharacters) {
+                response.setSkipped(response.getSkipped() + 1);
+            } else {
+                batch.add(createTextSample(passage.toString(), passageWords));
+                if (batch.size() >= batchSize) {
+                    flushBatch();
+                }
+            }
+            passage.setLength(0);
+            passageWords = 0;
+        }
+
+        private TextSample createTextSample(String content, int wordCount) {
+            String title = titlePrefix + " #" + (++passageIndex);
+            TextSample sample = new TextSample();
+            sample.setTitle(title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title);
+            sample.setContent(content);
+            sample.setDifficulty(request.getDifficulty());
+            sample.setCategory(request.getCategory());
+            sample.setWordCount(wordCount);
+            sample.setCharacterCount(content.length());
+            sample.setContentHash(TextUtils.sha256Hex(digest, content));
+            sample.setIsActive(true);
+            sample.setCreatedAt(LocalDateTime.now());
+            return sample;
+        }
+
+        /**
+         * Drops passages that repeat within the batch or already exist, then inserts the rest in one
+         * transaction. The persistence context is cleared afterwards so it never grows across batches.
+         */
+        void flushBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Map<String, TextSample> byHash = new LinkedHashMap<>(batch.size() * 2);
+            for (TextSample sample : batch) {
+                byHash.putIfAbsent(sample.getContentHash(), sample);
+            }
+            long duplicates = batch.size() - byHash.size();
+            int unique = byHash.size();
+            batch.clear();
+
+            Integer inserted = transactionTemplate.execute(status -> {
+                Set<String> existing = textSampleRepository.findExistingContentHashes(byHash.keySet());
+                byHash.keySet().removeAll(existing);
+                for (TextSample sample : byHash.values()) {
+                    entityManager.persist(sample);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                return byHash.size();
+            });
+
+            int insertedCount = inserted != null ? inserted : 0;
+            response.setImported(response.getImported() + insertedCount);
+            response.setDuplicates(response.getDuplicates() + duplicates + (unique - insertedCount));
+            if (response.getImported() % (batchSize * 20L) < insertedCount) {
+                log.info("Corpus import progress: {} passages imported", response.getImported());
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.minh.simple_typing_game.archive.ArchiveSegment;
+import com.minh.simple_typing_game.archive.ArchiveSegment.Column;
+import com.minh.simple_typing_game.archive.GameArchive;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.payload.dto.GameAggregateDTO;
+import com.minh.simple_typing_game.payload.response.GameAnalyticsResponse;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.projection.GameAggregateRow;
+import com.minh.simple_typing_game.service.GameAnalyticsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers analytics by merging a GROUP BY over game_sessions with a scan of the archive
+ * segments. Segments whose zone maps rule out the user or the time range are skipped without
+ * being read; of the others only the columns the aggregates need are inflated, and a user's
+ * rows are found by binary search because segments are sorted by user.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GameAnalyticsServiceImpl implements GameAnalyticsService {
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    // Games without a difficulty are counted in the totals only
+    private static final int NO_DIFFICULTY = DIFFICULTIES.length;
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameArchive gameArchive;
+
+    /**
+     * Running sums of one group of games.
+     */
+    private static final class Aggregate {
+
+        private long completed;
+        private long abandoned;
+        private long wpmCount;
+        private long wpmSum;
+        private int bestWpm = Integer.MIN_VALUE;
+        private long accuracyCount;
+        private double accuracySum;
+        private long durationSum;
+
+        private void add(GameStatus status, int wpm, double accuracy, int duration) {
+            if (duration != ArchiveSegment.NULL_INT) {
+                durationSum += duration;
+            }
+            if (status != GameStatus.COMPLETED) {
+                // An abandoned game's score covers a partial run, so only its time counts
+                abandoned++;
+                return;
+            }
+            completed++;
+            if (wpm != ArchiveSegment.NULL_INT) {
+                wpmCount++;
+                wpmSum += wpm;
+                bestWpm = Math.max(bestWpm, wpm);
+            }
+            if (!Double.isNaN(accuracy)) {
+                accuracyCount++;
+                accuracySum += accuracy;
+            }
+        }
+
+        private void add(GameAggregateRow row) {
+            if (row.getStatus() == GameStatus.COMPLETED) {
+                completed += row.getGames();
+            } else {
+                abandoned += row.getGames();
+            }
+            wpmCount += row.getWpmCount();
+            wpmSum += row.getWpmSum() != null ? row.getWpmSum() : 0;
+            if (row.getBestWpm() != null) {
+                bestWpm = Math.max(bestWpm, row.getBestWpm());
+            }
+            accuracyCount += row.getAccuracyCount();
+            accuracySum += row.getAccuracySum() != null ? row.getAccuracySum() : 0.0;
+            durationSum += row.getDurationSum() != null ? row.getDurationSum() : 0;
+        }
+
+        private void add(Aggregate other) {
+            completed += other.completed;
+            abandoned += other.abandoned;
+            wpmCount += other.wpmCount;
+            wpmSum += other.wpmSum;
+            bestWpm = Math.max(bestWpm, other.bestWpm);
+            accuracyCount += other.accuracyCount;
+            accuracySum += other.accuracySum;
+            durationSum += other.durationSum;
+        }
+
+        private boolean isEmpty() {
+            return completed + abandoned == 0;
+        }
+
+        private GameAggregateDTO toDTO() {
+            return GameAggregateDTO.builder()
+                    .games(completed + abandoned)
+                    .completedGames(completed)
+                    .abandonedGames(abandoned)
+                    .averageWpm(wpmCount > 0 ? (double) wpmSum / wpmCount : null)
+                    .bestWpm(wpmCount > 0 ? bestWpm : null)
+                    .averageAccuracy(accuracyCount > 0 ? accuracySum / accuracyCount : null)
+                    .totalTime(durationSum)
+                    .build();
+        }
+    }
+
+    /**
+     * What the archive scan touched.
+     */
+    private record ScanCounts(long games, int scanned, int skipped) {
+    }
+
+    @Override
+    public GameAnalyticsResponse getGameAnalytics(Long userId, Difficulty difficulty, LocalDateTime from,
+                                                  LocalDateTime to) {
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+
+        Aggregate[] groups = new Aggregate[DIFFICULTIES.length + 1];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = new Aggregate();
+        }
+
+        ScanCounts counts = gameArchive.read(segments -> {
+            for (GameAggregateRow row : gameSessionRepository.aggregateFinished(userId, start, end)) {
+                if (difficulty == null || row.getDifficulty() == difficulty) {
+                    groups[groupOf(row.getDifficulty())].add(row);
+                }
+            }
+            return scanArchive(segments, userId, difficulty, start, end, groups);
+        });
+
+        Aggregate totals = new Aggregate();
+        Map<Difficulty, GameAggregateDTO> byDifficulty = new EnumMap<>(Difficulty.class);
+        for (int i = 0; i < groups.length; i++) {
+            totals.add(groups[i]);
+            if (i != NO_DIFFICULTY && !groups[i].isEmpty()) {
+                byDifficulty.put(DIFFICULTIES[i], groups[i].toDTO());
+            }
+        }
+
+        log.debug("Game analytics for user {} scanned {} archive segments and skipped {}",
+                userId, counts.scanned(), counts.skipped());
+        return GameAnalyticsResponse.builder()
+                .userId(userId)
+                .difficulty(difficulty)
+                .from(from)
+                .to(to)
+                .totals(totals.toDTO())
+                .byDifficulty(byDifficulty)
+                .archivedGames(counts.games())
+                .segmentsScanned(counts.scanned())
+                .segmentsSkipped(counts.skipped())
+                .build();
+    }
+
+    private static ScanCounts scanArchive(List<ArchiveSegment> segments, Long userId, Difficulty difficulty,
+                                          LocalDateTime from, LocalDateTime to, Aggregate[] groups) {
+        long fromSecond = ArchiveSegment.epochSecond(from);
+        long toSecond = ArchiveSegment.epochSecond(to);
+        long games = 0;
+        int scanned = 0;
+        int skipped = 0;
+        for (ArchiveSegment segment : segments) {
+            if (!segment.mayContainCompleted(fromSecond, toSecond)
+                    || (userId != null && !segment.mayContainUsers(userId, userId))) {
+                skipped++;
+                continue;
+            }
+            scanned++;
+
+            int first = 0;
+            int last = segment.getRowCount();
+            if (userId != null) {
+                long[] userIds = segment.longs(Column.USER_ID);
+                first = ArchiveSegment.lowerBound(userIds, userId);
+                last = ArchiveSegment.lowerBound(userIds, userId + 1);
+                if (first == last) {
+                    continue;
+                }
+            }
+
+            // The completion time only needs checking when the segment straddles a bound
+            long[] completedAts = segment.completedWithin(fromSecond, toSecond) ? null : segment.longs(Column.COMPLETED_AT);
+            byte[] statuses = segment.bytes(Column.STATUS);
+            byte[] difficulties = segment.bytes(Column.DIFFICULTY);
+            int[] wpms = segment.ints(Column.WPM);
+            double[] accuracies = segment.doubles(Column.ACCURACY);
+            int[] durations = segment.ints(Column.DURATION);
+            for (int i = first; i < last; i++) {
+                if (completedAts != null && (completedAts[i] < fromSecond || completedAts[i] >= toSecond)) {
+                    continue;
+                }
+                if (difficulty != null && difficulties[i] != difficulty.ordinal()) {
+                    continue;
+                }
+                int group = difficulties[i] >= 0 ? difficulties[i] : NO_DIFFICULTY;
+                groups[group].add(STATUSES[statuses[i]], wpms[i], accuracies[i], durations[i]);
+                games++;
+            }
+        }
+        return new ScanCounts(games, scanned, skipped);
+    }
+
+    private static int groupOf(Difficulty difficulty) {
+        return difficulty != null ? difficulty.ordinal() : NO_DIFFICULTY;
+    }
+}
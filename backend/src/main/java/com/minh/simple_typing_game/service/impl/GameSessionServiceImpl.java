@@ -1,22 +1,59 @@
 package com.minh.simple_typing_game.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import com.minh.simple_typing_game.archive.ArchiveSegment;
+import com.minh.simple_typing_game.archive.ArchivedGame;
+import com.minh.simple_typing_game.archive.GameArchive;
+import com.minh.simple_typing_game.cache.TextContentCache;
+import com.minh.simple_typing_game.cache.TextSamplePool;
+import com.minh.simple_typing_game.cache.TextSamplePool.PooledSample;
 import com.minh.simple_typing_game.entity.GameSession;
 import com.minh.simple_typing_game.entity.TextSample;
 import com.minh.simple_typing_game.entity.User;
 import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
 import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.journal.GameResult;
+import com.minh.simple_typing_game.journal.GameResultPipeline;
+import com.minh.simple_typing_game.keystroke.KeystrokeLog;
+import com.minh.simple_typing_game.keystroke.KeystrokeLogCodec;
+import com.minh.simple_typing_game.keystroke.KeystrokeScore;
+import com.minh.simple_typing_game.keystroke.KeystrokeScorer;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams;
+import com.minh.simple_typing_game.keystroke.LiveStreamResult;
+import com.minh.simple_typing_game.markov.MarkovModel;
+import com.minh.simple_typing_game.markov.PassageGenerator;
 import com.minh.simple_typing_game.mapper.GameSessionMapper;
 import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.payload.response.GameHistoryPageResponse;
+import com.minh.simple_typing_game.payload.response.WordChunkResponse;
+import com.minh.simple_typing_game.race.RaceResult;
+import com.minh.simple_typing_game.repository.GameKeystrokeLogRepository;
 import com.minh.simple_typing_game.repository.GameSessionRepository;
 import com.minh.simple_typing_game.repository.TextSampleRepository;
 import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.repository.projection.GameSessionSummary;
 import com.minh.simple_typing_game.service.GameSessionService;
+import com.minh.simple_typing_game.service.TextSampleService;
+import com.minh.simple_typing_game.service.WordStreamService;
+import com.minh.simple_typing_game.session.ActiveSession;
+import com.minh.simple_typing_game.session.ActiveSessionRegistry;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+import com.minh.simple_typing_game.util.TextUtils;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -29,92 +66,239 @@ import lombok.extern.slf4j.Slf4j;
 public class GameSessionServiceImpl implements GameSessionService {
 
     private final GameSessionRepository gameSessionRepository;
+    private final GameKeystrokeLogRepository gameKeystrokeLogRepository;
     private final TextSampleRepository textSampleRepository;
     private final UserRepository userRepository;
     private final GameSessionMapper gameSessionMapper;
+    private final TextSamplePool textSamplePool;
+    private final TextSampleService textSampleService;
+    private final LiveKeystrokeStreams liveKeystrokeStreams;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameResultPipeline gameResultPipeline;
+    private final ActiveSessionRegistry activeSessions;
+    private final GameSessionIdAllocator idAllocator;
+    private final TextContentCache textContentCache;
+    private final WordStreamService wordStreamService;
+    private final PassageGenerator passageGenerator;
+    private final GameArchive gameArchive;
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final char CURSOR_SEPARATOR = '_';
+    // Newest first, the order of the history keyset queries
+    private static final Comparator<GameSessionDTO> HISTORY_ORDER = Comparator
+            .comparing(GameSessionDTO::getStartedAt)
+            .thenComparing(GameSessionDTO::getId)
+            .reversed();
+    // Upper bound for the first page's keyset comparison
+    private static final LocalDateTime HISTORY_START = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
 
     @Override
     public GameSessionDTO startGameSession(Long userId, Difficulty difficulty) {
-        log.info("Starting game session for user: {} with difficulty: {}", userId, difficulty);
+        return startGameSession(userId, difficulty, GameMode.TEXT, null);
+    }
+
+    @Override
+    public GameSessionDTO startGameSession(Long userId, Difficulty difficulty, GameMode mode,
+                                           TextCategory category) {
+        log.info("Starting {} game session for user: {} with difficulty: {}", mode, userId, difficulty);
         
         // Check if user already has an active session
-        var activeSession = gameSessionRepository.findByUserIdAndStatus(userId, GameStatus.IN_PROGRESS);
-        if (activeSession.isPresent()) {
+        ActiveSession activeSession = activeSessions.getByUser(userId);
+        if (activeSession != null) {
             log.warn("User {} already has an active game session", userId);
-            return gameSessionMapper.toDTO(activeSession.get());
+            return toDTO(activeSession);
         }
         
-        // Get user
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
-        
-        // Get random text sample based on difficulty
-        TextSample textSample = getRandomTextSampleByDifficulty(difficulty);
-        
-        // Create new game session
-        GameSession gameSession = new GameSession();
-        gameSession.setUser(user);
-        gameSession.setTextSample(textSample);
-        gameSession.setDifficulty(difficulty);
-        gameSession.setStatus(GameStatus.IN_PROGRESS);
-        gameSession.setStartedAt(LocalDateTime.now());
-        
-        // Set text sample metrics
-        gameSession.setTotalCharacters(textSample.getCharacterCount());
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
         
-        GameSession savedSession = gameSessionRepository.save(gameSession);
-        log.info("Game session started with ID: {} for user: {}", savedSession.getId(), userId);
+        // The game is only kept in memory until it ends; a concurrent start for the same user may win
+        ActiveSession candidate;
+        if (mode.isTimed()) {
+            // Nothing is read for a timed game: its words are generated from the seed on demand
+            candidate = new ActiveSession(idAllocator.next(), userId, null, mode.getSeconds() + " seconds",
+                    difficulty, mode, wordStreamService.newSeed(), null, wordStreamService.currentVersion(), null, 0,
+                    LocalDateTime.now());
+        } else if (mode == GameMode.GENERATED) {
+            candidate = startGeneratedPassage(userId, difficulty, category);
+        } else {
+            // Get random text sample based on difficulty
+            PooledSample textSample = getRandomTextSampleByDifficulty(difficulty);
+            candidate = new ActiveSession(idAllocator.next(), userId, textSample.id(),
+                    textSampleRepository.findTitleById(textSample.id()), difficulty, mode, null, null, null, null,
+                    textSample.characterCount(), LocalDateTime.now());
+        }
+        ActiveSession registered = activeSessions.register(candidate);
+        if (registered != candidate) {
+            log.warn("User {} already has an active game session", userId);
+        } else {
+            log.info("Game session started with ID: {} for user: {}", registered.id(), userId);
+        }
         
-        return gameSessionMapper.toDTO(savedSession);
+        return toDTO(registered);
     }
 
     @Override
     public GameSessionDTO endGameSession(Long sessionId, Integer wpm, Double accuracy, 
                                        Integer duration, Integer totalCharacters, 
-                                       Integer correctCharacters, Integer incorrectCharacters) {
+                                       Integer correctCharacters, Integer incorrectCharacters,
+                                       String keystrokeData) {
         log.info("Ending game session: {} with WPM: {}, Accuracy: {}%", sessionId, wpm, accuracy);
         
-        GameSession gameSession = gameSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Game session not found with id: " + sessionId));
+        KeystrokeLog keystrokes = parseKeystrokeLog(sessionId, keystrokeData);
+        ActiveSession pending = activeSessions.get(sessionId);
+        if (pending == null) {
+            throw notInProgress(sessionId);
+        }
+        // A game is only scored by the server, so the session stays active until the client
+        // ends it with the keystroke log or over the keystroke stream
+        char[] replayText = null;
+        if (!liveKeystrokeStreams.isOpen(sessionId)) {
+            if (keystrokes == null) {
+                throw new IllegalArgumentException("A keystroke log is required to end a " + pending.mode()
+                        + " game session: " + sessionId);
+            }
+            // Loaded before the session is removed, so a game whose text cannot be stays active
+            replayText = typedText(pending);
+        }
         
-        if (gameSession.getStatus() != GameStatus.IN_PROGRESS) {
-            throw new IllegalStateException("Game session is not in progress");
+        ActiveSession session = activeSessions.remove(sessionId);
+        if (session == null) {
+            throw notInProgress(sessionId);
         }
         
-        // Update game metrics
-        gameSession.setWpm(wpm);
-        gameSession.setAccuracy(accuracy);
-        gameSession.setDuration(duration);
-        gameSession.setTotalCharacters(totalCharacters);
-        gameSession.setCorrectCharacters(correctCharacters);
-        gameSession.setIncorrectCharacters(incorrectCharacters);
-        gameSession.setStatus(GameStatus.COMPLETED);
-        gameSession.setCompletedAt(LocalDateTime.now());
+        // Prefer the server's own score and keystrokes when the game was typed over the keystroke stream
+        KeystrokeScore serverScore = null;
+        byte[] keystrokeLog = null;
+        int keystrokeCount = 0;
+        LiveStreamResult streamed = liveKeystrokeStreams.finish(sessionId);
+        if (streamed != null) {
+            log.info("Using server-side keystroke score for game session: {}", sessionId);
+            serverScore = streamed.score();
+            keystrokeLog = streamed.keystrokeCount() > 0 ? streamed.keystrokeLog() : null;
+            keystrokeCount = streamed.keystrokeCount();
+        } else if (replayText != null) {
+            // The text is reloaded or regenerated from its seed, so the keystroke log can be scored again
+            log.info("Using replayed keystroke score for {} game session: {}", session.mode(), sessionId);
+            serverScore = replay(session, replayText, keystrokes, System.currentTimeMillis());
+            keystrokeLog = encodeKeystrokeLog(sessionId, keystrokes);
+            keystrokeCount = keystrokeLog != null ? keystrokes.size() : 0;
+        }
+        if (serverScore != null) {
+            wpm = serverScore.wpm();
+            accuracy = serverScore.accuracy();
+            duration = serverScore.duration();
+            totalCharacters = serverScore.totalCharacters();
+            correctCharacters = serverScore.correctCharacters();
+            incorrectCharacters = serverScore.incorrectCharacters();
+        }
         
-        GameSession savedSession = gameSessionRepository.save(gameSession);
-        log.info("Game session completed: {} for user: {}", sessionId, gameSession.getUser().getId());
+        GameResult result = new GameResult(sessionId, session.userId(), session.textSampleId(),
+                session.difficulty(), session.mode(), session.seed(), session.category(),
+                session.generatorVersion(), session.passageHash(), GameStatus.COMPLETED, wpm, accuracy, duration, totalCharacters,
+                correctCharacters, incorrectCharacters, session.startedAt(), LocalDateTime.now(),
+                keystrokeLog, keystrokeCount);
+        gameResultPipeline.store(List.of(result));
+        log.info("Game session completed: {} for user: {}", sessionId, session.userId());
         
-        return gameSessionMapper.toDTO(savedSession);
+        return gameSessionMapper.toDTO(session, result);
     }
 
     @Override
-    public List<GameSessionDTO> getUserGameHistory(Long userId) {
-        log.info("Getting game history for user: {}", userId);
-        
-        List<GameSession> completedSessions = gameSessionRepository
-                .findByUserIdAndStatusOrderByStartedAtDesc(userId, GameStatus.COMPLETED);
-        
-        return completedSessions.stream()
-                .map(gameSessionMapper::toDTO)
-                .collect(Collectors.toList());
+    public GameHistoryPageResponse getUserGameHistory(Long userId, String cursor, int limit, boolean includeContent) {
+        log.info("Getting game history for user: {} after cursor: {}", userId, cursor);
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+        LocalDateTime startedBefore = HISTORY_START;
+        long idBefore = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                startedBefore = LocalDateTime.parse(cursor.substring(0, separator));
+                idBefore = Long.parseLong(cursor.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid history cursor: " + cursor);
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count query
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        LocalDateTime cursorStartedAt = startedBefore;
+        long cursorId = idBefore;
+        List<GameSessionDTO> rows = gameArchive.read(segments -> {
+            List<? extends GameSessionSummary> hot = includeContent
+                    ? gameSessionRepository.findHistoryPageWithContent(userId, GameStatus.COMPLETED,
+                            cursorStartedAt, cursorId, fetchLimit)
+                    : gameSessionRepository.findHistoryPage(userId, GameStatus.COMPLETED,
+                            cursorStartedAt, cursorId, fetchLimit);
+            List<GameSessionDTO> candidates = new ArrayList<>(hot.size());
+            for (GameSessionSummary row : hot) {
+                candidates.add(gameSessionMapper.toDTO(row, userId));
+            }
+            // Games moved to the cold archive stay in the history, without their text
+            for (ArchiveSegment segment : segments) {
+                for (ArchivedGame game : segment.gamesOfUsers(userId, userId)) {
+                    if (game.status() == GameStatus.COMPLETED
+                            && isBeforeCursor(game, cursorStartedAt, cursorId)) {
+                        candidates.add(gameSessionMapper.toDTO(game));
+                    }
+                }
+            }
+            return candidates;
+        });
+        rows.sort(HISTORY_ORDER);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<GameSessionDTO> items = new ArrayList<>(rows.subList(0, Math.min(rows.size(), pageSize)));
+
+        String nextCursor = null;
+        if (hasMore) {
+            GameSessionDTO last = items.get(items.size() - 1);
+            nextCursor = last.getStartedAt().toString() + CURSOR_SEPARATOR + last.getId();
+        }
+        return GameHistoryPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Whether an archived game sorts after the history cursor, matching the keyset condition of
+     * {@link GameSessionRepository#findHistoryPage}.
+     */
+    private static boolean isBeforeCursor(ArchivedGame game, LocalDateTime startedAt, long id) {
+        if (game.startedAt() == null) {
+            return false;
+        }
+        int byTime = game.startedAt().compareTo(startedAt);
+        return byTime < 0 || (byTime == 0 && game.sessionId() < id);
     }
 
     @Override
     public GameSessionDTO getActiveGameSession(Long userId) {
         log.info("Getting active game session for user: {}", userId);
         
-        return gameSessionRepository.findByUserIdAndStatus(userId, GameStatus.IN_PROGRESS)
-                .map(gameSessionMapper::toDTO)
+        ActiveSession activeSession = activeSessions.getByUser(userId);
+        return activeSession != null ? toDTO(activeSession) : null;
+    }
+
+    @Override
+    public Long getSessionOwner(Long sessionId) {
+        ActiveSession activeSession = activeSessions.get(sessionId);
+        if (activeSession != null) {
+            return activeSession.userId();
+        }
+        return gameSessionRepository.findUserIdById(sessionId).orElse(null);
+    }
+
+    @Override
+    public String getKeystrokeLog(Long sessionId) {
+        log.info("Getting keystroke log for game session: {}", sessionId);
+        
+        return gameKeystrokeLogRepository.findById(sessionId)
+                .map(keystrokeLog -> KeystrokeLogCodec.toJson(KeystrokeLogCodec.decode(keystrokeLog.getData())))
                 .orElse(null);
     }
 
@@ -122,35 +306,220 @@ public class GameSessionServiceImpl implements GameSessionService {
     public GameSessionDTO abandonGameSession(Long sessionId) {
         log.info("Abandoning game session: {}", sessionId);
         
-        GameSession gameSession = gameSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new IllegalArgumentException("Game session not found with id: " + sessionId));
-        
-        if (gameSession.getStatus() != GameStatus.IN_PROGRESS) {
-            throw new IllegalStateException("Game session is not in progress");
+        ActiveSession session = activeSessions.remove(sessionId);
+        if (session == null) {
+            throw notInProgress(sessionId);
         }
         
-        gameSession.setStatus(GameStatus.ABANDONED);
-        gameSession.setCompletedAt(LocalDateTime.now());
+        liveKeystrokeStreams.discard(sessionId);
+        GameResult result = new GameResult(sessionId, session.userId(), session.textSampleId(),
+                session.difficulty(), session.mode(), session.seed(), session.category(),
+                session.generatorVersion(), session.passageHash(), GameStatus.ABANDONED, null, null, null,
+                session.totalCharacters(), null, null, session.startedAt(), LocalDateTime.now(), null, 0);
+        gameResultPipeline.store(List.of(result));
+        log.info("Game session abandoned: {} for user: {}", sessionId, session.userId());
         
-        GameSession savedSession = gameSessionRepository.save(gameSession);
-        log.info("Game session abandoned: {} for user: {}", sessionId, gameSession.getUser().getId());
+        return gameSessionMapper.toDTO(session, result);
+    }
+
+    @Override
+    public WordChunkResponse getWordChunk(Long sessionId, int chunk) {
+        log.debug("Getting word chunk {} of game session: {}", chunk, sessionId);
+
+        ActiveSession session = activeSessions.get(sessionId);
+        if (session == null) {
+            throw notInProgress(sessionId);
+        }
+        if (!session.mode().isTimed()) {
+            throw new IllegalArgumentException("Game session is not a timed game: " + sessionId);
+        }
+        return WordChunkResponse.builder()
+                .sessionId(sessionId)
+                .chunk(chunk)
+                .words(wordStreamService.chunk(session.difficulty(), session.seed(), session.generatorVersion(), chunk))
+                .build();
+    }
+
+    @Override
+    public List<GameSessionDTO> recordRaceResults(Long raceRoomId, Long textSampleId, Difficulty difficulty,
+                                                  LocalDateTime startedAt, List<RaceResult> results) {
+        log.info("Recording results of race room: {} for {} players", raceRoomId, results.size());
+
+        Map<Long, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(results.stream().map(RaceResult::userId).toList())) {
+            users.put(user.getId(), user);
+        }
+        TextSample textSample = textSampleRepository.getReferenceById(textSampleId);
+        LocalDateTime completedAt = LocalDateTime.now();
+
+        List<GameSession> gameSessions = new ArrayList<>(results.size());
+        for (RaceResult result : results) {
+            User user = users.get(result.userId());
+            if (user == null) {
+                log.warn("Skipping race result of unknown user: {}", result.userId());
+                continue;
+            }
+            KeystrokeScore score = result.score();
+            GameSession gameSession = new GameSession();
+            gameSession.setId(idAllocator.next());
+            gameSession.setUser(user);
+            gameSession.setTextSample(textSample);
+            gameSession.setDifficulty(difficulty);
+            gameSession.setMode(GameMode.TEXT);
+            gameSession.setRaceRoomId(raceRoomId);
+            gameSession.setPlacement(result.placement());
+            gameSession.setWpm(score.wpm());
+            gameSession.setAccuracy(score.accuracy());
+            gameSession.setDuration(score.duration());
+            gameSession.setTotalCharacters(score.totalCharacters());
+            gameSession.setCorrectCharacters(score.correctCharacters());
+            gameSession.setIncorrectCharacters(score.incorrectCharacters());
+            gameSession.setStatus(result.placement() != null ? GameStatus.COMPLETED : GameStatus.ABANDONED);
+            gameSession.setStartedAt(startedAt);
+            gameSession.setCompletedAt(completedAt);
+            gameSessions.add(gameSession);
+        }
+
+        List<GameSessionDTO> recorded = new ArrayList<>(gameSessions.size());
+        List<GameSession> completed = new ArrayList<>(gameSessions.size());
+        for (GameSession savedSession : gameSessionRepository.saveAll(gameSessions)) {
+            if (savedSession.getStatus() == GameStatus.COMPLETED) {
+                completed.add(savedSession);
+            }
+            recorded.add(gameSessionMapper.toDTO(savedSession));
+        }
+        // Listeners lock each player's stats row; taking them in user ID order, as the stats
+        // backfill locks its ranges, keeps two writers from waiting on each other
+        completed.sort(Comparator.comparing(gameSession -> gameSession.getUser().getId()));
+        TextCategory category = completed.isEmpty() ? null : textSampleRepository.findCategoryById(textSampleId);
+        for (GameSession gameSession : completed) {
+            publishCompleted(gameSession, category);
+        }
+        return recorded;
+    }
+
+    private void publishCompleted(GameSession gameSession, TextCategory category) {
+        User user = gameSession.getUser();
+        eventPublisher.publishEvent(new GameSessionCompletedEvent(
+                gameSession.getId(),
+                user.getId(),
+                user.getUsername(),
+                gameSession.getDifficulty(),
+                category,
+                gameSession.getWpm(),
+                gameSession.getAccuracy(),
+                gameSession.getDuration(),
+                gameSession.getTotalCharacters(),
+                gameSession.getCorrectCharacters(),
+                gameSession.getIncorrectCharacters(),
+                gameSession.getCompletedAt()));
+    }
+
+    private RuntimeException notInProgress(Long sessionId) {
+        // Every ID up to the last one handed out belongs to a game that has started
+        if (idAllocator.isAllocated(sessionId)) {
+            return new IllegalStateException("Game session is not in progress");
+        }
+        return new IllegalArgumentException("Game session not found with id: " + sessionId);
+    }
+
+    private GameSessionDTO toDTO(ActiveSession session) {
+        if (session.mode().isTimed()) {
+            return gameSessionMapper.toDTO(session, wordStreamService.chunk(session.difficulty(), session.seed(),
+                    session.generatorVersion(), 0));
+        }
+        if (session.mode() == GameMode.GENERATED) {
+            return gameSessionMapper.toDTO(session, passageGenerator.regenerate(session.category(),
+                    session.generatorVersion(), session.seed(), session.difficulty(), session.passageHash()));
+        }
+        char[] content = textContentCache.get(session.textSampleId(),
+                () -> textSampleRepository.findContentById(session.textSampleId()));
+        return gameSessionMapper.toDTO(session, new String(content));
+    }
+
+    private KeystrokeLog parseKeystrokeLog(Long sessionId, String keystrokeData) {
+        if (keystrokeData == null || keystrokeData.isBlank()) {
+            return null;
+        }
         
-        return gameSessionMapper.toDTO(savedSession);
+        try {
+            return KeystrokeLogCodec.fromJson(keystrokeData);
+        } catch (IllegalArgumentException e) {
+            // Not needed when the game was typed over the keystroke stream; otherwise the game is rejected
+            log.warn("Ignoring invalid keystroke data for game session {}: {}", sessionId, e.getMessage());
+            return null;
+        }
     }
-    
-    private TextSample getRandomTextSampleByDifficulty(Difficulty difficulty) {
-        // First try to get a sample with the specified difficulty
-        List<TextSample> samples = textSampleRepository.findByDifficultyAndIsActiveTrue(difficulty);
+
+    private byte[] encodeKeystrokeLog(Long sessionId, KeystrokeLog keystrokes) {
+        if (keystrokes.size() == 0) {
+            return null;
+        }
         
-        if (!samples.isEmpty()) {
-            // Return a random sample from the filtered list
-            int randomIndex = (int) (Math.random() * samples.size());
-            return samples.get(randomIndex);
+        byte[] encoded = KeystrokeLogCodec.encode(keystrokes);
+        log.debug("Encoded {} keystrokes for game session {} in {} bytes",
+                keystrokes.size(), sessionId, encoded.length);
+        return encoded;
+    }
+
+    private ActiveSession startGeneratedPassage(Long userId, Difficulty difficulty, TextCategory category) {
+        TextCategory passageCategory = category != null ? category : passageGenerator.randomCategory();
+        MarkovModel model = passageCategory != null ? passageGenerator.current(passageCategory) : null;
+        if (model == null) {
+            throw new IllegalArgumentException("No passages can be generated for category: " + category);
+        }
+        long seed = ThreadLocalRandom.current().nextLong();
+        String passage = passageGenerator.generate(passageCategory, model.version(), seed, difficulty);
+        return new ActiveSession(idAllocator.next(), userId, null,
+                "Generated " + passageCategory.name().toLowerCase(Locale.ROOT) + " passage", difficulty,
+                GameMode.GENERATED, seed, passageCategory, model.version(), TextUtils.sha256Hex(passage),
+                passage.length(), LocalDateTime.now());
+    }
+
+    private char[] typedText(ActiveSession session) {
+        if (session.mode().isTimed()) {
+            return wordStreamService.text(session.difficulty(), session.seed(), session.generatorVersion(), session.mode());
+        }
+        if (session.mode() == GameMode.GENERATED) {
+            return passageGenerator.regenerate(session.category(), session.generatorVersion(), session.seed(),
+                    session.difficulty(), session.passageHash()).toCharArray();
+        }
+        return textContentCache.get(session.textSampleId(),
+                () -> textSampleRepository.findContentById(session.textSampleId()));
+    }
+
+    /**
+     * Scores a keystroke log against the text that was typed. The log's timestamps come from the
+     * client, so keys it claims were typed later than the server's time since the session
+     * started are dropped, and the game is scored over at least that server time.
+     */
+    private KeystrokeScore replay(ActiveSession session, char[] text, KeystrokeLog keystrokes, long nowMillis) {
+        long serverMillis = Math.max(0, nowMillis - session.startedAtMillis());
+        KeystrokeScorer scorer = new KeystrokeScorer(text, session.mode().getSeconds() * 1000L);
+        long clientMillis = 0;
+        for (int i = 0; i < keystrokes.size(); i++) {
+            long delta = i > 0 ? Math.max(0, keystrokes.timestamp(i) - keystrokes.timestamp(i - 1)) : 0;
+            clientMillis += delta;
+            if (clientMillis > serverMillis) {
+                log.warn("Keystroke log of game session {} runs past the server's {} ms; dropped {} keys",
+                        session.id(), serverMillis, keystrokes.size() - i);
+                break;
+            }
+            scorer.accept(keystrokes.key(i), (int) Math.min(delta, Integer.MAX_VALUE));
+        }
+        return scorer.score(serverMillis);
+    }
+    
+    private PooledSample getRandomTextSampleByDifficulty(Difficulty difficulty) {
+        // First try to get a sample with the specified difficulty from the in-memory pool
+        var pooled = textSamplePool.pick(difficulty);
+        if (pooled.isPresent()) {
+            return pooled.get();
         }
         
         // If no samples found for the difficulty, fall back to any random active sample
         log.warn("No text samples found for difficulty: {}, falling back to random sample", difficulty);
-        return textSampleRepository.findRandomActiveSample()
-                .orElseThrow(() -> new IllegalStateException("No active text samples found in the database"));
+        TextSample textSample = textSampleService.getRandomActiveSample();
+        return new PooledSample(textSample.getId(), textSample.getCharacterCount());
     }
 }
\ No newline at end of file
@@ -1,39 +1,63 @@
 package com.minh.simple_typing_game.service.impl;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.minh.simple_typing_game.cache.ExpiringCache;
 import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.security.VerifiedToken;
 import com.minh.simple_typing_game.service.JwtService;
+import com.minh.simple_typing_game.util.TextUtils;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Implementation of JWT service for token operations.
+ *
+ * <p>The signing key and parser are built once. Verified tokens are cached by the hash of the
+ * token until they expire, so a client reusing its token costs one SHA-256 instead of a full
+ * signature check and JSON parse.
  */
 @Service
 @Slf4j
 public class JwtServiceImpl implements JwtService {
 
-    @Value("${jwt.secret:mySecretKey}")
-    private String secret;
+    private final long jwtExpiration;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final ExpiringCache<TokenHash, VerifiedToken> verifiedTokens;
 
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long jwtExpiration;
+    // Cloned per hash; cloning a digest is far cheaper than looking one up
+    private final MessageDigest sha256 = TextUtils.newSha256();
 
-    private SecretKey getSignInKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    /**
+     * First 128 bits of the token's SHA-256, used as the cache key instead of the token itself.
+     */
+    private record TokenHash(long high, long low) {
+    }
+
+    public JwtServiceImpl(@Value("${jwt.secret}") String secret,
+                          @Value("${jwt.expiration:86400000}") long jwtExpiration, // 24 hours in milliseconds
+                          @Value("${jwt.verified-cache.max-entries:10000}") int verifiedCacheMaxEntries) {
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = new ExpiringCache<>(verifiedCacheMaxEntries);
     }
 
     @Override
@@ -56,64 +80,81 @@ public class JwtServiceImpl implements JwtService {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, Jwts.SIG.HS256)
                 .compact();
     }
 
     @Override
-    public Long getUserIdFromToken(String token) {
-        Claims claims = extractAllClaims(token);
-        Object userId = claims.get("userId");
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
 
-        switch (userId) {
-            case Integer intValue -> {
-                return intValue.longValue();
-            }
-            case Long longValue -> {
-                return longValue;
-            }
-            default -> {
-                log.error("Unexpected userId type: {}", userId.getClass().getName());
-                return null;
-            }
+        TokenHash hash = hash(token);
+        VerifiedToken cached = verifiedTokens.get(hash);
+        if (cached != null) {
+            return cached;
         }
+
+        VerifiedToken verified;
+        try {
+            // Checks the signature and the expiry in a single parse
+            verified = toVerifiedToken(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
+        verifiedTokens.put(hash, verified, verified.expiresAt());
+        return verified;
+    }
+
+    @Override
+    public Long getUserIdFromToken(String token) {
+        VerifiedToken verified = verifyToken(token);
+        return verified != null ? verified.userId() : null;
     }
 
     @Override
     public String getEmailFromToken(String token) {
-        return extractClaim(token, Claims::getSubject);
+        VerifiedToken verified = verifyToken(token);
+        return verified != null ? verified.email() : null;
     }
 
     @Override
     public boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
-        }
+        return verifyToken(token) != null;
     }
 
     @Override
     public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        // Expired tokens fail verification, so anything that does not verify counts as expired
+        return verifyToken(token) == null;
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        Object userId = claims.get("userId");
+        Object role = claims.get("role");
+        Object provider = claims.get("provider");
+        Date expiration = claims.getExpiration();
+        if (!(userId instanceof Number) || expiration == null) {
+            throw new IllegalArgumentException("Token is missing the userId or expiration claim");
+        }
+        return new VerifiedToken(
+                ((Number) userId).longValue(),
+                claims.getSubject(),
+                role != null ? Role.valueOf(role.toString()) : null,
+                provider != null ? provider.toString() : null,
+                expiration.getTime());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private TokenHash hash(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) sha256.clone();
+        } catch (CloneNotSupportedException e) {
+            digest = TextUtils.newSha256();
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenHash(hash.getLong(), hash.getLong());
     }
 }
@@ -0,0 +1,233 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.minh.simple_typing_game.archive.ArchiveSegment;
+import com.minh.simple_typing_game.archive.ArchivedGame;
+import com.minh.simple_typing_game.archive.GameArchive;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.leaderboard.Leaderboard;
+import com.minh.simple_typing_game.leaderboard.Leaderboard.RankedEntry;
+import com.minh.simple_typing_game.leaderboard.LeaderboardEntry;
+import com.minh.simple_typing_game.leaderboard.LeaderboardWindow;
+import com.minh.simple_typing_game.payload.dto.LeaderboardEntryDTO;
+import com.minh.simple_typing_game.payload.response.LeaderboardResponse;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.repository.projection.CompletedGameRow;
+import com.minh.simple_typing_game.repository.projection.UserRef;
+import com.minh.simple_typing_game.service.LeaderboardService;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps one in-memory {@link Leaderboard} per time window, difficulty (or all) and
+ * text category (or all). A completed game updates the twelve boards it belongs to in
+ * O(log n) each; reads never touch the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final LeaderboardWindow[] WINDOWS = LeaderboardWindow.values();
+    private static final int DIFFICULTY_SLOTS = Difficulty.values().length + 1; // Slot 0 is "all"
+    private static final int CATEGORY_SLOTS = TextCategory.values().length + 1;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int USERNAME_CHUNK = 1000;
+
+    private final GameSessionRepository gameSessionRepository;
+    private final UserRepository userRepository;
+    private final GameArchive gameArchive;
+
+    // Rebuilds take the write lock so games completed meanwhile are not lost when the boards are swapped
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private volatile Leaderboard[] boards = newBoards(LocalDateTime.now());
+
+    @Override
+    public LeaderboardResponse getLeaderboard(LeaderboardWindow window, Difficulty difficulty, TextCategory category,
+                                              int offset, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Leaderboard board = boards[slot(window, difficulty, category)];
+        List<RankedEntry> page = board.page(Math.max(0, offset), Math.max(0, Math.min(limit, MAX_PAGE_SIZE)), now);
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(page.size());
+        for (RankedEntry rankedEntry : page) {
+            entries.add(toDTO(rankedEntry));
+        }
+        return LeaderboardResponse.builder()
+                .window(window)
+                .difficulty(difficulty)
+                .category(category)
+                .totalPlayers(board.size(now))
+                .entries(entries)
+                .build();
+    }
+
+    @Override
+    public LeaderboardEntryDTO getUserRank(Long userId, LeaderboardWindow window, Difficulty difficulty,
+                                           TextCategory category) {
+        RankedEntry rankedEntry = boards[slot(window, difficulty, category)].rankOf(userId, LocalDateTime.now());
+        return rankedEntry != null ? toDTO(rankedEntry) : null;
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void recordCompletedGame(GameSessionCompletedEvent event) {
+        if (event.completedAt() == null) {
+            return;
+        }
+        LeaderboardEntry entry = new LeaderboardEntry(event.sessionId(), event.userId(), event.username(),
+                valueOf(event.wpm()), valueOf(event.accuracy()), event.completedAt());
+
+        rebuildLock.readLock().lock();
+        try {
+            offer(boards, entry, event.difficulty(), event.category());
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @EventListener(ContextRefreshedEvent.class)
+    @Transactional
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            Leaderboard[] fresh = newBoards(LocalDateTime.now());
+            long[] games = {0, 0};
+            gameArchive.read(segments -> {
+                try (Stream<CompletedGameRow> rows = gameSessionRepository.streamCompletedGames()) {
+                    rows.forEach(row -> {
+                        if (row.getCompletedAt() == null) {
+                            return;
+                        }
+                        LeaderboardEntry entry = new LeaderboardEntry(row.getSessionId(), row.getUserId(),
+                                row.getUsername(), valueOf(row.getWpm()), valueOf(row.getAccuracy()), row.getCompletedAt());
+                        offer(fresh, entry, row.getDifficulty(), row.getCategory());
+                        games[0]++;
+                    });
+                }
+                for (ArchiveSegment segment : segments) {
+                    games[1] += offerArchived(fresh, segment);
+                }
+                return null;
+            });
+            boards = fresh;
+            log.info("Leaderboards rebuilt from {} completed games and {} archived ones", games[0], games[1]);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Offers the completed games of an archive segment, looking up their players' usernames in chunks.
+     *
+     * @return the number of games offered
+     */
+    private long offerArchived(Leaderboard[] boards, ArchiveSegment segment) {
+        List<ArchivedGame> completed = new ArrayList<>();
+        Set<Long> userIds = new HashSet<>();
+        for (ArchivedGame game : segment.gamesOfUsers(Long.MIN_VALUE, Long.MAX_VALUE)) {
+            if (game.status() == GameStatus.COMPLETED && game.completedAt() != null) {
+                completed.add(game);
+                userIds.add(game.userId());
+            }
+        }
+
+        Map<Long, String> usernames = new HashMap<>();
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += USERNAME_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + USERNAME_CHUNK));
+            for (UserRef user : userRepository.findUsernamesByIdIn(chunk)) {
+                usernames.put(user.getId(), user.getUsername());
+            }
+        }
+
+        long offered = 0;
+        for (ArchivedGame game : completed) {
+            String username = usernames.get(game.userId());
+            if (username == null) {
+                continue; // The player no longer exists
+            }
+            LeaderboardEntry entry = new LeaderboardEntry(game.sessionId(), game.userId(), username,
+                    valueOf(game.wpm()), valueOf(game.accuracy()), game.completedAt());
+            offer(boards, entry, game.difficulty(), game.category());
+            offered++;
+        }
+        return offered;
+    }
+
+    private static void offer(Leaderboard[] boards, LeaderboardEntry entry, Difficulty difficulty,
+                              TextCategory category) {
+        for (LeaderboardWindow window : WINDOWS) {
+            boards[slot(window, null, null)].offer(entry);
+            if (difficulty != null) {
+                boards[slot(window, difficulty, null)].offer(entry);
+            }
+            if (category != null) {
+                boards[slot(window, null, category)].offer(entry);
+            }
+            if (difficulty != null && category != null) {
+                boards[slot(window, difficulty, category)].offer(entry);
+            }
+        }
+    }
+
+    private static Leaderboard[] newBoards(LocalDateTime now) {
+        Leaderboard[] boards = new Leaderboard[WINDOWS.length * DIFFICULTY_SLOTS * CATEGORY_SLOTS];
+        for (LeaderboardWindow window : WINDOWS) {
+            int base = window.ordinal() * DIFFICULTY_SLOTS * CATEGORY_SLOTS;
+            for (int i = 0; i < DIFFICULTY_SLOTS * CATEGORY_SLOTS; i++) {
+                boards[base + i] = new Leaderboard(window, now);
+            }
+        }
+        return boards;
+    }
+
+    private static int slot(LeaderboardWindow window, Difficulty difficulty, TextCategory category) {
+        int difficultySlot = difficulty != null ? difficulty.ordinal() + 1 : 0;
+        int categorySlot = category != null ? category.ordinal() + 1 : 0;
+        return (window.ordinal() * DIFFICULTY_SLOTS + difficultySlot) * CATEGORY_SLOTS + categorySlot;
+    }
+
+    private static LeaderboardEntryDTO toDTO(RankedEntry rankedEntry) {
+        LeaderboardEntry entry = rankedEntry.entry();
+        return LeaderboardEntryDTO.builder()
+                .rank(rankedEntry.rank())
+                .userId(entry.userId())
+                .username(entry.username())
+                .sessionId(entry.sessionId())
+                .wpm(entry.wpm())
+                .accuracy(entry.accuracy())
+                .completedAt(entry.completedAt())
+                .build();
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static double valueOf(Double value) {
+        return value != null ? value : 0.0;
+    }
+}
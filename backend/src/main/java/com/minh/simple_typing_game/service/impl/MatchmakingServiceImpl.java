@@ -0,0 +1,91 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.matchmaking.MatchStatus;
+import com.minh.simple_typing_game.matchmaking.MatchTicket;
+import com.minh.simple_typing_game.matchmaking.MatchmakingQueue;
+import com.minh.simple_typing_game.matchmaking.WaitTimeHistogram;
+import com.minh.simple_typing_game.payload.dto.MatchTicketDTO;
+import com.minh.simple_typing_game.payload.response.MatchmakingStatsResponse;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.service.MatchmakingService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class MatchmakingServiceImpl implements MatchmakingService {
+
+    private final MatchmakingQueue matchmakingQueue;
+    private final GameSessionRepository gameSessionRepository;
+    private final int defaultWpm;
+
+    public MatchmakingServiceImpl(MatchmakingQueue matchmakingQueue,
+                                  GameSessionRepository gameSessionRepository,
+                                  @Value("${matchmaking.default-wpm:40}") int defaultWpm) {
+        this.matchmakingQueue = matchmakingQueue;
+        this.gameSessionRepository = gameSessionRepository;
+        this.defaultWpm = defaultWpm;
+    }
+
+    @Override
+    public MatchTicketDTO enqueue(Long userId, Difficulty difficulty) {
+        // New players without a completed game start at a typical beginner speed
+        Double averageWpm = gameSessionRepository.findAverageWpmByUserId(userId);
+        int wpm = averageWpm != null ? (int) Math.round(averageWpm) : defaultWpm;
+        log.info("Queueing user {} for matchmaking at {} WPM, difficulty: {}", userId, wpm, difficulty);
+
+        return toDTO(matchmakingQueue.enqueue(userId, difficulty, wpm));
+    }
+
+    @Override
+    public MatchTicketDTO getTicket(Long userId) {
+        MatchTicket ticket = matchmakingQueue.get(userId);
+        return ticket != null ? toDTO(ticket) : null;
+    }
+
+    @Override
+    public boolean cancel(Long userId) {
+        log.info("Removing user {} from matchmaking", userId);
+        return matchmakingQueue.cancel(userId);
+    }
+
+    @Override
+    public MatchmakingStatsResponse getStats() {
+        Map<Difficulty, Integer> queuedPlayers = new EnumMap<>(Difficulty.class);
+        for (Difficulty difficulty : Difficulty.values()) {
+            queuedPlayers.put(difficulty, matchmakingQueue.queuedPlayers(difficulty));
+        }
+        WaitTimeHistogram waitTimes = matchmakingQueue.waitTimes();
+        return MatchmakingStatsResponse.builder()
+                .queuedPlayers(queuedPlayers)
+                .matchesMade(matchmakingQueue.matchesMade())
+                .waitP50Millis(waitTimes.percentile(50))
+                .waitP90Millis(waitTimes.percentile(90))
+                .waitP99Millis(waitTimes.percentile(99))
+                .waitMaxMillis(waitTimes.max())
+                .lastTickMicros(TimeUnit.NANOSECONDS.toMicros(matchmakingQueue.lastTickNanos()))
+                .build();
+    }
+
+    private MatchTicketDTO toDTO(MatchTicket ticket) {
+        MatchStatus status = ticket.getStatus();
+        return MatchTicketDTO.builder()
+                .userId(ticket.getUserId())
+                .difficulty(ticket.getDifficulty())
+                .status(status)
+                .wpm(ticket.getWpm())
+                .waitMillis(status == MatchStatus.QUEUED
+                        ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - ticket.getEnqueuedAtNanos()) : null)
+                .opponentUserId(ticket.getOpponentUserId())
+                .raceRoomId(ticket.getRaceRoomId())
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.stereotype.Service;
+
+import com.minh.simple_typing_game.cache.TextContentCache;
+import com.minh.simple_typing_game.cache.TextSamplePool;
+import com.minh.simple_typing_game.cache.TextSamplePool.PooledSample;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.payload.dto.RaceRoomDTO;
+import com.minh.simple_typing_game.payload.dto.UserDTO;
+import com.minh.simple_typing_game.race.RaceEngine;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.service.RaceService;
+import com.minh.simple_typing_game.service.UserService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RaceServiceImpl implements RaceService {
+
+    private final RaceEngine raceEngine;
+    private final UserService userService;
+    private final TextSamplePool textSamplePool;
+    private final TextContentCache textContentCache;
+    private final TextSampleRepository textSampleRepository;
+
+    @Override
+    public RaceRoomDTO createRoom(Long userId, Difficulty difficulty, int maxPlayers) {
+        log.info("Creating race room for user: {} with difficulty: {}", userId, difficulty);
+
+        // Database and cache lookups happen here, on the request thread, never on an engine shard
+        UserDTO user = getUser(userId);
+        PooledSample sample = textSamplePool.pick(difficulty)
+                .orElseThrow(() -> new IllegalStateException("No text samples available for difficulty: " + difficulty));
+        char[] text = textContentCache.get(sample.id(), () -> textSampleRepository.findContentById(sample.id()));
+
+        RaceRoomDTO room = await(raceEngine.createRoom(userId, user.getUsername(), sample.id(), difficulty, text, maxPlayers));
+        log.info("Race room {} created by user: {}", room.getId(), userId);
+        return room;
+    }
+
+    @Override
+    public RaceRoomDTO createMatchRoom(Long firstUserId, Long secondUserId, Difficulty difficulty) {
+        RaceRoomDTO room = createRoom(firstUserId, difficulty, 2);
+        // The room is now full, so joining starts the countdown
+        return joinRoom(room.getId(), secondUserId);
+    }
+
+    @Override
+    public RaceRoomDTO joinRoom(Long roomId, Long userId) {
+        log.info("User {} joining race room: {}", userId, roomId);
+        UserDTO user = getUser(userId);
+        return await(raceEngine.joinRoom(roomId, userId, user.getUsername()));
+    }
+
+    @Override
+    public RaceRoomDTO startRoom(Long roomId, Long userId) {
+        log.info("User {} starting race room: {}", userId, roomId);
+        return await(raceEngine.startRoom(roomId, userId));
+    }
+
+    @Override
+    public RaceRoomDTO leaveRoom(Long roomId, Long userId) {
+        log.info("User {} leaving race room: {}", userId, roomId);
+        return await(raceEngine.leaveRoom(roomId, userId));
+    }
+
+    @Override
+    public RaceRoomDTO getRoom(Long roomId) {
+        return await(raceEngine.getRoom(roomId));
+    }
+
+    private UserDTO getUser(Long userId) {
+        UserDTO user = userService.getUserById(userId);
+        if (user == null) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+        return user;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the engine's own IllegalArgument/IllegalState exceptions to the controller
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
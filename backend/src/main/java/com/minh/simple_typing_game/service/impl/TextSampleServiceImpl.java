@@ -1,10 +1,10 @@
 package com.minh.simple_typing_game.service.impl;
 
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.stereotype.Service;
 
+import com.minh.simple_typing_game.cache.TextSamplePool;
 import com.minh.simple_typing_game.entity.TextSample;
 import com.minh.simple_typing_game.repository.TextSampleRepository;
 import com.minh.simple_typing_game.service.TextSampleService;
@@ -17,18 +17,57 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class TextSampleServiceImpl implements TextSampleService {
 
+    // Random IDs probed before falling back to a seek to the next active ID
+    private static final int ID_PROBES = 32;
+
     private final TextSampleRepository textSampleRepository;
-    private final Random random = new Random();
+    private final TextSamplePool textSamplePool;
+
+    @Override
+    public TextSample getRandomActiveSample() throws IllegalStateException {
+        var pooled = textSamplePool.pickAny();
+        if (pooled.isPresent()) {
+            var sample = textSampleRepository.findById(pooled.get().id());
+            if (sample.isPresent()) {
+                return sample.get();
+            }
+            log.warn("Pooled text sample {} no longer exists, falling back to ID-range sampling", pooled.get().id());
+        }
+
+        return pickByIdRange();
+    }
 
     @Override
     public String getRandomTextSample() throws IllegalStateException {
-        List<TextSample> activeSamples = textSampleRepository.findByIsActiveTrue();
-        
-        if (activeSamples.isEmpty()) {
+        return getRandomActiveSample().getContent();
+    }
+
+    /**
+     * Picks an active sample at random. The lowest and highest active IDs are read first, so a
+     * table with no active samples fails at once. Random IDs in that
+     * range are then looked up, and a miss is retried rather than rounded up to the next active
+     * ID, which would favour the samples that follow deleted or inactive ones. If every probe
+     * misses, as in a mostly inactive table, the first active sample at or after a random ID is
+     * taken instead: one primary-key seek, uniform only as far as the active IDs are evenly spread.
+     */
+    private TextSample pickByIdRange() {
+        Long minId = textSampleRepository.findMinActiveId();
+        Long maxId = textSampleRepository.findMaxActiveId();
+        if (minId == null || maxId == null) {
             throw new IllegalStateException("No active text samples found");
         }
-        
-        int randomIndex = random.nextInt(activeSamples.size());
-        return activeSamples.get(randomIndex).getContent();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int probe = 0; probe < ID_PROBES; probe++) {
+            var sample = textSampleRepository.findByIdAndIsActiveTrue(random.nextLong(minId, maxId + 1));
+            if (sample.isPresent()) {
+                return sample.get();
+            }
+        }
+
+        // Empty only if the samples were deactivated since the range was read
+        return textSampleRepository.findFirstByIsActiveTrueAndIdGreaterThanEqualOrderByIdAsc(
+                        random.nextLong(minId, maxId + 1))
+                .orElseThrow(() -> new IllegalStateException("No active text samples found"));
     }
 }
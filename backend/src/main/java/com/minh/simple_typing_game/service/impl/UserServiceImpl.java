@@ -4,9 +4,12 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
+import com.minh.simple_typing_game.cache.UserProfileCache;
+import com.minh.simple_typing_game.entity.User;
 import com.minh.simple_typing_game.mapper.UserMapper;
 import com.minh.simple_typing_game.payload.dto.UserDTO;
 import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.repository.UserStatsRepository;
 import com.minh.simple_typing_game.service.UserService;
 
 import jakarta.transaction.Transactional;
@@ -21,6 +24,10 @@ public class UserServiceImpl implements UserService{
 
     private final UserMapper userMapper; // Assuming you have a UserMapper to convert between User and UserDTO
 
+    private final UserStatsRepository userStatsRepository;
+
+    private final UserProfileCache userProfileCache;
+
     @Override
     public UserDTO createUser(UserDTO userDTO) {
         throw new UnsupportedOperationException("Not supported yet.");
@@ -32,10 +39,11 @@ public class UserServiceImpl implements UserService{
     }
 
     @Override
+    @Transactional(Transactional.TxType.SUPPORTS) // A cache hit needs no transaction or connection
     public UserDTO getUserById(Long id) {
-        return userRepository.findById(id)
-                .map(userMapper::toDTO)
-                .orElse(null);
+        return userProfileCache.get(id, userId -> userRepository.findById(userId)
+                .map(this::toDTO)
+                .orElse(null));
     }    @Override
     public UserDTO updateUser(Long id, UserDTO userDTO) {
         return userRepository.findById(id)
@@ -51,7 +59,8 @@ public class UserServiceImpl implements UserService{
                         existingUser.setUsername(userDTO.getUsername());
                     }
                     
-                    return userMapper.toDTO(userRepository.save(existingUser));
+                    userProfileCache.invalidateAfterCommit(id);
+                    return toDTO(userRepository.save(existingUser));
                 })
                 .orElse(null);
     }
@@ -59,20 +68,26 @@ public class UserServiceImpl implements UserService{
     @Override
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        userProfileCache.invalidateAfterCommit(id);
     }
 
     @Override
     public UserDTO getUserByUsername(String username) {
         return userRepository.findByUsername(username)
-                .map(userMapper::toDTO)
+                .map(this::toDTO)
                 .orElse(null);
     }
 
     @Override
     public UserDTO getUserByEmail(String email) {
         return userRepository.findByEmail(email)
-                .map(userMapper::toDTO)
+                .map(this::toDTO)
                 .orElse(null);
     }
 
+    // One primary key read of the maintained stats row; never aggregates over game sessions
+    private UserDTO toDTO(User user) {
+        return userMapper.toDTO(user, userStatsRepository.findById(user.getId()).orElse(null));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,288 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.archive.ArchiveSegment;
+import com.minh.simple_typing_game.archive.ArchivedGame;
+import com.minh.simple_typing_game.archive.GameArchive;
+import com.minh.simple_typing_game.entity.UserStats;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.event.GameSessionCompletedEvent;
+import com.minh.simple_typing_game.payload.dto.UserStatsDTO;
+import com.minh.simple_typing_game.payload.response.UserStatsBackfillResponse;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.repository.UserStatsRepository;
+import com.minh.simple_typing_game.repository.projection.CompletedGameRow;
+import com.minh.simple_typing_game.service.UserStatsService;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Slf4j
+public class UserStatsServiceImpl implements UserStatsService {
+
+    private static final int CHARACTERS_PER_WORD = 5;
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserRepository userRepository;
+    private final GameSessionRepository gameSessionRepository;
+    private final GameArchive gameArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int backfillChunkSize;
+    private final int backfillParallelism;
+
+    private final ReentrantLock backfillLock = new ReentrantLock();
+
+    public UserStatsServiceImpl(UserStatsRepository userStatsRepository, UserRepository userRepository,
+                                GameSessionRepository gameSessionRepository, GameArchive gameArchive,
+                                TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                @Value("${user-stats.backfill.chunk-size:1000}") int backfillChunkSize,
+                                @Value("${user-stats.backfill.parallelism:4}") int backfillParallelism) {
+        this.userStatsRepository = userStatsRepository;
+        this.userRepository = userRepository;
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameArchive = gameArchive;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.backfillChunkSize = Math.max(1, backfillChunkSize);
+        this.backfillParallelism = Math.max(1, backfillParallelism);
+    }
+
+    @Override
+    public UserStatsDTO getUserStats(Long userId) {
+        return userStatsRepository.findById(userId)
+                .map(UserStatsServiceImpl::toDTO)
+                .orElseGet(() -> userRepository.existsById(userId) ? toDTO(new UserStats(userId)) : null);
+    }
+
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordCompletedGame(GameSessionCompletedEvent event) {
+        // The user's row is locked before the stats row, which may not exist yet; see backfillChunk
+        userRepository.lockById(event.userId());
+        UserStats stats = userStatsRepository.findByIdForUpdate(event.userId()).orElse(null);
+        if (stats == null) {
+            stats = new UserStats(event.userId());
+            // Persist rather than save: save() would merge and select the row we just found missing
+            entityManager.persist(stats);
+        }
+        addGame(stats, event.difficulty(), event.wpm(), event.accuracy(), event.duration(),
+                event.totalCharacters(), event.correctCharacters());
+        stats.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Fills the table on the first start after it was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (userStatsRepository.count() == 0
+                && (gameSessionRepository.existsByStatus(GameStatus.COMPLETED) || !gameArchive.segments().isEmpty())) {
+            log.info("User stats table is empty, backfilling from game sessions");
+            backfill();
+        }
+    }
+
+    @Override
+    public UserStatsBackfillResponse backfill() {
+        if (!backfillLock.tryLock()) {
+            throw new IllegalStateException("A user stats backfill is already running");
+        }
+
+        try {
+            long start = System.currentTimeMillis();
+            UserStatsBackfillResponse response = new UserStatsBackfillResponse();
+            Long minUserId = userRepository.findMinId();
+            Long maxUserId = userRepository.findMaxId();
+            if (minUserId == null) {
+                return response;
+            }
+
+            List<Future<long[]>> chunks = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(backfillParallelism)) {
+                for (long from = minUserId; from <= maxUserId; from += backfillChunkSize) {
+                    long chunkFrom = from;
+                    long chunkTo = Math.min(maxUserId, from + backfillChunkSize - 1);
+                    chunks.add(executor.submit(() -> transactionTemplate.execute(status -> backfillChunk(chunkFrom, chunkTo))));
+                }
+                for (Future<long[]> chunk : chunks) {
+                    long[] counts = chunk.get();
+                    response.setUsers(response.getUsers() + counts[0]);
+                    response.setGames(response.getGames() + counts[1]);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("User stats backfill was interrupted", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("User stats backfill failed", e.getCause());
+            }
+
+            response.setChunks(chunks.size());
+            response.setElapsedMillis(System.currentTimeMillis() - start);
+            log.info("User stats backfill finished: {} users, {} games in {} chunks in {} ms",
+                    response.getUsers(), response.getGames(), response.getChunks(), response.getElapsedMillis());
+            return response;
+        } finally {
+            backfillLock.unlock();
+        }
+    }
+
+    /**
+     * Recomputes the stats of one user ID range.
+     *
+     * @return the number of users with games and the number of games in the range
+     */
+    private long[] backfillChunk(long fromUserId, long toUserId) {
+        // Lock the users first: a game completing in this range either commits before our read below
+        // and is counted, or waits for this transaction and is then added on top. Locking only the
+        // stats rows would miss users whose first game creates their row while the chunk runs.
+        userRepository.lockRange(fromUserId, toUserId);
+        Map<Long, UserStats> statsByUser = new HashMap<>();
+        for (UserStats existing : userStatsRepository.findRangeForUpdate(fromUserId, toUserId)) {
+            reset(existing);
+            statsByUser.put(existing.getUserId(), existing);
+        }
+
+        long[] games = {0};
+        gameArchive.read(segments -> {
+            try (Stream<CompletedGameRow> rows = gameSessionRepository.streamCompletedGamesOfUsers(fromUserId, toUserId)) {
+                rows.forEach(row -> {
+                    UserStats stats = statsByUser.computeIfAbsent(row.getUserId(), UserStats::new);
+                    addGame(stats, row.getDifficulty(), row.getWpm(), row.getAccuracy(), row.getDuration(),
+                            row.getTotalCharacters(), row.getCorrectCharacters());
+                    games[0]++;
+                });
+            }
+            // Games moved to the cold archive still count
+            for (ArchiveSegment segment : segments) {
+                for (ArchivedGame game : segment.gamesOfUsers(fromUserId, toUserId)) {
+                    if (game.status() != GameStatus.COMPLETED) {
+                        continue;
+                    }
+                    UserStats stats = statsByUser.computeIfAbsent(game.userId(), UserStats::new);
+                    addGame(stats, game.difficulty(), game.wpm(), game.accuracy(), game.duration(),
+                            game.totalCharacters(), game.correctCharacters());
+                    games[0]++;
+                }
+            }
+            return null;
+        });
+
+        // Locked rows are managed and flush on commit; only new rows need persisting
+        LocalDateTime now = LocalDateTime.now();
+        long users = 0;
+        for (UserStats stats : statsByUser.values()) {
+            if (stats.getTotalGames() == 0) {
+                entityManager.remove(stats);
+                continue;
+            }
+            stats.setUpdatedAt(now);
+            if (!entityManager.contains(stats)) {
+                entityManager.persist(stats);
+            }
+            users++;
+        }
+        return new long[] {users, games[0]};
+    }
+
+    private static void addGame(UserStats stats, Difficulty difficulty, Integer wpm, Double accuracy,
+                                Integer duration, Integer totalCharacters, Integer correctCharacters) {
+        int gameWpm = wpm != null ? wpm : 0;
+        double gameAccuracy = accuracy != null ? accuracy : 0.0;
+        Integer typedCharacters = correctCharacters != null ? correctCharacters : totalCharacters;
+
+        stats.setTotalGames(stats.getTotalGames() + 1);
+        if (difficulty == Difficulty.EASY) {
+            stats.setEasyGames(stats.getEasyGames() + 1);
+        } else if (difficulty == Difficulty.MEDIUM) {
+            stats.setMediumGames(stats.getMediumGames() + 1);
+        } else if (difficulty == Difficulty.HARD) {
+            stats.setHardGames(stats.getHardGames() + 1);
+        }
+        stats.setBestWpm(Math.max(stats.getBestWpm(), gameWpm));
+        stats.setWpmSum(stats.getWpmSum() + gameWpm);
+        stats.setAccuracySum(stats.getAccuracySum() + gameAccuracy);
+        stats.setTotalWords(stats.getTotalWords() + (typedCharacters != null ? typedCharacters / CHARACTERS_PER_WORD : 0));
+        stats.setTotalTime(stats.getTotalTime() + (duration != null ? duration : 0));
+
+        // Copy so Hibernate sees the array as changed
+        int[] histogram = stats.getAccuracyHistogram().clone();
+        histogram[accuracyBucket(gameAccuracy)]++;
+        stats.setAccuracyHistogram(histogram);
+    }
+
+    private static void reset(UserStats stats) {
+        stats.setTotalGames(0);
+        stats.setEasyGames(0);
+        stats.setMediumGames(0);
+        stats.setHardGames(0);
+        stats.setBestWpm(0);
+        stats.setWpmSum(0);
+        stats.setAccuracySum(0);
+        stats.setTotalWords(0);
+        stats.setTotalTime(0);
+        stats.setAccuracyHistogram(new int[UserStats.ACCURACY_BUCKETS.length]);
+    }
+
+    private static int accuracyBucket(double accuracy) {
+        int[] buckets = UserStats.ACCURACY_BUCKETS;
+        for (int i = buckets.length - 1; i > 0; i--) {
+            if (accuracy >= buckets[i]) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static UserStatsDTO toDTO(UserStats stats) {
+        int games = stats.getTotalGames();
+        Map<Difficulty, Integer> gamesByDifficulty = new EnumMap<>(Difficulty.class);
+        gamesByDifficulty.put(Difficulty.EASY, stats.getEasyGames());
+        gamesByDifficulty.put(Difficulty.MEDIUM, stats.getMediumGames());
+        gamesByDifficulty.put(Difficulty.HARD, stats.getHardGames());
+
+        int[] buckets = UserStats.ACCURACY_BUCKETS;
+        Map<String, Integer> accuracyHistogram = new LinkedHashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            String label = i == buckets.length - 1 ? String.valueOf(buckets[i]) : buckets[i] + "-" + buckets[i + 1];
+            accuracyHistogram.put(label, stats.getAccuracyHistogram()[i]);
+        }
+
+        return UserStatsDTO.builder()
+                .userId(stats.getUserId())
+                .totalGames(games)
+                .bestWpm(stats.getBestWpm())
+                .averageWpm(games > 0 ? (double) stats.getWpmSum() / games : 0.0)
+                .averageAccuracy(games > 0 ? stats.getAccuracySum() / games : 0.0)
+                .totalWords(stats.getTotalWords())
+                .totalTime(stats.getTotalTime())
+                .gamesByDifficulty(gamesByDifficulty)
+                .accuracyHistogram(accuracyHistogram)
+                .build();
+    }
+}
@@ -0,0 +1,164 @@
+package com.minh.simple_typing_game.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.cache.ExpiringCache;
+import com.minh.simple_typing_game.entity.WordStreamVocabulary;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.repository.WordStreamVocabularyRepository;
+import com.minh.simple_typing_game.service.WordStreamService;
+import com.minh.simple_typing_game.wordstream.WordCounter;
+import com.minh.simple_typing_game.wordstream.WordFrequencyList;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams words for timed games from a vocabulary counted over the active text samples.
+ * The vocabulary is built once, when the application is ready (after the startup data loaders
+ * and corpus import ran), or on first use if the corpus was empty then, and is never rebuilt
+ * while the server runs.
+ *
+ * <p>Every vocabulary is stored in word_stream_vocabularies under its fingerprint, which is
+ * the version a timed game keeps with its seed. When a restart or a change of the corpus gives
+ * a new vocabulary, older games are regenerated from their stored one.
+ */
+@Service
+@Slf4j
+public class WordStreamServiceImpl implements WordStreamService {
+
+    // Well above the fastest recorded sustained typing, about 25 characters a second at 300 WPM
+    private static final int MAX_CHARACTERS_PER_SECOND = 30;
+    private static final long HISTORICAL_TTL_MILLIS = 2 * 60 * 60 * 1000L;
+
+    private final TextSampleRepository textSampleRepository;
+    private final WordStreamVocabularyRepository vocabularyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxWords;
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // Older vocabularies, read back for games that were typed against them
+    private final ExpiringCache<Long, WordFrequencyList> historical = new ExpiringCache<>(4);
+
+    private volatile WordFrequencyList words;
+
+    public WordStreamServiceImpl(TextSampleRepository textSampleRepository,
+                                 WordStreamVocabularyRepository vocabularyRepository,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${wordstream.max-words:50000}") int maxWords) {
+        this.textSampleRepository = textSampleRepository;
+        this.vocabularyRepository = vocabularyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxWords = Math.max(1, maxWords);
+    }
+
+    /**
+     * Counts the words of every active sample in one streaming pass and stores the vocabulary
+     * if it is new.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        loadLock.lock();
+        try {
+            if (words != null) {
+                return;
+            }
+            WordCounter counter = new WordCounter();
+            // A template rather than @Transactional: the lazy load is a self-invocation
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> contents = textSampleRepository.streamActiveContents()) {
+                    contents.forEach(counter::add);
+                }
+            });
+            if (counter.distinctWords() == 0) {
+                log.warn("No words found in the active text samples; timed games are unavailable");
+                return;
+            }
+            WordFrequencyList list = counter.build(maxWords);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!vocabularyRepository.existsById(list.fingerprint())) {
+                    vocabularyRepository.save(new WordStreamVocabulary(list.fingerprint(), list.encode(),
+                            list.size(), LocalDateTime.now()));
+                }
+            });
+            words = list;
+            log.info("Word stream vocabulary {} built with {} of {} distinct words", list.fingerprint(),
+                    list.size(), counter.distinctWords());
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    @Override
+    public long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    @Override
+    public long currentVersion() {
+        return current().fingerprint();
+    }
+
+    @Override
+    public String chunk(Difficulty difficulty, long seed, long version, int chunkIndex) {
+        if (chunkIndex < 0) {
+            throw new IllegalArgumentException("Chunk index must not be negative: " + chunkIndex);
+        }
+        StringBuilder out = new StringBuilder(CHUNK_WORDS * 8);
+        words(version).append(out, difficulty, seed, (long) chunkIndex * CHUNK_WORDS, CHUNK_WORDS);
+        return out.toString();
+    }
+
+    @Override
+    public char[] text(Difficulty difficulty, long seed, long version, GameMode mode) {
+        WordFrequencyList list = words(version);
+        int minCharacters = mode.getSeconds() * MAX_CHARACTERS_PER_SECOND;
+        StringBuilder out = new StringBuilder(minCharacters + CHUNK_WORDS * 8);
+        for (long chunk = 0; chunk == 0 || out.length() < minCharacters; chunk++) {
+            if (chunk > 0) {
+                out.append(' ');
+            }
+            list.append(out, difficulty, seed, chunk * CHUNK_WORDS, CHUNK_WORDS);
+        }
+        char[] text = new char[out.length()];
+        out.getChars(0, out.length(), text, 0);
+        return text;
+    }
+
+    private WordFrequencyList current() {
+        WordFrequencyList list = words;
+        if (list == null) {
+            load();
+            list = words;
+            if (list == null) {
+                throw new IllegalStateException("No words to stream");
+            }
+        }
+        return list;
+    }
+
+    private WordFrequencyList words(long version) {
+        WordFrequencyList list = words;
+        if (list != null && list.fingerprint() == version) {
+            return list;
+        }
+        list = historical.get(version);
+        if (list == null) {
+            WordStreamVocabulary vocabulary = vocabularyRepository.findById(version)
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown word stream vocabulary: " + version));
+            list = WordFrequencyList.decode(vocabulary.getData());
+            historical.put(version, list, System.currentTimeMillis() + HISTORICAL_TTL_MILLIS);
+            log.info("Word stream vocabulary {} read back with {} words", version, list.size());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,49 @@
+package com.minh.simple_typing_game.session;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * A single-player game that has started and not yet ended. Lives only in the
+ * {@link ActiveSessionRegistry}; the game_sessions row is written when the game ends.
+ *
+ * @param id the game session ID, already reserved for the row
+ * @param userId the player
+ * @param textSampleId the text being typed, or null if the text is generated
+ * @param textSampleTitle the title of the text
+ * @param difficulty the game difficulty
+ * @param mode whether the game types a text sample or a word stream for a fixed time
+ * @param seed the seed the text is generated from, or null for a text game
+ * @param category the category of a generated passage, or null
+ * @param generatorVersion the version of the model a passage or the vocabulary a word stream is
+ *        generated with, or null for a text game
+ * @param passageHash the hex SHA-256 of a generated passage, checked whenever it is generated
+ *        again, or null for other modes
+ * @param totalCharacters characters in the text, or 0 for a timed game
+ * @param startedAt when the game started
+ */
+public record ActiveSession(
+        long id,
+        long userId,
+        Long textSampleId,
+        String textSampleTitle,
+        Difficulty difficulty,
+        GameMode mode,
+        Long seed,
+        TextCategory category,
+        Long generatorVersion,
+        String passageHash,
+        int totalCharacters,
+        LocalDateTime startedAt) {
+
+    /**
+     * Returns when the game started, in epoch milliseconds.
+     */
+    public long startedAtMillis() {
+        return startedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
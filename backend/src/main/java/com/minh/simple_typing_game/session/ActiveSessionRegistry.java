@@ -0,0 +1,91 @@
+package com.minh.simple_typing_game.session;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory registry of single-player games in progress, indexed by player and by session.
+ * The per-player map is the authority: a player has at most one active game because only
+ * one {@code putIfAbsent} can win, and a game ends exactly once because only one
+ * {@code remove(key, value)} can win. Neither needs a lock of its own or a database round trip.
+ *
+ * <p>Active games are not persisted, so they are lost on restart and the registry assumes a
+ * single application instance, like the race engine and matchmaking queue.
+ */
+@Component
+public class ActiveSessionRegistry {
+
+    private final ConcurrentHashMap<Long, ActiveSession> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, ActiveSession> bySession = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a new game unless the player already has one.
+     *
+     * @return the registered game, or the player's existing one
+     */
+    public ActiveSession register(ActiveSession session) {
+        // Index by session first, so the winner can be ended as soon as anyone sees it
+        bySession.put(session.id(), session);
+        ActiveSession existing = byUser.putIfAbsent(session.userId(), session);
+        if (existing != null) {
+            bySession.remove(session.id(), session);
+            return existing;
+        }
+        return session;
+    }
+
+    /**
+     * Returns the game in progress with this session ID, or null if there is none.
+     */
+    public ActiveSession get(long sessionId) {
+        return bySession.get(sessionId);
+    }
+
+    /**
+     * Returns the player's game in progress, or null if there is none.
+     */
+    public ActiveSession getByUser(long userId) {
+        return byUser.get(userId);
+    }
+
+    /**
+     * Ends a game. Only one of several concurrent callers gets the game back.
+     *
+     * @return the game that was removed, or null if it was not in progress
+     */
+    public ActiveSession remove(long sessionId) {
+        ActiveSession session = bySession.get(sessionId);
+        if (session == null || !byUser.remove(session.userId(), session)) {
+            return null;
+        }
+        bySession.remove(sessionId, session);
+        return session;
+    }
+
+    /**
+     * Returns up to {@code limit} games that started before the cutoff, in no particular order.
+     */
+    public List<ActiveSession> startedBefore(LocalDateTime cutoff, int limit) {
+        List<ActiveSession> stale = new ArrayList<>();
+        for (ActiveSession session : byUser.values()) {
+            if (session.startedAt().isBefore(cutoff)) {
+                stale.add(session);
+                if (stale.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Returns the number of games in progress.
+     */
+    public int size() {
+        return byUser.size();
+    }
+}
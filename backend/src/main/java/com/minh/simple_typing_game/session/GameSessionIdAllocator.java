@@ -0,0 +1,54 @@
+package com.minh.simple_typing_game.session;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hands out game session IDs from memory, continuing after the highest ID in game_sessions.
+ * A single-player game needs its ID when it starts but its row is only inserted when it ends,
+ * so IDs cannot come from the database on insert. Every game_sessions insert takes its ID from here.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GameSessionIdAllocator {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final AtomicLong last = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        Long maxId = gameSessionRepository.findMaxId();
+        advancePast(maxId != null ? maxId : 0L);
+        log.info("Game session IDs continue after {}", last.get());
+    }
+
+    /**
+     * Returns an ID that has not been handed out before.
+     */
+    public long next() {
+        return last.incrementAndGet();
+    }
+
+    /**
+     * Returns whether the ID has been handed out or was in use before this run.
+     */
+    public boolean isAllocated(long id) {
+        return id > 0 && id <= last.get();
+    }
+
+    /**
+     * Makes sure IDs up to and including this one are never handed out, for IDs that are in
+     * use but not yet in game_sessions.
+     */
+    public void advancePast(long id) {
+        last.accumulateAndGet(id, Math::max);
+    }
+}
@@ -0,0 +1,176 @@
+package com.minh.simple_typing_game.session;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.journal.GameResult;
+import com.minh.simple_typing_game.journal.GameResultPipeline;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.projection.GameSessionKey;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Abandons games that were started and never ended or abandoned by the client, so the player
+ * can start a new one. Runs on a fixed delay in batches of {@code batch-size}, pausing
+ * {@code pause-millis} between batches and stopping after {@code max-batches} per run, so a
+ * large backlog is worked off over several runs instead of competing with requests.
+ *
+ * <p>Stale games in the {@link ActiveSessionRegistry} are ended like an abandon request.
+ * IN_PROGRESS rows left in game_sessions by versions that inserted a row at start are walked
+ * in {@code (started_at, id)} keyset order over the {@code (status, started_at)} index and
+ * abandoned with one bulk UPDATE per batch, without loading entities.
+ *
+ * <p>Reaped games are counted in {@code game.sessions.reaped}, tagged by where they were found.
+ */
+@Component
+@Slf4j
+public class StaleSessionReaper {
+
+    private final ActiveSessionRegistry activeSessions;
+    private final LiveKeystrokeStreams liveKeystrokeStreams;
+    private final GameResultPipeline gameResultPipeline;
+    private final GameSessionRepository gameSessionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration timeout;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMillis;
+    private final Counter reapedActive;
+    private final Counter reapedRows;
+
+    public StaleSessionReaper(ActiveSessionRegistry activeSessions,
+                              LiveKeystrokeStreams liveKeystrokeStreams,
+                              GameResultPipeline gameResultPipeline,
+                              GameSessionRepository gameSessionRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${game.sessions.stale-timeout-minutes:60}") long timeoutMinutes,
+                              @Value("${game.sessions.reaper.batch-size:500}") int batchSize,
+                              @Value("${game.sessions.reaper.max-batches:20}") int maxBatches,
+                              @Value("${game.sessions.reaper.pause-millis:50}") long pauseMillis) {
+        this.activeSessions = activeSessions;
+        this.liveKeystrokeStreams = liveKeystrokeStreams;
+        this.gameResultPipeline = gameResultPipeline;
+        this.gameSessionRepository = gameSessionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.pauseMillis = pauseMillis;
+        this.reapedActive = reapedCounter(meterRegistry, "active");
+        this.reapedRows = reapedCounter(meterRegistry, "database");
+    }
+
+    @Scheduled(fixedDelayString = "${game.sessions.reaper.interval-millis:60000}",
+            initialDelayString = "${game.sessions.reaper.interval-millis:60000}")
+    public void reap() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(timeout);
+        try {
+            int active = reapActive(cutoff);
+            int rows = reapRows(cutoff);
+            if (active + rows > 0) {
+                log.info("Abandoned {} stale games in progress and {} stale IN_PROGRESS rows started before {}",
+                        active, rows, cutoff);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Stale game session reaper failed", e);
+        }
+    }
+
+    /**
+     * Abandons stale games in the registry.
+     *
+     * @return the number of games abandoned
+     */
+    public int reapActive(LocalDateTime cutoff) throws InterruptedException {
+        int reaped = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<ActiveSession> stale = activeSessions.startedBefore(cutoff, batchSize);
+            if (stale.isEmpty()) {
+                break;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<GameResult> results = new ArrayList<>(stale.size());
+            for (ActiveSession session : stale) {
+                // The player may have ended the game since the scan; then it is not ours to abandon
+                if (activeSessions.remove(session.id()) == null) {
+                    continue;
+                }
+                liveKeystrokeStreams.discard(session.id());
+                results.add(new GameResult(session.id(), session.userId(), session.textSampleId(),
+                        session.difficulty(), session.mode(), session.seed(), session.category(),
+                        session.generatorVersion(), session.passageHash(), GameStatus.ABANDONED, null, null, null,
+                        session.totalCharacters(), null, null, session.startedAt(), now, null, 0));
+            }
+            if (!results.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> gameResultPipeline.store(results));
+                reaped += results.size();
+                reapedActive.increment(results.size());
+            }
+            if (stale.size() < batchSize) {
+                break;
+            }
+            Thread.sleep(pauseMillis);
+        }
+        return reaped;
+    }
+
+    /**
+     * Abandons stale IN_PROGRESS rows in game_sessions.
+     *
+     * @return the number of rows updated
+     */
+    public int reapRows(LocalDateTime cutoff) throws InterruptedException {
+        int reaped = 0;
+        LocalDateTime afterStartedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        long afterId = Long.MIN_VALUE;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<GameSessionKey> keys = gameSessionRepository.findKeysByStatusStartedBefore(
+                    GameStatus.IN_PROGRESS, cutoff, afterStartedAt, afterId, Limit.of(batchSize));
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            List<Long> ids = keys.stream().map(GameSessionKey::getId).toList();
+            LocalDateTime now = LocalDateTime.now();
+            Integer updated = transactionTemplate.execute(status -> gameSessionRepository.updateStatusByIdIn(
+                    ids, GameStatus.IN_PROGRESS, GameStatus.ABANDONED, now));
+            if (updated != null) {
+                reaped += updated;
+                reapedRows.increment(updated);
+            }
+
+            GameSessionKey last = keys.get(keys.size() - 1);
+            afterStartedAt = last.getStartedAt();
+            afterId = last.getId();
+            if (keys.size() < batchSize) {
+                break;
+            }
+            Thread.sleep(pauseMillis);
+        }
+        return reaped;
+    }
+
+    private static Counter reapedCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("game.sessions.reaped")
+                .description("Stale games in progress that were abandoned by the reaper")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
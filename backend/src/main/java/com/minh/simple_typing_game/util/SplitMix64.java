@@ -0,0 +1,34 @@
+package com.minh.simple_typing_game.util;
+
+/**
+ * SplitMix64, the generator behind {@link java.util.SplittableRandom}, as static functions.
+ * Unlike the JDK classes its output is fixed by this code, so text generated from a stored
+ * seed comes out the same on every JVM and after every upgrade.
+ */
+public final class SplitMix64 {
+
+    /**
+     * The increment between successive states of a SplitMix64 sequence.
+     */
+    public static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SplitMix64() {
+    }
+
+    /**
+     * Returns value {@code index} of the sequence started by the seed, without computing the
+     * values before it.
+     */
+    public static long at(long seed, long index) {
+        return mix(seed + (index + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * SplitMix64's finalizer: spreads a counter into a uniformly distributed 64-bit value.
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,65 @@
+package com.minh.simple_typing_game.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Allocation-free text helpers shared by the data loader and the corpus importer.
+ */
+public final class TextUtils {
+
+    private TextUtils() {
+    }
+
+    /**
+     * Counts whitespace-separated words in a single pass, without splitting the text.
+     *
+     * @param text the text to count
+     * @return the number of words
+     */
+    public static int countWords(CharSequence text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                words++;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Creates a new SHA-256 digest. Digests are not thread-safe, so callers keep their own.
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Hashes the content with SHA-256 and returns it as lowercase hex.
+     *
+     * @param digest a digest obtained from {@link #newSha256()}
+     * @param content the content to hash
+     * @return the 64 character hex hash
+     */
+    public static String sha256Hex(MessageDigest digest, String content) {
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Hashes the content with a fresh SHA-256 digest.
+     */
+    public static String sha256Hex(String content) {
+        return sha256Hex(newSha256(), content);
+    }
+}
@@ -0,0 +1,156 @@
+package com.minh.simple_typing_game.websocket;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import com.minh.simple_typing_game.cache.TextContentCache;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams.LiveStream;
+import com.minh.simple_typing_game.markov.PassageGenerator;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.security.VerifiedToken;
+import com.minh.simple_typing_game.service.GameSessionService;
+import com.minh.simple_typing_game.service.WordStreamService;
+import com.minh.simple_typing_game.session.ActiveSession;
+import com.minh.simple_typing_game.session.ActiveSessionRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-authoritative keystroke stream for one IN_PROGRESS game session,
+ * connected at {@code /ws/game-session/{sessionId}?access_token={jwt}}. Only the session's
+ * own player may connect.
+ *
+ * <p>Clients send binary frames holding batches of 4-byte keystrokes (big-endian unsigned
+ * 16-bit character code, then unsigned 16-bit milliseconds since the previous keystroke;
+ * {@code 0x0008} is backspace). After each batch the server replies with a JSON text frame
+ * of live stats. When the text is complete, or a timed game's time is up, the session is
+ * ended with the server's score and the connection is closed. A timed game is typed against
+ * its word stream as far as it can be reached in time, and a generated game against its
+ * passage, both regenerated from the session's seed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeystrokeWebSocketHandler extends BinaryWebSocketHandler {
+
+    private static final String STREAM = "keystrokeStream";
+    private static final String GAME_SESSION_ID = "gameSessionId";
+    private static final String STATS_BUFFER = "statsBuffer";
+
+    // Keeps per-connection container buffers small; a batch rarely holds more than a few hundred keys
+    private static final int MAX_BINARY_MESSAGE_SIZE = 8 * 1024;
+    private static final int MAX_TEXT_MESSAGE_SIZE = 1024;
+
+    private final ActiveSessionRegistry activeSessions;
+    private final TextSampleRepository textSampleRepository;
+    private final TextContentCache textContentCache;
+    private final LiveKeystrokeStreams liveKeystrokeStreams;
+    private final GameSessionService gameSessionService;
+    private final WordStreamService wordStreamService;
+    private final PassageGenerator passageGenerator;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        session.setBinaryMessageSizeLimit(MAX_BINARY_MESSAGE_SIZE);
+        session.setTextMessageSizeLimit(MAX_TEXT_MESSAGE_SIZE);
+
+        Long gameSessionId = parseGameSessionId(session.getUri());
+        ActiveSession activeSession = gameSessionId != null ? activeSessions.get(gameSessionId) : null;
+        if (activeSession == null) {
+            log.warn("Rejecting keystroke stream for game session: {}", gameSessionId);
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Game session is not in progress"));
+            return;
+        }
+        Long userId = session.getPrincipal() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof VerifiedToken token ? token.userId() : null;
+        if (userId == null || !userId.equals(activeSession.userId())) {
+            log.warn("Rejecting keystroke stream of user {} for game session: {}", userId, gameSessionId);
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Not the player of this game session"));
+            return;
+        }
+
+        LiveStream stream;
+        if (activeSession.mode().isTimed()) {
+            char[] words = wordStreamService.text(activeSession.difficulty(), activeSession.seed(),
+                    activeSession.generatorVersion(), activeSession.mode());
+            stream = liveKeystrokeStreams.open(gameSessionId, words, activeSession.mode().getSeconds() * 1000L,
+                    activeSession.startedAtMillis());
+        } else if (activeSession.mode() == GameMode.GENERATED) {
+            String passage = passageGenerator.regenerate(activeSession.category(), activeSession.generatorVersion(),
+                    activeSession.seed(), activeSession.difficulty(), activeSession.passageHash());
+            stream = liveKeystrokeStreams.open(gameSessionId, passage.toCharArray(), 0,
+                    activeSession.startedAtMillis());
+        } else {
+            long textSampleId = activeSession.textSampleId();
+            char[] content = textContentCache.get(textSampleId, () -> textSampleRepository.findContentById(textSampleId));
+            stream = liveKeystrokeStreams.open(gameSessionId, content, 0, activeSession.startedAtMillis());
+        }
+        session.getAttributes().put(GAME_SESSION_ID, gameSessionId);
+        session.getAttributes().put(STREAM, stream);
+        session.getAttributes().put(STATS_BUFFER, new StringBuilder(160));
+        log.debug("Keystroke stream opened for game session: {}", gameSessionId);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        LiveStream stream = (LiveStream) session.getAttributes().get(STREAM);
+        if (stream == null) {
+            return;
+        }
+
+        boolean complete = stream.apply(message.getPayload());
+        StringBuilder stats = (StringBuilder) session.getAttributes().get(STATS_BUFFER);
+        stream.writeStats(stats);
+        session.sendMessage(new TextMessage(stats));
+
+        if (complete) {
+            finishGame(session);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
+        log.warn("Keystroke stream transport error for game session {}: {}",
+                session.getAttributes().get(GAME_SESSION_ID), exception.getMessage());
+    }
+
+    private void finishGame(WebSocketSession session) throws IOException {
+        Long gameSessionId = (Long) session.getAttributes().get(GAME_SESSION_ID);
+        session.getAttributes().remove(STREAM);
+        if (!liveKeystrokeStreams.isOpen(gameSessionId)) {
+            return;
+        }
+
+        try {
+            // The service finishes the stream and stores the game with its score and keystrokes
+            gameSessionService.endGameSession(gameSessionId, null, null, null, null, null, null, null);
+            session.close(CloseStatus.NORMAL);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Could not end game session {} from keystroke stream: {}", gameSessionId, e.getMessage());
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Game session is not in progress"));
+        }
+    }
+
+    private static Long parseGameSessionId(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        String path = uri.getPath();
+        try {
+            return Long.valueOf(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
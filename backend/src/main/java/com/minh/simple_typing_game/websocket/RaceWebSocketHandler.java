@@ -0,0 +1,120 @@
+package com.minh.simple_typing_game.websocket;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+
+import com.minh.simple_typing_game.race.RaceEngine;
+import com.minh.simple_typing_game.security.VerifiedToken;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A player's connection to a race room they joined over the REST API, at
+ * {@code /ws/race/{roomId}?access_token={jwt}}.
+ *
+ * <p>Clients send the same binary keystroke batches as the single-player stream. The server
+ * sends a {@code countdown} text frame with the text when the countdown starts, then
+ * {@code snapshot} frames with every player's progress at a fixed interval until the race is over.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RaceWebSocketHandler extends BinaryWebSocketHandler {
+
+    private static final String ROOM_ID = "raceRoomId";
+    private static final String USER_ID = "raceUserId";
+    private static final String CONNECTION = "raceConnection";
+
+    private static final int MAX_BINARY_MESSAGE_SIZE = 8 * 1024;
+    private static final int MAX_TEXT_MESSAGE_SIZE = 1024;
+
+    // Snapshots are sent from engine threads; a slow client loses stale snapshots instead of stalling them
+    private static final int SEND_TIME_LIMIT_MILLIS = 1000;
+    private static final int SEND_BUFFER_LIMIT = 64 * 1024;
+
+    private final RaceEngine raceEngine;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        session.setBinaryMessageSizeLimit(MAX_BINARY_MESSAGE_SIZE);
+        session.setTextMessageSizeLimit(MAX_TEXT_MESSAGE_SIZE);
+
+        Long roomId = parseRoomId(session.getUri());
+        Long userId = session.getPrincipal() instanceof Authentication authentication
+                && authentication.getPrincipal() instanceof VerifiedToken token ? token.userId() : null;
+        if (roomId == null || userId == null) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Not a player of this race"));
+            return;
+        }
+
+        WebSocketSession connection = new ConcurrentWebSocketSessionDecorator(
+                session, SEND_TIME_LIMIT_MILLIS, SEND_BUFFER_LIMIT, OverflowStrategy.DROP);
+        boolean connected;
+        try {
+            connected = raceEngine.connect(roomId, userId, connection).join();
+        } catch (CompletionException e) {
+            connected = false;
+        }
+        if (!connected) {
+            log.warn("Rejecting race connection of user {} to room: {}", userId, roomId);
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Not a player of this race"));
+            return;
+        }
+
+        session.getAttributes().put(ROOM_ID, roomId);
+        session.getAttributes().put(USER_ID, userId);
+        session.getAttributes().put(CONNECTION, connection);
+        log.debug("User {} connected to race room: {}", userId, roomId);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        Long roomId = (Long) session.getAttributes().get(ROOM_ID);
+        if (roomId == null) {
+            return;
+        }
+        // The container may reuse the payload buffer once this method returns
+        ByteBuffer payload = message.getPayload();
+        byte[] batch = new byte[payload.remaining()];
+        payload.get(batch);
+        raceEngine.keystrokes(roomId, (Long) session.getAttributes().get(USER_ID), batch);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Long roomId = (Long) session.getAttributes().get(ROOM_ID);
+        if (roomId != null) {
+            raceEngine.disconnect(roomId, (Long) session.getAttributes().get(USER_ID),
+                    (WebSocketSession) session.getAttributes().get(CONNECTION));
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("Race connection transport error in room {}: {}",
+                session.getAttributes().get(ROOM_ID), exception.getMessage());
+    }
+
+    private static Long parseRoomId(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        String path = uri.getPath();
+        try {
+            return Long.valueOf(path.substring(path.lastIndexOf('/') + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
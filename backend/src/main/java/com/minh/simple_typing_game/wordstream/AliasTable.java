@@ -0,0 +1,89 @@
+package com.minh.simple_typing_game.wordstream;
+
+/**
+ * Vose's alias method over primitive arrays: after an O(n) build, draws an index with
+ * probability proportional to its weight in O(1) from a single 64-bit random value. The
+ * high half of the value picks a column and the low half is the biased coin between the
+ * column and its alias, so sampling is integer-only and gives the same result everywhere.
+ * Immutable and thread-safe.
+ */
+public final class AliasTable {
+
+    private static final long ONE = 1L << 32;
+
+    private final int[] alias;
+    // Probability of keeping the column rather than taking its alias, scaled to 2^32
+    private final long[] threshold;
+
+    /**
+     * @param weights non-negative weights, at least one of them positive
+     * @throws IllegalArgumentException if there is nothing to draw from
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight)) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+            total += weight;
+        }
+        if (n == 0 || total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        alias = new int[n];
+        threshold = new long[n];
+        double[] scaled = new double[n];
+        // Worklists of under- and over-full columns, as stacks growing from either end of one array
+        int[] work = new int[n];
+        int small = 0;
+        int large = n;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                work[small++] = i;
+            } else {
+                work[--large] = i;
+            }
+        }
+        while (small > 0 && large < n) {
+            int less = work[--small];
+            int more = work[large++];
+            threshold[less] = Math.round(scaled[less] * ONE);
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1.0;
+            if (scaled[more] < 1.0) {
+                work[small++] = more;
+            } else {
+                work[--large] = more;
+            }
+        }
+        // Whatever is left is full up to rounding error
+        while (large < n) {
+            int column = work[large++];
+            threshold[column] = ONE;
+            alias[column] = column;
+        }
+        while (small > 0) {
+            int column = work[--small];
+            threshold[column] = ONE;
+            alias[column] = column;
+        }
+    }
+
+    /**
+     * Draws an index.
+     *
+     * @param random a uniformly distributed 64-bit value
+     * @return an index of the weights, drawn with probability proportional to its weight
+     */
+    public int sample(long random) {
+        int column = (int) (((random >>> 32) * alias.length) >>> 32);
+        return (random & 0xFFFFFFFFL) < threshold[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return alias.length;
+    }
+}
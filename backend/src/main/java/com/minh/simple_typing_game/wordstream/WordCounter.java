@@ -0,0 +1,86 @@
+package com.minh.simple_typing_game.wordstream;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Counts the plain words of passages, for building a {@link WordFrequencyList}. A word is a
+ * whitespace-separated token that, once leading and trailing punctuation and quotes are
+ * stripped, is made of ASCII letters with single apostrophes between them; it is counted in
+ * lower case. Tokens with digits, symbols or other scripts, such as code, are skipped.
+ * Not thread-safe.
+ */
+public class WordCounter {
+
+    // Longer tokens are almost always URLs or run-together text rather than words worth typing
+    private static final int MAX_WORD_LENGTH = 20;
+    private static final String PUNCTUATION = ".,;:!?\"'()[]{}";
+
+    private final Map<String, Long> counts = new HashMap<>();
+    private final StringBuilder word = new StringBuilder(MAX_WORD_LENGTH);
+
+    /**
+     * Counts the words of a passage.
+     */
+    public void add(CharSequence text) {
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < n && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            countToken(text, start, i);
+        }
+    }
+
+    /**
+     * Returns how many distinct words were counted.
+     */
+    public int distinctWords() {
+        return counts.size();
+    }
+
+    /**
+     * Builds a word list from the words counted so far.
+     *
+     * @param maxWords how many of the most frequent words to keep
+     * @throws IllegalArgumentException if no word was counted
+     */
+    public WordFrequencyList build(int maxWords) {
+        return WordFrequencyList.of(counts, maxWords);
+    }
+
+    private void countToken(CharSequence text, int start, int end) {
+        while (start < end && PUNCTUATION.indexOf(text.charAt(start)) >= 0) {
+            start++;
+        }
+        while (end > start && PUNCTUATION.indexOf(text.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (start == end || end - start > MAX_WORD_LENGTH) {
+            return;
+        }
+
+        word.setLength(0);
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isLetter(c)) {
+                word.append((char) (c | 0x20));
+            } else if (c == '\'' && i > start && isLetter(text.charAt(i - 1)) && isLetter(text.charAt(i + 1))) {
+                // A trailing apostrophe was stripped, so i + 1 is still inside the token here
+                word.append(c);
+            } else {
+                return;
+            }
+        }
+        counts.merge(word.toString(), 1L, Long::sum);
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,227 @@
+package com.minh.simple_typing_game.wordstream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.util.SplitMix64;
+
+/**
+ * An immutable, frequency-ranked word list and one {@link AliasTable} per difficulty, from
+ * which an endless stream of words is drawn. The words are packed into one {@code char[]}
+ * with an offset table, so appending a drawn word copies characters and allocates nothing.
+ *
+ * <p>The stream of a seed is counter-based: word {@code i} is drawn from a 64-bit mix of the
+ * seed and {@code i} alone, so any chunk of it can be regenerated on its own, in any order,
+ * with the same result as long as the list is the same. A list's {@link #fingerprint()}
+ * identifies its words and counts, and {@link #encode()} stores them so that {@link #decode}
+ * rebuilds the same list. Thread-safe.
+ */
+public final class WordFrequencyList {
+
+    /**
+     * Which words a difficulty draws from and how strongly it favours frequent ones.
+     *
+     * @param maxLength the longest word drawn
+     * @param maxRank only words among this many most frequent ones are drawn
+     * @param exponent frequencies are raised to this power; below 1 rare words come up more often
+     */
+    private record Profile(int maxLength, int maxRank, double exponent) {
+    }
+
+    private static final Map<Difficulty, Profile> PROFILES = new EnumMap<>(Map.of(
+            Difficulty.EASY, new Profile(5, 1_000, 1.0),
+            Difficulty.MEDIUM, new Profile(8, 5_000, 0.75),
+            Difficulty.HARD, new Profile(Integer.MAX_VALUE, Integer.MAX_VALUE, 0.5)));
+    // With fewer words than this after the length filter, a difficulty ignores word length
+    private static final int MIN_WORDS = 20;
+
+    private final char[] characters;
+    private final int[] offsets;
+    private final long[] counts;
+    private final long fingerprint;
+    private final Map<Difficulty, AliasTable> tables = new EnumMap<>(Difficulty.class);
+    // Maps a column of a difficulty's table to the word it stands for
+    private final Map<Difficulty, int[]> columns = new EnumMap<>(Difficulty.class);
+
+    private WordFrequencyList(char[] characters, int[] offsets, long[] counts) {
+        this.characters = characters;
+        this.offsets = offsets;
+        this.counts = counts;
+        long hash = counts.length;
+        for (int i = 0; i < counts.length; i++) {
+            for (int c = offsets[i]; c < offsets[i + 1]; c++) {
+                hash = SplitMix64.mix(hash ^ characters[c]);
+            }
+            hash = SplitMix64.mix(hash ^ counts[i]);
+        }
+        // Non-negative, so it can be stored where a negative version means none
+        this.fingerprint = hash & Long.MAX_VALUE;
+        for (Difficulty difficulty : Difficulty.values()) {
+            int[] words = select(PROFILES.get(difficulty));
+            double[] weights = new double[words.length];
+            double exponent = PROFILES.get(difficulty).exponent();
+            for (int i = 0; i < words.length; i++) {
+                weights[i] = Math.pow(counts[words[i]], exponent);
+            }
+            tables.put(difficulty, new AliasTable(weights));
+            columns.put(difficulty, words);
+        }
+    }
+
+    /**
+     * Builds a list from word counts, ranking the words by count and then alphabetically, so
+     * the same counts always give the same list.
+     *
+     * @param wordCounts how often each word occurs
+     * @param maxWords how many of the most frequent words to keep
+     * @return the list
+     * @throws IllegalArgumentException if there are no words
+     */
+    public static WordFrequencyList of(Map<String, Long> wordCounts, int maxWords) {
+        List<Map.Entry<String, Long>> ranked = new ArrayList<>(wordCounts.entrySet());
+        ranked.removeIf(entry -> entry.getKey().isEmpty() || entry.getValue() <= 0);
+        if (ranked.isEmpty()) {
+            throw new IllegalArgumentException("No words to build a word list from");
+        }
+        ranked.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+        int n = Math.min(ranked.size(), maxWords);
+
+        int totalLength = 0;
+        for (int i = 0; i < n; i++) {
+            totalLength += ranked.get(i).getKey().length();
+        }
+        char[] characters = new char[totalLength];
+        int[] offsets = new int[n + 1];
+        long[] counts = new long[n];
+        for (int i = 0; i < n; i++) {
+            String word = ranked.get(i).getKey();
+            word.getChars(0, word.length(), characters, offsets[i]);
+            offsets[i + 1] = offsets[i] + word.length();
+            counts[i] = ranked.get(i).getValue();
+        }
+        return new WordFrequencyList(characters, offsets, counts);
+    }
+
+    /**
+     * Rebuilds a list from {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the data is not an encoded list
+     */
+    public static WordFrequencyList decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+            int n = in.readInt();
+            Map<String, Long> wordCounts = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                wordCounts.put(in.readUTF(), in.readLong());
+            }
+            return of(wordCounts, n);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not an encoded word list", e);
+        }
+    }
+
+    /**
+     * Encodes the words and their counts, compressed.
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(characters.length);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeInt(counts.length);
+            for (int i = 0; i < counts.length; i++) {
+                out.writeUTF(word(i));
+                out.writeLong(counts[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Appends words of a seed's stream, separated by single spaces, without a leading or
+     * trailing space.
+     *
+     * @param out where to append
+     * @param difficulty which words to draw from
+     * @param seed the stream's seed
+     * @param fromWord the index of the first word in the stream
+     * @param count how many words to append
+     */
+    public void append(StringBuilder out, Difficulty difficulty, long seed, long fromWord, int count) {
+        AliasTable table = tables.get(difficulty);
+        int[] words = columns.get(difficulty);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.append(' ');
+            }
+            int word = words[table.sample(SplitMix64.at(seed, fromWord + i))];
+            out.append(characters, offsets[word], offsets[word + 1] - offsets[word]);
+        }
+    }
+
+    /**
+     * Returns the number of distinct words.
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * Returns how many distinct words a difficulty draws from.
+     */
+    public int size(Difficulty difficulty) {
+        return columns.get(difficulty).length;
+    }
+
+    /**
+     * Returns a 63-bit hash of the words and their counts in rank order, the same for every
+     * list built from the same counts.
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Returns a word by its frequency rank, 0 being the most frequent.
+     */
+    public String word(int rank) {
+        return new String(characters, offsets[rank], offsets[rank + 1] - offsets[rank]);
+    }
+
+    /**
+     * Picks the words a profile draws from, keeping their rank order.
+     */
+    private int[] select(Profile profile) {
+        int ranks = Math.min(counts.length, profile.maxRank());
+        int[] words = new int[ranks];
+        int n = 0;
+        for (int i = 0; i < ranks; i++) {
+            if (offsets[i + 1] - offsets[i] <= profile.maxLength()) {
+                words[n++] = i;
+            }
+        }
+        if (n < Math.min(MIN_WORDS, ranks)) {
+            // A small corpus has too few short words; draw from the most frequent ones instead
+            for (int i = 0; i < ranks; i++) {
+                words[i] = i;
+            }
+            n = ranks;
+        }
+        return Arrays.copyOf(words, n);
+    }
+}
@@ -0,0 +1,100 @@
+-- Baseline schema, matching the JPA entities. Enums are stored by name in VARCHAR columns and
+-- IDs are BIGINT; moving to PostgreSQL only needs keystroke_logs.data declared as BYTEA.
+
+CREATE SEQUENCE text_samples_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(255),
+    email VARCHAR(255),
+    provider_id VARCHAR(255),
+    provider VARCHAR(32),
+    password_hash VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    image_url VARCHAR(255),
+    role VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE text_samples (
+    id BIGINT NOT NULL,
+    title VARCHAR(255),
+    content TEXT NOT NULL,
+    difficulty VARCHAR(32),
+    category VARCHAR(32),
+    word_count INTEGER,
+    character_count INTEGER,
+    is_active BOOLEAN,
+    content_hash VARCHAR(64),
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_text_samples PRIMARY KEY (id),
+    CONSTRAINT uk_text_samples_content_hash UNIQUE (content_hash)
+);
+
+-- IDs come from GameSessionIdAllocator, so there is no identity column
+CREATE TABLE game_sessions (
+    id BIGINT NOT NULL,
+    user_id BIGINT,
+    text_sample_id BIGINT,
+    wpm INTEGER,
+    accuracy DOUBLE PRECISION,
+    duration INTEGER,
+    total_characters INTEGER,
+    correct_characters INTEGER,
+    incorrect_characters INTEGER,
+    race_room_id BIGINT,
+    placement INTEGER,
+    status VARCHAR(32),
+    difficulty VARCHAR(32),
+    started_at TIMESTAMP(6),
+    completed_at TIMESTAMP(6),
+    version BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_game_sessions PRIMARY KEY (id),
+    CONSTRAINT fk_game_sessions_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_game_sessions_text_sample FOREIGN KEY (text_sample_id) REFERENCES text_samples (id)
+);
+
+-- No foreign key: a log may be written in the same batch as its session, and is deleted with it on archiving
+CREATE TABLE keystroke_logs (
+    game_session_id BIGINT NOT NULL,
+    data BINARY LARGE OBJECT NOT NULL,
+    keystroke_count INTEGER,
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_keystroke_logs PRIMARY KEY (game_session_id)
+);
+
+CREATE TABLE user_stats (
+    user_id BIGINT NOT NULL,
+    total_games INTEGER NOT NULL,
+    easy_games INTEGER NOT NULL,
+    medium_games INTEGER NOT NULL,
+    hard_games INTEGER NOT NULL,
+    total_words BIGINT NOT NULL,
+    total_time BIGINT NOT NULL,
+    best_wpm INTEGER NOT NULL,
+    wpm_sum BIGINT NOT NULL,
+    accuracy_sum DOUBLE PRECISION NOT NULL,
+    accuracy_histogram INTEGER ARRAY NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT pk_user_stats PRIMARY KEY (user_id)
+);
+
+-- OAuth login: UserRepository.findByProviderIdAndProvider
+CREATE INDEX idx_users_provider ON users (provider_id, provider);
+
+-- TextSampleRepository.findByDifficultyAndIsActiveTrue and findByDifficulty
+CREATE INDEX idx_text_samples_difficulty_active ON text_samples (difficulty, is_active);
+
+-- History pages, the matchmaking average and user stats backfill: user_id, then status
+CREATE INDEX idx_game_sessions_user_status_started ON game_sessions (user_id, status, started_at);
+
+-- Stale session reaper keyset scan
+CREATE INDEX idx_game_sessions_status_started ON game_sessions (status, started_at);
+
+-- Archiver and analytics time ranges
+CREATE INDEX idx_game_sessions_completed ON game_sessions (completed_at);
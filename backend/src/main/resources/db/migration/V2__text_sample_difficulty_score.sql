@@ -0,0 +1,3 @@
+-- Written back by the corpus analyzer together with the difficulty it derives from the score.
+ALTER TABLE text_samples ADD COLUMN difficulty_score DOUBLE PRECISION;
+ALTER TABLE text_samples ADD COLUMN analyzed_hash VARCHAR(64);
@@ -0,0 +1,4 @@
+-- Timed games type a seeded word stream instead of a text sample, so text_sample_id stays null for them.
+ALTER TABLE game_sessions ADD COLUMN mode VARCHAR(32);
+ALTER TABLE game_sessions ADD COLUMN seed BIGINT;
+UPDATE game_sessions SET mode = 'TEXT';
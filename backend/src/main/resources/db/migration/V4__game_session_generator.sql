@@ -0,0 +1,3 @@
+-- Generated passages have no text sample; their category and model version regenerate them with the seed.
+ALTER TABLE game_sessions ADD COLUMN category VARCHAR(32);
+ALTER TABLE game_sessions ADD COLUMN generator_version BIGINT;
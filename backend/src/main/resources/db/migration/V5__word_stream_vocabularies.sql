@@ -0,0 +1,8 @@
+-- Every vocabulary timed games were typed against, by fingerprint, so a game's seed regenerates its words.
+CREATE TABLE word_stream_vocabularies (
+    id BIGINT NOT NULL,
+    data BINARY LARGE OBJECT NOT NULL,
+    word_count INTEGER,
+    created_at TIMESTAMP(6),
+    CONSTRAINT pk_word_stream_vocabularies PRIMARY KEY (id)
+);
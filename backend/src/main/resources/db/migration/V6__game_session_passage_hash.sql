@@ -0,0 +1,2 @@
+-- A generated passage is only regenerated from its seed if it hashes to what the player was given.
+ALTER TABLE game_sessions ADD COLUMN passage_hash VARCHAR(64);
@@ -0,0 +1,81 @@
+package com.minh.simple_typing_game;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.payload.response.GameAnalyticsResponse;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.service.GameAnalyticsService;
+import com.minh.simple_typing_game.service.GameSessionService;
+import com.minh.simple_typing_game.service.UserStatsService;
+
+/**
+ * Boots the prod profile on an in-memory database in the same PostgreSQL mode, so the Flyway
+ * migrations run and Hibernate validates the entities against the schema they created.
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:prod-profile;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH")
+@ActiveProfiles("prod")
+class ProductionProfileTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private GameAnalyticsService gameAnalyticsService;
+
+    @Test
+    void migratesTheSchemaTheEntitiesExpect() {
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("6");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    void playsAGameOnTheMigratedSchema() {
+        User user = userRepository.save(User.builder()
+                .email("prod-profile@test.local")
+                .username("prod-profile")
+                .role(Role.ROLE_USER)
+                .build());
+
+        GameSessionDTO started = gameSessionService.startGameSession(user.getId(), Difficulty.EASY);
+        GameSessionDTO ended = gameSessionService.endGameSession(started.getId(), 72, 96.5, 40, 120, 116, 4,
+                "[{\"timestamp\":10,\"key\":\"T\"},{\"timestamp\":95,\"key\":\"h\"}]");
+
+        assertThat(ended.getStatus()).isEqualTo(GameStatus.COMPLETED);
+        assertThat(gameSessionRepository.findById(started.getId()))
+                .hasValueSatisfying(row -> assertThat(row.getVersion()).isZero());
+        assertThat(gameSessionService.getKeystrokeLog(started.getId())).contains("\"key\":\"h\"");
+        assertThat(userStatsService.getUserStats(user.getId()).getTotalGames()).isEqualTo(1);
+
+        GameAnalyticsResponse analytics = gameAnalyticsService.getGameAnalytics(user.getId(), null,
+                LocalDateTime.now().minusHours(1), null);
+        assertThat(analytics.getTotals().getCompletedGames()).isEqualTo(1);
+        assertThat(analytics.getTotals().getBestWpm()).isEqualTo(ended.getWpm());
+    }
+}
@@ -0,0 +1,62 @@
+package com.minh.simple_typing_game.analysis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+class DifficultyClassifierTest {
+
+    @Test
+    void measuresCharacterClassesAndWords() {
+        TextFeatures features = TextFeatureExtractor.extract("  Set x = 42;  done. ");
+
+        assertThat(features.typedCharacters()).isEqualTo(13);
+        assertThat(features.words()).isEqualTo(5);
+        assertThat(features.upperRatio()).isCloseTo(1 / 13.0, within(1e-9));
+        assertThat(features.digitRatio()).isCloseTo(2 / 13.0, within(1e-9));
+        assertThat(features.punctuationDensity()).isCloseTo(2 / 13.0, within(1e-9));
+        assertThat(features.symbolRatio()).isCloseTo(1 / 13.0, within(1e-9));
+        assertThat(features.longestSymbolRun()).isZero();
+    }
+
+    @Test
+    void countsRareBigramsAndSymbolRuns() {
+        TextFeatures common = TextFeatureExtractor.extract("the then");
+        TextFeatures rare = TextFeatureExtractor.extract("zqx");
+        TextFeatures code = TextFeatureExtractor.extract("f(a) -> {}; g();");
+
+        assertThat(common.rareBigramRatio()).isZero();
+        assertThat(rare.rareBigramRatio()).isEqualTo(1.0);
+        assertThat(code.longestSymbolRun()).isEqualTo(3);
+        assertThat(code.symbolRunRatio()).isCloseTo(8 / 13.0, within(1e-9));
+    }
+
+    @Test
+    void treatsBlankTextAsEasy() {
+        TextFeatures features = TextFeatureExtractor.extract(" \n\t ");
+
+        assertThat(features.typedCharacters()).isZero();
+        assertThat(DifficultyClassifier.classify(DifficultyClassifier.score(features))).isEqualTo(Difficulty.EASY);
+    }
+
+    @Test
+    void ranksPlainProseBelowJargonBelowCode() {
+        double prose = scoreOf("the cat sat on the mat and the dog ran to the sun");
+        double jargon = scoreOf("Dynamic programming is an algorithmic paradigm that solves complex problems by "
+                + "breaking them down into simpler subproblems exhibiting optimal substructure properties.");
+        double code = scoreOf("for (int i = 0; i < n; i++) { sum += values[i] * 2; } return sum >= 0 ? sum : -1;");
+
+        assertThat(prose).isLessThan(jargon);
+        assertThat(jargon).isLessThan(code);
+        assertThat(DifficultyClassifier.classify(prose)).isEqualTo(Difficulty.EASY);
+        assertThat(DifficultyClassifier.classify(code)).isEqualTo(Difficulty.HARD);
+        assertThat(code).isLessThanOrEqualTo(100);
+    }
+
+    private static double scoreOf(String text) {
+        return DifficultyClassifier.score(TextFeatureExtractor.extract(text));
+    }
+}
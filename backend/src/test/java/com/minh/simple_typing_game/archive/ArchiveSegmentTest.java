@@ -0,0 +1,126 @@
+package com.minh.simple_typing_game.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.minh.simple_typing_game.archive.ArchiveSegment.Column;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+class ArchiveSegmentTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsGamesSortedByUser() throws IOException {
+        List<ArchivedGame> games = randomGames(2000, 42);
+
+        ArchiveSegment segment = writeAndOpen(games);
+
+        List<ArchivedGame> expected = new ArrayList<>(games);
+        expected.sort(Comparator.comparingLong(ArchivedGame::userId)
+                .thenComparing(ArchivedGame::completedAt)
+                .thenComparingLong(ArchivedGame::sessionId));
+        assertThat(segment.getRowCount()).isEqualTo(2000);
+        assertThat(segment.gamesOfUsers(Long.MIN_VALUE, Long.MAX_VALUE)).isEqualTo(expected);
+    }
+
+    @Test
+    void roundTripsMissingValues() throws IOException {
+        ArchivedGame abandoned = new ArchivedGame(7, 3, GameStatus.ABANDONED, null, null, null, null, null,
+                null, null, null, EPOCH);
+
+        ArchiveSegment segment = writeAndOpen(List.of(abandoned));
+
+        assertThat(segment.gamesOfUsers(3, 3)).containsExactly(abandoned);
+        assertThat(segment.ints(Column.WPM)).containsExactly(ArchiveSegment.NULL_INT);
+        assertThat(segment.bytes(Column.DIFFICULTY)).containsExactly((byte) -1);
+    }
+
+    @Test
+    void findsTheRowsOfAUserRange() throws IOException {
+        List<ArchivedGame> games = randomGames(1000, 7);
+        ArchiveSegment segment = writeAndOpen(games);
+
+        List<ArchivedGame> found = segment.gamesOfUsers(10, 19);
+
+        assertThat(found).hasSize((int) games.stream().filter(game -> game.userId() >= 10 && game.userId() <= 19).count());
+        assertThat(found).allMatch(game -> game.userId() >= 10 && game.userId() <= 19);
+        assertThat(segment.gamesOfUsers(1000, 2000)).isEmpty();
+    }
+
+    @Test
+    void zoneMapsBoundUsersAndCompletionTimes() throws IOException {
+        ArchiveSegment segment = writeAndOpen(List.of(
+                game(1, 5, EPOCH.plusDays(1)),
+                game(2, 9, EPOCH.plusDays(3))));
+        long day1 = ArchiveSegment.epochSecond(EPOCH.plusDays(1));
+        long day3 = ArchiveSegment.epochSecond(EPOCH.plusDays(3));
+
+        assertThat(segment.mayContainUsers(1, 4)).isFalse();
+        assertThat(segment.mayContainUsers(9, 20)).isTrue();
+        assertThat(segment.mayContainCompleted(day3 + 1, Long.MAX_VALUE)).isFalse();
+        assertThat(segment.mayContainCompleted(0, day1)).isFalse();
+        assertThat(segment.mayContainCompleted(0, day1 + 1)).isTrue();
+        assertThat(segment.completedWithin(day1, day3 + 1)).isTrue();
+        assertThat(segment.completedWithin(day1, day3)).isFalse();
+        assertThat(segment.getMinSessionId()).isEqualTo(1);
+        assertThat(segment.getMaxSessionId()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path path = dir.resolve("segment");
+        ArchiveSegment.write(path, randomGames(100, 1));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+
+        assertThatThrownBy(() -> ArchiveSegment.open(0, path)).isInstanceOf(IOException.class);
+    }
+
+    private ArchiveSegment writeAndOpen(List<ArchivedGame> games) throws IOException {
+        Path path = dir.resolve("segment");
+        ArchiveSegment.write(path, games);
+        return ArchiveSegment.open(0, path);
+    }
+
+    private static ArchivedGame game(long sessionId, long userId, LocalDateTime completedAt) {
+        return new ArchivedGame(sessionId, userId, GameStatus.COMPLETED, Difficulty.EASY, TextCategory.NEWS,
+                60, 95.0, 30, 150, 148, completedAt.minusSeconds(30), completedAt);
+    }
+
+    private static List<ArchivedGame> randomGames(int count, long seed) {
+        Random random = new Random(seed);
+        Difficulty[] difficulties = Difficulty.values();
+        TextCategory[] categories = TextCategory.values();
+        List<ArchivedGame> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime completedAt = EPOCH.plusSeconds(random.nextInt(90 * 24 * 3600));
+            int duration = 10 + random.nextInt(120);
+            games.add(new ArchivedGame(1000 + i, 1 + random.nextInt(50),
+                    random.nextInt(10) == 0 ? GameStatus.ABANDONED : GameStatus.COMPLETED,
+                    difficulties[random.nextInt(difficulties.length)], categories[random.nextInt(categories.length)],
+                    20 + random.nextInt(120), Math.round(random.nextDouble() * 1000) / 10.0, duration,
+                    100 + random.nextInt(400), 90 + random.nextInt(300), completedAt.minusSeconds(duration),
+                    completedAt));
+        }
+        return games;
+    }
+}
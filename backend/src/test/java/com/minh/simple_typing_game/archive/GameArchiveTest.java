@@ -0,0 +1,72 @@
+package com.minh.simple_typing_game.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+class GameArchiveTest {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void publishesSegmentsThatSurviveARestart() throws IOException {
+        GameArchive archive = new GameArchive(new GameSessionIdAllocator(null), dir.toString());
+        archive.open();
+        AtomicInteger removals = new AtomicInteger();
+
+        archive.append(List.of(game(10, 1), game(11, 2)), removals::incrementAndGet);
+        ArchiveSegment last = archive.append(List.of(game(12, 1)), removals::incrementAndGet);
+
+        assertThat(removals).hasValue(2);
+        assertThat(archive.segments()).hasSize(2);
+        assertThat(archive.last()).isSameAs(last);
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("game-sessions-0000000000000000.archive",
+                            "game-sessions-0000000000000001.archive");
+        }
+
+        GameSessionIdAllocator allocator = new GameSessionIdAllocator(null);
+        GameArchive reopened = new GameArchive(allocator, dir.toString());
+        reopened.open();
+        assertThat(reopened.segments()).extracting(ArchiveSegment::getRowCount).containsExactly(2, 1);
+        assertThat(reopened.last().gamesOfUsers(1, 1)).containsExactly(game(12, 1));
+        // Archived IDs are never handed out again
+        assertThat(allocator.next()).isEqualTo(13);
+    }
+
+    @Test
+    void dropsASegmentThatWasNotRenamedBeforeAStop() throws IOException {
+        Files.writeString(dir.resolve("game-sessions-0000000000000000.archive.tmp"), "partial");
+        GameArchive archive = new GameArchive(new GameSessionIdAllocator(null), dir.toString());
+
+        archive.open();
+
+        assertThat(archive.segments()).isEmpty();
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static ArchivedGame game(long sessionId, long userId) {
+        return new ArchivedGame(sessionId, userId, GameStatus.COMPLETED, Difficulty.EASY, TextCategory.QUOTES, 60,
+                97.5, 30, 150, 146, EPOCH.plusSeconds(sessionId), EPOCH.plusSeconds(sessionId + 30));
+    }
+}
@@ -0,0 +1,132 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.minh.simple_typing_game.entity.enums.AuthProvider;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.payload.dto.UserDTO;
+import com.minh.simple_typing_game.payload.request.EndGameRequest;
+import com.minh.simple_typing_game.payload.response.GameHistoryPageResponse;
+
+/**
+ * JSON encoding of the hottest responses (game start, profile, a history page) and decoding
+ * of the end-game request, with an object mapper configured the way Spring Boot configures its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter writer;
+    private ObjectReader endGameReader;
+
+    private GameSessionDTO startedGame;
+    private UserDTO user;
+    private GameHistoryPageResponse historyPage;
+    private byte[] endGameJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writer();
+        endGameReader = objectMapper.readerFor(EndGameRequest.class);
+
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        startedGame = GameSessionDTO.builder()
+                .id(1_000L)
+                .userId(42L)
+                .textSampleId(7L)
+                .textSampleTitle("Pangram")
+                .textSampleContent("The quick brown fox jumps over the lazy dog. ".repeat(6))
+                .status(GameStatus.IN_PROGRESS)
+                .difficulty(Difficulty.MEDIUM)
+                .startedAt(now)
+                .build();
+
+        user = new UserDTO();
+        user.setId(42L);
+        user.setEmail("player@example.com");
+        user.setUsername("player");
+        user.setProvider(AuthProvider.GOOGLE);
+        user.setRole(Role.ROLE_USER);
+        user.setCreatedAt(now);
+        user.setBestWpm(95);
+        user.setTotalGames(120);
+        user.setTotalWords(6_400);
+
+        List<GameSessionDTO> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            items.add(GameSessionDTO.builder()
+                    .id(1_000L - i)
+                    .userId(42L)
+                    .textSampleId(7L + i)
+                    .textSampleTitle("Sample " + i)
+                    .wpm(60 + i)
+                    .accuracy(95.0 + i % 5)
+                    .duration(40 + i)
+                    .totalCharacters(250)
+                    .correctCharacters(240)
+                    .incorrectCharacters(10)
+                    .status(GameStatus.COMPLETED)
+                    .difficulty(Difficulty.MEDIUM)
+                    .startedAt(now.minusMinutes(i))
+                    .completedAt(now.minusMinutes(i).plusSeconds(40 + i))
+                    .build());
+        }
+        historyPage = new GameHistoryPageResponse(items, "MTcxNzI0MzIwMDAwMDo5ODE", true);
+
+        endGameJson = writer.writeValueAsBytes(
+                new EndGameRequest(72, 96.5, 45, 270, 261, 9, null));
+    }
+
+    @Benchmark
+    public byte[] writeStartedGame() throws JsonProcessingException {
+        return writer.writeValueAsBytes(startedGame);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws JsonProcessingException {
+        return writer.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] writeHistoryPage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(historyPage);
+    }
+
+    @Benchmark
+    public EndGameRequest readEndGameRequest() throws Exception {
+        return endGameReader.readValue(endGameJson);
+    }
+}
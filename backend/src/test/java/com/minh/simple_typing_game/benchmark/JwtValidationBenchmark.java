@@ -0,0 +1,114 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.AuthProvider;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.security.VerifiedToken;
+import com.minh.simple_typing_game.service.impl.JwtServiceImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token validations per second: the previous implementation (new key and parser per call,
+ * two parses per validation), a single parse with a prebuilt parser, and the cached path
+ * taken by clients that reuse their token. Token generation, done on every login, is
+ * measured alongside.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-at-least-32-bytes-long";
+    private static final int TOKENS = 1024;
+
+    private JwtServiceImpl jwtService;
+    private JwtParser parser;
+    private User[] users;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtServiceImpl(SECRET, TimeUnit.HOURS.toMillis(1), 10_000);
+        parser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8))).build();
+        users = new User[TOKENS];
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            User user = User.builder()
+                    .id((long) i + 1)
+                    .email("player" + i + "@example.com")
+                    .role(Role.ROLE_USER)
+                    .provider(AuthProvider.GOOGLE)
+                    .build();
+            users[i] = user;
+            tokens[i] = jwtService.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyValidate(Cursor cursor) {
+        String token = next(cursor);
+        Claims claims = legacyParse(token);
+        return claims != null && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims singleParse(Cursor cursor) {
+        return parser.parseSignedClaims(next(cursor)).getPayload();
+    }
+
+    @Benchmark
+    public VerifiedToken cachedVerify(Cursor cursor) {
+        return jwtService.verifyToken(next(cursor));
+    }
+
+    @Benchmark
+    public boolean validateToken(Cursor cursor) {
+        return jwtService.validateToken(next(cursor));
+    }
+
+    @Benchmark
+    public String generateToken(Cursor cursor) {
+        return jwtService.generateToken(users[cursor.next++ & (TOKENS - 1)]);
+    }
+
+    private String next(Cursor cursor) {
+        return tokens[cursor.next++ & (TOKENS - 1)];
+    }
+
+    private static Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,88 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.keystroke.KeystrokeLog;
+import com.minh.simple_typing_game.keystroke.KeystrokeLogCodec;
+import com.minh.simple_typing_game.keystroke.KeystrokeScorer;
+
+/**
+ * Encode/decode throughput of the binary keystroke log against the JSON form it replaces.
+ * The {@code bytes} secondary metric reports the stored size of each representation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeystrokeLogCodecBenchmark {
+
+    @Param({"300", "3000"})
+    private int keystrokes;
+
+    private KeystrokeLog log;
+    private String json;
+    private byte[] binary;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String text = "the quick brown fox jumps over the lazy dog while typing practice continues ";
+        log = new KeystrokeLog(keystrokes);
+        long timestamp = 1_718_000_000_000L;
+        for (int i = 0; i < keystrokes; i++) {
+            timestamp += 80 + random.nextInt(170);
+            boolean typo = random.nextInt(20) == 0;
+            log.add(timestamp, typo ? KeystrokeScorer.BACKSPACE : text.charAt(i % text.length()), typo);
+        }
+        json = KeystrokeLogCodec.toJson(log);
+        binary = KeystrokeLogCodec.encode(log);
+    }
+
+    @Benchmark
+    public byte[] encodeJson(Size size) {
+        byte[] encoded = KeystrokeLogCodec.toJson(log).getBytes(StandardCharsets.UTF_8);
+        size.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public KeystrokeLog decodeJson() {
+        return KeystrokeLogCodec.fromJson(json);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary(Size size) {
+        byte[] encoded = KeystrokeLogCodec.encode(log);
+        size.bytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public KeystrokeLog decodeBinary() {
+        return KeystrokeLogCodec.decode(binary);
+    }
+}
@@ -0,0 +1,74 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.leaderboard.Leaderboard;
+import com.minh.simple_typing_game.leaderboard.Leaderboard.RankedEntry;
+import com.minh.simple_typing_game.leaderboard.LeaderboardEntry;
+import com.minh.simple_typing_game.leaderboard.LeaderboardWindow;
+
+/**
+ * Offer, rank-of-user and top-N latency of one leaderboard as the number of ranked players grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int players;
+
+    private Leaderboard leaderboard;
+    private LocalDateTime now;
+    private SplittableRandom random;
+    private long nextSessionId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        now = LocalDateTime.now();
+        random = new SplittableRandom(42);
+        leaderboard = new Leaderboard(LeaderboardWindow.ALL_TIME, now);
+        for (int userId = 0; userId < players; userId++) {
+            leaderboard.offer(randomEntry(userId));
+        }
+    }
+
+    @Benchmark
+    public boolean offer() {
+        return leaderboard.offer(randomEntry(random.nextInt(players)));
+    }
+
+    @Benchmark
+    public RankedEntry rankOfUser() {
+        return leaderboard.rankOf(random.nextInt(players), now);
+    }
+
+    @Benchmark
+    public List<RankedEntry> top10() {
+        return leaderboard.page(0, 10, now);
+    }
+
+    private LeaderboardEntry randomEntry(long userId) {
+        return new LeaderboardEntry(nextSessionId++, userId, "user" + userId, 20 + random.nextInt(130),
+                80 + random.nextInt(2001) / 100.0, now.minusSeconds(random.nextInt(1_000_000)));
+    }
+}
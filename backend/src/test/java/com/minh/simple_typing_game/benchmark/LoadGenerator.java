@@ -0,0 +1,378 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.minh.simple_typing_game.SimpleTypingGameApplication;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.keystroke.KeystrokeLog;
+import com.minh.simple_typing_game.keystroke.KeystrokeLogCodec;
+
+/**
+ * Open-model load test of the whole single-player lifecycle. Typists arrive at a fixed mean
+ * rate (Poisson arrivals) regardless of how fast the server answers, so a slow server shows
+ * up as growing latency and in-flight games rather than as fewer requests. Each arrival runs
+ * on its own virtual thread:
+ * <ol>
+ *   <li>{@code POST /auth/test-login} for a JWT,</li>
+ *   <li>{@code POST /api/game-session/start},</li>
+ *   <li>types for a log-normally distributed time,</li>
+ *   <li>{@code PUT /end/{id}}, or {@code PUT /abandon/{id}} part way through,</li>
+ *   <li>{@code GET /history/{userId}}.</li>
+ * </ol>
+ * The arrival rate steps up through {@code -Drates}. Each step reports throughput, error rate
+ * and latency percentiles per endpoint, and the first step that breaks the p99 objective or
+ * the error budget is reported as the saturation point. An unreported warmup at the first
+ * rate comes before the steps. Login latency is measured from the
+ * scheduled arrival time, so a generator that falls behind cannot hide queueing.
+ *
+ * <p>By default the application is booted in this JVM with an in-memory H2 database. Pass
+ * {@code -DbaseUrl=http://localhost:8080} to test a running instance instead; it must have
+ * {@code auth.test-login.enabled=true}. Run with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *     -Drates=10,20,40,80 -DstepSeconds=30 -DtypingSeconds=30 \
+ *     com.minh.simple_typing_game.benchmark.LoadGenerator
+ * </pre>
+ * where {@code cp.txt} comes from {@code mvn dependency:build-classpath -Dmdep.includeScope=test}.
+ * {@code -DhistogramDir=target/load} also writes each HDR histogram as a {@code .hgrm} file.
+ */
+public final class LoadGenerator {
+
+    private enum Endpoint {
+        LOGIN, START, END, ABANDON, HISTORY
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final int users;
+    private final double typingSeconds;
+    private final double abandonRatio;
+    private final long seed;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong arrivals = new AtomicLong();
+
+    private LoadGenerator(String baseUrl, HttpClient http, int users, double typingSeconds,
+                          double abandonRatio, long seed) {
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.users = users;
+        this.typingSeconds = typingSeconds;
+        this.abandonRatio = abandonRatio;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Double> rates = new ArrayList<>();
+        for (String rate : System.getProperty("rates", "10,20,40,80").split(",")) {
+            rates.add(Double.parseDouble(rate.trim()));
+        }
+        long stepSeconds = Long.getLong("stepSeconds", 30);
+        long warmupSeconds = Long.getLong("warmupSeconds", 15);
+        double typingSeconds = Double.parseDouble(System.getProperty("typingSeconds", "30"));
+        double abandonRatio = Double.parseDouble(System.getProperty("abandonRatio", "0.1"));
+        int users = Integer.getInteger("users", 10_000);
+        long sloMillis = Long.getLong("sloMillis", 500);
+        double errorBudget = Double.parseDouble(System.getProperty("errorBudget", "0.01"));
+        long seed = Long.getLong("seed", 42);
+        String histogramDir = System.getProperty("histogramDir");
+        String baseUrl = System.getProperty("baseUrl");
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl == null) {
+            context = start();
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        List<Step> steps = new ArrayList<>();
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(httpExecutor)
+                    .build();
+            LoadGenerator generator = new LoadGenerator(baseUrl, http, users, typingSeconds, abandonRatio, seed);
+            // Closing the executor waits for the last lifecycles to finish
+            try (ExecutorService typists = Executors.newVirtualThreadPerTaskExecutor()) {
+                // Warms up the JIT and the connection pools at the first rate; not reported
+                generator.arrive(new Step(rates.get(0), warmupSeconds), typists);
+                for (double rate : rates) {
+                    Step step = new Step(rate, stepSeconds);
+                    steps.add(step);
+                    generator.arrive(step, typists);
+                }
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+
+        report(steps, TimeUnit.MILLISECONDS.toMicros(sloMillis), errorBudget, System.out);
+        if (histogramDir != null) {
+            writeHistograms(steps, Path.of(histogramDir));
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        // Command-line arguments, so they override application.properties
+        return new SpringApplicationBuilder(SimpleTypingGameApplication.class).run(
+                "--server.port=0",
+                "--auth.test-login.enabled=true",
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    /**
+     * Launches typists at exponentially distributed intervals for the length of the step.
+     */
+    private void arrive(Step step, ExecutorService typists) {
+        SplittableRandom random = new SplittableRandom(seed ^ Double.doubleToLongBits(step.rate));
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / step.rate;
+        long begin = System.nanoTime();
+        long end = begin + TimeUnit.SECONDS.toNanos(step.seconds);
+        long next = begin;
+        while (next < end) {
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long scheduledAt = next;
+            // Users are reused round-robin, so a user only has two games at once past that many in flight
+            String username = "load-" + arrivals.getAndIncrement() % users;
+            long typistSeed = random.nextLong();
+            step.arrivals.incrementAndGet();
+            step.peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            typists.execute(() -> {
+                try {
+                    type(step, username, scheduledAt, new SplittableRandom(typistSeed));
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+            next += (long) (-Math.log(1.0 - random.nextDouble()) * meanGapNanos);
+        }
+    }
+
+    private void type(Step step, String username, long scheduledAt, SplittableRandom random) {
+        JsonNode login = call(step, Endpoint.LOGIN, scheduledAt, HttpRequest.newBuilder(
+                URI.create(baseUrl + "/auth/test-login?username=" + username))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        if (login == null) {
+            return;
+        }
+        String authorization = "Bearer " + login.path("token").asText();
+        long userId = login.path("userId").asLong();
+
+        Difficulty difficulty = Difficulty.values()[random.nextInt(Difficulty.values().length)];
+        JsonNode game = call(step, Endpoint.START, System.nanoTime(), HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/game-session/start?userId=" + userId + "&difficulty=" + difficulty))
+                .header("Authorization", authorization)
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        if (game == null) {
+            return;
+        }
+        long sessionId = game.path("id").asLong();
+        String text = game.path("textSampleContent").asText();
+
+        // Log-normal around the median typing time: most games are close, a few take much longer
+        double seconds = typingSeconds * Math.exp(0.35 * gaussian(random));
+        boolean abandon = random.nextDouble() < abandonRatio;
+        if (abandon) {
+            seconds *= random.nextDouble();
+        }
+        sleep(seconds);
+
+        JsonNode finished;
+        if (abandon) {
+            finished = call(step, Endpoint.ABANDON, System.nanoTime(), HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/game-session/abandon/" + sessionId))
+                    .header("Authorization", authorization)
+                    .PUT(HttpRequest.BodyPublishers.noBody()));
+        } else {
+            // The server scores the game from its keystroke log, so the figures sent beside it are ignored
+            String body = JSON.createObjectNode()
+                    .put("keystrokeData", KeystrokeLogCodec.toJson(keystrokes(text, seconds, random)))
+                    .toString();
+            finished = call(step, Endpoint.END, System.nanoTime(), HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/game-session/end/" + sessionId))
+                    .header("Authorization", authorization)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body)));
+        }
+        if (finished == null) {
+            return;
+        }
+
+        JsonNode history = call(step, Endpoint.HISTORY, System.nanoTime(), HttpRequest.newBuilder(
+                URI.create(baseUrl + "/api/game-session/history/" + userId + "?limit=20"))
+                .header("Authorization", authorization)
+                .GET());
+        if (history != null) {
+            step.completed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends the request and records the latency of a successful call from {@code startedAt}.
+     *
+     * @return the parsed body, or null if the call failed, which is counted as an error
+     */
+    private JsonNode call(Step step, Endpoint endpoint, long startedAt, HttpRequest.Builder request) {
+        try {
+            HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(60)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                step.errors.get(endpoint).incrementAndGet();
+                return null;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
+            step.latency.get(endpoint).recordValue(Math.min(micros, HIGHEST_MICROS));
+            return JSON.readTree(response.body());
+        } catch (IOException e) {
+            step.errors.get(endpoint).incrementAndGet();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            step.errors.get(endpoint).incrementAndGet();
+            return null;
+        }
+    }
+
+    private static KeystrokeLog keystrokes(String text, double seconds, SplittableRandom random) {
+        // The whole text, evenly spread over the typing time, with a few keys mistyped
+        KeystrokeLog keystrokes = new KeystrokeLog(text.length());
+        long gapMillis = text.isEmpty() ? 0 : (long) (seconds * 1000 / text.length());
+        for (int i = 0; i < text.length(); i++) {
+            keystrokes.add(i * gapMillis, random.nextDouble() < 0.04 ? '~' : text.charAt(i), false);
+        }
+        return keystrokes;
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian of its own
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * random.nextDouble());
+    }
+
+    private static void sleep(double seconds) {
+        try {
+            Thread.sleep(Duration.ofNanos((long) (seconds * 1e9)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void report(List<Step> steps, long sloMicros, double errorBudget, PrintStream out) {
+        Step saturated = null;
+        for (Step step : steps) {
+            out.printf("%nOffered %.1f typists/s for %d s: %d arrivals, %d full lifecycles, peak %d in flight%n",
+                    step.rate, step.seconds, step.arrivals.get(), step.completed.get(), step.peakInFlight.get());
+            // Latency percentiles are of successful calls; failed calls only count as errors
+            out.printf("  %-8s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            long requests = 0;
+            long errors = 0;
+            boolean slow = false;
+            for (Endpoint endpoint : Endpoint.values()) {
+                Histogram latency = step.latency.get(endpoint);
+                long failed = step.errors.get(endpoint).get();
+                long count = latency.getTotalCount() + failed;
+                requests += count;
+                errors += failed;
+                slow |= latency.getTotalCount() > 0 && latency.getValueAtPercentile(99) > sloMicros;
+                out.printf("  %-8s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                        endpoint.name().toLowerCase(), count, count / (double) step.seconds,
+                        count == 0 ? 0.0 : 100.0 * failed / count,
+                        millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                        latency.getMaxValue() / 1000.0);
+            }
+            boolean overBudget = requests > 0 && errors > errorBudget * requests;
+            if (saturated == null && (slow || overBudget)) {
+                saturated = step;
+            }
+        }
+
+        out.println();
+        if (saturated == null) {
+            out.printf("No saturation up to %.1f typists/s (p99 objective %d ms, error budget %.1f%%)%n",
+                    steps.get(steps.size() - 1).rate, sloMicros / 1000, errorBudget * 100);
+        } else {
+            out.printf("Saturation at %.1f typists/s: p99 above %d ms or errors above %.1f%%%n",
+                    saturated.rate, sloMicros / 1000, errorBudget * 100);
+        }
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getTotalCount() == 0 ? 0.0 : latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void writeHistograms(List<Step> steps, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Step step : steps) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                Path file = dir.resolve(String.format(Locale.ROOT, "%s-%.1f.hgrm",
+                        endpoint.name().toLowerCase(), step.rate));
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    // Values are recorded in microseconds; the scaling ratio prints them as milliseconds
+                    step.latency.get(endpoint).outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Results of one arrival rate. Lifecycles count toward the step they arrived in, even if
+     * they finish after it.
+     */
+    private static final class Step {
+
+        final double rate;
+        final long seconds;
+        final Map<Endpoint, Histogram> latency = new EnumMap<>(Endpoint.class);
+        final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+        final AtomicLong arrivals = new AtomicLong();
+        final AtomicLong completed = new AtomicLong();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+
+        Step(double rate, long seconds) {
+            this.rate = rate;
+            this.seconds = seconds;
+            for (Endpoint endpoint : Endpoint.values()) {
+                latency.put(endpoint, new ConcurrentHistogram(HIGHEST_MICROS, 3));
+                errors.put(endpoint, new AtomicLong());
+            }
+        }
+    }
+}
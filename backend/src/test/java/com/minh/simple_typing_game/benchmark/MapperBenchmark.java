@@ -0,0 +1,110 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.entity.GameSession;
+import com.minh.simple_typing_game.entity.TextSample;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.UserStats;
+import com.minh.simple_typing_game.entity.enums.AuthProvider;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.mapper.GameSessionMapper;
+import com.minh.simple_typing_game.mapper.UserMapper;
+import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.payload.dto.UserDTO;
+
+/**
+ * Entity to DTO mapping for a completed game and for a user profile with stats.
+ * Run with {@code -prof gc} to see the bytes allocated per mapped object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final GameSessionMapper gameSessionMapper = new GameSessionMapper();
+    private final UserMapper userMapper = new UserMapper();
+
+    private GameSession gameSession;
+    private User user;
+    private UserStats stats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        user = User.builder()
+                .id(42L)
+                .email("player@example.com")
+                .username("player")
+                .firstName("Typing")
+                .lastName("Player")
+                .provider(AuthProvider.GOOGLE)
+                .providerId("1234567890")
+                .role(Role.ROLE_USER)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+
+        TextSample textSample = new TextSample();
+        textSample.setId(7L);
+        textSample.setTitle("Pangram");
+        textSample.setContent("The quick brown fox jumps over the lazy dog. ".repeat(6));
+        textSample.setDifficulty(Difficulty.MEDIUM);
+        textSample.setCategory(TextCategory.LITERATURE);
+
+        gameSession = new GameSession();
+        gameSession.setId(1_000L);
+        gameSession.setUser(user);
+        gameSession.setTextSample(textSample);
+        gameSession.setWpm(72);
+        gameSession.setAccuracy(96.5);
+        gameSession.setDuration(45);
+        gameSession.setTotalCharacters(270);
+        gameSession.setCorrectCharacters(261);
+        gameSession.setIncorrectCharacters(9);
+        gameSession.setStatus(GameStatus.COMPLETED);
+        gameSession.setDifficulty(Difficulty.MEDIUM);
+        gameSession.setStartedAt(now);
+        gameSession.setCompletedAt(now.plusSeconds(45));
+
+        stats = new UserStats();
+        stats.setUserId(42L);
+        stats.setTotalGames(120);
+        stats.setBestWpm(95);
+        stats.setTotalWords(6_400);
+    }
+
+    @Benchmark
+    public GameSessionDTO gameSessionToDTO() {
+        return gameSessionMapper.toDTO(gameSession);
+    }
+
+    @Benchmark
+    public UserDTO userToDTO() {
+        return userMapper.toDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO userWithStatsToDTO() {
+        return userMapper.toDTO(user, stats);
+    }
+}
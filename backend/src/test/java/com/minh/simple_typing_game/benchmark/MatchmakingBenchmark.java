@@ -0,0 +1,69 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.matchmaking.MatchTicket;
+import com.minh.simple_typing_game.matchmaking.SkillMatcher;
+
+/**
+ * Duration of one matchmaking tick when the given number of players, spread over every
+ * difficulty with a normal WPM distribution, are queued at once. One in ten cancels before
+ * the tick and a fifth have waited long enough for their search window to widen.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchmakingBenchmark {
+
+    @Param({"10000", "100000"})
+    private int players;
+
+    private SkillMatcher matcher;
+    private long now;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Difficulty[] difficulties = Difficulty.values();
+        matcher = new SkillMatcher(5, 250, 2000, 10);
+        now = System.nanoTime();
+        for (int userId = 0; userId < players; userId++) {
+            int wpm = (int) Math.max(5, Math.round(55 + 20 * nextGaussian(random)));
+            long waited = random.nextInt(5) == 0 ? TimeUnit.SECONDS.toNanos(10) : 0;
+            MatchTicket ticket = new MatchTicket(userId, difficulties[userId % difficulties.length], wpm, now - waited);
+            if (random.nextInt(10) == 0) {
+                ticket.cancel();
+            }
+            matcher.submit(ticket);
+        }
+    }
+
+    @Benchmark
+    public void tick(Blackhole blackhole) {
+        blackhole.consume(matcher.tick(now, (first, second) -> blackhole.consume(first)));
+    }
+
+    private static double nextGaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no Gaussian of its own on every JDK this builds with
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+}
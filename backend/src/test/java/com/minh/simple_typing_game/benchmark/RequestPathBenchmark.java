@@ -0,0 +1,179 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.minh.simple_typing_game.SimpleTypingGameApplication;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.service.JwtService;
+
+/**
+ * Closed-model load test of the start/end game request path, run once with Tomcat on its
+ * platform-thread pool and once on virtual threads. Each client is one user that starts a
+ * game and immediately ends it, in a loop, over its own connection. Latency is per game,
+ * that is both requests.
+ *
+ * <p>Not a JMH benchmark: it boots the whole application on a random port. Run with
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) \
+ *     -Dclients=200,10000 -Dseconds=15 -Djdk.tracePinnedThreads=short \
+ *     com.minh.simple_typing_game.benchmark.RequestPathBenchmark
+ * </pre>
+ * where {@code cp.txt} comes from {@code mvn dependency:build-classpath -Dmdep.includeScope=test}.
+ * {@code jdk.tracePinnedThreads} prints a stack whenever a virtual thread blocks while pinned.
+ * Client and server sockets share the process, so 10,000 clients need an open-file limit
+ * well above 20,000.
+ */
+public final class RequestPathBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    // The server scores the game by replaying its keystroke log
+    private static final String END_GAME_BODY = "{\"keystrokeData\":"
+            + "\"[{\\\"timestamp\\\":0,\\\"key\\\":\\\"a\\\"}]\"}";
+
+    private RequestPathBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> clientCounts = new ArrayList<>();
+        for (String count : System.getProperty("clients", "200,10000").split(",")) {
+            clientCounts.add(Integer.parseInt(count.trim()));
+        }
+        long seconds = Long.getLong("seconds", 15);
+        long warmupSeconds = Long.getLong("warmupSeconds", 5);
+        int maxClients = clientCounts.stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        System.out.printf("%-9s %8s %12s %10s %10s %10s %8s%n",
+                "threads", "clients", "games/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                List<User> users = createUsers(context, maxClients);
+                JwtService jwtService = context.getBean(JwtService.class);
+                List<String> tokens = users.stream().map(jwtService::generateToken).toList();
+
+                for (int clients : clientCounts) {
+                    Result result = run(port, users.subList(0, clients), tokens.subList(0, clients),
+                            warmupSeconds, seconds);
+                    Histogram latency = result.latency();
+                    System.out.printf("%-9s %8d %12.1f %10.2f %10.2f %10.2f %8d%n",
+                            virtual ? "virtual" : "platform", clients, result.games() / (double) seconds,
+                            latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                            latency.getMaxValue() / 1000.0, result.errors());
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        // Command-line arguments, so they override application.properties
+        return new SpringApplicationBuilder(SimpleTypingGameApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                // Let every client hold a connection, so only the thread model differs between runs
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=10000",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+    }
+
+    private static List<User> createUsers(ConfigurableApplicationContext context, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder()
+                    .email("load" + i + "@example.com")
+                    .username("load" + i)
+                    .role(Role.ROLE_USER)
+                    .build());
+        }
+        return context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    private static Result run(int port, List<User> users, List<String> tokens, long warmupSeconds, long seconds)
+            throws InterruptedException {
+        Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+        AtomicLong games = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+
+        // The client's own executor must outlive the client threads, which are joined by closing theirs
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .executor(httpExecutor)
+                    .build();
+            String base = "http://localhost:" + port + "/api/game-session";
+            for (int i = 0; i < users.size(); i++) {
+                Long userId = users.get(i).getId();
+                String authorization = "Bearer " + tokens.get(i);
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long started = System.nanoTime();
+                        try {
+                            HttpResponse<String> start = http.send(HttpRequest.newBuilder(
+                                    URI.create(base + "/start?userId=" + userId + "&difficulty=EASY"))
+                                    .header("Authorization", authorization)
+                                    .POST(HttpRequest.BodyPublishers.noBody())
+                                    .build(), HttpResponse.BodyHandlers.ofString());
+                            Matcher id = ID.matcher(start.body());
+                            if (start.statusCode() != 200 || !id.find()) {
+                                countError(errors, measureFrom);
+                                continue;
+                            }
+                            HttpResponse<Void> end = http.send(HttpRequest.newBuilder(
+                                    URI.create(base + "/end/" + id.group(1)))
+                                    .header("Authorization", authorization)
+                                    .header("Content-Type", "application/json")
+                                    .PUT(HttpRequest.BodyPublishers.ofString(END_GAME_BODY))
+                                    .build(), HttpResponse.BodyHandlers.discarding());
+                            if (end.statusCode() != 200) {
+                                countError(errors, measureFrom);
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            countError(errors, measureFrom);
+                            continue;
+                        }
+                        // Count by finish time: with thousands of clients a game can outlast the warmup
+                        long finished = System.nanoTime();
+                        if (finished >= measureFrom && finished <= deadline) {
+                            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(finished - started));
+                            games.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        return new Result(recorder.getIntervalHistogram(), games.get(), errors.get());
+    }
+
+    private static void countError(AtomicLong errors, long measureFrom) {
+        if (System.nanoTime() >= measureFrom) {
+            errors.incrementAndGet();
+        }
+    }
+
+    private record Result(Histogram latency, long games, long errors) {
+    }
+}
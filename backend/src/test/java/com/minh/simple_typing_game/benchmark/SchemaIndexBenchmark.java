@@ -0,0 +1,218 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the repository queries on the hot paths against the production schema, created
+ * from the V1 migration with ({@code indexed=true}) and without ({@code indexed=false}) its
+ * secondary indexes. Runs on H2 in the same PostgreSQL mode as the prod profile, in memory so
+ * that disk speed does not blur the comparison, with 10,000 users and 250,000 game sessions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaIndexBenchmark {
+
+    private static final String MIGRATION = "/db/migration/V1__baseline_schema.sql";
+    private static final int USERS = 10_000;
+    private static final int TEXT_SAMPLES = 3_000;
+    private static final int GAME_SESSIONS = 250_000;
+    private static final String[] DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 0, 0);
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement findByProvider;
+    private PreparedStatement findSamplesByDifficulty;
+    private PreparedStatement findHistoryPage;
+    private PreparedStatement findAverageWpm;
+    private PreparedStatement findStaleKeys;
+    private PreparedStatement findArchivable;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // H2 would otherwise hand back the previous result of a query repeated with the same parameters
+        connection = DriverManager.getConnection("jdbc:h2:mem:schema-index-" + indexed
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;OPTIMIZE_REUSE_RESULTS=FALSE",
+                "sa", "");
+        migrate();
+        populate();
+
+        findByProvider = connection.prepareStatement(
+                "SELECT id, username FROM users WHERE provider_id = ? AND provider = ?");
+        findSamplesByDifficulty = connection.prepareStatement(
+                "SELECT id FROM text_samples WHERE difficulty = ? AND is_active = TRUE");
+        findHistoryPage = connection.prepareStatement("SELECT g.id, g.wpm, g.accuracy, g.started_at "
+                + "FROM game_sessions g WHERE g.user_id = ? AND g.status = 'COMPLETED' AND g.started_at < ? "
+                + "ORDER BY g.started_at DESC, g.id DESC LIMIT 20");
+        findAverageWpm = connection.prepareStatement(
+                "SELECT AVG(wpm) FROM game_sessions WHERE user_id = ? AND status = 'COMPLETED'");
+        findStaleKeys = connection.prepareStatement("SELECT id, started_at FROM game_sessions "
+                + "WHERE status = 'IN_PROGRESS' AND started_at < ? ORDER BY started_at, id LIMIT 500");
+        findArchivable = connection.prepareStatement("SELECT id, user_id, wpm FROM game_sessions "
+                + "WHERE completed_at < ? AND status <> 'IN_PROGRESS' ORDER BY completed_at, id LIMIT 1000");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long oauthLogin() throws SQLException {
+        findByProvider.setString(1, "github-" + (1 + random.nextInt(USERS)));
+        findByProvider.setString(2, "GITHUB");
+        return drain(findByProvider);
+    }
+
+    @Benchmark
+    public long activeSamplesByDifficulty() throws SQLException {
+        findSamplesByDifficulty.setString(1, DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]);
+        return drain(findSamplesByDifficulty);
+    }
+
+    @Benchmark
+    public long historyPage() throws SQLException {
+        findHistoryPage.setLong(1, 1 + random.nextInt(USERS));
+        findHistoryPage.setTimestamp(2, Timestamp.valueOf(NOW));
+        return drain(findHistoryPage);
+    }
+
+    @Benchmark
+    public long matchmakingAverageWpm() throws SQLException {
+        findAverageWpm.setLong(1, 1 + random.nextInt(USERS));
+        return drain(findAverageWpm);
+    }
+
+    @Benchmark
+    public long staleSessionScan() throws SQLException {
+        findStaleKeys.setTimestamp(1, Timestamp.valueOf(NOW.minusHours(1)));
+        return drain(findStaleKeys);
+    }
+
+    @Benchmark
+    public long archiverScan() throws SQLException {
+        findArchivable.setTimestamp(1, Timestamp.valueOf(NOW.minusDays(90)));
+        return drain(findArchivable);
+    }
+
+    private static long drain(PreparedStatement query) throws SQLException {
+        long sum = 0;
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                sum += rows.getLong(1);
+            }
+        }
+        return sum;
+    }
+
+    private void migrate() throws IOException, SQLException {
+        String script;
+        try (InputStream in = SchemaIndexBenchmark.class.getResourceAsStream(MIGRATION)) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.replaceAll("(?m)^--.*$", "").split(";")) {
+                String trimmed = sql.strip();
+                if (trimmed.isEmpty() || (!indexed && trimmed.startsWith("CREATE INDEX"))) {
+                    continue;
+                }
+                statement.execute(trimmed);
+            }
+        }
+    }
+
+    private void populate() throws SQLException {
+        Random data = new Random(7);
+        connection.setAutoCommit(false);
+        try (PreparedStatement users = connection.prepareStatement("INSERT INTO users (id, username, email, "
+                + "provider_id, provider, role) VALUES (?, ?, ?, ?, 'GITHUB', 'ROLE_USER')")) {
+            for (int id = 1; id <= USERS; id++) {
+                users.setLong(1, id);
+                users.setString(2, "user" + id);
+                users.setString(3, "user" + id + "@bench.local");
+                users.setString(4, "github-" + id);
+                users.addBatch();
+            }
+            users.executeBatch();
+        }
+
+        try (PreparedStatement samples = connection.prepareStatement("INSERT INTO text_samples (id, title, content, "
+                + "difficulty, category, is_active) VALUES (?, ?, 'The quick brown fox.', ?, 'NEWS', ?)")) {
+            for (int id = 1; id <= TEXT_SAMPLES; id++) {
+                samples.setLong(1, id);
+                samples.setString(2, "Sample " + id);
+                samples.setString(3, DIFFICULTIES[id % DIFFICULTIES.length]);
+                // Most imported passages are retired over time; a tenth stays in rotation
+                samples.setBoolean(4, id % 10 == 0);
+                samples.addBatch();
+            }
+            samples.executeBatch();
+        }
+
+        try (PreparedStatement sessions = connection.prepareStatement("INSERT INTO game_sessions (id, user_id, "
+                + "text_sample_id, wpm, accuracy, duration, status, difficulty, started_at, completed_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= GAME_SESSIONS; id++) {
+                LocalDateTime startedAt = NOW.minusSeconds(data.nextInt(365 * 24 * 3600));
+                // A few games are left running; one in ten is abandoned
+                String status = id % 1000 == 0 ? "IN_PROGRESS" : id % 10 == 0 ? "ABANDONED" : "COMPLETED";
+                sessions.setLong(1, id);
+                sessions.setLong(2, 1 + data.nextInt(USERS));
+                sessions.setLong(3, 1 + data.nextInt(TEXT_SAMPLES));
+                sessions.setInt(4, 20 + data.nextInt(100));
+                sessions.setDouble(5, 80 + data.nextDouble() * 20);
+                sessions.setInt(6, 20 + data.nextInt(100));
+                sessions.setString(7, status);
+                sessions.setString(8, DIFFICULTIES[data.nextInt(DIFFICULTIES.length)]);
+                sessions.setTimestamp(9, Timestamp.valueOf(startedAt));
+                sessions.setTimestamp(10, status.equals("IN_PROGRESS") ? null : Timestamp.valueOf(startedAt.plusMinutes(1)));
+                sessions.addBatch();
+                if (id % 10_000 == 0) {
+                    sessions.executeBatch();
+                }
+            }
+            sessions.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+}
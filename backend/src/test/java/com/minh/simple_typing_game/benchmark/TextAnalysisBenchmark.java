@@ -0,0 +1,62 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.analysis.DifficultyClassifier;
+import com.minh.simple_typing_game.analysis.TextFeatureExtractor;
+import com.minh.simple_typing_game.analysis.TextFeatures;
+
+/**
+ * The per-passage work of the corpus analyzer: one feature extraction pass and the score,
+ * on prose and on code of typical passage lengths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextAnalysisBenchmark {
+
+    @Param({"200", "1000"})
+    private int characters;
+
+    private String prose;
+    private String code;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String sentence = "In the midst of winter, I found there was, within me, an invincible summer. ";
+        String statement = "for (int i = 0; i < n; i++) { sum += values[i] * 2; } ";
+        prose = sentence.repeat(characters / sentence.length() + 1).substring(0, characters);
+        code = statement.repeat(characters / statement.length() + 1).substring(0, characters);
+    }
+
+    @Benchmark
+    public double scoreProse() {
+        return DifficultyClassifier.score(TextFeatureExtractor.extract(prose));
+    }
+
+    @Benchmark
+    public double scoreCode() {
+        return DifficultyClassifier.score(TextFeatureExtractor.extract(code));
+    }
+
+    @Benchmark
+    public TextFeatures extractProse() {
+        return TextFeatureExtractor.extract(prose);
+    }
+}
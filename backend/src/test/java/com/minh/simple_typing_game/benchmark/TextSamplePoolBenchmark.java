@@ -0,0 +1,188 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.cache.TextContentCache;
+import com.minh.simple_typing_game.cache.TextSamplePool;
+import com.minh.simple_typing_game.cache.TextSamplePool.PooledSample;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+/**
+ * Random text sample selection from the in-memory pool. Latency should stay flat
+ * from 10 to 1,000,000 active samples. {@code pickWithContent} adds the content cache
+ * lookup that game start does for the picked sample.
+ *
+ * <p>The {@code database*} benchmarks measure the fallback used when the pool is empty, against
+ * 100,000 samples in in-memory H2 of which every {@code activeEvery}-th is active:
+ * {@code databaseIdProbe} is the pick of {@code TextSampleServiceImpl}: the lowest and highest
+ * active IDs, then random primary-key lookups between them, with a seek to the first active ID
+ * after a random one once they keep missing. {@code databaseSeekAfterRandomId} is that seek alone,
+ * which favours the samples that follow inactive ones. The probes cost the sparse tables: they
+ * miss more often, but the fallback is one primary-key seek however many samples are active.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextSamplePoolBenchmark {
+
+    private static final String CONTENT = "The quick brown fox jumps over the lazy dog. ".repeat(8);
+
+    @Benchmark
+    public PooledSample pickAny(Pool pool) {
+        return pool.pool.pickAny().orElseThrow();
+    }
+
+    @Benchmark
+    public PooledSample pickByDifficulty(Pool pool) {
+        return pool.pool.pick(Difficulty.MEDIUM).orElseThrow();
+    }
+
+    @Benchmark
+    public char[] pickWithContent(Pool pool) {
+        PooledSample sample = pool.pool.pick(Difficulty.MEDIUM).orElseThrow();
+        return pool.contentCache.get(sample.id(), () -> CONTENT);
+    }
+
+    @Benchmark
+    public PooledSample pickByDifficultyAndCategory(Pool pool) {
+        return pool.pool.pick(Difficulty.HARD, TextCategory.PROGRAMMING).orElse(null);
+    }
+
+    @Benchmark
+    public long databaseIdProbe(Database database) throws SQLException {
+        long minId = firstId(database.findLowestActiveId);
+        long maxId = firstId(database.findHighestActiveId);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int probe = 0; probe < Database.ID_PROBES; probe++) {
+            database.findActiveById.setLong(1, random.nextLong(minId, maxId + 1));
+            long id = firstId(database.findActiveById);
+            if (id > 0) {
+                return id;
+            }
+        }
+        database.findFirstActiveFrom.setLong(1, random.nextLong(minId, maxId + 1));
+        return firstId(database.findFirstActiveFrom);
+    }
+
+    @Benchmark
+    public long databaseSeekAfterRandomId(Database database) throws SQLException {
+        database.findFirstActiveFrom.setLong(1, ThreadLocalRandom.current().nextLong(1, Database.SAMPLES + 1));
+        return firstId(database.findFirstActiveFrom);
+    }
+
+    private static long firstId(PreparedStatement query) throws SQLException {
+        try (ResultSet rows = query.executeQuery()) {
+            return rows.next() ? rows.getLong(1) : -1;
+        }
+    }
+
+    /**
+     * The in-memory pool filled with a given number of active samples.
+     */
+    @State(Scope.Benchmark)
+    public static class Pool {
+
+        @Param({"10", "1000", "100000", "1000000"})
+        private int samples;
+
+        private TextSamplePool pool;
+        private TextContentCache contentCache;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            pool = new TextSamplePool(null);
+            Difficulty[] difficulties = Difficulty.values();
+            TextCategory[] categories = TextCategory.values();
+            for (int i = 1; i <= samples; i++) {
+                pool.onSaved(i, true, difficulties[i % difficulties.length], categories[i % categories.length],
+                        100 + i % 400);
+            }
+            contentCache = new TextContentCache(10_000);
+        }
+    }
+
+    /**
+     * An in-memory text_samples table with a given share of active samples.
+     */
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        static final int SAMPLES = 100_000;
+        static final int ID_PROBES = 32;
+
+        // 1: all samples active; 10 and 100: most imported passages have been retired
+        @Param({"1", "10", "100"})
+        private int activeEvery;
+
+        private Connection connection;
+        private PreparedStatement findLowestActiveId;
+        private PreparedStatement findHighestActiveId;
+        private PreparedStatement findActiveById;
+        private PreparedStatement findFirstActiveFrom;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            // H2 would otherwise hand back the previous result of a query repeated with the same parameters
+            connection = DriverManager.getConnection("jdbc:h2:mem:text-sample-pool-" + activeEvery
+                    + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;OPTIMIZE_REUSE_RESULTS=FALSE", "sa", "");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE text_samples (id BIGINT PRIMARY KEY, content TEXT NOT NULL, "
+                        + "is_active BOOLEAN NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO text_samples (id, content, is_active) VALUES (?, ?, ?)")) {
+                for (int id = 1; id <= SAMPLES; id++) {
+                    insert.setLong(1, id);
+                    insert.setString(2, CONTENT);
+                    insert.setBoolean(3, id % activeEvery == 0);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            findLowestActiveId = connection.prepareStatement(
+                    "SELECT id FROM text_samples WHERE is_active = TRUE ORDER BY id LIMIT 1");
+            findHighestActiveId = connection.prepareStatement(
+                    "SELECT id FROM text_samples WHERE is_active = TRUE ORDER BY id DESC LIMIT 1");
+            findActiveById = connection.prepareStatement(
+                    "SELECT id, content FROM text_samples WHERE id = ? AND is_active = TRUE");
+            findFirstActiveFrom = connection.prepareStatement(
+                    "SELECT id, content FROM text_samples WHERE id >= ? AND is_active = TRUE ORDER BY id LIMIT 1");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+            connection.close();
+        }
+    }
+}
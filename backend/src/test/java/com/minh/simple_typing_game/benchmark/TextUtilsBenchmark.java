@@ -0,0 +1,60 @@
+package com.minh.simple_typing_game.benchmark;
+
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.minh.simple_typing_game.util.TextUtils;
+
+/**
+ * The per-sample work of {@code DataLoader.createTextSample} and the corpus importer:
+ * word counting, against the {@code split("\\s+")} it replaced, and content hashing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TextUtilsBenchmark {
+
+    @Param({"200", "5000"})
+    private int characters;
+
+    private String content;
+    private MessageDigest digest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String sentence = "The quick brown fox jumps over the lazy dog,\tthen types it again.\n";
+        content = sentence.repeat(characters / sentence.length() + 1).substring(0, characters);
+        digest = TextUtils.newSha256();
+    }
+
+    @Benchmark
+    public int countWords() {
+        return TextUtils.countWords(content);
+    }
+
+    @Benchmark
+    public int countWordsBySplit() {
+        return content.trim().split("\\s+").length;
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return TextUtils.sha256Hex(digest, content);
+    }
+}
@@ -0,0 +1,121 @@
+package com.minh.simple_typing_game.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    private static final int MAX_ENTRIES = 8;
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 20_000;
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final ExpiringCache<Integer, String> cache = new ExpiringCache<>(MAX_ENTRIES, now::get);
+
+    @Test
+    void expiresEntriesAtTheirOwnTime() {
+        cache.put(1, "one", 1_100);
+        cache.put(2, "two", 1_200);
+        // Already expired, so never stored
+        cache.put(3, "three", 1_000);
+
+        assertThat(cache.get(1)).isEqualTo("one");
+        assertThat(cache.get(3)).isNull();
+
+        now.set(1_100);
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isEqualTo("two");
+        assertThat(cache.size()).isEqualTo(1);
+
+        now.set(1_200);
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void sweepsExpiredEntriesBeforeDroppingLiveOnesWhenFull() {
+        for (int key = 0; key < MAX_ENTRIES; key++) {
+            cache.put(key, "value-" + key, key % 2 == 0 ? 1_100 : 5_000);
+        }
+        now.set(1_100);
+
+        cache.put(MAX_ENTRIES, "newest", 5_000);
+
+        // Half the entries had expired, which freed enough room on its own
+        assertThat(cache.size()).isEqualTo(MAX_ENTRIES / 2 + 1);
+        for (int key = 1; key < MAX_ENTRIES; key += 2) {
+            assertThat(cache.get(key)).isEqualTo("value-" + key);
+        }
+        assertThat(cache.get(MAX_ENTRIES)).isEqualTo("newest");
+    }
+
+    @Test
+    void dropsLiveEntriesDownToThreeQuartersWhenNothingHasExpired() {
+        for (int key = 0; key < MAX_ENTRIES; key++) {
+            cache.put(key, "value-" + key, 5_000);
+        }
+        assertThat(cache.size()).isEqualTo(MAX_ENTRIES);
+
+        cache.put(MAX_ENTRIES, "newest", 5_000);
+
+        assertThat(cache.size()).isEqualTo(MAX_ENTRIES - MAX_ENTRIES / 4 + 1);
+        assertThat(cache.get(MAX_ENTRIES)).isEqualTo("newest");
+        // Overwriting a key that is still cached never evicts
+        cache.put(MAX_ENTRIES, "overwritten", 5_000);
+        assertThat(cache.size()).isEqualTo(MAX_ENTRIES - MAX_ENTRIES / 4 + 1);
+    }
+
+    @Test
+    void concurrentReadersOnlySeeTheValueStoredForTheirKey() throws Exception {
+        ExpiringCache<Integer, String> shared = new ExpiringCache<>(MAX_ENTRIES * 4);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+
+        List<Future<Integer>> workers = new ArrayList<>(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < THREADS; t++) {
+                long seed = 20250101L + t;
+                workers.add(executor.submit(() -> {
+                    go.await();
+                    Random random = new Random(seed);
+                    int hits = 0;
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        // Many more keys than entries, so writers keep evicting under the readers
+                        int key = random.nextInt(MAX_ENTRIES * 16);
+                        if (random.nextBoolean()) {
+                            shared.put(key, "value-" + key, expiresAt);
+                        } else {
+                            String value = shared.get(key);
+                            assertThat(value).isIn(null, "value-" + key);
+                            if (value != null) {
+                                hits++;
+                            }
+                        }
+                    }
+                    return hits;
+                }));
+            }
+            go.countDown();
+        }
+
+        int hits = 0;
+        for (Future<Integer> worker : workers) {
+            hits += worker.get();
+        }
+        assertThat(hits).isPositive();
+        // Writers racing the sweeper may overshoot; the next put brings the cache back under its bound
+        shared.put(-1, "last", expiresAt);
+        assertThat(shared.size()).isLessThanOrEqualTo(MAX_ENTRIES * 4);
+        assertThat(shared.get(-1)).isEqualTo("last");
+    }
+}
@@ -0,0 +1,122 @@
+package com.minh.simple_typing_game.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.cache.TextSamplePool.Bucket;
+import com.minh.simple_typing_game.cache.TextSamplePool.PooledSample;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+
+class TextSamplePoolTest {
+
+    // Enough random picks to see every sample of a small bucket
+    private static final int PICKS = 2_000;
+
+    private final TextSamplePool pool = new TextSamplePool(null);
+
+    @Test
+    void swapRemovalKeepsTheMovedSampleRemovable() {
+        Bucket bucket = new Bucket();
+        for (long id = 1; id <= 5; id++) {
+            bucket.upsert(id, (int) id * 100);
+        }
+
+        // Sample 5 moves from the end into the hole left by sample 2
+        bucket.remove(2);
+        assertThat(picked(bucket::pick)).containsExactlyInAnyOrder(
+                new PooledSample(1, 100), new PooledSample(3, 300), new PooledSample(4, 400),
+                new PooledSample(5, 500));
+
+        bucket.remove(5);
+        bucket.upsert(4, 450);
+        bucket.remove(9);
+        assertThat(bucket.size()).isEqualTo(3);
+        assertThat(picked(bucket::pick)).containsExactlyInAnyOrder(
+                new PooledSample(1, 100), new PooledSample(3, 300), new PooledSample(4, 450));
+
+        bucket.remove(1);
+        bucket.remove(3);
+        bucket.remove(4);
+        assertThat(bucket.size()).isZero();
+        assertThat(bucket.pick()).isNull();
+    }
+
+    @Test
+    void indexesActiveSamplesByDifficultyAndCategory() {
+        pool.onSaved(1, true, Difficulty.EASY, TextCategory.LITERATURE, 120);
+        pool.onSaved(2, true, Difficulty.EASY, TextCategory.PROGRAMMING, 80);
+        pool.onSaved(3, true, Difficulty.HARD, null, 300);
+        pool.onSaved(4, true, null, null, 50);
+
+        assertThat(pool.size()).isEqualTo(4);
+        assertThat(pool.size(Difficulty.EASY)).isEqualTo(2);
+        assertThat(picked(() -> pool.pickAny().orElse(null))).extracting(PooledSample::id)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(picked(() -> pool.pick(Difficulty.EASY).orElse(null))).extracting(PooledSample::id)
+                .containsExactlyInAnyOrder(1L, 2L);
+        assertThat(pool.pick(Difficulty.EASY, TextCategory.LITERATURE)).contains(new PooledSample(1, 120));
+        // Without a category a sample is only picked by difficulty
+        assertThat(pool.pick(Difficulty.HARD)).contains(new PooledSample(3, 300));
+        assertThat(pool.pick(Difficulty.HARD, TextCategory.LITERATURE)).isEmpty();
+    }
+
+    @Test
+    void movesASampleWhenItsDifficultyOrCategoryChanges() {
+        pool.onSaved(1, true, Difficulty.EASY, TextCategory.LITERATURE, 120);
+        pool.onSaved(2, true, Difficulty.EASY, TextCategory.LITERATURE, 90);
+
+        pool.onSaved(1, true, Difficulty.HARD, TextCategory.PROGRAMMING, 130);
+
+        assertThat(pool.size()).isEqualTo(2);
+        assertThat(pool.size(Difficulty.EASY)).isEqualTo(1);
+        assertThat(pool.pick(Difficulty.EASY, TextCategory.LITERATURE)).contains(new PooledSample(2, 90));
+        assertThat(pool.pick(Difficulty.HARD, TextCategory.PROGRAMMING)).contains(new PooledSample(1, 130));
+
+        pool.onSaved(1, true, Difficulty.HARD, TextCategory.SCIENCE, 130);
+
+        assertThat(pool.pick(Difficulty.HARD, TextCategory.PROGRAMMING)).isEmpty();
+        assertThat(pool.pick(Difficulty.HARD, TextCategory.SCIENCE)).contains(new PooledSample(1, 130));
+        assertThat(pool.size(Difficulty.HARD)).isEqualTo(1);
+    }
+
+    @Test
+    void dropsDeactivatedAndDeletedSamples() {
+        pool.onSaved(1, true, Difficulty.MEDIUM, TextCategory.LITERATURE, 100);
+        pool.onSaved(2, true, Difficulty.MEDIUM, TextCategory.LITERATURE, 200);
+        pool.onSaved(3, true, Difficulty.MEDIUM, TextCategory.LITERATURE, 300);
+
+        pool.onSaved(1, false, Difficulty.MEDIUM, TextCategory.LITERATURE, 100);
+        pool.onRemoved(3);
+        // Neither was ever pooled
+        pool.onSaved(4, false, Difficulty.MEDIUM, TextCategory.LITERATURE, 400);
+        pool.onRemoved(5);
+
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(pool.size(Difficulty.MEDIUM)).isEqualTo(1);
+        assertThat(picked(() -> pool.pick(Difficulty.MEDIUM, TextCategory.LITERATURE).orElse(null)))
+                .containsExactly(new PooledSample(2, 200));
+
+        pool.onRemoved(2);
+
+        assertThat(pool.pickAny()).isEmpty();
+        assertThat(pool.pick(Difficulty.MEDIUM)).isEmpty();
+
+        // A reactivated sample is picked again
+        pool.onSaved(1, true, Difficulty.MEDIUM, TextCategory.LITERATURE, 100);
+        assertThat(pool.pick(Difficulty.MEDIUM, TextCategory.LITERATURE)).contains(new PooledSample(1, 100));
+    }
+
+    private static Set<PooledSample> picked(Supplier<PooledSample> pick) {
+        Set<PooledSample> samples = new HashSet<>();
+        for (int i = 0; i < PICKS; i++) {
+            samples.add(pick.get());
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,71 @@
+package com.minh.simple_typing_game.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.minh.simple_typing_game.payload.dto.UserDTO;
+
+class UserProfileCacheTest {
+
+    private final UserProfileCache cache = new UserProfileCache(100, 60);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Long, UserDTO> loader = id -> {
+        loads.incrementAndGet();
+        return UserDTO.builder().id(id).username("player-" + id).totalGames(3).build();
+    };
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void callersCannotChangeTheCachedProfile() {
+        UserDTO loaded = cache.get(1L, loader);
+        loaded.setUsername("changed by the loader's caller");
+        UserDTO hit = cache.get(1L, loader);
+        hit.setTotalGames(99);
+
+        UserDTO again = cache.get(1L, loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(again).isNotSameAs(hit);
+        assertThat(again.getUsername()).isEqualTo("player-1");
+        assertThat(again.getTotalGames()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidatesOnlyOnceTheTransactionCommits() {
+        cache.get(2L, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit(2L);
+        cache.get(2L, loader);
+        assertThat(loads).hasValue(1);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        cache.get(2L, loader);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidatesAtOnceOutsideATransaction() {
+        cache.get(3L, loader);
+
+        cache.invalidateAfterCommit(3L);
+        cache.get(3L, loader);
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.minh.simple_typing_game.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AdminControllerTest {
+
+    @TempDir
+    Path root;
+
+    private Path importDir;
+    private Path outside;
+
+    @BeforeEach
+    void createFiles() throws IOException {
+        importDir = Files.createDirectories(root.resolve("corpus"));
+        Files.writeString(Files.createDirectories(importDir.resolve("books")).resolve("novel.txt"), "Call me Ishmael.");
+        outside = Files.writeString(root.resolve("secret.txt"), "Not a corpus.");
+    }
+
+    @Test
+    void resolvesPathsInsideTheImportDirectory() throws IOException {
+        Path base = importDir.toRealPath();
+
+        assertThat(AdminController.resolveImportPath(importDir, "books/novel.txt"))
+                .isEqualTo(base.resolve("books/novel.txt"));
+        assertThat(AdminController.resolveImportPath(importDir, "books/../books/./novel.txt"))
+                .isEqualTo(base.resolve("books/novel.txt"));
+        assertThat(AdminController.resolveImportPath(importDir, ".")).isEqualTo(base);
+    }
+
+    @Test
+    void rejectsPathsThatEscapeTheImportDirectory() throws IOException {
+        Files.createSymbolicLink(importDir.resolve("link.txt"), outside);
+
+        for (String path : new String[] {"../secret.txt", "books/../../secret.txt", outside.toString(), "link.txt"}) {
+            assertThatThrownBy(() -> AdminController.resolveImportPath(importDir, path))
+                    .as(path)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("outside");
+        }
+    }
+
+    @Test
+    void rejectsMissingPaths() {
+        assertThatThrownBy(() -> AdminController.resolveImportPath(importDir, " "))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AdminController.resolveImportPath(importDir, "books/missing.txt"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not exist");
+        assertThatThrownBy(() -> AdminController.resolveImportPath(root.resolve("missing"), "books"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("directory does not exist");
+    }
+}
@@ -0,0 +1,95 @@
+package com.minh.simple_typing_game.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.service.GameSessionService;
+import com.minh.simple_typing_game.service.JwtService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameSessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Test
+    void startsTheGameOfTheUserInTheToken() throws Exception {
+        User player = user("controller-start");
+        User other = user("controller-start-other");
+
+        mockMvc.perform(post("/api/game-session/start").param("userId", other.getId().toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(player)))
+                .andExpect(status().isForbidden());
+        assertThat(gameSessionService.getActiveGameSession(other.getId())).isNull();
+
+        mockMvc.perform(post("/api/game-session/start").header(HttpHeaders.AUTHORIZATION, bearer(player)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(player.getId()));
+        gameSessionService.abandonGameSession(gameSessionService.getActiveGameSession(player.getId()).getId());
+    }
+
+    @Test
+    void onlyThePlayerCanReadOrEndTheirGame() throws Exception {
+        User player = user("controller-owner");
+        String intruder = bearer(user("controller-intruder"));
+        long sessionId = gameSessionService.startGameSession(player.getId(), Difficulty.EASY).getId();
+
+        mockMvc.perform(put("/api/game-session/end/{id}", sessionId).header(HttpHeaders.AUTHORIZATION, intruder)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/api/game-session/abandon/{id}", sessionId).header(HttpHeaders.AUTHORIZATION, intruder))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/game-session/active/{userId}", player.getId())
+                        .header(HttpHeaders.AUTHORIZATION, intruder))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/game-session/history/{userId}", player.getId())
+                        .header(HttpHeaders.AUTHORIZATION, intruder))
+                .andExpect(status().isForbidden());
+        assertThat(gameSessionService.getActiveGameSession(player.getId()).getId()).isEqualTo(sessionId);
+
+        mockMvc.perform(put("/api/game-session/abandon/{id}", sessionId)
+                        .header(HttpHeaders.AUTHORIZATION, bearer(player)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/game-session/history/{userId}", player.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer(player)))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.generateToken(user);
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+}
@@ -0,0 +1,170 @@
+package com.minh.simple_typing_game.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.journal.GameResultJournal.Recovered;
+import com.minh.simple_typing_game.journal.GameResultJournal.Segment;
+import com.minh.simple_typing_game.util.TextUtils;
+
+class GameResultJournalTest {
+
+    private static final LocalDateTime COMPLETED_AT = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_789);
+    private static final int SEGMENT_BYTES = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversEveryFieldOfUnreleasedResults() throws IOException {
+        List<GameResult> results = List.of(
+                result(1, GameMode.TEXT),
+                result(2, GameMode.TIMED_30),
+                result(3, GameMode.GENERATED),
+                new GameResult(4, 9, null, null, GameMode.TEXT, null, null, null, null, GameStatus.ABANDONED,
+                        null, null, null, null, null, null, COMPLETED_AT, COMPLETED_AT, null, 0));
+        appendAndClose(results);
+
+        assertThat(recoverAll()).usingRecursiveFieldByFieldElementComparator().isEqualTo(results);
+    }
+
+    @Test
+    void replayingTwiceRecoversTheSameResultsUntilTheyAreReleased() throws IOException {
+        List<GameResult> results = List.of(result(1, GameMode.TEXT), result(2, GameMode.TIMED_15));
+        appendAndClose(results);
+
+        // A crash during replay leaves the journal as it was
+        assertThat(recoverAll()).usingRecursiveFieldByFieldElementComparator().isEqualTo(results);
+        GameResultJournal journal = new GameResultJournal(dir, SEGMENT_BYTES);
+        List<Recovered> recovered = journal.recover();
+        assertThat(recovered).flatMap(Recovered::results)
+                .usingRecursiveFieldByFieldElementComparator().isEqualTo(results);
+
+        for (Recovered segment : recovered) {
+            journal.release(segment.segment(), segment.results().size());
+        }
+        assertThat(files()).isEmpty();
+        assertThat(recoverAll()).isEmpty();
+    }
+
+    @Test
+    void ignoresATornRecordAtTheTail() throws IOException {
+        appendAndClose(List.of(result(1, GameMode.TEXT), result(2, GameMode.TEXT)));
+        Path path = files().get(0);
+        int tail = frameOffsets(path).get(2);
+        // An append cut short after its payload and checksum, before its length was written
+        write(path, tail + 8, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        assertThat(recoverAll()).extracting(GameResult::sessionId).containsExactly(1L, 2L);
+
+        // And one cut short after its length, before the payload was complete
+        write(path, tail, ByteBuffer.allocate(4).putInt(120).array());
+        assertThat(recoverAll()).extracting(GameResult::sessionId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void stopsAtARecordWhoseChecksumDoesNotMatch() throws IOException {
+        appendAndClose(List.of(result(1, GameMode.TEXT), result(2, GameMode.TEXT), result(3, GameMode.TEXT)));
+        Path path = files().get(0);
+        int second = frameOffsets(path).get(1);
+        // Flip a byte of the second record's wpm
+        write(path, second + 8 + 26, new byte[] {(byte) 0x7F});
+
+        assertThat(recoverAll()).extracting(GameResult::sessionId).containsExactly(1L);
+    }
+
+    @Test
+    void deletesASegmentOnceItIsFullAndEveryRecordIsReleased() throws IOException {
+        // Room for two records per segment
+        GameResultJournal journal = new GameResultJournal(dir, 300);
+        journal.recover();
+        List<Segment> segments = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            segments.add(journal.append(result(i, GameMode.TEXT)));
+        }
+        assertThat(segments).extracting(Segment::getId).containsExactly(0L, 0L, 1L, 1L, 2L);
+        assertThat(files()).hasSize(3);
+
+        journal.release(segments.get(0), 2);
+        journal.release(segments.get(2), 1);
+        assertThat(files()).hasSize(2);
+
+        // The current segment is kept while it still has room, then until its record is released
+        journal.release(segments.get(4), 1);
+        assertThat(files()).hasSize(2);
+        journal.close();
+        assertThat(files()).hasSize(1);
+        journal.release(segments.get(3), 1);
+        assertThat(files()).isEmpty();
+    }
+
+    private void appendAndClose(List<GameResult> results) throws IOException {
+        GameResultJournal journal = new GameResultJournal(dir, SEGMENT_BYTES);
+        journal.recover();
+        for (GameResult result : results) {
+            journal.append(result);
+        }
+        journal.close();
+    }
+
+    private List<GameResult> recoverAll() throws IOException {
+        List<GameResult> results = new ArrayList<>();
+        for (Recovered recovered : new GameResultJournal(dir, SEGMENT_BYTES).recover()) {
+            results.addAll(recovered.results());
+        }
+        return results;
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * Offsets of each frame in a segment, and of the end of the last one.
+     */
+    private static List<Integer> frameOffsets(Path path) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        List<Integer> offsets = new ArrayList<>();
+        int offset = 0;
+        offsets.add(offset);
+        while (bytes.getInt(offset) != 0) {
+            offset += 8 + bytes.getInt(offset);
+            offsets.add(offset);
+        }
+        return offsets;
+    }
+
+    private static void write(Path path, int offset, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), offset);
+        }
+    }
+
+    private static GameResult result(long sessionId, GameMode mode) {
+        boolean generated = mode == GameMode.GENERATED;
+        return new GameResult(sessionId, 7, mode == GameMode.TEXT ? 11L : null, Difficulty.HARD, mode,
+                mode != GameMode.TEXT ? -42L * sessionId : null, generated ? TextCategory.SCIENCE : null,
+                generated ? 1_000L : null, generated ? TextUtils.sha256Hex("passage " + sessionId) : null,
+                GameStatus.COMPLETED, 80, 97.5, 30, 200, 195, 5,
+                COMPLETED_AT.minusSeconds(30), COMPLETED_AT, sessionId % 2 == 0 ? new byte[] {1, 2, 3} : null,
+                sessionId % 2 == 0 ? 3 : 0);
+    }
+}
@@ -0,0 +1,147 @@
+package com.minh.simple_typing_game.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.journal.GameResultJournal.Recovered;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class GameResultPipelineTest {
+
+    @Autowired
+    private GameResultWriter writer;
+
+    @Autowired
+    private GameSessionIdAllocator idAllocator;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @TempDir
+    Path dir;
+
+    @TempDir
+    Path backup;
+
+    @Test
+    void replayingTheJournalTwiceStoresEachResultOnce() throws Exception {
+        long userId = user("pipeline-replay").getId();
+        List<GameResult> results = List.of(
+                result(idAllocator.next(), userId),
+                result(idAllocator.next(), userId),
+                result(idAllocator.next(), userId));
+        GameResultJournal journal = new GameResultJournal(dir, 64 * 1024);
+        journal.recover();
+        for (GameResult result : results) {
+            journal.append(result);
+        }
+        journal.close();
+        copyJournal(dir, backup);
+        // The first result reached the database before the crash, the others did not
+        writer.write(List.of(results.get(0)));
+        long rowsBefore = gameSessionRepository.count();
+
+        run(pipeline(5));
+        assertThat(gameSessionRepository.count()).isEqualTo(rowsBefore + 2);
+        assertThat(journalFiles(dir)).isEmpty();
+
+        copyJournal(backup, dir);
+        run(pipeline(5));
+        assertThat(gameSessionRepository.count()).isEqualTo(rowsBefore + 2);
+        assertThat(journalFiles(dir)).isEmpty();
+        for (GameResult result : results) {
+            assertThat(gameSessionRepository.existsById(result.sessionId())).isTrue();
+        }
+    }
+
+    @Test
+    void movesAResultThatCannotBeStoredToTheDeadLetterJournal() throws Exception {
+        long userId = user("pipeline-dead-letter").getId();
+        GameResult first = result(idAllocator.next(), userId);
+        // No such user, so its row violates the foreign key on every attempt
+        GameResult orphan = result(idAllocator.next(), -1);
+        GameResult last = result(idAllocator.next(), userId);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GameResultPipeline pipeline = pipeline(2, meterRegistry);
+
+        pipeline.start();
+        pipeline.store(List.of(first, orphan, last));
+        pipeline.stop();
+
+        assertThat(gameSessionRepository.existsById(first.sessionId())).isTrue();
+        assertThat(gameSessionRepository.existsById(last.sessionId())).isTrue();
+        assertThat(gameSessionRepository.existsById(orphan.sessionId())).isFalse();
+        assertThat(meterRegistry.counter("game.results.dead.lettered").count()).isEqualTo(1.0);
+        assertThat(journalFiles(dir)).isEmpty();
+        assertThat(new GameResultJournal(dir.resolve("dead-letter"), 64 * 1024).recover())
+                .flatMap(Recovered::results)
+                .extracting(GameResult::sessionId)
+                .containsExactly(orphan.sessionId());
+    }
+
+    private GameResultPipeline pipeline(int maxAttempts) {
+        return pipeline(maxAttempts, new SimpleMeterRegistry());
+    }
+
+    private GameResultPipeline pipeline(int maxAttempts, SimpleMeterRegistry meterRegistry) {
+        return new GameResultPipeline(writer, idAllocator, meterRegistry, true, dir.toString(), 64 * 1024, 100,
+                maxAttempts, 30_000);
+    }
+
+    private static void run(GameResultPipeline pipeline) throws Exception {
+        pipeline.start();
+        pipeline.stop();
+    }
+
+    private static void copyJournal(Path from, Path to) throws IOException {
+        for (Path file : journalFiles(from)) {
+            Files.copy(file, to.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static List<Path> journalFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+
+    private static GameResult result(long sessionId, long userId) {
+        LocalDateTime completedAt = LocalDateTime.now();
+        return new GameResult(sessionId, userId, null, Difficulty.MEDIUM, GameMode.TIMED_60, 99L, null, null,
+                null, GameStatus.COMPLETED, 70, 96.0, 60, 350, 340, 10, completedAt.minusSeconds(60), completedAt,
+                null, 0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.minh.simple_typing_game.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.minh.simple_typing_game.entity.GameSession;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.service.GameSessionService;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+@SpringBootTest
+class GameResultWriterTest {
+
+    @Autowired
+    private GameResultWriter writer;
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameSessionIdAllocator idAllocator;
+
+    @Test
+    void liveWriteFailsOnAStoredSessionAndStoresNothing() {
+        long userId = user("writer-live").getId();
+        long stored = idAllocator.next();
+        long fresh = idAllocator.next();
+        writer.write(List.of(result(stored, userId, GameMode.TEXT, 50)));
+
+        assertThatThrownBy(() -> writer.write(List.of(
+                result(fresh, userId, GameMode.TIMED_30, 70),
+                result(stored, userId, GameMode.TIMED_30, 70))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(gameSessionRepository.existsById(fresh)).isFalse();
+        GameSession row = gameSessionRepository.findById(stored).orElseThrow();
+        assertThat(row.getMode()).isEqualTo(GameMode.TEXT);
+        assertThat(row.getWpm()).isEqualTo(50);
+    }
+
+    @Test
+    void replaySkipsStoredSessions() {
+        long userId = user("writer-replay").getId();
+        long stored = idAllocator.next();
+        long fresh = idAllocator.next();
+        writer.write(List.of(result(stored, userId, GameMode.TEXT, 50)));
+
+        int written = writer.replay(List.of(
+                result(stored, userId, GameMode.TIMED_30, 70),
+                result(fresh, userId, GameMode.TIMED_30, 70),
+                result(fresh, userId, GameMode.TIMED_30, 70)));
+
+        assertThat(written).isEqualTo(1);
+        assertThat(gameSessionRepository.findById(stored).orElseThrow().getMode()).isEqualTo(GameMode.TEXT);
+        assertThat(gameSessionRepository.findById(fresh).orElseThrow().getMode()).isEqualTo(GameMode.TIMED_30);
+    }
+
+    @Test
+    void endingAGameWhoseIdIsTakenFailsInsteadOfReportingItCompleted() {
+        long userId = user("writer-collision").getId();
+        long sessionId = gameSessionService.startGameSession(userId, Difficulty.EASY).getId();
+        writer.write(List.of(result(sessionId, userId, GameMode.TIMED_15, 50)));
+
+        assertThatThrownBy(() -> gameSessionService.endGameSession(sessionId, 80, 99.0, 30, 100, 99, 1,
+                        "[{\"timestamp\":0,\"key\":\"a\"}]"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(gameSessionRepository.findById(sessionId).orElseThrow().getMode()).isEqualTo(GameMode.TIMED_15);
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+
+    private static GameResult result(long sessionId, long userId, GameMode mode, int wpm) {
+        LocalDateTime completedAt = LocalDateTime.now();
+        return new GameResult(sessionId, userId, null, Difficulty.EASY, mode, mode.isTimed() ? 7L : null,
+                null, null, null, GameStatus.COMPLETED, wpm, 98.0, 30, 100, 98, 2, completedAt.minusSeconds(30),
+                completedAt, null, 0);
+    }
+}
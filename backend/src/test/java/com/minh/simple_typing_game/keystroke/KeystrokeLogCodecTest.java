@@ -0,0 +1,108 @@
+package com.minh.simple_typing_game.keystroke;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class KeystrokeLogCodecTest {
+
+    @Test
+    void roundTripsTypicalGame() {
+        KeystrokeLog log = typicalGame(500, 42);
+
+        KeystrokeLog decoded = KeystrokeLogCodec.decode(KeystrokeLogCodec.encode(log));
+
+        assertThat(decoded).isEqualTo(log);
+    }
+
+    @Test
+    void roundTripsEmptyLog() {
+        KeystrokeLog decoded = KeystrokeLogCodec.decode(KeystrokeLogCodec.encode(new KeystrokeLog()));
+
+        assertThat(decoded.size()).isZero();
+    }
+
+    @Test
+    void roundTripsOutOfOrderTimestampsAndNonAsciiKeys() {
+        KeystrokeLog log = new KeystrokeLog();
+        log.add(1_718_000_000_000L, 'é', false);
+        log.add(1_717_999_999_000L, '日', true);
+        log.add(0L, KeystrokeScorer.BACKSPACE, true);
+        log.add(Long.MAX_VALUE / 2, '￿', false);
+
+        KeystrokeLog decoded = KeystrokeLogCodec.decode(KeystrokeLogCodec.encode(log));
+
+        assertThat(decoded).isEqualTo(log);
+    }
+
+    @Test
+    void roundTripsThroughJson() {
+        KeystrokeLog log = typicalGame(200, 7);
+
+        String json = KeystrokeLogCodec.toJson(log);
+        KeystrokeLog decoded = KeystrokeLogCodec.decode(KeystrokeLogCodec.encode(KeystrokeLogCodec.fromJson(json)));
+
+        assertThat(decoded).isEqualTo(log);
+        assertThat(KeystrokeLogCodec.toJson(decoded)).isEqualTo(json);
+    }
+
+    @Test
+    void parsesBackspaceAndIgnoresUnknownFields() {
+        String json = "[{\"timestamp\":10,\"key\":\"a\",\"extra\":{\"x\":1}},"
+                + "{\"timestamp\":25,\"key\":\"Backspace\",\"correction\":true}]";
+
+        KeystrokeLog log = KeystrokeLogCodec.fromJson(json);
+
+        assertThat(log.size()).isEqualTo(2);
+        assertThat(log.key(0)).isEqualTo('a');
+        assertThat(log.correction(0)).isFalse();
+        assertThat(log.key(1)).isEqualTo(KeystrokeScorer.BACKSPACE);
+        assertThat(log.timestamp(1)).isEqualTo(25L);
+        assertThat(log.correction(1)).isTrue();
+    }
+
+    @Test
+    void isAtLeastTenTimesSmallerThanJson() {
+        KeystrokeLog log = typicalGame(1_000, 1);
+
+        int jsonBytes = KeystrokeLogCodec.toJson(log).getBytes(StandardCharsets.UTF_8).length;
+        int binaryBytes = KeystrokeLogCodec.encode(log).length;
+
+        assertThat(jsonBytes / binaryBytes).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> KeystrokeLogCodec.decode(new byte[] {1, 2, 3, 4}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeystrokeLogCodec.fromJson("{\"key\":\"a\"}"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Builds a keystroke log that looks like real typing: epoch timestamps, 80-250 ms gaps,
+     * lowercase text with spaces and an occasional typo followed by a backspace.
+     */
+    static KeystrokeLog typicalGame(int keystrokes, long seed) {
+        Random random = new Random(seed);
+        String text = "the quick brown fox jumps over the lazy dog while typing practice continues ";
+        KeystrokeLog log = new KeystrokeLog(keystrokes);
+        long timestamp = 1_718_000_000_000L;
+        int position = 0;
+        while (log.size() < keystrokes) {
+            timestamp += 80 + random.nextInt(170);
+            if (random.nextInt(20) == 0 && log.size() + 2 <= keystrokes) {
+                log.add(timestamp, (char) ('a' + random.nextInt(26)), false);
+                timestamp += 80 + random.nextInt(170);
+                log.add(timestamp, KeystrokeScorer.BACKSPACE, true);
+            } else {
+                log.add(timestamp, text.charAt(position++ % text.length()), false);
+            }
+        }
+        return log;
+    }
+}
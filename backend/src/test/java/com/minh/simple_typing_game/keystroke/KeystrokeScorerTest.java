@@ -0,0 +1,157 @@
+package com.minh.simple_typing_game.keystroke;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams.LiveStream;
+
+class KeystrokeScorerTest {
+
+    private static final long STARTED_AT = 1_700_000_000_000L;
+
+    @Test
+    void scoresTypedTextWithCorrections() {
+        KeystrokeScorer scorer = new KeystrokeScorer("hello world".toCharArray());
+        type(scorer, "hellp", 200);
+        scorer.accept(KeystrokeScorer.BACKSPACE, 200);
+        type(scorer, "o world", 200);
+
+        KeystrokeScore score = scorer.score(0);
+
+        assertThat(scorer.isComplete()).isTrue();
+        assertThat(score.correctCharacters()).isEqualTo(11);
+        assertThat(score.incorrectCharacters()).isEqualTo(1);
+        assertThat(score.accuracy()).isEqualTo(91.7);
+        // 11 characters over 2.6 seconds
+        assertThat(score.wpm()).isEqualTo(51);
+        assertThat(score.duration()).isEqualTo(3);
+    }
+
+    @Test
+    void scoresOverTheServerTimeWhenItIsLonger() {
+        KeystrokeScorer scorer = new KeystrokeScorer("hello world".toCharArray());
+        type(scorer, "hello world", 1);
+
+        assertThat(scorer.score(0).wpm()).isEqualTo(12_000);
+        assertThat(scorer.score(6_000).wpm()).isEqualTo(22);
+        assertThat(scorer.score(6_000).duration()).isEqualTo(6);
+    }
+
+    @Test
+    void timedGameIgnoresKeysPastItsLimit() {
+        KeystrokeScorer scorer = new KeystrokeScorer("aaaaaaaaaa".toCharArray(), 1_000);
+        type(scorer, "aaaaaa", 250);
+
+        KeystrokeScore score = scorer.score(0);
+
+        assertThat(scorer.isComplete()).isTrue();
+        assertThat(scorer.cursor()).isEqualTo(4);
+        assertThat(score.totalCharacters()).isEqualTo(4);
+        assertThat(score.duration()).isEqualTo(1);
+        assertThat(score.wpm()).isEqualTo(48);
+    }
+
+    @Test
+    void wholePassageInOneBatchIsScoredOverServerTimeSinceStart() {
+        AtomicLong clock = new AtomicLong(STARTED_AT);
+        LiveStream stream = new LiveStream("hello world".toCharArray(), 0, STARTED_AT, clock::get);
+
+        clock.set(STARTED_AT + 12_000);
+        boolean complete = stream.apply(batch("hello world", 1));
+
+        assertThat(complete).isTrue();
+        KeystrokeScore score = stream.finalScore();
+        // 11 characters in 12 seconds, not in the 11 milliseconds the client claimed
+        assertThat(score.wpm()).isEqualTo(11);
+        assertThat(score.duration()).isEqualTo(12);
+    }
+
+    @Test
+    void streamedGameIsScoredOverItsClientTimeWhenLonger() {
+        AtomicLong clock = new AtomicLong(STARTED_AT);
+        LiveStream stream = new LiveStream("hello world".toCharArray(), 0, STARTED_AT, clock::get);
+
+        clock.set(STARTED_AT + 1_000);
+        stream.apply(batch("hello", 600));
+        clock.set(STARTED_AT + 2_000);
+        stream.apply(batch(" world", 600));
+
+        // The client's 6.6 seconds of deltas are longer than the 2 seconds the server saw
+        assertThat(stream.finalScore().duration()).isEqualTo(7);
+    }
+
+    @Test
+    void timedGameDropsBatchesThatArriveAfterItsLimit() {
+        AtomicLong clock = new AtomicLong(STARTED_AT);
+        LiveStream stream = new LiveStream("aaaaaaaaaa".toCharArray(), 1_000, STARTED_AT, clock::get);
+
+        clock.set(STARTED_AT + 500);
+        assertThat(stream.apply(batch("aa", 100))).isFalse();
+        // Tiny deltas claim these keys fit in the limit, but they reach the server long after it
+        clock.set(STARTED_AT + 10_000);
+        assertThat(stream.apply(batch("aaaaaa", 1))).isTrue();
+
+        KeystrokeScore score = stream.finalScore();
+        assertThat(score.correctCharacters()).isEqualTo(2);
+        assertThat(score.totalCharacters()).isEqualTo(2);
+    }
+
+    @Test
+    void streamLogsTheKeysItAcceptsTimedFromTheStartOfTheGame() {
+        AtomicLong clock = new AtomicLong(STARTED_AT);
+        LiveStream stream = new LiveStream("abcd".toCharArray(), 1_000, STARTED_AT, clock::get);
+
+        clock.set(STARTED_AT + 500);
+        stream.apply(batch("ax", 100));
+        stream.apply(batch(String.valueOf(KeystrokeScorer.BACKSPACE), 250));
+        stream.apply(batch("b", 50));
+        // Takes back a correct key, so not a correction
+        stream.apply(batch(KeystrokeScorer.BACKSPACE + "b", 50));
+        // Dropped by the server's clock, so not logged either
+        clock.set(STARTED_AT + 10_000);
+        stream.apply(batch("cd", 1));
+
+        LiveStreamResult result = stream.result();
+        KeystrokeLog expected = new KeystrokeLog();
+        expected.add(100, 'a', false);
+        expected.add(200, 'x', false);
+        expected.add(450, KeystrokeScorer.BACKSPACE, true);
+        expected.add(500, 'b', false);
+        expected.add(550, KeystrokeScorer.BACKSPACE, false);
+        expected.add(600, 'b', false);
+        assertThat(KeystrokeLogCodec.decode(result.keystrokeLog())).isEqualTo(expected);
+        assertThat(result.keystrokeCount()).isEqualTo(6);
+        assertThat(result.score().correctCharacters()).isEqualTo(2);
+    }
+
+    @Test
+    void streamLogsAtMostAFewKeysPerCharacterOfTheText() {
+        AtomicLong clock = new AtomicLong(STARTED_AT);
+        LiveStream stream = new LiveStream("ab".toCharArray(), 0, STARTED_AT, clock::get);
+
+        stream.apply(batch("x".repeat(1_000), 1));
+
+        LiveStreamResult result = stream.result();
+        assertThat(result.keystrokeCount()).isEqualTo(256);
+        assertThat(KeystrokeLogCodec.decode(result.keystrokeLog()).size()).isEqualTo(256);
+        assertThat(result.score().incorrectCharacters()).isEqualTo(1_000);
+    }
+
+    private static void type(KeystrokeScorer scorer, String keys, int deltaMillis) {
+        for (int i = 0; i < keys.length(); i++) {
+            scorer.accept(keys.charAt(i), deltaMillis);
+        }
+    }
+
+    private static ByteBuffer batch(String keys, int deltaMillis) {
+        ByteBuffer batch = ByteBuffer.allocate(keys.length() * 4);
+        for (int i = 0; i < keys.length(); i++) {
+            batch.putChar(keys.charAt(i)).putShort((short) deltaMillis);
+        }
+        return batch.flip();
+    }
+}
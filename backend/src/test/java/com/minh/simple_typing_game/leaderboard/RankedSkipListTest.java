@@ -0,0 +1,123 @@
+package com.minh.simple_typing_game.leaderboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class RankedSkipListTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Test
+    void randomInsertsUpdatesAndRemovesMatchASortedList() {
+        Random random = new Random(20250101L);
+        RankedSkipList<LeaderboardEntry> list = new RankedSkipList<>(LeaderboardEntry.RANKING);
+        List<LeaderboardEntry> reference = new ArrayList<>();
+        Map<Long, LeaderboardEntry> byUser = new HashMap<>();
+        long sessionId = 0;
+
+        for (int step = 0; step < 5_000; step++) {
+            long userId = random.nextInt(400);
+            LeaderboardEntry current = byUser.get(userId);
+            int operation = random.nextInt(10);
+            if (current != null && operation == 0) {
+                assertThat(list.remove(current)).isTrue();
+                reference.remove(current);
+                byUser.remove(userId);
+            } else {
+                // Few distinct scores, so most entries tie on WPM and many on accuracy too
+                LeaderboardEntry entry = new LeaderboardEntry(++sessionId, userId, "user" + userId,
+                        random.nextInt(20), 90 + random.nextInt(3), T0.plusMinutes(random.nextInt(5)));
+                if (current != null) {
+                    // An update, as a leaderboard replaces a user's best
+                    assertThat(list.remove(current)).isTrue();
+                    reference.remove(current);
+                }
+                list.insert(entry);
+                insertSorted(reference, entry);
+                byUser.put(userId, entry);
+            }
+
+            if (step % 50 == 0) {
+                assertMatches(list, reference, random);
+            }
+        }
+        assertMatches(list, reference, random);
+    }
+
+    @Test
+    void ordersEqualScoresByAccuracyThenCompletionThenSession() {
+        RankedSkipList<LeaderboardEntry> list = new RankedSkipList<>(LeaderboardEntry.RANKING);
+        LeaderboardEntry laterSession = new LeaderboardEntry(9, 1, "a", 80, 95.0, T0);
+        LeaderboardEntry earlierSession = new LeaderboardEntry(3, 2, "b", 80, 95.0, T0);
+        LeaderboardEntry later = new LeaderboardEntry(1, 3, "c", 80, 95.0, T0.plusSeconds(1));
+        LeaderboardEntry moreAccurate = new LeaderboardEntry(2, 4, "d", 80, 99.0, T0.plusHours(1));
+        LeaderboardEntry faster = new LeaderboardEntry(5, 5, "e", 81, 50.0, T0.plusDays(1));
+        for (LeaderboardEntry entry : List.of(later, laterSession, faster, earlierSession, moreAccurate)) {
+            list.insert(entry);
+        }
+
+        assertThat(page(list, 0, 10)).containsExactly(faster, moreAccurate, earlierSession, laterSession, later);
+        assertThat(list.rankOf(earlierSession)).isEqualTo(3);
+        assertThat(list.rankOf(laterSession)).isEqualTo(4);
+    }
+
+    @Test
+    void handlesMissingValuesAndPagesOutOfRange() {
+        RankedSkipList<LeaderboardEntry> list = new RankedSkipList<>(LeaderboardEntry.RANKING);
+        LeaderboardEntry entry = new LeaderboardEntry(1, 1, "a", 60, 97.0, T0);
+        LeaderboardEntry missing = new LeaderboardEntry(2, 2, "b", 60, 97.0, T0);
+        assertThat(list.rankOf(entry)).isZero();
+        assertThat(list.remove(entry)).isFalse();
+
+        list.insert(entry);
+        assertThat(list.rankOf(missing)).isZero();
+        assertThat(list.remove(missing)).isFalse();
+        assertThat(page(list, 1, 10)).isEmpty();
+        assertThat(page(list, 0, 0)).isEmpty();
+
+        list.clear();
+        assertThat(list.size()).isZero();
+        assertThat(list.rankOf(entry)).isZero();
+        list.insert(missing);
+        assertThat(page(list, 0, 10)).containsExactly(missing);
+    }
+
+    private static void assertMatches(RankedSkipList<LeaderboardEntry> list, List<LeaderboardEntry> reference,
+                                      Random random) {
+        assertThat(list.size()).isEqualTo(reference.size());
+        assertThat(page(list, 0, Integer.MAX_VALUE)).isEqualTo(reference);
+        for (int i = 0; i < reference.size(); i++) {
+            assertThat(list.rankOf(reference.get(i))).isEqualTo(i + 1);
+        }
+        for (int i = 0; i < 20 && !reference.isEmpty(); i++) {
+            int offset = random.nextInt(reference.size() + 5);
+            int limit = random.nextInt(30);
+            List<LeaderboardEntry> expected = offset < reference.size()
+                    ? reference.subList(offset, Math.min(reference.size(), offset + limit))
+                    : List.of();
+            assertThat(page(list, offset, limit)).isEqualTo(expected);
+        }
+    }
+
+    private static void insertSorted(List<LeaderboardEntry> reference, LeaderboardEntry entry) {
+        int index = 0;
+        while (index < reference.size() && LeaderboardEntry.RANKING.compare(reference.get(index), entry) < 0) {
+            index++;
+        }
+        reference.add(index, entry);
+    }
+
+    private static List<LeaderboardEntry> page(RankedSkipList<LeaderboardEntry> list, int offset, int limit) {
+        List<LeaderboardEntry> page = new ArrayList<>();
+        list.forEach(offset, limit, page::add);
+        return page;
+    }
+}
@@ -0,0 +1,109 @@
+package com.minh.simple_typing_game.markov;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class MarkovModelTest {
+
+    private static final List<String> PASSAGES = List.of(
+            "The cat sat on the mat. The dog sat on the rug.",
+            "A bird sang in the tree. The cat sat by the door!",
+            "The dog ran to the door. A cat ran to the tree?",
+            "In the morning the bird sang. The dog slept on the mat.");
+
+    @Test
+    void generatesTheSamePassageForTheSameSeed() {
+        MarkovModel model = train(PASSAGES).compile(1);
+
+        String passage = model.generate(42L, 20);
+
+        assertThat(model.generate(42L, 20)).isEqualTo(passage);
+        assertThat(passage.split(" ").length).isBetween(20, 40);
+        assertThat(MarkovModel.endsSentence(passage.substring(passage.lastIndexOf(' ') + 1))).isTrue();
+        Set<String> passages = new HashSet<>();
+        for (long seed = 0; seed < 20; seed++) {
+            passages.add(model.generate(seed, 20));
+        }
+        assertThat(passages).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void followsOnlyObservedTransitions() {
+        MarkovModel model = train(PASSAGES).compile(1);
+        Set<String> trigrams = new HashSet<>();
+        Set<String> starts = new HashSet<>();
+        for (String passage : PASSAGES) {
+            String[] words = passage.split(" ");
+            for (int i = 0; i + 2 < words.length; i++) {
+                trigrams.add(words[i] + " " + words[i + 1] + " " + words[i + 2]);
+                if (i == 0 || MarkovModel.endsSentence(words[i - 1])) {
+                    starts.add(words[i] + " " + words[i + 1]);
+                }
+            }
+        }
+
+        for (long seed = 0; seed < 200; seed++) {
+            String[] words = model.generate(seed, 15).split(" ");
+            assertThat(starts).contains(words[0] + " " + words[1]);
+            int i = 2;
+            while (i < words.length) {
+                if (trigrams.contains(words[i - 2] + " " + words[i - 1] + " " + words[i])) {
+                    i++;
+                } else {
+                    // A sentence restarts after a pair with no observed successor
+                    assertThat(starts).contains(words[i] + " " + words[i + 1]);
+                    i += 2;
+                }
+            }
+        }
+    }
+
+    @Test
+    void incrementalTrainingInAnyOrderCompilesTheSameModel() {
+        MarkovModel batch = train(PASSAGES).compile(9);
+
+        MarkovTrainer incremental = train(List.of(PASSAGES.get(3), PASSAGES.get(1)));
+        MarkovModel partial = incremental.compile(5);
+        train(incremental, List.of(PASSAGES.get(2), PASSAGES.get(0)));
+        MarkovModel full = incremental.compile(9);
+
+        assertThat(partial.passages()).isEqualTo(2);
+        assertThat(full.passages()).isEqualTo(4);
+        assertThat(full.words()).isEqualTo(batch.words());
+        assertThat(full.states()).isEqualTo(batch.states());
+        assertThat(full.transitions()).isEqualTo(batch.transitions());
+        for (long seed = 0; seed < 50; seed++) {
+            assertThat(full.generate(seed, 30)).isEqualTo(batch.generate(seed, 30));
+        }
+    }
+
+    @Test
+    void skipsPassagesWithoutTransitions() {
+        MarkovTrainer trainer = new MarkovTrainer();
+
+        assertThat(trainer.add("Too short.")).isFalse();
+        assertThat(trainer.add("   ")).isFalse();
+        assertThat(trainer.passages()).isZero();
+        assertThatThrownBy(() -> trainer.compile(1)).isInstanceOf(IllegalStateException.class);
+        assertThat(MarkovModel.endsSentence("(done.)")).isTrue();
+        assertThat(MarkovModel.endsSentence("\"what?\"")).isTrue();
+        assertThat(MarkovModel.endsSentence("e.g")).isFalse();
+    }
+
+    private static MarkovTrainer train(List<String> passages) {
+        return train(new MarkovTrainer(), passages);
+    }
+
+    private static MarkovTrainer train(MarkovTrainer trainer, List<String> passages) {
+        for (String passage : passages) {
+            trainer.add(passage);
+        }
+        return trainer;
+    }
+}
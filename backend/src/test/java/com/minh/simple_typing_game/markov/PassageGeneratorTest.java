@@ -0,0 +1,138 @@
+package com.minh.simple_typing_game.markov;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.minh.simple_typing_game.entity.TextSample;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.TextCategory;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.util.TextUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class PassageGeneratorTest {
+
+    private static final TextCategory CATEGORY = TextCategory.QUOTES;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TextSampleRepository textSampleRepository;
+
+    private final AtomicInteger retrains = new AtomicInteger();
+
+    @Test
+    void keepsTheReplacedModelForGamesStartedOnIt() {
+        sample("The quiet river ran past the old mill. The miller sang as the wheel turned.");
+        PassageGenerator generator = generator();
+        generator.train();
+        long version = generator.current(CATEGORY).version();
+        String passage = generator.generate(CATEGORY, version, 42L, Difficulty.EASY);
+
+        sample("A patient mind hears the river. The old wheel turned as the miller slept.");
+        generator.train();
+
+        assertThat(generator.current(CATEGORY).version()).isGreaterThan(version);
+        assertThat(generator.generate(CATEGORY, version, 42L, Difficulty.EASY)).isEqualTo(passage);
+        assertThat(retrains).hasValue(0);
+    }
+
+    @Test
+    void concurrentGamesOnAnOlderVersionShareOneTrainingRun() throws Exception {
+        sample("Every small step counts. The long road is walked one small step at a time.");
+        PassageGenerator trained = generator();
+        trained.train();
+        long version = trained.current(CATEGORY).version();
+        String passage = trained.generate(CATEGORY, version, 7L, Difficulty.MEDIUM);
+        // A generator that never held that version, like one after a restart
+        PassageGenerator restarted = generator();
+
+        List<Future<String>> passages = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                passages.add(executor.submit(() -> {
+                    go.await();
+                    return restarted.generate(CATEGORY, version, 7L, Difficulty.MEDIUM);
+                }));
+            }
+            go.countDown();
+        }
+
+        for (Future<String> generated : passages) {
+            assertThat(generated.get()).isEqualTo(passage);
+        }
+        assertThat(retrains).hasValue(1);
+    }
+
+    @Test
+    void refusesAPassageWhoseSamplesChangedSinceItWasGenerated() {
+        TextSample sample = sample("Bright stars fill the night sky. The old sailor reads the stars to find home.");
+        PassageGenerator generator = generator();
+        generator.train();
+        long version = generator.current(CATEGORY).version();
+        String passage = generator.generate(CATEGORY, version, 3L, Difficulty.HARD);
+        String passageHash = TextUtils.sha256Hex(passage);
+        assertThat(generator.regenerate(CATEGORY, version, 3L, Difficulty.HARD, passageHash)).isEqualTo(passage);
+
+        // An admin edits a trained sample, and the version is trained again after a restart
+        sample.setContent("Dark clouds cover the night sky. The young sailor waits for the clouds to pass.");
+        textSampleRepository.save(sample);
+        PassageGenerator restarted = generator();
+
+        assertThatThrownBy(() -> restarted.regenerate(CATEGORY, version, 3L, Difficulty.HARD, passageHash))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private PassageGenerator generator() {
+        // Counts the reads that train an older version again, slowed so concurrent games overlap
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                if (sql.startsWith("SELECT content ")) {
+                    retrains.incrementAndGet();
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.query(sql, rch, args);
+            }
+        };
+        return new PassageGenerator(jdbcTemplate, new SimpleMeterRegistry(), 1000);
+    }
+
+    private TextSample sample(String content) {
+        TextSample sample = new TextSample();
+        sample.setTitle("Passage generator test");
+        sample.setContent(content);
+        sample.setDifficulty(Difficulty.EASY);
+        sample.setCategory(CATEGORY);
+        sample.setWordCount(content.split(" ").length);
+        sample.setCharacterCount(content.length());
+        sample.setIsActive(true);
+        sample.setCreatedAt(LocalDateTime.now());
+        return textSampleRepository.save(sample);
+    }
+}
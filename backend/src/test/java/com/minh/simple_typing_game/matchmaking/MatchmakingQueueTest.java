@@ -0,0 +1,80 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+class MatchmakingQueueTest {
+
+    private static final long USER_ID = 1;
+
+    // Never started and never ticks, so nothing is matched and no race service is needed
+    private final MatchmakingQueue queue = new MatchmakingQueue(null, 250, 5, 250, 2_000, 10, 60);
+
+    @AfterEach
+    void stopQueue() {
+        queue.stop();
+    }
+
+    @Test
+    void concurrentRequestsOfOnePlayerQueueOneTicket() throws Exception {
+        List<Future<MatchTicket>> tickets = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 64; i++) {
+                tickets.add(executor.submit(() -> {
+                    go.await();
+                    return queue.enqueue(USER_ID, Difficulty.MEDIUM, 70);
+                }));
+            }
+            go.countDown();
+        }
+
+        MatchTicket ticket = queue.get(USER_ID);
+        for (Future<MatchTicket> enqueued : tickets) {
+            assertThat(enqueued.get()).isSameAs(ticket);
+        }
+        assertThat(queue.queuedPlayers(Difficulty.MEDIUM)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentSwitchesBetweenDifficultiesLeaveOneQueuedTicket() throws Exception {
+        Difficulty[] difficulties = Difficulty.values();
+        List<Future<MatchTicket>> tickets = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 64; i++) {
+                Difficulty difficulty = difficulties[i % difficulties.length];
+                tickets.add(executor.submit(() -> {
+                    go.await();
+                    return queue.enqueue(USER_ID, difficulty, 70);
+                }));
+            }
+            go.countDown();
+        }
+
+        MatchTicket current = queue.get(USER_ID);
+        assertThat(current.getStatus()).isEqualTo(MatchStatus.QUEUED);
+        for (Future<MatchTicket> enqueued : tickets) {
+            if (enqueued.get() != current) {
+                assertThat(enqueued.get().getStatus()).isEqualTo(MatchStatus.CANCELLED);
+            }
+        }
+        for (Difficulty difficulty : difficulties) {
+            assertThat(queue.queuedPlayers(difficulty)).isEqualTo(difficulty == current.getDifficulty() ? 1 : 0);
+        }
+
+        assertThat(queue.cancel(USER_ID)).isTrue();
+        assertThat(queue.queuedPlayers(current.getDifficulty())).isZero();
+    }
+}
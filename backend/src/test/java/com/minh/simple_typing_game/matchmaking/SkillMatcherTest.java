@@ -0,0 +1,137 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+class SkillMatcherTest {
+
+    private static final long WIDEN_AFTER_MILLIS = 1_000;
+    private static final int MAX_WIDEN_BUCKETS = 3;
+
+    private final SkillMatcher matcher = new SkillMatcher(5, 250, WIDEN_AFTER_MILLIS, MAX_WIDEN_BUCKETS);
+    private final List<MatchTicket[]> matches = new ArrayList<>();
+
+    @Test
+    void pairsPlayersInTheSameBucketOnTheNextTick() {
+        MatchTicket first = submit(1, Difficulty.MEDIUM, 60, 0);
+        MatchTicket second = submit(2, Difficulty.MEDIUM, 64, 0);
+        MatchTicket third = submit(3, Difficulty.MEDIUM, 61, 0);
+
+        assertThat(tick(0)).isEqualTo(1);
+
+        assertThat(matches).extracting(pair -> pair[0].getUserId(), pair -> pair[1].getUserId())
+                .containsExactly(tuple(1L, 2L));
+        assertThat(first.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(first.getOpponentUserId()).isEqualTo(2L);
+        assertThat(second.getOpponentUserId()).isEqualTo(1L);
+        // The third arrival waits in the bucket the pair emptied
+        assertThat(third.getStatus()).isEqualTo(MatchStatus.QUEUED);
+        assertThat(matcher.size()).isEqualTo(1);
+    }
+
+    @Test
+    void widensTheWindowByOneBucketForEveryWaitingPeriod() {
+        // Buckets 12 and 14, two apart
+        MatchTicket slower = submit(1, Difficulty.EASY, 60, 0);
+        MatchTicket faster = submit(2, Difficulty.EASY, 72, 0);
+
+        assertThat(tick(0)).isZero();
+        assertThat(tick(millis(WIDEN_AFTER_MILLIS))).isZero();
+        assertThat(tick(millis(2 * WIDEN_AFTER_MILLIS - 1))).isZero();
+        assertThat(tick(millis(2 * WIDEN_AFTER_MILLIS))).isEqualTo(1);
+
+        assertThat(slower.getOpponentUserId()).isEqualTo(2L);
+        assertThat(faster.getOpponentUserId()).isEqualTo(1L);
+    }
+
+    @Test
+    void usesTheWiderWindowOfTheTwoTickets() {
+        MatchTicket veteran = submit(1, Difficulty.EASY, 60, 0);
+        tick(0);
+        MatchTicket newcomer = submit(2, Difficulty.EASY, 72, millis(2 * WIDEN_AFTER_MILLIS));
+
+        assertThat(tick(millis(2 * WIDEN_AFTER_MILLIS))).isEqualTo(1);
+        assertThat(veteran.getOpponentUserId()).isEqualTo(newcomer.getUserId());
+    }
+
+    @Test
+    void stopsWideningAtTheMaximum() {
+        // Buckets 12 and 16, one more than the widest window
+        submit(1, Difficulty.HARD, 60, 0);
+        submit(2, Difficulty.HARD, 80, 0);
+
+        assertThat(tick(TimeUnit.HOURS.toNanos(1))).isZero();
+        assertThat(matcher.size()).isEqualTo(2);
+
+        submit(3, Difficulty.HARD, 75, TimeUnit.HOURS.toNanos(1));
+        assertThat(tick(TimeUnit.HOURS.toNanos(1))).isEqualTo(1);
+        assertThat(matches.get(0)).extracting(MatchTicket::getUserId).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void neverPairsAcrossDifficulties() {
+        submit(1, Difficulty.EASY, 60, 0);
+        submit(2, Difficulty.MEDIUM, 60, 0);
+
+        assertThat(tick(TimeUnit.HOURS.toNanos(1))).isZero();
+        assertThat(matcher.size()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsCancelledTickets() {
+        MatchTicket cancelled = submit(1, Difficulty.EASY, 60, 0);
+        tick(0);
+        assertThat(cancelled.cancel()).isTrue();
+        MatchTicket arrival = submit(2, Difficulty.EASY, 60, 0);
+        MatchTicket neighbour = submit(3, Difficulty.EASY, 66, 0);
+
+        assertThat(tick(0)).isZero();
+        assertThat(matcher.size()).isEqualTo(2);
+        assertThat(tick(millis(WIDEN_AFTER_MILLIS))).isEqualTo(1);
+        assertThat(arrival.getOpponentUserId()).isEqualTo(3L);
+        assertThat(neighbour.getOpponentUserId()).isEqualTo(2L);
+        assertThat(cancelled.getStatus()).isEqualTo(MatchStatus.CANCELLED);
+        assertThat(cancelled.getOpponentUserId()).isNull();
+    }
+
+    @Test
+    void handsTheLongerWaitingTicketFirst() {
+        // Arrives at the matcher first but was queued later
+        submit(1, Difficulty.EASY, 60, millis(500));
+        submit(2, Difficulty.EASY, 60, millis(100));
+
+        assertThat(tick(millis(500))).isEqualTo(1);
+        assertThat(matches.get(0)).extracting(MatchTicket::getUserId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void clampsOutOfRangeSpeedsToTheEdgeBuckets() {
+        assertThat(matcher.bucketOf(-10)).isZero();
+        assertThat(matcher.bucketOf(4)).isZero();
+        assertThat(matcher.bucketOf(5)).isEqualTo(1);
+        assertThat(matcher.bucketOf(250)).isEqualTo(50);
+        assertThat(matcher.bucketOf(1_000)).isEqualTo(50);
+    }
+
+    private MatchTicket submit(long userId, Difficulty difficulty, int wpm, long enqueuedAtNanos) {
+        MatchTicket ticket = new MatchTicket(userId, difficulty, wpm, enqueuedAtNanos);
+        matcher.submit(ticket);
+        return ticket;
+    }
+
+    private int tick(long now) {
+        return matcher.tick(now, (first, second) -> matches.add(new MatchTicket[] {first, second}));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
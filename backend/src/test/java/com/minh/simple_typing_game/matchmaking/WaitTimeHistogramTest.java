@@ -0,0 +1,77 @@
+package com.minh.simple_typing_game.matchmaking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class WaitTimeHistogramTest {
+
+    // Covers every power of two the histogram splits, up to about 35 years
+    private static final int BUCKETS = 64 + 40 * 32;
+
+    @Test
+    void givesSmallValuesTheirOwnBucket() {
+        for (int value = 0; value < 64; value++) {
+            assertThat(WaitTimeHistogram.indexOf(value)).isEqualTo(value);
+            assertThat(WaitTimeHistogram.upperBoundOf(value)).isEqualTo(value);
+        }
+        assertThat(WaitTimeHistogram.indexOf(64)).isEqualTo(64);
+        assertThat(WaitTimeHistogram.upperBoundOf(64)).isEqualTo(65);
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinThreePercent() {
+        for (int index = 0; index < BUCKETS - 1; index++) {
+            long upperBound = WaitTimeHistogram.upperBoundOf(index);
+            assertThat(WaitTimeHistogram.indexOf(upperBound)).isEqualTo(index);
+            assertThat(WaitTimeHistogram.indexOf(upperBound + 1)).isEqualTo(index + 1);
+        }
+
+        Random random = new Random(64L);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(1L << (6 + random.nextInt(36)));
+            long upperBound = WaitTimeHistogram.upperBoundOf(WaitTimeHistogram.indexOf(value));
+            assertThat(upperBound).isGreaterThanOrEqualTo(value);
+            assertThat(upperBound - value).isLessThanOrEqualTo(value / 32);
+        }
+    }
+
+    @Test
+    void percentilesAreCloseToTheExactValues() {
+        WaitTimeHistogram histogram = new WaitTimeHistogram();
+        Random random = new Random(2025L);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            // Mostly short waits with a long tail, like a busy queue
+            values[i] = (long) (-Math.log(1 - random.nextDouble()) * 3_000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertThat(histogram.count()).isEqualTo(values.length);
+        assertThat(histogram.max()).isEqualTo(values[values.length - 1]);
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(values.length * percentile / 100.0) - 1];
+            assertThat(histogram.percentile(percentile))
+                    .isGreaterThanOrEqualTo(exact)
+                    .isLessThanOrEqualTo(exact + exact / 32);
+        }
+        assertThat(histogram.percentile(100)).isEqualTo(histogram.max());
+    }
+
+    @Test
+    void reportsNothingUntilAValueIsRecorded() {
+        WaitTimeHistogram histogram = new WaitTimeHistogram();
+        assertThat(histogram.percentile(50)).isZero();
+        assertThat(histogram.count()).isZero();
+
+        histogram.record(-5);
+        histogram.record(700);
+        assertThat(histogram.percentile(0)).isZero();
+        assertThat(histogram.percentile(50)).isZero();
+        assertThat(histogram.percentile(51)).isEqualTo(700);
+    }
+}
@@ -0,0 +1,82 @@
+package com.minh.simple_typing_game.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.service.JwtService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Tests run without metrics exporters unless asked, and the scrape endpoint needs Prometheus
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void onlyAdminsCanScrapeMetrics() throws Exception {
+        String player = bearer(user("metrics-player", Role.ROLE_USER));
+        String admin = bearer(user("metrics-admin", Role.ROLE_ADMIN));
+
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, player))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, admin))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests")));
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void recordsTheStatementsOfEachRequest() throws Exception {
+        User user = user("metrics-statements", Role.ROLE_USER);
+
+        mockMvc.perform(get("/api/users/{id}", user.getId()).header(HttpHeaders.AUTHORIZATION, bearer(user)))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.get("http.server.requests.jdbc.statements")
+                .tag("uri", "/api/users/{id}")
+                .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isPositive();
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.generateToken(user);
+    }
+
+    private User user(String name, Role role) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(role)
+                .build());
+    }
+}
@@ -0,0 +1,182 @@
+package com.minh.simple_typing_game.race;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.minh.simple_typing_game.entity.GameSession;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.payload.dto.RacePlayerDTO;
+import com.minh.simple_typing_game.payload.dto.RaceRoomDTO;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.service.GameSessionService;
+
+@SpringBootTest
+class RaceEngineTest {
+
+    private static final String TEXT = "go fast";
+    private static final int SHARDS = 3;
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TextSampleRepository textSampleRepository;
+
+    private RaceEngine engine;
+    private long textSampleId;
+
+    @BeforeEach
+    void startEngine() {
+        // No countdown, so a full room starts racing on the next tick
+        engine = new RaceEngine(gameSessionService, SHARDS, 5, 20, 0, 60, 600, 30);
+        engine.start();
+        textSampleId = textSampleRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+    }
+
+    @AfterEach
+    void stopEngine() {
+        engine.stop();
+    }
+
+    @Test
+    void onlyTheHostStartsARoomWithEnoughPlayersAndAFullRoomStartsByItself() throws Exception {
+        long host = user("race-host").getId();
+        long guest = user("race-guest").getId();
+        long third = user("race-third").getId();
+        RaceRoomDTO room = engine.createRoom(host, "race-host", textSampleId, Difficulty.EASY, TEXT.toCharArray(), 3)
+                .get();
+        assertThat(room.getPhase()).isEqualTo(RacePhase.WAITING);
+        assertThat(room.getTextSampleContent()).isNull();
+
+        assertThatThrownBy(() -> engine.startRoom(room.getId(), host).get())
+                .hasCauseInstanceOf(IllegalStateException.class);
+        engine.joinRoom(room.getId(), guest, "race-guest").get();
+        assertThatThrownBy(() -> engine.startRoom(room.getId(), guest).get())
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        RaceRoomDTO full = engine.joinRoom(room.getId(), third, "race-third").get();
+
+        assertThat(full.getPhase()).isEqualTo(RacePhase.COUNTDOWN);
+        assertThat(full.getTextSampleContent()).isEqualTo(TEXT);
+        assertThat(awaitPhase(room.getId(), RacePhase.RACING).getStartedAt()).isNotNull();
+    }
+
+    @Test
+    void recordsPlacementsInFinishingOrderAndAbandonsPlayersWhoLeft() throws Exception {
+        long first = user("race-first").getId();
+        long second = user("race-second").getId();
+        long quitter = user("race-quitter").getId();
+        long roomId = engine.createRoom(first, "race-first", textSampleId, Difficulty.EASY, TEXT.toCharArray(), 3)
+                .get().getId();
+        engine.joinRoom(roomId, second, "race-second").get();
+        engine.joinRoom(roomId, quitter, "race-quitter").get();
+        awaitPhase(roomId, RacePhase.RACING);
+
+        engine.keystrokes(roomId, quitter, batch("go"));
+        engine.keystrokes(roomId, first, batch(TEXT));
+        engine.keystrokes(roomId, second, batch("go f"));
+        engine.leaveRoom(roomId, quitter).get();
+        engine.keystrokes(roomId, second, batch("ast"));
+
+        RaceRoomDTO finished = awaitPhase(roomId, RacePhase.FINISHED);
+        assertThat(finished.getPlayers()).extracting(RacePlayerDTO::getUserId, RacePlayerDTO::getPlacement,
+                RacePlayerDTO::getLeft)
+                .containsExactly(tuple(first, 1, false), tuple(second, 2, false), tuple(quitter, null, true));
+
+        List<GameSession> rows = awaitRaceRows(roomId, 3);
+        assertThat(rows).extracting(row -> row.getUser().getId(), GameSession::getPlacement, GameSession::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(first, 1, GameStatus.COMPLETED),
+                        tuple(second, 2, GameStatus.COMPLETED),
+                        tuple(quitter, null, GameStatus.ABANDONED));
+    }
+
+    @Test
+    void routesConsecutiveRoomsToConsecutiveShards() throws Exception {
+        Set<Integer> shards = new HashSet<>();
+        for (long roomId = 1; roomId <= SHARDS; roomId++) {
+            shards.add(RaceEngine.shardIndex(roomId, SHARDS));
+        }
+        assertThat(shards).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(RaceEngine.shardIndex(7, SHARDS)).isEqualTo(RaceEngine.shardIndex(7 + SHARDS, SHARDS));
+
+        // Rooms on every shard are served independently
+        long host = user("race-sharded").getId();
+        List<Long> roomIds = new ArrayList<>();
+        for (int i = 0; i < 2 * SHARDS; i++) {
+            roomIds.add(engine.createRoom(host, "race-sharded", textSampleId, Difficulty.EASY, TEXT.toCharArray(), 2)
+                    .get().getId());
+        }
+        assertThat(engine.roomCount()).isEqualTo(2 * SHARDS);
+        for (long roomId : roomIds) {
+            assertThat(engine.getRoom(roomId).get().getId()).isEqualTo(roomId);
+            engine.leaveRoom(roomId, host).get();
+            assertThatThrownBy(() -> engine.getRoom(roomId).get()).hasCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(engine.roomCount()).isZero();
+    }
+
+    private RaceRoomDTO awaitPhase(long roomId, RacePhase phase) throws Exception {
+        for (int i = 0; i < 200; i++) {
+            RaceRoomDTO room = engine.getRoom(roomId).get();
+            if (room.getPhase() == phase) {
+                return room;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Race room " + roomId + " did not reach " + phase);
+    }
+
+    private List<GameSession> awaitRaceRows(long roomId, int expected) throws InterruptedException {
+        // Results are written on a virtual thread after the race finishes
+        List<GameSession> rows = List.of();
+        for (int i = 0; i < 200 && rows.size() < expected; i++) {
+            Thread.sleep(10);
+            rows = gameSessionRepository.findAll().stream()
+                    .filter(row -> Long.valueOf(roomId).equals(row.getRaceRoomId()))
+                    .toList();
+        }
+        return rows;
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+
+    private static byte[] batch(String keys) {
+        ByteBuffer batch = ByteBuffer.allocate(keys.length() * 4);
+        for (int i = 0; i < keys.length(); i++) {
+            batch.putChar(keys.charAt(i)).putShort((short) 150);
+        }
+        return batch.array();
+    }
+}
@@ -0,0 +1,116 @@
+package com.minh.simple_typing_game.race;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+class RaceRoomTest {
+
+    private static final String TEXT = "race on";
+
+    @Test
+    void fillsUpToItsMaximumAndHandsTheHostOnWhenTheHostLeaves() {
+        RaceRoom room = room(3);
+        room.join(1, "host");
+        room.join(2, "second");
+        assertThat(room.join(2, "second")).isSameAs(room.player(2));
+        room.join(3, "third");
+
+        assertThatThrownBy(() -> room.join(4, "fourth")).isInstanceOf(IllegalStateException.class);
+        assertThat(room.players).extracting(player -> player.userId).containsExactly(1L, 2L, 3L);
+
+        room.leave(1);
+        assertThat(room.hostUserId).isEqualTo(2);
+        assertThat(room.players).hasSize(2);
+    }
+
+    @Test
+    void takesKeystrokesOnlyOnceTheCountdownIsOver() {
+        RaceRoom room = room(2);
+        RacePlayer player = room.join(1, "host");
+        room.join(2, "guest");
+
+        room.startCountdown(0, 5_000);
+        assertThat(room.phase).isEqualTo(RacePhase.COUNTDOWN);
+        assertThat(room.phaseDeadline).isEqualTo(5_000);
+        assertThatThrownBy(() -> room.join(3, "late")).isInstanceOf(IllegalStateException.class);
+        assertThat(room.applyKeystrokes(player, batch(TEXT, 100), 1_000)).isFalse();
+        assertThat(player.scorer.cursor()).isZero();
+
+        room.startRace(5_000, 60_000);
+        assertThat(room.phase).isEqualTo(RacePhase.RACING);
+        assertThat(room.phaseDeadline).isEqualTo(65_000);
+        assertThat(room.applyKeystrokes(player, batch("race", 100), 5_400)).isFalse();
+        assertThat(player.scorer.cursor()).isEqualTo(4);
+    }
+
+    @Test
+    void placesPlayersInTheOrderTheyFinish() {
+        RaceRoom room = racing(3);
+        RacePlayer first = room.player(1);
+        RacePlayer second = room.player(2);
+        RacePlayer third = room.player(3);
+
+        room.applyKeystrokes(first, batch("race", 100), 400);
+        room.applyKeystrokes(second, batch(TEXT, 100), 700);
+        assertThat(room.applyKeystrokes(first, batch(" on", 100), 800)).isTrue();
+        assertThat(room.isDecided()).isFalse();
+        assertThat(room.applyKeystrokes(third, batch(TEXT, 100), 900)).isTrue();
+
+        assertThat(second.placement).isEqualTo(1);
+        assertThat(first.placement).isEqualTo(2);
+        assertThat(third.placement).isEqualTo(3);
+        assertThat(room.isDecided()).isTrue();
+        // Finishing again does not change a placement
+        assertThat(room.applyKeystrokes(second, batch("x", 100), 1_000)).isFalse();
+        assertThat(second.placement).isEqualTo(1);
+    }
+
+    @Test
+    void playersWhoLeaveOrRunOutOfTimeGetNoPlacement() {
+        RaceRoom room = racing(3);
+        room.applyKeystrokes(room.player(1), batch(TEXT, 100), 700);
+        room.applyKeystrokes(room.player(2), batch("ra", 100), 200);
+        room.leave(2);
+        room.applyKeystrokes(room.player(3), batch("race", 100), 400);
+        assertThat(room.isDecided()).isFalse();
+
+        List<RaceResult> results = room.finish(60_000, 30_000);
+
+        assertThat(room.phase).isEqualTo(RacePhase.FINISHED);
+        assertThat(results).extracting(RaceResult::userId, RaceResult::placement)
+                .containsExactly(tuple(1L, 1), tuple(2L, null), tuple(3L, null));
+        // Unfinished players are scored on what they typed, over the whole race
+        assertThat(results.get(2).score().correctCharacters()).isEqualTo(4);
+        assertThat(results.get(2).score().duration()).isEqualTo(60);
+    }
+
+    private static RaceRoom racing(int players) {
+        RaceRoom room = room(players);
+        for (int i = 1; i <= players; i++) {
+            room.join(i, "player" + i);
+        }
+        room.startCountdown(-5_000, 5_000);
+        room.startRace(0, 60_000);
+        return room;
+    }
+
+    private static RaceRoom room(int maxPlayers) {
+        return new RaceRoom(1, 10, Difficulty.EASY, TEXT.toCharArray(), maxPlayers, 1, 600_000);
+    }
+
+    private static ByteBuffer batch(String keys, int deltaMillis) {
+        ByteBuffer batch = ByteBuffer.allocate(keys.length() * 4);
+        for (int i = 0; i < keys.length(); i++) {
+            batch.putChar(keys.charAt(i)).putShort((short) deltaMillis);
+        }
+        return batch.flip();
+    }
+}
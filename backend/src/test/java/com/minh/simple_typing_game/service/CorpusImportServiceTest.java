@@ -0,0 +1,115 @@
+package com.minh.simple_typing_game.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.minh.simple_typing_game.entity.TextSample;
+import com.minh.simple_typing_game.payload.request.CorpusImportRequest;
+import com.minh.simple_typing_game.payload.response.CorpusImportResponse;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+
+@SpringBootTest
+class CorpusImportServiceTest {
+
+    @TempDir
+    Path corpus;
+
+    @Autowired
+    private CorpusImportService corpusImportService;
+
+    @Autowired
+    private TextSampleRepository textSampleRepository;
+
+    @AfterEach
+    void deleteImportedSamples() {
+        textSampleRepository.deleteAll(imported("import-"));
+    }
+
+    @Test
+    void cutsParagraphsAtBlankLinesAndCountsTheirWords() throws IOException {
+        Files.writeString(corpus.resolve("import-paragraphs.txt"),
+                "The quick  brown fox\r\njumps over\tthe lazy dog.\r\n\r\n"
+                        + "Pack my box with\rfive dozen liquor jugs.\n   \nToo short.\n");
+
+        CorpusImportResponse response = corpusImportService.importCorpus(request(CorpusImportRequest.Mode.PARAGRAPH));
+
+        assertThat(response.getFilesRead()).isEqualTo(1);
+        assertThat(response.getPassagesRead()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getSkipped()).isEqualTo(1);
+        List<TextSample> samples = imported("import-paragraphs");
+        assertThat(samples).extracting(TextSample::getContent).containsExactly(
+                "The quick brown fox jumps over the lazy dog.",
+                "Pack my box with five dozen liquor jugs.");
+        assertThat(samples).extracting(TextSample::getWordCount).containsExactly(9, 8);
+        assertThat(samples).extracting(TextSample::getTitle)
+                .containsExactly("import-paragraphs #1", "import-paragraphs #2");
+    }
+
+    @Test
+    void cutsLongLinesAtTheFirstWordBoundaryPastTheMaximum() throws IOException {
+        // One line far longer than the read buffer, with no line break to end it
+        String line = IntStream.range(0, 4_000).mapToObj(i -> "word" + i).collect(Collectors.joining(" "));
+        Files.writeString(corpus.resolve("import-long-line.txt"), line);
+
+        CorpusImportRequest request = request(CorpusImportRequest.Mode.LINE);
+        request.setMaxCharacters(100);
+        CorpusImportResponse response = corpusImportService.importCorpus(request);
+
+        List<TextSample> samples = imported("import-long-line");
+        assertThat(response.getPassagesRead()).isGreaterThan(line.length() / 110);
+        assertThat(response.getImported()).isEqualTo(samples.size());
+        assertThat(samples.subList(0, samples.size() - 1)).allSatisfy(sample -> {
+            assertThat(sample.getContent()).hasSizeBetween(100, 110);
+            assertThat(sample.getWordCount()).isEqualTo(sample.getContent().split(" ").length);
+        });
+        String joined = samples.stream().map(TextSample::getContent).collect(Collectors.joining(" "));
+        assertThat(line).startsWith(joined);
+        assertThat(line.length() - joined.length()).isLessThan(100);
+    }
+
+    @Test
+    void skipsPassagesRepeatedWithinTheImportOrAlreadyStored() throws IOException {
+        Files.writeString(corpus.resolve("import-repeats.txt"),
+                "A passage typed once and then again.\nA passage typed once and then again.\n"
+                        + "Another passage typed only one time.\n");
+
+        CorpusImportResponse first = corpusImportService.importCorpus(request(CorpusImportRequest.Mode.LINE));
+        CorpusImportResponse second = corpusImportService.importCorpus(request(CorpusImportRequest.Mode.LINE));
+
+        assertThat(first.getImported()).isEqualTo(2);
+        assertThat(first.getDuplicates()).isEqualTo(1);
+        assertThat(second.getImported()).isZero();
+        assertThat(second.getDuplicates()).isEqualTo(3);
+        assertThat(imported("import-repeats")).extracting(TextSample::getContent).containsExactly(
+                "A passage typed once and then again.", "Another passage typed only one time.");
+    }
+
+    private CorpusImportRequest request(CorpusImportRequest.Mode mode) {
+        return CorpusImportRequest.builder()
+                .path(corpus.toString())
+                .mode(mode)
+                .batchSize(2)
+                .build();
+    }
+
+    private List<TextSample> imported(String titlePrefix) {
+        return textSampleRepository.findAll().stream()
+                .filter(sample -> sample.getTitle().startsWith(titlePrefix))
+                .sorted(Comparator.comparing(TextSample::getId))
+                .toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.minh.simple_typing_game.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.journal.GameResult;
+import com.minh.simple_typing_game.journal.GameResultWriter;
+import com.minh.simple_typing_game.payload.dto.GameAggregateDTO;
+import com.minh.simple_typing_game.payload.response.GameAnalyticsResponse;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+@SpringBootTest
+class GameAnalyticsServiceTest {
+
+    @Autowired
+    private GameAnalyticsService gameAnalyticsService;
+
+    @Autowired
+    private GameResultWriter writer;
+
+    @Autowired
+    private GameSessionIdAllocator idAllocator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void scoresOnlyCompletedGamesButCountsAbandonedOnes() {
+        long userId = userRepository.save(User.builder()
+                .email("analytics@test.local")
+                .username("analytics")
+                .role(Role.ROLE_USER)
+                .build()).getId();
+        writer.write(List.of(
+                result(userId, GameStatus.COMPLETED, 60, 90.0, 30),
+                result(userId, GameStatus.COMPLETED, 80, 100.0, 30),
+                // A partial run typed in a burst scores far above the player's real speed
+                result(userId, GameStatus.ABANDONED, 200, 50.0, 5)));
+
+        GameAnalyticsResponse analytics = gameAnalyticsService.getGameAnalytics(userId, null, null, null);
+
+        GameAggregateDTO totals = analytics.getTotals();
+        assertThat(totals.getGames()).isEqualTo(3);
+        assertThat(totals.getCompletedGames()).isEqualTo(2);
+        assertThat(totals.getAbandonedGames()).isEqualTo(1);
+        assertThat(totals.getAverageWpm()).isEqualTo(70.0);
+        assertThat(totals.getBestWpm()).isEqualTo(80);
+        assertThat(totals.getAverageAccuracy()).isEqualTo(95.0);
+        assertThat(totals.getTotalTime()).isEqualTo(65);
+        assertThat(analytics.getByDifficulty().get(Difficulty.MEDIUM)).isEqualTo(totals);
+    }
+
+    private GameResult result(long userId, GameStatus status, int wpm, double accuracy, int duration) {
+        LocalDateTime completedAt = LocalDateTime.now();
+        return new GameResult(idAllocator.next(), userId, null, Difficulty.MEDIUM, GameMode.TIMED_30, 5L, null, null,
+                null, status, wpm, accuracy, duration, 150, 140, 10, completedAt.minusSeconds(duration), completedAt,
+                null, 0);
+    }
+}
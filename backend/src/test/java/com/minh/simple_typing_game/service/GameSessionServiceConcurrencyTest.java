@@ -0,0 +1,131 @@
+package com.minh.simple_typing_game.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.minh.simple_typing_game.entity.GameSession;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+
+@SpringBootTest
+class GameSessionServiceConcurrencyTest {
+
+    private static final int CONCURRENT_STARTS = 5000;
+    private static final int CONCURRENT_ENDS = 200;
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentStartsForOneUserShareOneActiveSession() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("concurrent-start@test.local")
+                .username("concurrent-start")
+                .role(Role.ROLE_USER)
+                .build());
+        long rowsBefore = gameSessionRepository.count();
+
+        List<Future<GameSessionDTO>> starts = new ArrayList<>(CONCURRENT_STARTS);
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_STARTS; i++) {
+                starts.add(executor.submit(() -> {
+                    go.await();
+                    return gameSessionService.startGameSession(user.getId(), Difficulty.MEDIUM);
+                }));
+            }
+            go.countDown();
+        }
+
+        Set<Long> sessionIds = new HashSet<>();
+        for (Future<GameSessionDTO> start : starts) {
+            GameSessionDTO session = start.get();
+            assertThat(session.getStatus()).isEqualTo(GameStatus.IN_PROGRESS);
+            sessionIds.add(session.getId());
+        }
+        assertThat(sessionIds).hasSize(1);
+        long sessionId = sessionIds.iterator().next();
+        assertThat(gameSessionService.getActiveGameSession(user.getId()).getId()).isEqualTo(sessionId);
+        // Starting a game writes nothing
+        assertThat(gameSessionRepository.count()).isEqualTo(rowsBefore);
+
+        GameSessionDTO ended = gameSessionService.endGameSession(sessionId, 60, 97.5, 30, 100, 98, 2,
+                "[{\"timestamp\":0,\"key\":\"a\"}]");
+
+        assertThat(ended.getStatus()).isEqualTo(GameStatus.COMPLETED);
+        assertThat(gameSessionService.getActiveGameSession(user.getId())).isNull();
+        assertThat(gameSessionRepository.findById(sessionId))
+                .hasValueSatisfying(row -> assertThat(row.getStatus()).isEqualTo(GameStatus.COMPLETED));
+        assertThat(gameSessionRepository.count()).isEqualTo(rowsBefore + 1);
+    }
+
+    @Test
+    void concurrentEndsAndAbandonsEndTheGameOnce() throws Exception {
+        User user = userRepository.save(User.builder()
+                .email("concurrent-end@test.local")
+                .username("concurrent-end")
+                .role(Role.ROLE_USER)
+                .build());
+        long sessionId = gameSessionService.startGameSession(user.getId(), Difficulty.MEDIUM).getId();
+
+        List<Future<GameSessionDTO>> attempts = new ArrayList<>(CONCURRENT_ENDS);
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_ENDS; i++) {
+                boolean abandon = i % 2 == 1;
+                int wpm = 40 + i;
+                attempts.add(executor.submit(() -> {
+                    go.await();
+                    return abandon
+                            ? gameSessionService.abandonGameSession(sessionId)
+                            : gameSessionService.endGameSession(sessionId, wpm, 95.0, 30, 100, 95, 5,
+                                    "[{\"timestamp\":0,\"key\":\"a\"}]");
+                }));
+            }
+            go.countDown();
+        }
+
+        List<GameSessionDTO> winners = new ArrayList<>();
+        int rejected = 0;
+        for (Future<GameSessionDTO> attempt : attempts) {
+            try {
+                winners.add(attempt.get());
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(IllegalStateException.class);
+                rejected++;
+            }
+        }
+        assertThat(winners).hasSize(1);
+        assertThat(rejected).isEqualTo(CONCURRENT_ENDS - 1);
+
+        GameSessionDTO winner = winners.get(0);
+        GameSession row = gameSessionRepository.findById(sessionId).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(winner.getStatus());
+        assertThat(row.getWpm()).isEqualTo(winner.getWpm());
+        assertThat(row.getVersion()).isZero();
+    }
+}
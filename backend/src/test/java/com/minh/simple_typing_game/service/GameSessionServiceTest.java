@@ -0,0 +1,183 @@
+package com.minh.simple_typing_game.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.minh.simple_typing_game.archive.ArchivedGame;
+import com.minh.simple_typing_game.archive.GameArchive;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.journal.GameResult;
+import com.minh.simple_typing_game.journal.GameResultWriter;
+import com.minh.simple_typing_game.keystroke.KeystrokeLog;
+import com.minh.simple_typing_game.keystroke.KeystrokeLogCodec;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams.LiveStream;
+import com.minh.simple_typing_game.payload.dto.GameSessionDTO;
+import com.minh.simple_typing_game.payload.response.GameHistoryPageResponse;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+@SpringBootTest
+class GameSessionServiceTest {
+
+    @Autowired
+    private GameSessionService gameSessionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LiveKeystrokeStreams liveKeystrokeStreams;
+
+    @Autowired
+    private GameResultWriter writer;
+
+    @Autowired
+    private GameSessionIdAllocator idAllocator;
+
+    @Autowired
+    private GameArchive gameArchive;
+
+    @Test
+    void timedGameCannotBeEndedWithoutItsKeystrokeLog() {
+        long userId = user("timed-no-log").getId();
+        long sessionId = gameSessionService.startGameSession(userId, Difficulty.EASY, GameMode.TIMED_15, null)
+                .getId();
+
+        assertThatThrownBy(() -> gameSessionService.endGameSession(sessionId, 250, 100.0, 15, 300, 300, 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // The game is still in progress, so the client can end it again with its log
+        assertThat(gameSessionService.getActiveGameSession(userId).getId()).isEqualTo(sessionId);
+        gameSessionService.abandonGameSession(sessionId);
+    }
+
+    @Test
+    void replayDropsKeysTheLogClaimsWereTypedAfterTheServerTime() {
+        long userId = user("timed-fast-log").getId();
+        GameSessionDTO started = gameSessionService.startGameSession(userId, Difficulty.EASY, GameMode.TIMED_15,
+                null);
+        String text = started.getTextSampleContent();
+        // Ten seconds of typing, sent moments after the game started
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 50; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"timestamp\":").append(i * 200L)
+                    .append(",\"key\":\"").append(text.charAt(i)).append("\"}");
+        }
+        json.append(']');
+
+        GameSessionDTO ended = gameSessionService.endGameSession(started.getId(), 250, 100.0, 15, 50, 50, 0,
+                json.toString());
+
+        assertThat(ended.getStatus()).isEqualTo(GameStatus.COMPLETED);
+        assertThat(ended.getCorrectCharacters()).isLessThan(50);
+        assertThat(ended.getWpm()).isLessThan(250);
+    }
+
+    @Test
+    void textGameIsScoredByReplayingItsKeystrokeLog() {
+        long userId = user("text-replay").getId();
+        GameSessionDTO started = gameSessionService.startGameSession(userId, Difficulty.EASY, GameMode.TEXT, null);
+        String text = started.getTextSampleContent();
+
+        assertThatThrownBy(() -> gameSessionService.endGameSession(started.getId(), 250, 100.0, 15, 300, 300, 0,
+                null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(gameSessionService.getActiveGameSession(userId).getId()).isEqualTo(started.getId());
+
+        String json = "[{\"timestamp\":0,\"key\":\"" + text.charAt(0) + "\"},"
+                + "{\"timestamp\":0,\"key\":\"" + text.charAt(1) + "\"},"
+                + "{\"timestamp\":0,\"key\":\"~\"}]";
+        GameSessionDTO ended = gameSessionService.endGameSession(started.getId(), 250, 100.0, 15, 300, 300, 0,
+                json);
+
+        assertThat(ended.getStatus()).isEqualTo(GameStatus.COMPLETED);
+        assertThat(ended.getCorrectCharacters()).isEqualTo(2);
+        assertThat(ended.getIncorrectCharacters()).isEqualTo(1);
+        assertThat(ended.getAccuracy()).isLessThan(100.0);
+    }
+
+    @Test
+    void gameTypedOverTheKeystrokeStreamIsStoredWithItsKeystrokes() throws InterruptedException {
+        long userId = user("streamed-log").getId();
+        GameSessionDTO started = gameSessionService.startGameSession(userId, Difficulty.EASY, GameMode.TEXT, null);
+        String text = started.getTextSampleContent();
+        LiveStream stream = liveKeystrokeStreams.open(started.getId(), text.toCharArray(), 0,
+                started.getStartedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        ByteBuffer batch = ByteBuffer.allocate(8);
+        batch.putChar(text.charAt(0)).putShort((short) 120).putChar(text.charAt(1)).putShort((short) 80).flip();
+        stream.apply(batch);
+
+        // As the keystroke WebSocket ends a game
+        GameSessionDTO ended = gameSessionService.endGameSession(started.getId(), null, null, null, null, null, null,
+                null);
+
+        assertThat(ended.getCorrectCharacters()).isEqualTo(2);
+        String json = null;
+        for (int i = 0; i < 200 && json == null; i++) {
+            // The result reaches game_sessions on the pipeline's writer thread
+            json = gameSessionService.getKeystrokeLog(started.getId());
+            Thread.sleep(10);
+        }
+        KeystrokeLog keystrokes = KeystrokeLogCodec.fromJson(json);
+        assertThat(keystrokes.size()).isEqualTo(2);
+        assertThat(keystrokes.key(1)).isEqualTo(text.charAt(1));
+        assertThat(keystrokes.timestamp(1)).isEqualTo(200);
+    }
+
+    @Test
+    void historyPagesOnIntoGamesMovedToTheArchive() throws IOException {
+        long userId = user("history-archive").getId();
+        LocalDateTime completedAt = LocalDateTime.now().withNano(0);
+        long hotId = idAllocator.next();
+        writer.write(List.of(new GameResult(hotId, userId, null, Difficulty.MEDIUM, GameMode.TIMED_30, 5L, null,
+                null, null, GameStatus.COMPLETED, 70, 98.0, 30, 150, 147, 3, completedAt.minusSeconds(30),
+                completedAt, null, 0)));
+        LocalDateTime archivedAt = completedAt.minusDays(120);
+        long archivedId = idAllocator.next();
+        gameArchive.append(List.of(
+                new ArchivedGame(archivedId, userId, GameStatus.COMPLETED, Difficulty.HARD, null, 55, 91.5, 30, 150,
+                        140, archivedAt.minusSeconds(30), archivedAt),
+                new ArchivedGame(idAllocator.next(), userId, GameStatus.ABANDONED, Difficulty.HARD, null, null, null,
+                        null, 150, null, archivedAt.minusSeconds(90), archivedAt.minusSeconds(60))), () -> { });
+
+        GameHistoryPageResponse first = gameSessionService.getUserGameHistory(userId, null, 1, false);
+        GameHistoryPageResponse second = gameSessionService.getUserGameHistory(userId, first.getNextCursor(), 1,
+                false);
+
+        assertThat(first.getItems()).extracting(GameSessionDTO::getId).containsExactly(hotId);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getItems()).singleElement().satisfies(game -> {
+            assertThat(game.getId()).isEqualTo(archivedId);
+            assertThat(game.getWpm()).isEqualTo(55);
+            assertThat(game.getDifficulty()).isEqualTo(Difficulty.HARD);
+            assertThat(game.getTextSampleTitle()).isNull();
+        });
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+}
@@ -0,0 +1,100 @@
+package com.minh.simple_typing_game.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.journal.GameResult;
+import com.minh.simple_typing_game.journal.GameResultWriter;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+import com.minh.simple_typing_game.session.GameSessionIdAllocator;
+
+@SpringBootTest
+class UserStatsServiceConcurrencyTest {
+
+    private static final int USERS = 20;
+    private static final int GAMES_PER_USER = 5;
+    private static final int BACKFILLS = 3;
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private GameResultWriter writer;
+
+    @Autowired
+    private GameSessionIdAllocator idAllocator;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void firstGamesCompletingDuringABackfillAreCountedOnce() throws Exception {
+        List<Long> userIds = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(userRepository.save(User.builder()
+                    .email("stats-race-" + i + "@test.local")
+                    .username("stats-race-" + i)
+                    .role(Role.ROLE_USER)
+                    .build()).getId());
+        }
+
+        // None of the users has a stats row yet, so their first game creates it while backfills run
+        List<Future<?>> tasks = new ArrayList<>();
+        CountDownLatch go = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            tasks.add(executor.submit(() -> {
+                go.await();
+                for (int i = 0; i < BACKFILLS; i++) {
+                    userStatsService.backfill();
+                }
+                return null;
+            }));
+            for (long userId : userIds) {
+                tasks.add(executor.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < GAMES_PER_USER; i++) {
+                        writer.write(List.of(result(idAllocator.next(), userId)));
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+
+        for (long userId : userIds) {
+            assertThat(gameSessionRepository.countByUserIdAndStatus(userId, GameStatus.COMPLETED))
+                    .isEqualTo(GAMES_PER_USER);
+            assertThat(userStatsService.getUserStats(userId).getTotalGames()).isEqualTo(GAMES_PER_USER);
+        }
+    }
+
+    private static GameResult result(long sessionId, long userId) {
+        LocalDateTime completedAt = LocalDateTime.now();
+        return new GameResult(sessionId, userId, null, Difficulty.MEDIUM, GameMode.TIMED_30, 5L, null, null, null,
+                GameStatus.COMPLETED, 60, 95.0, 30, 150, 145, 5, completedAt.minusSeconds(30), completedAt,
+                null, 0);
+    }
+}
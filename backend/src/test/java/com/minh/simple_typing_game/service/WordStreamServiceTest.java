@@ -0,0 +1,52 @@
+package com.minh.simple_typing_game.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.repository.TextSampleRepository;
+import com.minh.simple_typing_game.repository.WordStreamVocabularyRepository;
+import com.minh.simple_typing_game.service.impl.WordStreamServiceImpl;
+
+@SpringBootTest
+class WordStreamServiceTest {
+
+    @Autowired
+    private WordStreamService wordStreamService;
+
+    @Autowired
+    private TextSampleRepository textSampleRepository;
+
+    @Autowired
+    private WordStreamVocabularyRepository vocabularyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void regeneratesAGameFromItsVocabularyAfterTheVocabularyChanged() {
+        long version = wordStreamService.currentVersion();
+        String chunk = wordStreamService.chunk(Difficulty.MEDIUM, 42L, version, 3);
+        char[] text = wordStreamService.text(Difficulty.MEDIUM, 42L, version, GameMode.TIMED_15);
+        assertThat(vocabularyRepository.existsById(version)).isTrue();
+
+        // A restart on a changed corpus builds a different vocabulary
+        WordStreamServiceImpl restarted = new WordStreamServiceImpl(textSampleRepository, vocabularyRepository,
+                transactionTemplate, 30);
+        restarted.load();
+
+        assertThat(restarted.currentVersion()).isNotEqualTo(version);
+        assertThat(vocabularyRepository.existsById(restarted.currentVersion())).isTrue();
+        assertThat(restarted.chunk(Difficulty.MEDIUM, 42L, version, 3)).isEqualTo(chunk);
+        assertThat(restarted.text(Difficulty.MEDIUM, 42L, version, GameMode.TIMED_15)).isEqualTo(text);
+        assertThat(restarted.chunk(Difficulty.MEDIUM, 42L, restarted.currentVersion(), 3)).isNotEqualTo(chunk);
+        assertThatThrownBy(() -> restarted.chunk(Difficulty.MEDIUM, 42L, version + 1, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
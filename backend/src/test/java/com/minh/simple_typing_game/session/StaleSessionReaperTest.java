@@ -0,0 +1,151 @@
+package com.minh.simple_typing_game.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.minh.simple_typing_game.entity.GameSession;
+import com.minh.simple_typing_game.entity.User;
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+import com.minh.simple_typing_game.entity.enums.GameMode;
+import com.minh.simple_typing_game.entity.enums.GameStatus;
+import com.minh.simple_typing_game.entity.enums.Role;
+import com.minh.simple_typing_game.journal.GameResultPipeline;
+import com.minh.simple_typing_game.keystroke.LiveKeystrokeStreams;
+import com.minh.simple_typing_game.repository.GameSessionRepository;
+import com.minh.simple_typing_game.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class StaleSessionReaperTest {
+
+    private static final long TIMEOUT_MINUTES = 60;
+
+    @Autowired
+    private ActiveSessionRegistry activeSessions;
+
+    @Autowired
+    private LiveKeystrokeStreams liveKeystrokeStreams;
+
+    @Autowired
+    private GameResultPipeline gameResultPipeline;
+
+    @Autowired
+    private GameSessionRepository gameSessionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private GameSessionIdAllocator idAllocator;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void abandonsIdleGamesInProgressAndKeepsActiveOnes() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        List<ActiveSession> idle = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            idle.add(register("reaper-idle-" + i, now.minusMinutes(TIMEOUT_MINUTES + 1 + i)));
+        }
+        ActiveSession active = register("reaper-active", now.minusMinutes(TIMEOUT_MINUTES - 1));
+        liveKeystrokeStreams.open(idle.get(0).id(), "idle".toCharArray(), 0, idle.get(0).startedAtMillis());
+
+        // Batches of two, so the idle games take several
+        reaper().reap();
+
+        for (ActiveSession session : idle) {
+            assertThat(activeSessions.get(session.id())).isNull();
+            assertThat(activeSessions.getByUser(session.userId())).isNull();
+        }
+        assertThat(liveKeystrokeStreams.isOpen(idle.get(0).id())).isFalse();
+        assertThat(activeSessions.get(active.id())).isSameAs(active);
+        assertThat(meterRegistry.get("game.sessions.reaped").tag("source", "active").counter().count())
+                .isEqualTo(idle.size());
+
+        for (ActiveSession session : idle) {
+            GameSession row = awaitRow(session.id());
+            assertThat(row.getStatus()).isEqualTo(GameStatus.ABANDONED);
+            assertThat(row.getUser().getId()).isEqualTo(session.userId());
+            assertThat(row.getWpm()).isNull();
+        }
+        assertThat(gameSessionRepository.findById(active.id())).isEmpty();
+        activeSessions.remove(active.id());
+    }
+
+    @Test
+    void abandonsIdleRowsLeftInProgressAndKeepsActiveOnes() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> idle = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            idle.add(insertInProgress("reaper-idle-row-" + i, now.minusMinutes(TIMEOUT_MINUTES + 1 + i)));
+        }
+        long active = insertInProgress("reaper-active-row", now.minusMinutes(TIMEOUT_MINUTES - 1));
+
+        int reaped = reaper().reapRows(now.minusMinutes(TIMEOUT_MINUTES));
+
+        assertThat(reaped).isEqualTo(idle.size());
+        for (long id : idle) {
+            GameSession row = gameSessionRepository.findById(id).orElseThrow();
+            assertThat(row.getStatus()).isEqualTo(GameStatus.ABANDONED);
+            assertThat(row.getCompletedAt()).isNotNull();
+        }
+        assertThat(gameSessionRepository.findById(active).orElseThrow().getStatus())
+                .isEqualTo(GameStatus.IN_PROGRESS);
+    }
+
+    private StaleSessionReaper reaper() {
+        return new StaleSessionReaper(activeSessions, liveKeystrokeStreams, gameResultPipeline, gameSessionRepository,
+                transactionTemplate, meterRegistry, TIMEOUT_MINUTES, 2, 20, 0);
+    }
+
+    private ActiveSession register(String name, LocalDateTime startedAt) {
+        ActiveSession session = new ActiveSession(idAllocator.next(), user(name).getId(), null, "Reaper test",
+                Difficulty.EASY, GameMode.TIMED_30, 11L, null, null, null, 150, startedAt);
+        assertThat(activeSessions.register(session)).isSameAs(session);
+        return session;
+    }
+
+    private long insertInProgress(String name, LocalDateTime startedAt) {
+        // As versions that inserted the row when the game started left it
+        GameSession row = new GameSession();
+        row.setId(idAllocator.next());
+        row.setUser(user(name));
+        row.setStatus(GameStatus.IN_PROGRESS);
+        row.setDifficulty(Difficulty.EASY);
+        row.setMode(GameMode.TEXT);
+        row.setStartedAt(startedAt);
+        return gameSessionRepository.save(row).getId();
+    }
+
+    private GameSession awaitRow(long id) throws InterruptedException {
+        // With write-behind enabled, abandoned games reach game_sessions on the writer thread
+        for (int i = 0; i < 200; i++) {
+            var row = gameSessionRepository.findById(id);
+            if (row.isPresent()) {
+                return row.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Game session " + id + " was not stored");
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .email(name + "@test.local")
+                .username(name)
+                .role(Role.ROLE_USER)
+                .build());
+    }
+}
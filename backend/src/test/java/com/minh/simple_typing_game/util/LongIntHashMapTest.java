@@ -0,0 +1,130 @@
+package com.minh.simple_typing_game.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+    // The default map has 32 slots
+    private static final int DEFAULT_CAPACITY = 32;
+
+    @Test
+    void removingFromACollisionChainKeepsTheRestOfTheChainReachable() {
+        List<Long> chain = keysWithHomeSlot(5, 4);
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < chain.size(); i++) {
+            map.put(chain.get(i), i);
+        }
+
+        // The head, then the middle of what is left: each shifts the later entries back
+        assertThat(map.remove(chain.get(0), -1)).isZero();
+        assertThat(map.remove(chain.get(2), -1)).isEqualTo(2);
+
+        assertThat(map.get(chain.get(0), -1)).isEqualTo(-1);
+        assertThat(map.get(chain.get(1), -1)).isEqualTo(1);
+        assertThat(map.get(chain.get(2), -1)).isEqualTo(-1);
+        assertThat(map.get(chain.get(3), -1)).isEqualTo(3);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.remove(chain.get(0), -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void removingAnEntryBeforeAWrappedChainKeepsItReachable() {
+        // Entries whose home is the last slot wrap around to the front of the table
+        List<Long> wrapped = keysWithHomeSlot(DEFAULT_CAPACITY - 1, 3);
+        List<Long> front = keysWithHomeSlot(0, 1);
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key : wrapped) {
+            map.put(key, (int) key);
+        }
+        map.put(front.get(0), 7);
+
+        map.remove(wrapped.get(0), -1);
+
+        assertThat(map.get(wrapped.get(1), -1)).isEqualTo(wrapped.get(1).intValue());
+        assertThat(map.get(wrapped.get(2), -1)).isEqualTo(wrapped.get(2).intValue());
+        assertThat(map.get(front.get(0), -1)).isEqualTo(7);
+    }
+
+    @Test
+    void keepsEveryEntryAcrossResizes() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (int i = 1; i <= 10_000; i++) {
+            map.put(i * 31L, i);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int i = 1; i <= 10_000; i++) {
+            assertThat(map.get(i * 31L, -1)).isEqualTo(i);
+        }
+        assertThat(map.get(32L, -1)).isEqualTo(-1);
+    }
+
+    @Test
+    void zeroKeyIsStoredApartFromTheTable() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.containsKey(0L)).isFalse();
+        map.put(0L, 5);
+        assertThat(map.addTo(0L, 2)).isEqualTo(7);
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.remove(0L, -1)).isEqualTo(7);
+        assertThat(map.get(0L, -1)).isEqualTo(-1);
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    @Test
+    void randomOperationsMatchAHashMap() {
+        Random random = new Random(20250101L);
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> reference = new HashMap<>();
+
+        for (int step = 0; step < 50_000; step++) {
+            // Few distinct keys, so chains keep forming and being cut by removals
+            long key = random.nextInt(300) - 10;
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Integer removed = reference.remove(key);
+                    assertThat(map.remove(key, -1)).isEqualTo(removed != null ? removed : -1);
+                }
+                case 1 -> assertThat(map.addTo(key, 3)).isEqualTo(reference.merge(key, 3, Integer::sum));
+                default -> {
+                    int value = random.nextInt(1_000);
+                    map.put(key, value);
+                    reference.put(key, value);
+                }
+            }
+            assertThat(map.size()).isEqualTo(reference.size());
+            assertThat(map.containsKey(key)).isEqualTo(reference.containsKey(key));
+        }
+
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertThat(visited).isEqualTo(reference);
+    }
+
+    /**
+     * Finds positive keys that hash to the given slot of a default-sized map, using the map's
+     * own Murmur3 finalizer.
+     */
+    private static List<Long> keysWithHomeSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>(count);
+        for (long key = 1; keys.size() < count; key++) {
+            long h = key;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            if (((int) h & (DEFAULT_CAPACITY - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,116 @@
+package com.minh.simple_typing_game.wordstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.minh.simple_typing_game.entity.enums.Difficulty;
+
+class WordFrequencyListTest {
+
+    @Test
+    void aliasTableDrawsInProportionToWeights() {
+        AliasTable table = new AliasTable(new double[] {1, 0, 3, 6});
+        SplittableRandom random = new SplittableRandom(42);
+        int[] drawn = new int[4];
+        int draws = 200_000;
+        for (int i = 0; i < draws; i++) {
+            drawn[table.sample(random.nextLong())]++;
+        }
+
+        assertThat(drawn[1]).isZero();
+        assertThat(drawn[0] / (double) draws).isCloseTo(0.1, within(0.01));
+        assertThat(drawn[2] / (double) draws).isCloseTo(0.3, within(0.01));
+        assertThat(drawn[3] / (double) draws).isCloseTo(0.6, within(0.01));
+    }
+
+    @Test
+    void countsPlainWordsOnly() {
+        WordCounter counter = new WordCounter();
+        counter.add("The cat's hat, the CAT! x=42 \"quoted\" don''t -- café ");
+
+        WordFrequencyList list = counter.build(10);
+
+        assertThat(counter.distinctWords()).isEqualTo(5);
+        assertThat(list.word(0)).isEqualTo("the");
+        assertThat(list.size()).isEqualTo(5);
+        assertThat(IntStream.range(0, list.size()).mapToObj(list::word))
+                .containsExactlyInAnyOrder("the", "cat's", "hat", "cat", "quoted");
+    }
+
+    @Test
+    void regeneratesTheSameStreamInAnyChunking() {
+        WordFrequencyList list = WordFrequencyList.of(vocabulary(), 1000);
+        StringBuilder whole = new StringBuilder();
+        list.append(whole, Difficulty.MEDIUM, 7L, 0, 120);
+
+        StringBuilder chunked = new StringBuilder();
+        list.append(chunked, Difficulty.MEDIUM, 7L, 0, 50);
+        chunked.append(' ');
+        list.append(chunked, Difficulty.MEDIUM, 7L, 50, 50);
+        chunked.append(' ');
+        list.append(chunked, Difficulty.MEDIUM, 7L, 100, 20);
+
+        StringBuilder otherSeed = new StringBuilder();
+        list.append(otherSeed, Difficulty.MEDIUM, 8L, 0, 120);
+
+        assertThat(chunked.toString()).isEqualTo(whole.toString());
+        assertThat(whole.toString().split(" ")).hasSize(120);
+        assertThat(otherSeed.toString()).isNotEqualTo(whole.toString());
+    }
+
+    @Test
+    void decodesToAListWithTheSameFingerprintAndStream() {
+        WordFrequencyList list = WordFrequencyList.of(vocabulary(), 1000);
+        StringBuilder original = new StringBuilder();
+        list.append(original, Difficulty.HARD, 3L, 0, 500);
+
+        WordFrequencyList decoded = WordFrequencyList.decode(list.encode());
+
+        StringBuilder regenerated = new StringBuilder();
+        decoded.append(regenerated, Difficulty.HARD, 3L, 0, 500);
+        assertThat(decoded.fingerprint()).isEqualTo(list.fingerprint()).isNotNegative();
+        assertThat(regenerated.toString()).isEqualTo(original.toString());
+
+        Map<String, Long> changed = vocabulary();
+        changed.merge("w1", 1L, Long::sum);
+        assertThat(WordFrequencyList.of(changed, 1000).fingerprint()).isNotEqualTo(list.fingerprint());
+        assertThat(WordFrequencyList.of(vocabulary(), 100).fingerprint()).isNotEqualTo(list.fingerprint());
+    }
+
+    @Test
+    void easyStreamsShortFrequentWords() {
+        WordFrequencyList list = WordFrequencyList.of(vocabulary(), 1000);
+        StringBuilder easy = new StringBuilder();
+        list.append(easy, Difficulty.EASY, 1L, 0, 10_000);
+
+        assertThat(list.size(Difficulty.EASY)).isLessThan(list.size(Difficulty.HARD));
+        int mostFrequent = 0;
+        for (String word : easy.toString().split(" ")) {
+            assertThat(word.length()).isLessThanOrEqualTo(5);
+            if (word.equals(list.word(0))) {
+                mostFrequent++;
+            }
+        }
+        // Zipf weights over the short words put about a fifth of the draws on the top word
+        assertThat(mostFrequent).isGreaterThan(1_000);
+    }
+
+    /**
+     * 200 words with Zipf-like counts, every fourth one too long for the easy stream.
+     */
+    private static Map<String, Long> vocabulary() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int rank = 1; rank <= 200; rank++) {
+            String word = (rank % 4 == 0 ? "longerword" : "w") + Integer.toString(rank, 26).replace('0', 'z');
+            counts.put(word, 10_000L / rank);
+        }
+        return counts;
+    }
+}
@@ -30,6 +30,11 @@ export function useApi<T>() {
     (config) => {
       loading.value = true
       error.value = null
+      // The API is stateless: every request authenticates with the JWT
+      const token = localStorage.getItem('userToken')
+      if (token) {
+        config.headers.Authorization = `Bearer ${token}`
+      }
       return config
     },
     (error) => {